@@ -0,0 +1,35 @@
+package com.jompastech.backend.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers {@code bits_intersect(mask1, mask2)} as an HQL/Criteria function: true when
+ * the two integer bit masks share a set bit, e.g. when two weekday masks of
+ * availability rules share a day.
+ *
+ * <p>JPQL has no bitwise operators. On PostgreSQL the function renders {@code &}, on
+ * other databases (H2 in tests) {@code bitand}. Both arguments are cast, as the
+ * database cannot infer the type of a bind parameter passed to a bitwise operator.</p>
+ *
+ * <p>Registered through {@code META-INF/services}.</p>
+ */
+public class BitmaskFunctionContributor implements FunctionContributor {
+
+    public static final String BITS_INTERSECT = "bits_intersect";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        boolean postgres = functionContributions.getDialect() instanceof PostgreSQLDialect;
+        String intersect = postgres
+                ? "((cast(?1 as integer) & cast(?2 as integer)) <> 0)"
+                : "(bitand(cast(?1 as integer), cast(?2 as integer)) <> 0)";
+
+        BasicType<Boolean> booleanType = functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.BOOLEAN);
+        functionContributions.getFunctionRegistry().registerPattern(BITS_INTERSECT, intersect, booleanType);
+    }
+}
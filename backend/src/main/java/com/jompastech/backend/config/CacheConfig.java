@@ -0,0 +1,53 @@
+package com.jompastech.backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * In-process caches backed by Caffeine.
+ *
+ * <p>Design Decisions:
+ * <ul>
+ *   <li>The caching interceptor runs outside the transaction interceptor, so a cache hit
+ *       returns without opening a transaction or touching the connection pool, and
+ *       {@code @CacheEvict} on a public entry point runs after its transaction has committed</li>
+ *   <li>The manager is wrapped in a {@link TransactionAwareCacheManagerProxy}, so an eviction
+ *       issued inside a transaction (a {@code @CacheEvict} method called from an outer
+ *       {@code @Transactional} one) is deferred until it commits. Otherwise a read between
+ *       the eviction and the commit would cache the old state for the whole TTL</li>
+ *   <li>Entries are bounded by size and expire after write; the TTL is a backstop for
+ *       writes that bypass the services</li>
+ *   <li>Statistics are recorded so Actuator publishes the {@code cache.gets} (hit/miss),
+ *       {@code cache.puts}, {@code cache.evictions} and {@code cache.size} meters</li>
+ * </ul>
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    /** Boat detail responses ({@code BoatResponseDTO}) keyed by boat id. */
+    public static final String BOAT_DETAILS = "boatDetails";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.cache.boat-details.maximum-size:10000}") long maximumSize,
+            @Value("${app.cache.boat-details.ttl:10m}") Duration ttl) {
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(BOAT_DETAILS);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
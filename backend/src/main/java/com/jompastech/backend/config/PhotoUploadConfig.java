@@ -0,0 +1,79 @@
+package com.jompastech.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executors of the photo pipeline: one uploading the photos of a request in parallel,
+ * one running the workers of the background photo jobs, one running the storage cleanup.
+ *
+ * <p>Design Decisions:
+ * <ul>
+ *   <li>A dedicated pool, so slow storage calls never starve the web or common pools</li>
+ *   <li>Bounded threads and queue; when both are full the request thread runs the upload
+ *       itself, which slows down the caller instead of rejecting the request</li>
+ *   <li>Worker threads are named {@code photo-upload-N} to stand out in thread dumps</li>
+ * </ul>
+ */
+@Configuration
+public class PhotoUploadConfig {
+
+    /** Bean name of the photo upload executor. */
+    public static final String PHOTO_UPLOAD_EXECUTOR = "photoUploadExecutor";
+
+    /** Bean name of the scheduler running the photo job workers. */
+    public static final String PHOTO_JOB_SCHEDULER = "photoJobScheduler";
+
+    /** Bean name of the scheduler draining deletions and reconciling the photo storage. */
+    public static final String PHOTO_MAINTENANCE_SCHEDULER = "photoMaintenanceScheduler";
+
+    @Bean(name = PHOTO_UPLOAD_EXECUTOR)
+    public ThreadPoolTaskExecutor photoUploadExecutor(
+            @Value("${app.photos.upload.concurrency:8}") int concurrency,
+            @Value("${app.photos.upload.queue-capacity:100}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("photo-upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * One thread per photo job worker, named {@code photo-job-N}. Shutdown lets running
+     * jobs finish their current photo; interrupted jobs are taken over once their lease
+     * expires.
+     */
+    @Bean(name = PHOTO_JOB_SCHEDULER)
+    public ThreadPoolTaskScheduler photoJobScheduler(@Value("${app.photos.jobs.workers:2}") int workers) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(workers);
+        scheduler.setThreadNamePrefix("photo-job-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
+
+    /**
+     * Single thread named {@code photo-maintenance-1}: deletions and reconciliation are
+     * background chores and never run concurrently on one instance.
+     */
+    @Bean(name = PHOTO_MAINTENANCE_SCHEDULER)
+    public ThreadPoolTaskScheduler photoMaintenanceScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("photo-maintenance-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
+}
@@ -54,6 +54,10 @@ public class SecurityConfig {
 
                         // Public GET endpoints for boats and search
                         .requestMatchers(HttpMethod.GET, "/api/boats").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/boats/catalog").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/boats/search").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/boats/nearby").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/boats/within").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/boats/{id}").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/boats/{id}/availability/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/search/**").permitAll()
@@ -61,7 +65,10 @@ public class SecurityConfig {
 
                         // ========== BOAT MANAGEMENT (role-based) ==========
                         .requestMatchers(HttpMethod.POST, "/api/boats").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/boats/cards/rebuild").hasAuthority("ROLE_ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/boats/**").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
+                        .requestMatchers(HttpMethod.DELETE, "/api/boats/{id}/photos/uploads/**").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
+                        .requestMatchers(HttpMethod.DELETE, "/api/boats/{id}/availability/rules/**").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/boats/**").hasAuthority("ROLE_ADMIN")
                         .requestMatchers("/api/boats/my-boats/**").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
 
@@ -119,8 +126,10 @@ public class SecurityConfig {
             ));
         }
 
-        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(List.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        // Resumable uploads report their progress in response headers
+        configuration.setExposedHeaders(List.of("Location", "Upload-Offset", "Upload-Length"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
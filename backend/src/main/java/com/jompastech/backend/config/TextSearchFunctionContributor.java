@@ -0,0 +1,51 @@
+package com.jompastech.backend.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the PostgreSQL full-text and trigram operators as HQL/Criteria functions.
+ *
+ * <p>JPA has no way to express {@code @@} or the pg_trgm {@code %} operator, and calling
+ * their underlying functions would bypass the GIN indexes. The patterns below render the
+ * operators themselves, so the planner can combine both indexes with a bitmap OR.</p>
+ *
+ * <p>Registered through {@code META-INF/services}; the text configuration must match the
+ * one used by the {@code search_vector} column in V11. Other databases (H2 in tests) get
+ * a plain case-insensitive substring match on the name, ranking exact names first, then
+ * names starting with the text.</p>
+ */
+public class TextSearchFunctionContributor implements FunctionContributor {
+
+    /** {@code boat_text_match(searchVector, name, text)}: full-text match or similar name. */
+    public static final String TEXT_MATCH = "boat_text_match";
+
+    /** {@code boat_text_rank(searchVector, name, text)}: relevance score, higher is better. */
+    public static final String TEXT_RANK = "boat_text_rank";
+
+    private static final String TS_QUERY = "websearch_to_tsquery('portuguese', ?3)";
+
+    // The search text, typed so databases without full-text search can compare it
+    private static final String PLAIN_TEXT = "lower(cast(?3 as varchar))";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        boolean postgres = functionContributions.getDialect() instanceof PostgreSQLDialect;
+        String match = postgres
+                ? "(?1 @@ " + TS_QUERY + " or ?2 % ?3)"
+                : "(lower(?2) like concat('%', " + PLAIN_TEXT + ", '%'))";
+        String rank = postgres
+                ? "(ts_rank_cd(?1, " + TS_QUERY + ") + similarity(?2, ?3))"
+                : "(case when lower(?2) = " + PLAIN_TEXT + " then 2.0 "
+                        + "when lower(?2) like concat(" + PLAIN_TEXT + ", '%') then 1.0 else 0.0 end)";
+
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        SqmFunctionRegistry registry = functionContributions.getFunctionRegistry();
+        registry.registerPattern(TEXT_MATCH, match, types.resolve(StandardBasicTypes.BOOLEAN));
+        registry.registerPattern(TEXT_RANK, rank, types.resolve(StandardBasicTypes.DOUBLE));
+    }
+}
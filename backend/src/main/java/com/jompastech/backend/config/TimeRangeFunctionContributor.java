@@ -0,0 +1,44 @@
+package com.jompastech.backend.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers {@code time_ranges_overlap(start1, end1, start2, end2)} and
+ * {@code time_range_contains(outerStart, outerEnd, innerStart, innerEnd)} as HQL/Criteria functions.
+ *
+ * <p>All ranges are half-open ({@code [start, end)}), matching {@link
+ * com.jompastech.backend.model.entity.Booking#overlapsWith} and the {@code tsrange}
+ * default bounds. On PostgreSQL they render {@code tsrange(...) && tsrange(...)} and
+ * {@code tsrange(...) @> tsrange(...)}, over the exact expression of the
+ * {@code booking_no_overlap} and {@code boats_availability_no_overlap} exclusion
+ * constraints, so their GiST indexes answer the lookup when the column range comes
+ * first. Other databases (H2 in tests) get the equivalent comparisons.</p>
+ *
+ * <p>Registered through {@code META-INF/services}.</p>
+ */
+public class TimeRangeFunctionContributor implements FunctionContributor {
+
+    public static final String RANGES_OVERLAP = "time_ranges_overlap";
+
+    public static final String RANGE_CONTAINS = "time_range_contains";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        boolean postgres = functionContributions.getDialect() instanceof PostgreSQLDialect;
+        String overlap = postgres
+                ? "(tsrange(?1, ?2) && tsrange(?3, ?4))"
+                : "(?1 < ?4 and ?3 < ?2)";
+        String contains = postgres
+                ? "(tsrange(?1, ?2) @> tsrange(?3, ?4))"
+                : "(?1 <= ?3 and ?4 <= ?2)";
+
+        BasicType<Boolean> booleanType = functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.BOOLEAN);
+        functionContributions.getFunctionRegistry().registerPattern(RANGES_OVERLAP, overlap, booleanType);
+        functionContributions.getFunctionRegistry().registerPattern(RANGE_CONTAINS, contains, booleanType);
+    }
+}
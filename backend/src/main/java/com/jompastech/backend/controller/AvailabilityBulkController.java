@@ -0,0 +1,65 @@
+package com.jompastech.backend.controller;
+
+import com.jompastech.backend.model.dto.schedule.AvailabilityBulkResultDTO;
+import com.jompastech.backend.model.dto.schedule.AvailabilityBulkWindowDTO;
+import com.jompastech.backend.security.service.UserDetailsImpl;
+import com.jompastech.backend.service.AvailabilityBulkService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Bulk upload of availability windows for one or more boats, as a JSON array or as CSV
+ * ({@code boatId,startDate,endDate,pricePerHour} per line).
+ *
+ * <p>For each boat, the uploaded windows replace its windows overlapping the uploaded
+ * period. Errors are mapped by the global exception handler: invalid or overlapping
+ * windows give 400, unknown boats 404, and boats the user does not own 403.</p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/boats/availability/bulk")
+@RequiredArgsConstructor
+public class AvailabilityBulkController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final AvailabilityBulkService availabilityBulkService;
+
+    @PutMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<AvailabilityBulkResultDTO> replaceWindows(
+            @RequestBody List<AvailabilityBulkWindowDTO> windows,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+
+        log.info("PUT /api/boats/availability/bulk called with {} windows", windows.size());
+
+        return ResponseEntity.ok(availabilityBulkService.replaceWindows(windows, userDetails.getUsername()));
+    }
+
+    /**
+     * Same as the JSON upload; the CSV body is read as a stream.
+     */
+    @PutMapping(consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<AvailabilityBulkResultDTO> replaceWindowsFromCsv(
+            InputStream body,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) throws IOException {
+
+        log.info("PUT /api/boats/availability/bulk called with CSV");
+
+        List<AvailabilityBulkWindowDTO> windows;
+        try (Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8)) {
+            windows = availabilityBulkService.readCsv(reader);
+        }
+        return ResponseEntity.ok(availabilityBulkService.replaceWindows(windows, userDetails.getUsername()));
+    }
+}
@@ -0,0 +1,96 @@
+package com.jompastech.backend.controller;
+
+import com.jompastech.backend.model.dto.schedule.AvailabilityRuleExceptionDTO;
+import com.jompastech.backend.model.dto.schedule.AvailabilityRuleRequestDTO;
+import com.jompastech.backend.model.dto.schedule.AvailabilityRuleResponseDTO;
+import com.jompastech.backend.security.service.UserDetailsImpl;
+import com.jompastech.backend.service.AvailabilityRuleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Recurring availability rules of a boat and the exceptions to their occurrences.
+ *
+ * <p>Errors are mapped by the global exception handler: invalid or overlapping rules
+ * give 400, unknown boats, rules or exceptions 404, and users who do not own the
+ * boat 403.</p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/boats/{boatId}/availability/rules")
+@RequiredArgsConstructor
+public class AvailabilityRuleController {
+
+    private final AvailabilityRuleService availabilityRuleService;
+
+    @PostMapping
+    public ResponseEntity<AvailabilityRuleResponseDTO> createRule(
+            @PathVariable Long boatId,
+            @RequestBody AvailabilityRuleRequestDTO requestDTO,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+
+        log.info("POST /api/boats/{}/availability/rules called", boatId);
+
+        var rule = availabilityRuleService.createRule(boatId, requestDTO, userDetails.getUsername());
+        return ResponseEntity.status(HttpStatus.CREATED).body(rule);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<AvailabilityRuleResponseDTO>> getRules(@PathVariable Long boatId) {
+        log.info("GET /api/boats/{}/availability/rules called", boatId);
+        return ResponseEntity.ok(availabilityRuleService.findRulesByBoatId(boatId));
+    }
+
+    @DeleteMapping("/{ruleId}")
+    public ResponseEntity<Void> deleteRule(
+            @PathVariable Long boatId,
+            @PathVariable Long ruleId,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+
+        log.info("DELETE /api/boats/{}/availability/rules/{} called", boatId, ruleId);
+
+        availabilityRuleService.deleteRule(boatId, ruleId, userDetails.getUsername());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Cancels the occurrence on a date, or reprices it when the body has a price.
+     */
+    @PutMapping("/{ruleId}/exceptions/{date}")
+    public ResponseEntity<AvailabilityRuleResponseDTO> putException(
+            @PathVariable Long boatId,
+            @PathVariable Long ruleId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestBody(required = false) AvailabilityRuleExceptionDTO body,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+
+        log.info("PUT /api/boats/{}/availability/rules/{}/exceptions/{} called", boatId, ruleId, date);
+
+        BigDecimal price = body != null ? body.pricePerHour() : null;
+        var rule = availabilityRuleService.putException(boatId, ruleId,
+                new AvailabilityRuleExceptionDTO(date, price), userDetails.getUsername());
+        return ResponseEntity.ok(rule);
+    }
+
+    @DeleteMapping("/{ruleId}/exceptions/{date}")
+    public ResponseEntity<AvailabilityRuleResponseDTO> removeException(
+            @PathVariable Long boatId,
+            @PathVariable Long ruleId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+
+        log.info("DELETE /api/boats/{}/availability/rules/{}/exceptions/{} called", boatId, ruleId, date);
+
+        return ResponseEntity.ok(availabilityRuleService.removeException(boatId, ruleId, date,
+                userDetails.getUsername()));
+    }
+}
@@ -3,14 +3,18 @@ package com.jompastech.backend.controller;
 import com.jompastech.backend.exception.AvailabilityNotFoundException;
 import com.jompastech.backend.model.dto.BoatAvailabilityRequestDTO;
 import com.jompastech.backend.model.dto.BoatAvailabilityResponseDTO;
+import com.jompastech.backend.model.dto.schedule.AvailabilityCalendarDTO;
 import com.jompastech.backend.security.service.UserDetailsImpl;
+import com.jompastech.backend.service.AvailabilityCalendarService;
 import com.jompastech.backend.service.BoatAvailabilityService;
+import com.jompastech.backend.service.BoatService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,6 +26,8 @@ import java.util.List;
 public class BoatAvailabilityController {
 
     private final BoatAvailabilityService availabilityService;
+    private final BoatService boatService;
+    private final AvailabilityCalendarService calendarService;
 
     @PostMapping
     public ResponseEntity<BoatAvailabilityResponseDTO> createAvailability(
@@ -46,8 +52,12 @@ public class BoatAvailabilityController {
     }
 
     @GetMapping
-    public ResponseEntity<List<BoatAvailabilityResponseDTO>> getBoatAvailabilities(@PathVariable Long boatId) {
+    public ResponseEntity<List<BoatAvailabilityResponseDTO>> getBoatAvailabilities(@PathVariable Long boatId,
+                                                                                  WebRequest request) {
         log.info("GET /api/boats/{}/availability called", boatId);
+        if (ConditionalRequests.isNotModified(request, boatService.findContentVersion(boatId), "availability")) {
+            return null;
+        }
         try {
             var availabilities = availabilityService.findAvailabilityByBoatId(boatId);
             return ResponseEntity.ok(availabilities);
@@ -57,6 +67,17 @@ public class BoatAvailabilityController {
         }
     }
 
+    @GetMapping("/calendar")
+    public ResponseEntity<AvailabilityCalendarDTO> getCalendar(
+            @PathVariable Long boatId,
+            @RequestParam LocalDateTime from,
+            @RequestParam LocalDateTime to) {
+
+        log.info("GET /api/boats/{}/availability/calendar?from={}&to={} called", boatId, from, to);
+
+        return ResponseEntity.ok(calendarService.getCalendar(boatId, from, to));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<BoatAvailabilityResponseDTO> getAvailability(@PathVariable Long id) {
         log.info("GET /api/boats/{}/availability/{} called", "{boatId}", id);
@@ -86,6 +107,9 @@ public class BoatAvailabilityController {
         } catch (AvailabilityNotFoundException e) {
             log.error("Availability not found with ID: {}", id);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected update of availability {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
         } catch (RuntimeException e) {
             log.error("Failed to update availability with ID {}: {}", id, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
@@ -3,16 +3,29 @@ package com.jompastech.backend.controller;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jompastech.backend.exception.EntityNotFoundException;
+import com.jompastech.backend.mapper.BoatMapper;
 import com.jompastech.backend.model.dto.BoatRequestDTO;
 import com.jompastech.backend.model.dto.BoatResponseDTO;
+import com.jompastech.backend.model.dto.catalog.BoatCardView;
+import com.jompastech.backend.model.dto.catalog.BoatContentVersion;
+import com.jompastech.backend.model.dto.catalog.BoatDetails;
+import com.jompastech.backend.model.dto.catalog.BoatSearchCriteria;
+import com.jompastech.backend.model.dto.catalog.BoatSearchResponseDTO;
+import com.jompastech.backend.model.dto.catalog.CursorPageResponseDTO;
 import com.jompastech.backend.model.dto.cloudinary.BoatPhotoResponseDTO;
+import com.jompastech.backend.model.dto.geo.NearbyBoatDTO;
 import com.jompastech.backend.model.dto.cloudinary.PhotoOrderUpdateDTO;
+import com.jompastech.backend.model.dto.cloudinary.PhotoUploadSignatureDTO;
+import com.jompastech.backend.model.dto.cloudinary.RegisterPhotosRequestDTO;
 import com.jompastech.backend.model.entity.BoatPhoto;
+import com.jompastech.backend.model.enums.CatalogSort;
 import com.jompastech.backend.security.service.UserDetailsImpl;
+import com.jompastech.backend.service.BoatCardProjector;
 import com.jompastech.backend.service.BoatService;
-import com.jompastech.backend.service.CloudinaryService;
 import com.jompastech.backend.model.dto.cloudinary.CloudinaryUploadResult;
 import com.jompastech.backend.service.PhotoService;
+import com.jompastech.backend.service.PhotoStorage;
+import com.jompastech.backend.service.PhotoUploader;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -24,6 +37,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -33,11 +47,14 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -47,8 +64,11 @@ import java.util.List;
 public class BoatController {
 
     private final BoatService boatService;
-    private final CloudinaryService cloudinaryService;
+    private final PhotoStorage photoStorage;
+    private final PhotoUploader photoUploader;
     private final PhotoService photoService;
+    private final BoatCardProjector boatCardProjector;
+    private final ObjectMapper objectMapper;
 
     @Operation(
             summary = "Create a new boat",
@@ -100,8 +120,7 @@ public class BoatController {
         }
 
         try {
-            // Parse JSON to DTO
-            ObjectMapper objectMapper = new ObjectMapper();
+            // Parse JSON to DTO with the application's shared mapper
             BoatRequestDTO dto = objectMapper.readValue(boatJson, BoatRequestDTO.class);
 
             log.info("Parsed boat DTO: {}, images: {}", dto.getName(), images != null ? images.size() : 0);
@@ -117,19 +136,13 @@ public class BoatController {
                         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
                     }
 
-                    // Upload images to Cloudinary
-                    uploadedImages = cloudinaryService.uploadImages(images);
+                    // Upload images to photo storage, reusing images already stored
+                    uploadedImages = photoUploader.uploadAll(images);
 
                     // Create BoatPhoto entities from upload results
                     for (int i = 0; i < uploadedImages.size(); i++) {
-                        CloudinaryUploadResult result = uploadedImages.get(i);
-                        BoatPhoto boatPhoto = new BoatPhoto();
-                        boatPhoto.setPhotoUrl(result.getUrl());
-                        boatPhoto.setPublicId(result.getPublicId());
-                        boatPhoto.setFileName(result.getFileName());
-                        boatPhoto.setOrdem(i); // Order based on position in list
-
-                        boatPhotos.add(boatPhoto);
+                        // Order based on position in list
+                        boatPhotos.add(BoatMapper.toBoatPhoto(uploadedImages.get(i), i, null));
                     }
                 }
 
@@ -140,7 +153,7 @@ public class BoatController {
             } catch (Exception e) {
                 log.error("Failed to create boat: {}", e.getMessage(), e);
 
-                // 3. Rollback: delete uploaded images from Cloudinary if boat creation failed
+                // 3. Rollback: delete uploaded images from photo storage if boat creation failed
                 if (!uploadedImages.isEmpty()) {
                     rollbackCloudinaryUploads(uploadedImages);
                 }
@@ -161,19 +174,19 @@ public class BoatController {
     }
 
     /**
-     * Rollback uploaded images from Cloudinary in case of failure.
+     * Rollback uploaded images from photo storage in case of failure.
      */
     private void rollbackCloudinaryUploads(List<CloudinaryUploadResult> uploadedImages) {
-        log.warn("Rolling back {} uploaded images due to boat creation failure", uploadedImages.size());
-
-        List<String> publicIds = new ArrayList<>();
-        for (CloudinaryUploadResult result : uploadedImages) {
-            publicIds.add(result.getPublicId());
+        // Reused images still belong to other photos
+        List<String> publicIds = PhotoUploader.uploadedPublicIds(uploadedImages);
+        if (publicIds.isEmpty()) {
+            return;
         }
+        log.warn("Rolling back {} uploaded images due to boat creation failure", publicIds.size());
 
         try {
-            cloudinaryService.deleteImages(publicIds);
-            log.info("Rollback completed: {} images deleted from Cloudinary", publicIds.size());
+            photoStorage.deleteImages(publicIds);
+            log.info("Rollback completed: {} images deleted from photo storage", publicIds.size());
         } catch (IOException ex) {
             log.error("Failed to delete images during rollback. Manual cleanup required for public IDs: {}",
                     publicIds, ex);
@@ -188,21 +201,36 @@ public class BoatController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Boat found",
                     content = @Content(schema = @Schema(implementation = BoatResponseDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Boat not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Boat not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/{id}")
     public ResponseEntity<BoatResponseDTO> getBoat(
             @Parameter(description = "ID of the boat to retrieve", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest request) {
+
+        BoatContentVersion version = boatService.findContentVersion(id)
+                .orElseThrow(() -> new EntityNotFoundException("Boat not found with id: " + id));
+        if (ConditionalRequests.isNotModified(request, Optional.of(version), "details")) {
+            return null;
+        }
 
-        BoatResponseDTO boat = boatService.findById(id);
-        return ResponseEntity.ok(boat);
+        BoatDetails details = boatService.findDetails(id);
+        if (details.version().version() < version.version()) {
+            // Cached before a change this instance did not evict for, e.g. made on another instance
+            details = boatService.refreshDetails(id);
+        }
+        ConditionalRequests.describe(request, details.version(), "details");
+        return ResponseEntity.ok(details.boat());
     }
 
     @Operation(
             summary = "Get all boats",
-            description = "Retrieves a list of all available boats"
+            description = "Retrieves a list of all available boats. Deprecated: loads the whole catalog, "
+                    + "use GET /api/boats/catalog instead",
+            deprecated = true
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "List of boats retrieved successfully",
@@ -214,20 +242,133 @@ public class BoatController {
         return ResponseEntity.ok(boatService.findAllBoats());
     }
 
+    @Operation(
+            summary = "Browse the boat catalog",
+            description = "Retrieves the public catalog using cursor pagination. Pass the returned nextCursor "
+                    + "to get the following page; the cost of each page does not depend on the catalog size"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Catalog page retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sort"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/catalog")
+    public ResponseEntity<CursorPageResponseDTO<BoatCardView>> getCatalog(
+            @Parameter(description = "Opaque cursor returned by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-100)")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort key: ID or PRICE")
+            @RequestParam(defaultValue = "ID") CatalogSort sort) {
+
+        return ResponseEntity.ok(boatService.findCatalogPage(cursor, size, sort));
+    }
+
+    @Operation(
+            summary = "Search boats",
+            description = "Filters boats by free text (q), type, city, state, marina, minimum capacity, "
+                    + "price range, required amenities and availability period (availableFrom/availableTo). "
+                    + "Returns one page of results with per-type and per-city counts. Text searches are "
+                    + "ranked by relevance unless a sort is given"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid filters or paging"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<BoatSearchResponseDTO> searchBoats(
+            @ParameterObject BoatSearchCriteria criteria,
+            @Parameter(description = "Page number (0-based)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (1-100)")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort key: ID or PRICE (default: relevance with q, otherwise ID)")
+            @RequestParam(required = false) CatalogSort sort) {
+
+        return ResponseEntity.ok(boatService.searchBoats(criteria, page, size, sort));
+    }
+
+    @Operation(
+            summary = "Rebuild the catalog cards",
+            description = "Recomputes the boat card read model used by the catalog, search and map "
+                    + "listings from the boats, photos, availability and reviews. Admin only"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Cards rebuilt, returns the number of cards written"),
+            @ApiResponse(responseCode = "403", description = "User is not an admin"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/cards/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildCards() {
+        log.info("Rebuilding boat card read model");
+        return ResponseEntity.ok(Map.of("cards", boatCardProjector.rebuildAll()));
+    }
+
+    @Operation(
+            summary = "Find boats near a point",
+            description = "Returns boats moored within the given radius, closest first, "
+                    + "with their coordinates and distance in kilometers"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Nearby boats retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid coordinates or radius"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyBoatDTO>> findNearbyBoats(
+            @Parameter(description = "Latitude of the center", required = true)
+            @RequestParam double lat,
+            @Parameter(description = "Longitude of the center", required = true)
+            @RequestParam double lng,
+            @Parameter(description = "Radius in kilometers (up to 500)")
+            @RequestParam(defaultValue = "10") double radiusKm,
+            @Parameter(description = "Maximum number of boats (1-100)")
+            @RequestParam(defaultValue = "20") int limit) {
+
+        return ResponseEntity.ok(boatService.findNearby(lat, lng, radiusKm, limit));
+    }
+
+    @Operation(
+            summary = "Find boats inside a map area",
+            description = "Returns boats moored inside the bounding box, closest to its center first"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Boats retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid or too large bounding box"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/within")
+    public ResponseEntity<List<NearbyBoatDTO>> findBoatsWithin(
+            @Parameter(description = "Southern latitude", required = true) @RequestParam double south,
+            @Parameter(description = "Western longitude", required = true) @RequestParam double west,
+            @Parameter(description = "Northern latitude", required = true) @RequestParam double north,
+            @Parameter(description = "Eastern longitude", required = true) @RequestParam double east,
+            @Parameter(description = "Maximum number of boats (1-100)")
+            @RequestParam(defaultValue = "20") int limit) {
+
+        return ResponseEntity.ok(boatService.findInBoundingBox(south, west, north, east, limit));
+    }
+
     @Operation(
             summary = "Get boat photos",
             description = "Retrieves all photos for a specific boat"
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Photos retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Photos not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Boat not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/{boatId}/photos")
     public ResponseEntity<List<BoatPhotoResponseDTO>> getBoatPhotos(
             @Parameter(description = "ID of the boat", required = true)
-            @PathVariable Long boatId) {
+            @PathVariable Long boatId,
+            WebRequest request) {
 
+        if (ConditionalRequests.isNotModified(request, boatService.findContentVersion(boatId), "photos")) {
+            return null;
+        }
         try {
             List<BoatPhotoResponseDTO> photos = photoService.getBoatPhotos(boatId);
             return ResponseEntity.ok(photos);
@@ -285,6 +426,82 @@ public class BoatController {
         }
     }
 
+    @Operation(
+            summary = "Sign direct photo uploads",
+            description = "Issues short-lived signed parameters to upload photos straight to the photo storage. " +
+                    "Register the uploads afterwards with POST /api/boats/{boatId}/photos/register"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Upload parameters issued, one set per photo"),
+            @ApiResponse(responseCode = "400", description = "Invalid count or maximum photos exceeded"),
+            @ApiResponse(responseCode = "404", description = "Boat not found"),
+            @ApiResponse(responseCode = "501", description = "Photo storage does not support direct uploads")
+    })
+    @PostMapping("/{boatId}/photos/upload-signatures")
+    public ResponseEntity<List<PhotoUploadSignatureDTO>> createPhotoUploadSignatures(
+            @Parameter(description = "ID of the boat", required = true)
+            @PathVariable Long boatId,
+
+            @Parameter(description = "Number of photos to upload (1-10)")
+            @RequestParam(defaultValue = "1") int count,
+
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+
+        log.info("Signing {} direct photo uploads for boat ID: {}, user: {}", count, boatId, userDetails.getUsername());
+
+        if (count < 1 || count > 10) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        try {
+            return ResponseEntity.ok(photoService.createUploadSignatures(boatId, count));
+        } catch (EntityNotFoundException | jakarta.persistence.EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (UnsupportedOperationException e) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        }
+    }
+
+    @Operation(
+            summary = "Register directly uploaded photos",
+            description = "Verifies the signatures of photos uploaded straight to the photo storage " +
+                    "and adds them to the boat"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Photos registered successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid signature, foreign or duplicate photo, " +
+                    "or maximum photos exceeded"),
+            @ApiResponse(responseCode = "404", description = "Boat not found"),
+            @ApiResponse(responseCode = "501", description = "Photo storage does not support direct uploads")
+    })
+    @PostMapping(value = "/{boatId}/photos/register", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BoatPhotoResponseDTO>> registerUploadedPhotos(
+            @Parameter(description = "ID of the boat", required = true)
+            @PathVariable Long boatId,
+
+            @Parameter(description = "Upload responses of the photos, in display order", required = true)
+            @Valid @RequestBody RegisterPhotosRequestDTO request,
+
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+
+        log.info("Registering {} uploaded photos for boat ID: {}, user: {}",
+                request.getPhotos().size(), boatId, userDetails.getUsername());
+
+        try {
+            List<BoatPhotoResponseDTO> registered = photoService.registerUploadedPhotos(boatId, request.getPhotos());
+            return ResponseEntity.status(HttpStatus.CREATED).body(registered);
+        } catch (EntityNotFoundException | jakarta.persistence.EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected photo registration for boat ID {}: {}", boatId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (UnsupportedOperationException e) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        }
+    }
+
     @Operation(
             summary = "Delete boat photo",
             description = "Deletes a specific photo from a boat and from Cloudinary"
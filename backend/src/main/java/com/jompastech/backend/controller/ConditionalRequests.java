@@ -0,0 +1,63 @@
+package com.jompastech.backend.controller;
+
+import com.jompastech.backend.model.dto.catalog.BoatContentVersion;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+
+/**
+ * Conditional GET support for the boat read endpoints.
+ *
+ * <p>Handlers look up the boat content version first, a primary key read, and call
+ * {@link #isNotModified} before loading anything else. When the client copy is
+ * current the response is already a 304 and the handler returns {@code null}.</p>
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Checks {@code If-None-Match} / {@code If-Modified-Since} against the boat version
+     * and sets {@code ETag}, {@code Last-Modified} and {@code Cache-Control: no-cache}
+     * on the response, so clients revalidate instead of reusing a stale copy.
+     *
+     * @param request current request
+     * @param version content version of the boat, empty when the boat does not exist
+     * @param view name of the representation served
+     * @return true if a 304 was prepared and the handler must not write a body
+     */
+    static boolean isNotModified(WebRequest request, Optional<BoatContentVersion> version, String view) {
+        if (version.isEmpty()) {
+            return false;
+        }
+        if (request instanceof NativeWebRequest nativeRequest
+                && nativeRequest.getNativeResponse() instanceof HttpServletResponse response) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        }
+        return request.checkNotModified(version.get().etag(view), version.get().lastModifiedMillis());
+    }
+
+    /**
+     * Sets {@code ETag} and {@code Last-Modified} from the version of the body actually
+     * served, which may be newer than the one checked by {@link #isNotModified} when the
+     * body was reloaded in between.
+     *
+     * @param request current request
+     * @param version content version the body was read at
+     * @param view name of the representation served
+     */
+    static void describe(WebRequest request, BoatContentVersion version, String view) {
+        if (request instanceof NativeWebRequest nativeRequest
+                && nativeRequest.getNativeResponse() instanceof HttpServletResponse response) {
+            response.setHeader(HttpHeaders.ETAG, version.etag(view));
+            if (version.lastModifiedMillis() >= 0) {
+                response.setDateHeader(HttpHeaders.LAST_MODIFIED, version.lastModifiedMillis());
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.jompastech.backend.controller;
+
+import com.jompastech.backend.service.ImageProxyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Image proxy serving boat photos resized to the size the client displays them.
+ *
+ * <p>Design Decisions:
+ * <ul>
+ *   <li>The ETag derives from the request alone, so conditional requests are answered
+ *       before any lookup</li>
+ *   <li>Renditions never change, so responses are cacheable for a year as immutable</li>
+ *   <li>The memory-mapped rendition is written straight to the response channel, without
+ *       copying it onto the heap</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/api/public/img")
+@RequiredArgsConstructor
+@Tag(name = "Images", description = "Boat photos resized on demand")
+public class ImageProxyController {
+
+    private final ImageProxyService imageProxyService;
+
+    @Operation(
+            summary = "Get a resized boat photo",
+            description = "Serves a boat photo scaled down to fit the given box, in the given format. " +
+                    "Sizes are rounded up to a multiple of 32px; images are never scaled up."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Resized photo"),
+            @ApiResponse(responseCode = "304", description = "Client copy is current"),
+            @ApiResponse(responseCode = "400", description = "Invalid size or unsupported format"),
+            @ApiResponse(responseCode = "404", description = "Photo not found"),
+            @ApiResponse(responseCode = "500", description = "Stored image cannot be decoded")
+    })
+    @GetMapping("{photoId}")
+    public void getImage(
+            @Parameter(description = "Boat photo ID", required = true) @PathVariable Long photoId,
+            @Parameter(description = "Largest width in pixels") @RequestParam(name = "w", required = false) Integer width,
+            @Parameter(description = "Largest height in pixels") @RequestParam(name = "h", required = false) Integer height,
+            @Parameter(description = "Image format: jpeg (default), png") @RequestParam(name = "fmt", required = false) String format,
+            WebRequest webRequest,
+            HttpServletResponse response) throws IOException {
+
+        ImageProxyService.Rendition rendition = imageProxyService.rendition(photoId, width, height, format);
+        if (webRequest.checkNotModified(rendition.etag())) {
+            return;
+        }
+
+        MappedByteBuffer content = imageProxyService.load(rendition);
+
+        response.setContentType(rendition.contentType());
+        response.setContentLengthLong(content.remaining());
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable().getHeaderValue());
+        WritableByteChannel channel = Channels.newChannel(response.getOutputStream());
+        while (content.hasRemaining()) {
+            channel.write(content);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.jompastech.backend.controller;
+
+import com.jompastech.backend.service.impl.LocalPhotoStorage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the photos kept by {@link LocalPhotoStorage}.
+ *
+ * <p>Design Decisions:
+ * <ul>
+ *   <li>Full responses use the servlet container's sendfile support when available, so
+ *       the kernel copies the file straight to the socket and the bytes never pass
+ *       through the JVM heap</li>
+ *   <li>Range requests, and containers without sendfile, are answered with a file
+ *       {@link Resource}; Spring turns {@code Range} headers into 206 partial responses</li>
+ *   <li>File names are never reused, so responses are cacheable for a year as immutable
+ *       and the name itself is the ETag</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping(LocalPhotoStorage.FILES_PATH)
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.photos.storage", havingValue = "local")
+@Tag(name = "Photo files", description = "Photos stored on the local filesystem")
+public class PhotoFileController {
+
+    // Tomcat request attributes driving sendfile, see org.apache.coyote.Constants
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalPhotoStorage photoStorage;
+
+    @Operation(
+            summary = "Get a stored photo",
+            description = "Streams a photo stored on the local filesystem. Supports Range and conditional requests."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Photo content"),
+            @ApiResponse(responseCode = "206", description = "Requested byte range of the photo"),
+            @ApiResponse(responseCode = "304", description = "Client copy is current"),
+            @ApiResponse(responseCode = "404", description = "Photo not found")
+    })
+    @GetMapping("{fileName}")
+    public ResponseEntity<Resource> getPhoto(
+            @Parameter(description = "Stored file name", required = true) @PathVariable String fileName,
+            HttpServletRequest request,
+            WebRequest webRequest) throws IOException {
+
+        Optional<Path> stored = photoStorage.resolve(fileName);
+        if (stored.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Path file = stored.get();
+
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        if (webRequest.checkNotModified("\"" + fileName + "\"", lastModified)) {
+            return null;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setContentType(MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM));
+
+        if (request.getHeader(HttpHeaders.RANGE) == null
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            long size = Files.size(file);
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            headers.setContentLength(size);
+            return ResponseEntity.ok().headers(headers).build();
+        }
+
+        return ResponseEntity.ok().headers(headers).body(new FileSystemResource(file));
+    }
+}
@@ -0,0 +1,96 @@
+package com.jompastech.backend.controller;
+
+import com.jompastech.backend.model.dto.cloudinary.PhotoJobDTO;
+import com.jompastech.backend.model.enums.PhotoJobStatus;
+import com.jompastech.backend.security.service.UserDetailsImpl;
+import com.jompastech.backend.service.PhotoJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Asynchronous photo uploads: the photos are accepted at once and added to the boat by
+ * a background job, whose progress the client polls.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/boats/{boatId}/photos/jobs")
+@RequiredArgsConstructor
+@Tag(name = "Photo jobs", description = "Background processing of uploaded boat photos")
+public class PhotoJobController {
+
+    // Suggested polling delay while a job is running, in seconds
+    private static final String RETRY_AFTER_SECONDS = "2";
+
+    private final PhotoJobService photoJobService;
+
+    @Operation(
+            summary = "Add photos to boat in the background",
+            description = "Accepts the photos and queues a job adding them to the boat. " +
+                    "Poll the job in the Location header for its progress"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Photos accepted, job queued"),
+            @ApiResponse(responseCode = "400", description = "Invalid image or more than 10 files"),
+            @ApiResponse(responseCode = "404", description = "Boat not found")
+    })
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<PhotoJobDTO> createJob(
+            @Parameter(description = "ID of the boat", required = true) @PathVariable Long boatId,
+            @Parameter(description = "Images to upload (max 10 files, 10MB each)")
+            @RequestPart(value = "images") List<MultipartFile> images,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) throws IOException {
+
+        log.info("Queueing {} photos for boat ID: {}, user: {}", images.size(), boatId, userDetails.getUsername());
+
+        PhotoJobDTO job = photoJobService.enqueue(boatId, images);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{jobId}")
+                .buildAndExpand(job.getJobId())
+                .toUri();
+
+        return ResponseEntity.accepted()
+                .location(location)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(job);
+    }
+
+    @Operation(summary = "Get photo job status", description = "Returns the status and progress of a photo job")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Job status"),
+            @ApiResponse(responseCode = "404", description = "Job not found")
+    })
+    @GetMapping("/{jobId}")
+    public ResponseEntity<PhotoJobDTO> getJob(
+            @Parameter(description = "ID of the boat", required = true) @PathVariable Long boatId,
+            @Parameter(description = "ID of the job", required = true) @PathVariable Long jobId) {
+
+        PhotoJobDTO job = photoJobService.getJob(boatId, jobId);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noStore());
+        if (job.getStatus() == PhotoJobStatus.QUEUED || job.getStatus() == PhotoJobStatus.PROCESSING) {
+            response.header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        }
+        return response.body(job);
+    }
+}
@@ -0,0 +1,180 @@
+package com.jompastech.backend.controller;
+
+import com.jompastech.backend.exception.EntityNotFoundException;
+import com.jompastech.backend.model.dto.cloudinary.BoatPhotoResponseDTO;
+import com.jompastech.backend.model.dto.cloudinary.ResumableUploadDTO;
+import com.jompastech.backend.model.dto.cloudinary.ResumableUploadRequestDTO;
+import com.jompastech.backend.security.service.UserDetailsImpl;
+import com.jompastech.backend.service.ResumableUploadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Resumable photo uploads for unreliable connections, modelled on the tus protocol.
+ *
+ * <p>The client creates an upload, sends the photo in {@code PATCH} chunks, each starting
+ * at the current {@code Upload-Offset}, and completes it. After a dropped connection it
+ * asks for the offset with {@code HEAD} and sends only the remaining bytes.</p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/boats/{boatId}/photos/uploads")
+@RequiredArgsConstructor
+@Tag(name = "Resumable photo uploads", description = "Chunked photo uploads that survive dropped connections")
+public class ResumableUploadController {
+
+    static final String UPLOAD_OFFSET = "Upload-Offset";
+    static final String UPLOAD_LENGTH = "Upload-Length";
+    static final String UPLOAD_CHECKSUM = "Upload-Checksum";
+    static final String OFFSET_OCTET_STREAM = "application/offset+octet-stream";
+
+    private final ResumableUploadService uploadService;
+
+    @Operation(
+            summary = "Create a resumable upload",
+            description = "Announces a photo to be sent in chunks. The Location header addresses the upload"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Upload created at offset 0"),
+            @ApiResponse(responseCode = "400", description = "Not an image, or larger than 10MB"),
+            @ApiResponse(responseCode = "404", description = "Boat not found")
+    })
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResumableUploadDTO> createUpload(
+            @Parameter(description = "ID of the boat", required = true) @PathVariable Long boatId,
+            @Valid @RequestBody ResumableUploadRequestDTO request,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) throws IOException {
+
+        log.info("Creating resumable upload of {} for boat ID: {}, user: {}",
+                request.getFileName(), boatId, userDetails.getUsername());
+
+        ResumableUploadDTO upload = uploadService.create(boatId, request);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{uploadId}")
+                .buildAndExpand(upload.getUploadId())
+                .toUri();
+
+        return ResponseEntity.created(location)
+                .header(UPLOAD_OFFSET, "0")
+                .header(UPLOAD_LENGTH, String.valueOf(upload.getLength()))
+                .body(upload);
+    }
+
+    @Operation(
+            summary = "Get the offset of a resumable upload",
+            description = "Returns the number of bytes received in the Upload-Offset header; resume sending from there"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Upload state"),
+            @ApiResponse(responseCode = "404", description = "Upload not found or expired")
+    })
+    @RequestMapping(value = "/{uploadId}", method = {RequestMethod.HEAD, RequestMethod.GET})
+    public ResponseEntity<ResumableUploadDTO> getUpload(
+            @Parameter(description = "ID of the boat", required = true) @PathVariable Long boatId,
+            @Parameter(description = "ID of the upload", required = true) @PathVariable String uploadId)
+            throws IOException {
+
+        ResumableUploadDTO upload = uploadService.status(boatId, uploadId);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .header(UPLOAD_OFFSET, String.valueOf(upload.getOffset()))
+                .header(UPLOAD_LENGTH, String.valueOf(upload.getLength()))
+                .body(upload);
+    }
+
+    @Operation(
+            summary = "Send a chunk",
+            description = "Appends the request body at Upload-Offset, which must equal the current offset. " +
+                    "An optional Upload-Checksum header (sha256 <base64>) makes the chunk all or nothing"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Chunk stored; Upload-Offset holds the new offset"),
+            @ApiResponse(responseCode = "400", description = "Chunk past the upload length or unsupported checksum"),
+            @ApiResponse(responseCode = "404", description = "Upload not found or expired"),
+            @ApiResponse(responseCode = "409", description = "Upload-Offset is not the current offset"),
+            @ApiResponse(responseCode = "423", description = "Another chunk of the upload is being written"),
+            @ApiResponse(responseCode = "460", description = "Chunk does not match its checksum; nothing was stored")
+    })
+    @PatchMapping(value = "/{uploadId}", consumes = OFFSET_OCTET_STREAM)
+    public ResponseEntity<Void> appendChunk(
+            @Parameter(description = "ID of the boat", required = true) @PathVariable Long boatId,
+            @Parameter(description = "ID of the upload", required = true) @PathVariable String uploadId,
+            @RequestHeader(UPLOAD_OFFSET) long offset,
+            @RequestHeader(value = UPLOAD_CHECKSUM, required = false) String checksum,
+            HttpServletRequest request) throws IOException {
+
+        long newOffset = uploadService.appendChunk(boatId, uploadId, offset, checksum, request.getInputStream());
+        return ResponseEntity.noContent()
+                .header(UPLOAD_OFFSET, String.valueOf(newOffset))
+                .build();
+    }
+
+    @Operation(
+            summary = "Complete a resumable upload",
+            description = "Adds the fully received photo to the boat. On failure the upload is kept and can be completed again"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Photo added to the boat"),
+            @ApiResponse(responseCode = "400", description = "Invalid image or maximum photos exceeded"),
+            @ApiResponse(responseCode = "404", description = "Upload or boat not found"),
+            @ApiResponse(responseCode = "409", description = "Bytes are still missing"),
+            @ApiResponse(responseCode = "460", description = "Photo does not match the checksum given at creation")
+    })
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<List<BoatPhotoResponseDTO>> completeUpload(
+            @Parameter(description = "ID of the boat", required = true) @PathVariable Long boatId,
+            @Parameter(description = "ID of the upload", required = true) @PathVariable String uploadId,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) throws IOException {
+
+        log.info("Completing resumable upload {} for boat ID: {}, user: {}", uploadId, boatId, userDetails.getUsername());
+
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(uploadService.complete(boatId, uploadId));
+        } catch (jakarta.persistence.EntityNotFoundException e) {
+            // Boat removed while the photo was uploading
+            throw new EntityNotFoundException(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Abort a resumable upload", description = "Discards the upload and the bytes received")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Upload discarded"),
+            @ApiResponse(responseCode = "404", description = "Upload not found or expired")
+    })
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> abortUpload(
+            @Parameter(description = "ID of the boat", required = true) @PathVariable Long boatId,
+            @Parameter(description = "ID of the upload", required = true) @PathVariable String uploadId)
+            throws IOException {
+
+        uploadService.abort(boatId, uploadId);
+        return ResponseEntity.noContent().build();
+    }
+}
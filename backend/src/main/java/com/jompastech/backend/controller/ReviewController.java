@@ -3,12 +3,14 @@ package com.jompastech.backend.controller;
 import com.jompastech.backend.model.dto.ReviewRequestDTO;
 import com.jompastech.backend.model.dto.ReviewResponseDTO;
 import com.jompastech.backend.security.service.UserDetailsImpl;
+import com.jompastech.backend.service.BoatService;
 import com.jompastech.backend.service.ReviewService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -32,9 +34,11 @@ import java.util.List;
 public class ReviewController {
 
     private final ReviewService reviewService;
+    private final BoatService boatService;
 
-    public ReviewController(ReviewService reviewService) {
+    public ReviewController(ReviewService reviewService, BoatService boatService) {
         this.reviewService = reviewService;
+        this.boatService = boatService;
     }
 
     /**
@@ -86,9 +90,13 @@ public class ReviewController {
 
     /**
      * Retrieves all reviews for a specific boat.
+     * Answers 304 when the client copy matches the boat content version.
      */
     @GetMapping("/boat/{boatId}")
-    public ResponseEntity<List<ReviewResponseDTO>> getReviewsByBoat(@PathVariable Long boatId) {
+    public ResponseEntity<List<ReviewResponseDTO>> getReviewsByBoat(@PathVariable Long boatId, WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, boatService.findContentVersion(boatId), "reviews")) {
+            return null;
+        }
         List<ReviewResponseDTO> reviews = reviewService.findByBoatId(boatId);
         return ResponseEntity.ok(reviews);
     }
@@ -126,7 +134,10 @@ public class ReviewController {
      * Gets review statistics for a boat.
      */
     @GetMapping("/boat/{boatId}/stats")
-    public ResponseEntity<Object> getReviewStats(@PathVariable Long boatId) {
+    public ResponseEntity<Object> getReviewStats(@PathVariable Long boatId, WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, boatService.findContentVersion(boatId), "review-stats")) {
+            return null;
+        }
         var stats = reviewService.getReviewStats(boatId);
         return ResponseEntity.ok(stats);
     }
@@ -11,6 +11,8 @@ import org.mapstruct.Mapping;
 public interface AddressMapper {
 
     // RequestDTO -> Entity
+    @Mapping(target = "latitude", ignore = true) // Set by BoatService, which keeps BoatGeoIndex in sync
+    @Mapping(target = "longitude", ignore = true)
     Address toEntity(AddressRequestDTO dto);
 
     // Basic convertion Entity → private ResponseDTO
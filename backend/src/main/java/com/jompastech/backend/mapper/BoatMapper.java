@@ -2,8 +2,11 @@ package com.jompastech.backend.mapper;
 
 import com.jompastech.backend.model.dto.BoatRequestDTO;
 import com.jompastech.backend.model.dto.BoatResponseDTO;
+import com.jompastech.backend.model.dto.cloudinary.CloudinaryUploadResult;
+import com.jompastech.backend.model.dto.cloudinary.PhotoVariantsDTO;
 import com.jompastech.backend.model.entity.Boat;
 import com.jompastech.backend.model.entity.BoatPhoto;
+import com.jompastech.backend.model.entity.ImageVariant;
 import org.mapstruct.*;
 
 import java.util.Comparator;
@@ -21,6 +24,9 @@ public interface BoatMapper {
     @Mapping(target = "owner", ignore = true)
     @Mapping(target = "address", ignore = true) //  Doesn't map directly, will be handled by service
     @Mapping(target = "photos", ignore = true) // Will be handled separately
+    @Mapping(target = "searchVector", ignore = true) // Generated by the database
+    @Mapping(target = "contentVersion", ignore = true) // Bumped by BoatService on every change
+    @Mapping(target = "contentUpdatedAt", ignore = true)
     @Mapping(target = "length", source = "length")
     @Mapping(target = "speed", source = "speed")
     @Mapping(target = "fabrication", source = "fabrication")
@@ -35,6 +41,7 @@ public interface BoatMapper {
     @Mapping(source = "owner.name", target = "ownerName")
     @Mapping(source = "owner.id", target = "ownerId")
     @Mapping(source = "photos", target = "photos", qualifiedByName = "extractPhotoUrls")
+    @Mapping(source = "photos", target = "photoVariants", qualifiedByName = "extractPhotoVariants")
     BoatResponseDTO toResponseDTO(Boat boat);
 
     // Auxiliary method for extracting URLs from photos sorted by order.
@@ -50,6 +57,56 @@ public interface BoatMapper {
                 .collect(Collectors.toList());
     }
 
+    // Auxiliary method for extracting the responsive variants, in the same order as the URLs.
+    @Named("extractPhotoVariants")
+    static List<PhotoVariantsDTO> extractPhotoVariants(List<BoatPhoto> photos) {
+        if (photos == null || photos.isEmpty()) {
+            return List.of();
+        }
+
+        return photos.stream()
+                .sorted(Comparator.comparing(BoatPhoto::getOrdem))
+                .map(BoatMapper::toPhotoVariants)
+                .collect(Collectors.toList());
+    }
+
+    static PhotoVariantsDTO toPhotoVariants(BoatPhoto photo) {
+        return new PhotoVariantsDTO(
+                photo.getPhotoUrl(),
+                photo.getWidth(),
+                photo.getHeight(),
+                photo.getPlaceholder(),
+                toVariant(photo.getThumbnail()),
+                toVariant(photo.getCard()),
+                toVariant(photo.getFull()));
+    }
+
+    private static PhotoVariantsDTO.Variant toVariant(ImageVariant variant) {
+        if (variant == null || variant.getUrl() == null) {
+            return null;
+        }
+        return new PhotoVariantsDTO.Variant(variant.getUrl(), variant.getWidth(), variant.getHeight());
+    }
+
+    // Builds the photo entity of an uploaded image, including its variants and placeholder.
+    // The boat may be null when it is assigned on save.
+    static BoatPhoto toBoatPhoto(CloudinaryUploadResult result, int ordem, Boat boat) {
+        BoatPhoto photo = new BoatPhoto();
+        photo.setPhotoUrl(result.getUrl());
+        photo.setPublicId(result.getPublicId());
+        photo.setFileName(result.getFileName());
+        photo.setContentHash(result.getContentHash());
+        photo.setOrdem(ordem);
+        photo.setBoat(boat);
+        photo.setWidth(result.getWidth());
+        photo.setHeight(result.getHeight());
+        photo.setPlaceholder(result.getPlaceholder());
+        photo.setThumbnail(result.getThumbnail());
+        photo.setCard(result.getCard());
+        photo.setFull(result.getFull());
+        return photo;
+    }
+
     // Optional auxiliary method: take the first photo (useful for thumbnails)
     @Named("firstPhotoUrl")
     static String firstPhotoUrl(List<BoatPhoto> photos) {
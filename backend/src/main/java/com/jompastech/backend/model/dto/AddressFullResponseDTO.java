@@ -12,4 +12,6 @@ public class AddressFullResponseDTO {
     private String neighborhood;
     private String city;
     private String state;
+    private Double latitude;
+    private Double longitude;
 }
@@ -32,4 +32,8 @@ public class BoatRequestDTO {
     private String city;
     private String state;
     private String marina;
+
+    // Optional coordinates of the mooring, both or none
+    private Double latitude;
+    private Double longitude;
 }
\ No newline at end of file
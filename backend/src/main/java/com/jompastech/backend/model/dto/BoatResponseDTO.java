@@ -1,5 +1,6 @@
 package com.jompastech.backend.model.dto;
 
+import com.jompastech.backend.model.dto.cloudinary.PhotoVariantsDTO;
 import com.jompastech.backend.model.entity.Address;
 import com.jompastech.backend.model.entity.User;
 import lombok.AllArgsConstructor;
@@ -26,4 +27,5 @@ public class BoatResponseDTO {
     private String marina;
     private String ownerName; // from User
     private Long ownerId;
+    private List<PhotoVariantsDTO> photoVariants; // same order as photos
 }
@@ -0,0 +1,44 @@
+package com.jompastech.backend.model.dto.catalog;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Read-only card representation of a boat for catalog and search listings.
+ *
+ * <p>Built directly by a JPQL constructor expression in {@code BoatRepository}
+ * over the {@code boat_cards} read model, so no {@code Boat} entity is hydrated,
+ * nothing enters the persistence context and there is nothing to dirty-check
+ * when the read-only transaction ends.</p>
+ *
+ * @param id boat identifier
+ * @param name boat name
+ * @param type boat type
+ * @param capacity maximum number of passengers
+ * @param pricePerHour base price per hour
+ * @param city city of the boat address
+ * @param state state of the boat address
+ * @param marina marina where the boat is moored
+ * @param ownerName display name of the owner
+ * @param coverPhotoUrl URL of the first photo by display order, or null if the boat has no photos
+ * @param amenities amenities offered on board
+ * @param averageRating average review rating, or null if the boat has no reviews
+ * @param reviewCount number of reviews
+ * @param minWindowPrice cheapest price per hour among the availability windows, or null if none
+ */
+public record BoatCardView(
+        Long id,
+        String name,
+        String type,
+        int capacity,
+        BigDecimal pricePerHour,
+        String city,
+        String state,
+        String marina,
+        String ownerName,
+        String coverPhotoUrl,
+        List<String> amenities,
+        Double averageRating,
+        long reviewCount,
+        BigDecimal minWindowPrice
+) {}
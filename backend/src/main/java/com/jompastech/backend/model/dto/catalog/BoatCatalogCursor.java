@@ -0,0 +1,70 @@
+package com.jompastech.backend.model.dto.catalog;
+
+import com.jompastech.backend.model.enums.CatalogSort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position inside the boat catalog for keyset pagination.
+ *
+ * <p>The cursor is serialized as URL-safe Base64 so clients treat it as an
+ * opaque token. It embeds the sort it was produced for, which prevents a
+ * cursor from one ordering being replayed against another.</p>
+ *
+ * @param sort the ordering this cursor belongs to
+ * @param pricePerHour price of the last returned boat (only for {@link CatalogSort#PRICE})
+ * @param boatId id of the last returned boat
+ */
+public record BoatCatalogCursor(CatalogSort sort, BigDecimal pricePerHour, Long boatId) {
+
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Encodes this position as an opaque token.
+     *
+     * @return URL-safe Base64 cursor
+     */
+    public String encode() {
+        String raw = sort.name() + SEPARATOR
+                + (pricePerHour != null ? pricePerHour.toPlainString() : "") + SEPARATOR
+                + boatId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param cursor the opaque cursor received from the client
+     * @param expectedSort the sort requested alongside the cursor
+     * @return the decoded position
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another sort
+     */
+    public static BoatCatalogCursor decode(String cursor, CatalogSort expectedSort) {
+        BoatCatalogCursor decoded;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Unexpected cursor format");
+            }
+            decoded = new BoatCatalogCursor(
+                    CatalogSort.valueOf(parts[0]),
+                    parts[1].isEmpty() ? null : new BigDecimal(parts[1]),
+                    Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            // Base64, enum and number parsing errors all surface as one client-facing message
+            throw new IllegalArgumentException("Invalid catalog cursor", e);
+        }
+
+        if (decoded.sort() != expectedSort) {
+            throw new IllegalArgumentException("Catalog cursor does not match the requested sort");
+        }
+        if (decoded.sort() == CatalogSort.PRICE && decoded.pricePerHour() == null) {
+            throw new IllegalArgumentException("Invalid catalog cursor");
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,38 @@
+package com.jompastech.backend.model.dto.catalog;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Current version of everything served about a boat: its details, photos,
+ * availability windows and reviews.
+ *
+ * <p>Used to answer conditional GETs without loading the boat: the version
+ * becomes a strong ETag and the update time the Last-Modified header.</p>
+ *
+ * @param boatId boat identifier
+ * @param version counter bumped on every change to the boat or its children
+ * @param updatedAt time of the last change, null for rows never touched since V14
+ */
+public record BoatContentVersion(Long boatId, long version, LocalDateTime updatedAt) {
+
+    /**
+     * Strong ETag of one representation of the boat. Each endpoint passes its own
+     * view name, so the photo list and the reviews of a boat never share a tag.
+     *
+     * @param view representation served, e.g. "details" or "photos"
+     * @return quoted entity tag
+     */
+    public String etag(String view) {
+        return "\"boat-" + boatId + "-v" + version + "-" + view + "\"";
+    }
+
+    /**
+     * @return last change time in epoch milliseconds, or -1 when unknown
+     */
+    public long lastModifiedMillis() {
+        return updatedAt == null
+                ? -1
+                : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,15 @@
+package com.jompastech.backend.model.dto.catalog;
+
+import com.jompastech.backend.model.dto.BoatResponseDTO;
+
+/**
+ * Details of a boat together with the content version they were read at.
+ *
+ * <p>Both come from the same entity load and are cached together, so the ETag
+ * served with a cached body always describes that body.</p>
+ *
+ * @param boat the boat details
+ * @param version content version of the boat when the details were read
+ */
+public record BoatDetails(BoatResponseDTO boat, BoatContentVersion version) {
+}
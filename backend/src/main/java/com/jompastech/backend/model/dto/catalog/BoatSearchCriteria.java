@@ -0,0 +1,81 @@
+package com.jompastech.backend.model.dto.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Filters accepted by the boat search endpoint.
+ *
+ * <p>Bound from query parameters. Every filter is optional; a missing or blank
+ * value means the dimension is not constrained. Text filters are matched
+ * case-insensitively.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoatSearchCriteria {
+
+    /**
+     * Free text matched against name and description, tolerant to typos in the name.
+     * When present, results are ranked by relevance unless another sort is requested.
+     */
+    private String q;
+
+    /**
+     * Exact boat type, e.g. LANCHA.
+     */
+    private String type;
+
+    /**
+     * City of the boat address.
+     */
+    private String city;
+
+    /**
+     * State of the boat address.
+     */
+    private String state;
+
+    /**
+     * Marina where the boat is moored.
+     */
+    private String marina;
+
+    /**
+     * Minimum number of passengers the boat must carry.
+     */
+    private Integer minCapacity;
+
+    /**
+     * Lower bound (inclusive) of the price per hour.
+     */
+    private BigDecimal minPrice;
+
+    /**
+     * Upper bound (inclusive) of the price per hour.
+     */
+    private BigDecimal maxPrice;
+
+    /**
+     * Amenities the boat must offer; all of them are required.
+     */
+    private List<String> amenities;
+
+    /**
+     * Start of the period the boat must be bookable for; requires {@link #availableTo}.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime availableFrom;
+
+    /**
+     * End (exclusive) of the period the boat must be bookable for; requires {@link #availableFrom}.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime availableTo;
+}
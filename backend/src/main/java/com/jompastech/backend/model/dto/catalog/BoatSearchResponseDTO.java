@@ -0,0 +1,55 @@
+package com.jompastech.backend.model.dto.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of boat search results together with the facet counts of the search.
+ *
+ * <p>Facets are computed by the database over the whole result set, not only the
+ * current page. Each facet ignores its own filter, so a client that filtered by
+ * one type still sees how many boats the other types would return.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoatSearchResponseDTO {
+
+    /**
+     * Boats of the current page.
+     */
+    private List<BoatCardView> items;
+
+    /**
+     * Zero-based page number.
+     */
+    private int page;
+
+    /**
+     * Page size that was applied to this request.
+     */
+    private int size;
+
+    /**
+     * Number of boats matching every filter.
+     */
+    private long totalElements;
+
+    /**
+     * Number of pages available with the applied size.
+     */
+    private int totalPages;
+
+    /**
+     * Result counts per boat type, ordered by count descending.
+     */
+    private List<FacetCountDTO> typeFacets;
+
+    /**
+     * Result counts per city, ordered by count descending.
+     */
+    private List<FacetCountDTO> cityFacets;
+}
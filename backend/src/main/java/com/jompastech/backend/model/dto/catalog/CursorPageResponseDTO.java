@@ -0,0 +1,42 @@
+package com.jompastech.backend.model.dto.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Generic response for keyset (cursor) paginated listings.
+ *
+ * <p>Unlike {@link org.springframework.data.domain.Page}, no total count is
+ * computed, so the cost of a page does not depend on the size of the table.
+ * Clients pass {@code nextCursor} back unchanged to fetch the following page.</p>
+ *
+ * @param <T> type of the items in the page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponseDTO<T> {
+
+    /**
+     * Items of the current page, in cursor order.
+     */
+    private List<T> items;
+
+    /**
+     * Opaque cursor pointing after the last item, or null on the last page.
+     */
+    private String nextCursor;
+
+    /**
+     * Page size that was applied to this request.
+     */
+    private int size;
+
+    /**
+     * Whether another page exists after this one.
+     */
+    private boolean hasNext;
+}
@@ -0,0 +1,24 @@
+package com.jompastech.backend.model.dto.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of search results sharing one value of a facet (e.g. a boat type or a city).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountDTO {
+
+    /**
+     * Facet value as stored, e.g. LANCHA or Santos.
+     */
+    private String value;
+
+    /**
+     * Number of boats matching the search with this value.
+     */
+    private long count;
+}
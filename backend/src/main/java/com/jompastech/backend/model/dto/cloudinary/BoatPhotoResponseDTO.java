@@ -14,4 +14,5 @@ public class BoatPhotoResponseDTO {
     private String fileName;
     private Integer ordem;
     private Long boatId;
+    private PhotoVariantsDTO variants;
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.jompastech.backend.model.dto.cloudinary;
 
+import com.jompastech.backend.model.entity.ImageVariant;
+import com.jompastech.backend.model.enums.PhotoVariant;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -38,4 +40,56 @@ public class CloudinaryUploadResult {
      * The MIME type of the uploaded image.
      */
     private String contentType;
+
+    /**
+     * Pixel dimensions of the stored original.
+     */
+    private Integer width;
+
+    private Integer height;
+
+    /**
+     * Low quality image placeholder as a data URI, or null if it could not be computed.
+     */
+    private String placeholder;
+
+    /**
+     * Responsive renditions generated by the upload, null when not available.
+     */
+    private ImageVariant thumbnail;
+
+    private ImageVariant card;
+
+    private ImageVariant full;
+
+    /**
+     * SHA-256 of the uploaded bytes, used to reuse the stored image for identical uploads;
+     * null for direct uploads, whose bytes never reach this application.
+     */
+    private String contentHash;
+
+    /**
+     * True when no upload took place and an image already stored with the same content
+     * is referenced instead; such images are never deleted on rollback.
+     */
+    private boolean reused;
+
+    public CloudinaryUploadResult(String url, String publicId, String fileName, Long fileSize, String contentType) {
+        this.url = url;
+        this.publicId = publicId;
+        this.fileName = fileName;
+        this.fileSize = fileSize;
+        this.contentType = contentType;
+    }
+
+    /**
+     * Sets the rendition of the given variant.
+     */
+    public void setVariant(PhotoVariant variant, ImageVariant image) {
+        switch (variant) {
+            case THUMBNAIL -> this.thumbnail = image;
+            case CARD -> this.card = image;
+            case FULL -> this.full = image;
+        }
+    }
 }
\ No newline at end of file
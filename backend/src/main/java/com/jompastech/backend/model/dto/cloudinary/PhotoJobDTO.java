@@ -0,0 +1,28 @@
+package com.jompastech.backend.model.dto.cloudinary;
+
+import com.jompastech.backend.model.enums.PhotoJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Status and progress of a background photo job.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PhotoJobDTO {
+    private Long jobId;
+    private Long boatId;
+    private PhotoJobStatus status;
+    private Integer totalFiles;
+    private Integer processedFiles;
+    private Integer attempts;
+    private String error; // cause of the last failed attempt
+    private List<Long> photoIds; // photos added so far, in display order
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,27 @@
+package com.jompastech.backend.model.dto.cloudinary;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Signed parameters letting a client upload one photo directly to Cloudinary.
+ *
+ * <p>The client posts the file to {@code uploadUrl} as multipart form data with the
+ * fields {@code api_key}, {@code timestamp}, {@code public_id}, {@code eager},
+ * {@code transformation} and {@code signature} set to these values, then registers
+ * the upload with the API. Cloudinary rejects the parameters once they expire.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PhotoUploadSignatureDTO {
+    private String uploadUrl;
+    private String apiKey;
+    private Long timestamp;
+    private String publicId;
+    private String eager;
+    private String transformation;
+    private String signature;
+    private Long expiresAt; // epoch seconds
+}
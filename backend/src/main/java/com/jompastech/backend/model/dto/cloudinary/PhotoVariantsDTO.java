@@ -0,0 +1,36 @@
+package com.jompastech.backend.model.dto.cloudinary;
+
+/**
+ * Responsive renditions of one boat photo, in display order.
+ *
+ * <p>Clients pick the smallest variant that fits the slot, reserve its box from the
+ * dimensions and show the placeholder until the image arrives. Variants are null for
+ * photos uploaded before they were generated; {@code url} is always set.</p>
+ *
+ * @param url URL of the stored original
+ * @param width width of the original, in pixels
+ * @param height height of the original, in pixels
+ * @param placeholder low quality image placeholder as a data URI
+ * @param thumbnail small rendition for thumbnails
+ * @param card rendition sized for catalog cards
+ * @param full rendition sized for the detail page
+ */
+public record PhotoVariantsDTO(
+        String url,
+        Integer width,
+        Integer height,
+        String placeholder,
+        Variant thumbnail,
+        Variant card,
+        Variant full
+) {
+
+    /**
+     * One rendition of a photo.
+     *
+     * @param url URL of the rendition
+     * @param width width in pixels
+     * @param height height in pixels
+     */
+    public record Variant(String url, Integer width, Integer height) {}
+}
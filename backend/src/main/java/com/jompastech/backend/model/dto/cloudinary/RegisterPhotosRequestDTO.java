@@ -0,0 +1,55 @@
+package com.jompastech.backend.model.dto.cloudinary;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Photos uploaded directly to Cloudinary with signed parameters, to be attached to a boat.
+ * Each entry copies fields of the Cloudinary upload response.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegisterPhotosRequestDTO {
+
+    @NotEmpty(message = "The list of photos cannot be empty.")
+    @Size(max = 10, message = "At most 10 photos can be registered at once.")
+    @Valid
+    private List<UploadedPhoto> photos; // in display order
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UploadedPhoto {
+
+        @NotBlank
+        private String publicId;
+
+        @NotNull
+        private Long version;
+
+        // Response signature, proves the upload happened with our parameters
+        @NotBlank
+        private String signature;
+
+        @NotBlank
+        private String format;
+
+        @Positive
+        private Integer width;
+
+        @Positive
+        private Integer height;
+
+        private String originalFilename;
+    }
+}
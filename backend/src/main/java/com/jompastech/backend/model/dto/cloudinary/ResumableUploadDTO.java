@@ -0,0 +1,22 @@
+package com.jompastech.backend.model.dto.cloudinary;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of a resumable photo upload. A client that lost its connection reads
+ * {@code offset} and resumes sending from there.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumableUploadDTO {
+    private String uploadId;
+    private Long boatId;
+    private String fileName;
+    private String contentType;
+    private Long length;
+    private Long offset; // bytes received so far
+    private Long expiresAt; // epoch seconds
+}
@@ -0,0 +1,33 @@
+package com.jompastech.backend.model.dto.cloudinary;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Announces a photo to be uploaded in chunks. The bytes are sent afterwards with
+ * {@code PATCH} requests to the returned upload.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumableUploadRequestDTO {
+
+    @NotBlank
+    private String fileName;
+
+    @NotBlank
+    private String contentType;
+
+    @NotNull
+    @Positive
+    private Long length; // total size of the photo, in bytes
+
+    // Optional SHA-256 of the whole photo, hex encoded, verified when the upload completes
+    @Pattern(regexp = "[0-9a-fA-F]{64}", message = "checksum must be a hex encoded SHA-256")
+    private String checksum;
+}
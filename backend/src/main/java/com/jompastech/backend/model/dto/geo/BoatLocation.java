@@ -0,0 +1,10 @@
+package com.jompastech.backend.model.dto.geo;
+
+/**
+ * Coordinates of one boat, as loaded into the in-memory geo index.
+ *
+ * @param boatId boat identifier
+ * @param latitude WGS84 latitude in decimal degrees
+ * @param longitude WGS84 longitude in decimal degrees
+ */
+public record BoatLocation(Long boatId, double latitude, double longitude) {}
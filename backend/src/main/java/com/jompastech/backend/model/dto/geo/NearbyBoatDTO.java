@@ -0,0 +1,37 @@
+package com.jompastech.backend.model.dto.geo;
+
+import com.jompastech.backend.model.dto.catalog.BoatCardView;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Boat card returned by the geographic searches, with its position and its
+ * distance to the searched point.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyBoatDTO {
+
+    /**
+     * Card data of the boat.
+     */
+    private BoatCardView boat;
+
+    /**
+     * WGS84 latitude of the mooring.
+     */
+    private double latitude;
+
+    /**
+     * WGS84 longitude of the mooring.
+     */
+    private double longitude;
+
+    /**
+     * Great-circle distance to the searched point in kilometers
+     * (to the box center for bounding-box searches).
+     */
+    private double distanceKm;
+}
@@ -0,0 +1,13 @@
+package com.jompastech.backend.model.dto.schedule;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk availability upload.
+ *
+ * @param boatIds the boats whose windows were replaced, in ascending order
+ * @param windowsDeleted number of existing windows replaced
+ * @param windowsCreated number of windows created
+ */
+public record AvailabilityBulkResultDTO(List<Long> boatIds, int windowsDeleted, int windowsCreated) {
+}
@@ -0,0 +1,17 @@
+package com.jompastech.backend.model.dto.schedule;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One availability window of a bulk upload, as a JSON element or a CSV line
+ * ({@code boatId,startDate,endDate,pricePerHour}).
+ *
+ * @param boatId the boat the window belongs to
+ * @param startDate start of the window, inclusive
+ * @param endDate end of the window, exclusive
+ * @param pricePerHour price per hour during the window
+ */
+public record AvailabilityBulkWindowDTO(Long boatId, LocalDateTime startDate, LocalDateTime endDate,
+                                        BigDecimal pricePerHour) {
+}
@@ -0,0 +1,36 @@
+package com.jompastech.backend.model.dto.schedule;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Hourly calendar of one boat over a date range, compact enough to draw a month or
+ * a quarter from a few hundred bytes.
+ *
+ * <p>{@code slots} is a run-length encoding of the state of each hour from
+ * {@code from} to {@code to}: a count followed by a state letter, e.g.
+ * {@code "10U8F4B2U"} for 10 unavailable, 8 free, 4 booked and 2 unavailable hours.</p>
+ * <ul>
+ *   <li>{@code U}: unavailable, not entirely inside an availability window or rule occurrence</li>
+ *   <li>{@code F}: free, inside a window or occurrence and not booked</li>
+ *   <li>{@code B}: booked, at least partly taken by an active booking</li>
+ * </ul>
+ *
+ * @param boatId ID of the boat
+ * @param from start of the first slot, on the hour
+ * @param to end of the last slot, on the hour
+ * @param slots run-length encoded hourly states
+ * @param windows availability windows and occurrences of recurring rules overlapping
+ *                the range, by start, with their price per hour
+ */
+public record AvailabilityCalendarDTO(
+        Long boatId,
+        LocalDateTime from,
+        LocalDateTime to,
+        String slots,
+        List<ScheduleInterval> windows) {
+
+    public static final char UNAVAILABLE = 'U';
+    public static final char FREE = 'F';
+    public static final char BOOKED = 'B';
+}
@@ -0,0 +1,13 @@
+package com.jompastech.backend.model.dto.schedule;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Exception to one occurrence of a recurring availability rule.
+ *
+ * @param date date of the occurrence
+ * @param pricePerHour price of the occurrence, or null when it is cancelled
+ */
+public record AvailabilityRuleExceptionDTO(LocalDate date, BigDecimal pricePerHour) {
+}
@@ -0,0 +1,54 @@
+package com.jompastech.backend.model.dto.schedule;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+/**
+ * DTO for creating a recurring availability rule of a boat.
+ *
+ * <p>Example: {@code {"weekdays": ["SATURDAY", "SUNDAY"], "startTime": "08:00",
+ * "endTime": "18:00", "validFrom": "2025-06-01", "validUntil": "2025-09-30",
+ * "pricePerHour": 250}}.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityRuleRequestDTO {
+
+    /**
+     * Days of the week with an occurrence; at least one.
+     */
+    private Set<DayOfWeek> weekdays;
+
+    /**
+     * Time of day each occurrence starts (e.g., "08:00").
+     */
+    private LocalTime startTime;
+
+    /**
+     * Time of day each occurrence ends, after the start time (e.g., "18:00").
+     */
+    private LocalTime endTime;
+
+    /**
+     * First day of the rule.
+     */
+    private LocalDate validFrom;
+
+    /**
+     * Last day of the rule, inclusive; omitted for a rule without end.
+     */
+    private LocalDate validUntil;
+
+    /**
+     * Price per hour of the occurrences. Must be greater than zero.
+     */
+    private BigDecimal pricePerHour;
+}
@@ -0,0 +1,33 @@
+package com.jompastech.backend.model.dto.schedule;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Recurring availability rule of a boat, with its exceptions.
+ *
+ * @param id ID of the rule
+ * @param boatId ID of the boat
+ * @param weekdays days of the week with an occurrence
+ * @param startTime time of day each occurrence starts
+ * @param endTime time of day each occurrence ends
+ * @param validFrom first day of the rule
+ * @param validUntil last day of the rule, null for no end
+ * @param pricePerHour price per hour of the occurrences
+ * @param exceptions cancelled and repriced occurrences, by date
+ */
+public record AvailabilityRuleResponseDTO(
+        Long id,
+        Long boatId,
+        Set<DayOfWeek> weekdays,
+        LocalTime startTime,
+        LocalTime endTime,
+        LocalDate validFrom,
+        LocalDate validUntil,
+        BigDecimal pricePerHour,
+        List<AvailabilityRuleExceptionDTO> exceptions) {
+}
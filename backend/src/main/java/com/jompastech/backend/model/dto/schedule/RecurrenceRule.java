@@ -0,0 +1,149 @@
+package com.jompastech.backend.model.dto.schedule;
+
+import com.jompastech.backend.model.entity.AvailabilityRule;
+import com.jompastech.backend.model.entity.AvailabilityRuleException;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of an {@link AvailabilityRule}, expanded into occurrences on demand.
+ *
+ * <p>Occurrences are half-open ({@code [date + startTime, date + endTime)}) intervals,
+ * like availability windows, and are only computed for the period being queried:
+ * finding the occurrence covering a period looks at a single date, listing the
+ * occurrences of a period walks its days.</p>
+ *
+ * @param id identifier of the rule
+ * @param weekdays days of the week with an occurrence
+ * @param startTime time of day each occurrence starts
+ * @param endTime time of day each occurrence ends, after the start time
+ * @param validFrom first day of the rule
+ * @param validUntil last day of the rule, null for no end
+ * @param pricePerHour price per hour of the occurrences
+ * @param priceOverrides occurrences offered at another price, by date
+ * @param cancelledDates dates whose occurrence is cancelled
+ */
+public record RecurrenceRule(Long id, Set<DayOfWeek> weekdays, LocalTime startTime, LocalTime endTime,
+                             LocalDate validFrom, LocalDate validUntil, BigDecimal pricePerHour,
+                             Map<LocalDate, BigDecimal> priceOverrides, Set<LocalDate> cancelledDates) {
+
+    public RecurrenceRule {
+        weekdays = Set.copyOf(weekdays);
+        priceOverrides = Map.copyOf(priceOverrides);
+        cancelledDates = Set.copyOf(cancelledDates);
+    }
+
+    /**
+     * Takes a snapshot of a rule and its exceptions.
+     *
+     * @param rule the rule, with its exceptions loaded
+     * @return the snapshot
+     */
+    public static RecurrenceRule from(AvailabilityRule rule) {
+        Map<LocalDate, BigDecimal> overrides = new HashMap<>();
+        Set<LocalDate> cancelled = new HashSet<>();
+        for (AvailabilityRuleException exception : rule.getExceptions()) {
+            if (exception.getPricePerHour() == null) {
+                cancelled.add(exception.getOccurrenceDate());
+            } else {
+                overrides.put(exception.getOccurrenceDate(), exception.getPricePerHour());
+            }
+        }
+        return new RecurrenceRule(rule.getId(), rule.getWeekdays(), rule.getStartTime(), rule.getEndTime(),
+                rule.getValidFrom(), rule.getValidUntil(), rule.getPricePerHour(), overrides, cancelled);
+    }
+
+    /**
+     * Lists the occurrences sharing time with a period; touching ends do not overlap.
+     *
+     * @param start start of the period
+     * @param end end of the period
+     * @return the occurrences, by start
+     */
+    public List<ScheduleInterval> occurrences(LocalDateTime start, LocalDateTime end) {
+        return occurrences(start, end, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Finds the first occurrence sharing time with a period; touching ends do not overlap.
+     *
+     * @param start start of the period
+     * @param end end of the period
+     * @return the earliest overlapping occurrence, or null if there is none
+     */
+    public ScheduleInterval firstOccurrence(LocalDateTime start, LocalDateTime end) {
+        List<ScheduleInterval> first = occurrences(start, end, 1);
+        return first.isEmpty() ? null : first.get(0);
+    }
+
+    /**
+     * Finds the occurrence containing a whole period. Occurrences do not span days,
+     * so only the occurrence on the date of the start can.
+     *
+     * @param start start of the period
+     * @param end end of the period
+     * @return the covering occurrence, or null if there is none
+     */
+    public ScheduleInterval occurrenceCovering(LocalDateTime start, LocalDateTime end) {
+        ScheduleInterval occurrence = occurrenceOn(start.toLocalDate());
+        return occurrence != null && !occurrence.startDate().isAfter(start) && !occurrence.endDate().isBefore(end)
+                ? occurrence : null;
+    }
+
+    /**
+     * Checks whether two rules can have occurrences sharing time, ignoring exceptions.
+     *
+     * @param other the other rule
+     * @return true if the rules share a weekday, some validity days and some time of day
+     */
+    public boolean overlaps(RecurrenceRule other) {
+        Set<DayOfWeek> shared = EnumSet.noneOf(DayOfWeek.class);
+        shared.addAll(weekdays);
+        shared.retainAll(other.weekdays);
+        return !shared.isEmpty()
+                && (validUntil == null || !validUntil.isBefore(other.validFrom))
+                && (other.validUntil == null || !other.validUntil.isBefore(validFrom))
+                && startTime.isBefore(other.endTime)
+                && other.startTime.isBefore(endTime);
+    }
+
+    /**
+     * Returns the occurrence on a date, with its exception applied.
+     *
+     * @param date the date
+     * @return the occurrence, or null if the rule has none on that date or it is cancelled
+     */
+    public ScheduleInterval occurrenceOn(LocalDate date) {
+        if (date.isBefore(validFrom) || (validUntil != null && date.isAfter(validUntil))
+                || !weekdays.contains(date.getDayOfWeek()) || cancelledDates.contains(date)) {
+            return null;
+        }
+        return new ScheduleInterval(null, date.atTime(startTime), date.atTime(endTime),
+                priceOverrides.getOrDefault(date, pricePerHour), id);
+    }
+
+    // Occurrences end on their start date: only the dates from start to end can overlap the period
+    private List<ScheduleInterval> occurrences(LocalDateTime start, LocalDateTime end, int limit) {
+        List<ScheduleInterval> result = new ArrayList<>();
+        LocalDate first = start.toLocalDate().isBefore(validFrom) ? validFrom : start.toLocalDate();
+        LocalDate last = validUntil != null && validUntil.isBefore(end.toLocalDate()) ? validUntil : end.toLocalDate();
+        for (LocalDate date = first; !date.isAfter(last) && result.size() < limit; date = date.plusDays(1)) {
+            ScheduleInterval occurrence = occurrenceOn(date);
+            if (occurrence != null && occurrence.startDate().isBefore(end) && occurrence.endDate().isAfter(start)) {
+                result.add(occurrence);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,33 @@
+package com.jompastech.backend.model.dto.schedule;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A time interval of one boat, as loaded into the in-memory schedule index:
+ * either an availability window, an occurrence of a recurring availability rule,
+ * or an active booking.
+ *
+ * @param id identifier of the availability window or booking, null for a rule occurrence
+ * @param startDate start of the interval
+ * @param endDate end of the interval
+ * @param pricePerHour price of an availability window or occurrence, null for a booking
+ * @param ruleId identifier of the rule the interval is an occurrence of, null otherwise
+ */
+public record ScheduleInterval(Long id, LocalDateTime startDate, LocalDateTime endDate, BigDecimal pricePerHour,
+                               Long ruleId) {
+
+    /**
+     * Creates a one-off availability window interval.
+     */
+    public ScheduleInterval(Long id, LocalDateTime startDate, LocalDateTime endDate, BigDecimal pricePerHour) {
+        this(id, startDate, endDate, pricePerHour, null);
+    }
+
+    /**
+     * Creates an interval without price, as for bookings.
+     */
+    public ScheduleInterval(Long id, LocalDateTime startDate, LocalDateTime endDate) {
+        this(id, startDate, endDate, null, null);
+    }
+}
@@ -21,4 +21,9 @@ public class Address {
     private String state;
     private String marina;
 
+    // WGS84 coordinates of the mooring, optional. Only changed through BoatService,
+    // which keeps BoatGeoIndex in sync with them.
+    private Double latitude;
+    private Double longitude;
+
 }
@@ -0,0 +1,147 @@
+package com.jompastech.backend.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Recurring availability of a boat, e.g. "every Saturday and Sunday from 08:00 to
+ * 18:00 at 250 per hour, from June to September".
+ *
+ * <p>One rule replaces the availability window that would otherwise be created for
+ * each of its occurrences. Occurrences are never stored: they are expanded for the
+ * queried period only, on availability checks, pricing and calendar reads.
+ * Individual occurrences can be cancelled or priced differently through
+ * {@link AvailabilityRuleException exceptions}.</p>
+ *
+ * <p><b>Design Rationale:</b> An occurrence starts and ends on the same day, so
+ * the occurrence containing an instant is found from its date alone, and a booking
+ * covered by a rule lies within a single occurrence, as it must lie within a single
+ * window.</p>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "availability_rules")
+public class AvailabilityRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rule_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "boat_id", nullable = false)
+    private Boat boat;
+
+    // Days of the week the rule applies to, one bit per day from Monday (bit 0) to Sunday (bit 6)
+    @Column(name = "weekday_mask", nullable = false)
+    private int weekdayMask;
+
+    // Time of day each occurrence starts, inclusive
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    // Time of day each occurrence ends, exclusive; after the start time
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    // First day the rule applies to
+    @Column(name = "valid_from", nullable = false)
+    private LocalDate validFrom;
+
+    // Last day the rule applies to, inclusive; null when the rule never ends
+    @Column(name = "valid_until")
+    private LocalDate validUntil;
+
+    @Column(name = "price_per_hour", nullable = false, precision = 10, scale = 2)
+    private BigDecimal pricePerHour;
+
+    @ElementCollection
+    @CollectionTable(name = "availability_rule_exceptions", joinColumns = @JoinColumn(name = "rule_id"))
+    private List<AvailabilityRuleException> exceptions = new ArrayList<>();
+
+    /**
+     * Constructs a new rule with validation.
+     *
+     * @param boat the boat the rule applies to
+     * @param weekdays days of the week with an occurrence
+     * @param startTime time of day each occurrence starts
+     * @param endTime time of day each occurrence ends, after the start time
+     * @param validFrom first day of the rule
+     * @param validUntil last day of the rule, or null for no end
+     * @param pricePerHour price per hour of the occurrences
+     * @throws IllegalArgumentException if a field is missing or inconsistent
+     */
+    public AvailabilityRule(Boat boat, Set<DayOfWeek> weekdays, LocalTime startTime, LocalTime endTime,
+                            LocalDate validFrom, LocalDate validUntil, BigDecimal pricePerHour) {
+        if (weekdays == null || weekdays.isEmpty()) {
+            throw new IllegalArgumentException("At least one weekday is required");
+        }
+        if (startTime == null || endTime == null || !startTime.isBefore(endTime)) {
+            throw new IllegalArgumentException("Start time must be before end time");
+        }
+        if (validFrom == null || (validUntil != null && validUntil.isBefore(validFrom))) {
+            throw new IllegalArgumentException("Valid from is required and must not be after valid until");
+        }
+        if (pricePerHour == null || pricePerHour.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Price per hour must be positive");
+        }
+        this.boat = boat;
+        setWeekdays(weekdays);
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.validFrom = validFrom;
+        this.validUntil = validUntil;
+        this.pricePerHour = pricePerHour;
+    }
+
+    /**
+     * Gets the days of the week with an occurrence.
+     *
+     * @return the weekdays, decoded from the weekday mask
+     */
+    public Set<DayOfWeek> getWeekdays() {
+        Set<DayOfWeek> weekdays = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((weekdayMask & (1 << day.ordinal())) != 0) {
+                weekdays.add(day);
+            }
+        }
+        return weekdays;
+    }
+
+    /**
+     * Sets the days of the week with an occurrence.
+     *
+     * @param weekdays the weekdays, encoded into the weekday mask
+     */
+    public void setWeekdays(Set<DayOfWeek> weekdays) {
+        int mask = 0;
+        for (DayOfWeek day : weekdays) {
+            mask |= 1 << day.ordinal();
+        }
+        this.weekdayMask = mask;
+    }
+
+    /**
+     * Checks whether the rule has an occurrence on a date, ignoring exceptions.
+     *
+     * @param date the date to check
+     * @return true if the date is within the validity period and on one of the weekdays
+     */
+    public boolean occursOn(LocalDate date) {
+        return !date.isBefore(validFrom)
+                && (validUntil == null || !date.isAfter(validUntil))
+                && (weekdayMask & (1 << date.getDayOfWeek().ordinal())) != 0;
+    }
+}
@@ -0,0 +1,29 @@
+package com.jompastech.backend.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Exception to one occurrence of an {@link AvailabilityRule}: the occurrence is
+ * either cancelled or offered at another price.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityRuleException {
+
+    // Date of the occurrence the exception applies to
+    @Column(name = "occurrence_date", nullable = false)
+    private LocalDate occurrenceDate;
+
+    // Price of the occurrence, null when the occurrence is cancelled
+    @Column(name = "price_per_hour", precision = 10, scale = 2)
+    private BigDecimal pricePerHour;
+}
@@ -2,15 +2,29 @@ package com.jompastech.backend.model.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Data
 @Table(name="boats")
+// Fetch plan for listings: owner and address come in the same select as the boats,
+// photos and amenities are batch-loaded for the whole page (see @BatchSize below)
+@NamedEntityGraph(
+        name = Boat.GRAPH_LISTING,
+        attributeNodes = {
+                @NamedAttributeNode("owner"),
+                @NamedAttributeNode("address")
+        }
+)
 public class Boat {
 
+    public static final String GRAPH_LISTING = "Boat.listing";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name="boat_id")
@@ -36,12 +50,29 @@ public class Boat {
     private Double speed;
     private Integer fabrication;
 
+    // Weighted tsvector of name and description, generated by the database (V11).
+    // Read-only here; only used by the full-text search predicates.
+    @Column(name = "search_vector", insertable = false, updatable = false)
+    private String searchVector;
+
+    // Bumped by bulk update whenever the boat, its photos, availability or reviews
+    // change (V14). Drives the ETag / Last-Modified of the boat read endpoints.
+    @ColumnDefault("0")
+    @Column(name = "content_version", nullable = false, insertable = false, updatable = false)
+    private long contentVersion;
+
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "content_updated_at", insertable = false, updatable = false)
+    private LocalDateTime contentUpdatedAt;
+
     @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "boat_amenities", joinColumns = @JoinColumn(name = "boat_id"))
     @Column(name = "amenity")
     private List<String> amenities = new ArrayList<>();
 
     @OneToMany(mappedBy = "boat", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @OrderBy("ordem ASC")
     private List<BoatPhoto> photos = new ArrayList<>();
 
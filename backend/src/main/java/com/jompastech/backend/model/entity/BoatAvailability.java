@@ -29,11 +29,15 @@ public class BoatAvailability {
 
     /**
      * Unique identifier for the availability window.
+     *
+     * <p>Taken from the table's sequence in blocks of 50 rather than generated by
+     * the insert, so the inserts of a bulk upload can be batched.</p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "boats_availability_seq")
+    @SequenceGenerator(name = "boats_availability_seq",
+            sequenceName = "boats_availability_availability_id_seq", allocationSize = 50)
     @Column(name = "availability_id")
-
     private Long id;
 
     /**
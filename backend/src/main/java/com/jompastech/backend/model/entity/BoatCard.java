@@ -0,0 +1,88 @@
+package com.jompastech.backend.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Denormalized catalog card of a boat (read model).
+ *
+ * <p>One flat row per boat holding everything a catalog card displays, so catalog,
+ * search and nearby pages read a single table. The row is derived data: it is only
+ * written by {@code BoatCardProjector}, in the same transaction as the change to the
+ * boat, its photos, availability windows or reviews.</p>
+ *
+ * <p>The id is the boat id. There is deliberately no association to {@link Boat},
+ * so loading a card never touches the normalized tables.</p>
+ */
+@Entity
+@Data
+@Table(name = "boat_cards")
+public class BoatCard {
+
+    @Id
+    @Column(name = "boat_id")
+    private Long id;
+
+    private String name;
+    private String type;
+    private int capacity;
+
+    @Column(name = "price_per_hour")
+    private BigDecimal pricePerHour;
+
+    private String city;
+    private String state;
+    private String marina;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(name = "owner_name")
+    private String ownerName;
+
+    @Column(name = "cover_photo_url", length = 1000)
+    private String coverPhotoUrl;
+
+    @Convert(converter = AmenitiesConverter.class)
+    @Column(name = "amenities", length = 2000)
+    private List<String> amenities = new ArrayList<>();
+
+    @Column(name = "average_rating")
+    private Double averageRating;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "min_window_price")
+    private BigDecimal minWindowPrice;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+
+    /**
+     * Stores the amenity list in a single '|'-separated column, keeping the card one row.
+     */
+    @Converter
+    public static class AmenitiesConverter implements AttributeConverter<List<String>, String> {
+
+        private static final String SEPARATOR = "|";
+
+        @Override
+        public String convertToDatabaseColumn(List<String> amenities) {
+            return amenities == null || amenities.isEmpty() ? null : String.join(SEPARATOR, amenities);
+        }
+
+        @Override
+        public List<String> convertToEntityAttribute(String column) {
+            return column == null || column.isEmpty()
+                    ? new ArrayList<>()
+                    : new ArrayList<>(Arrays.asList(column.split("\\" + SEPARATOR)));
+        }
+    }
+}
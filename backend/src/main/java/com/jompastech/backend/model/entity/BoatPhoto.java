@@ -32,6 +32,38 @@ public class BoatPhoto {
     @Column(name = "file_name")
     private String fileName;
 
+    // SHA-256 of the uploaded bytes; photos with the same hash share one stored image (public ID)
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // Dimensions of the stored original
+    private Integer width;
+
+    private Integer height;
+
+    // Tiny inline image (data URI) shown while the real one loads
+    @Column(columnDefinition = "TEXT")
+    private String placeholder;
+
+    // Responsive renditions generated at upload time, null for photos uploaded before them
+    @Embedded
+    @AttributeOverride(name = "url", column = @Column(name = "thumbnail_url", length = 1000))
+    @AttributeOverride(name = "width", column = @Column(name = "thumbnail_width"))
+    @AttributeOverride(name = "height", column = @Column(name = "thumbnail_height"))
+    private ImageVariant thumbnail;
+
+    @Embedded
+    @AttributeOverride(name = "url", column = @Column(name = "card_url", length = 1000))
+    @AttributeOverride(name = "width", column = @Column(name = "card_width"))
+    @AttributeOverride(name = "height", column = @Column(name = "card_height"))
+    private ImageVariant card;
+
+    @Embedded
+    @AttributeOverride(name = "url", column = @Column(name = "full_url", length = 1000))
+    @AttributeOverride(name = "width", column = @Column(name = "full_width"))
+    @AttributeOverride(name = "height", column = @Column(name = "full_height"))
+    private ImageVariant full;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
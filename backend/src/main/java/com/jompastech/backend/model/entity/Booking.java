@@ -7,8 +7,26 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "bookings")
+// Fetch plan for booking listings: renter, boat, boat owner and boat address in one select.
+// Boat photos are batch-loaded per page through the @BatchSize on Boat.photos.
+@NamedEntityGraph(
+        name = Booking.GRAPH_LISTING,
+        attributeNodes = {
+                @NamedAttributeNode("user"),
+                @NamedAttributeNode(value = "boat", subgraph = "boat")
+        },
+        subgraphs = @NamedSubgraph(
+                name = "boat",
+                attributeNodes = {
+                        @NamedAttributeNode("owner"),
+                        @NamedAttributeNode("address")
+                }
+        )
+)
 public class Booking {
 
+    public static final String GRAPH_LISTING = "Booking.listing";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "booking_id")
@@ -0,0 +1,25 @@
+package com.jompastech.backend.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One stored rendition of a photo: its URL and pixel dimensions.
+ * Embedded in {@link BoatPhoto} once per {@link com.jompastech.backend.model.enums.PhotoVariant}.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageVariant {
+
+    @Column(length = 1000)
+    private String url;
+
+    private Integer width;
+
+    private Integer height;
+}
@@ -0,0 +1,47 @@
+package com.jompastech.backend.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored image waiting to be deleted from the photo storage (queue entry).
+ *
+ * <p>Entries are inserted in the same transaction that removes the photos, so a
+ * committed deletion is never forgotten; {@code PhotoStorageCleaner} deletes the
+ * images in batches afterwards and removes the entries once the storage confirmed.</p>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "photo_deletions")
+public class PhotoDeletion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "public_id", nullable = false, length = 500)
+    private String publicId;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // Earliest time of the next attempt, pushed back while a batch is in flight and between retries
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public PhotoDeletion(String publicId, LocalDateTime now) {
+        this.publicId = publicId;
+        this.availableAt = now;
+        this.createdAt = now;
+    }
+}
@@ -0,0 +1,76 @@
+package com.jompastech.backend.model.entity;
+
+import com.jompastech.backend.model.enums.PhotoJobStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Background job adding uploaded photos to a boat (queue entry).
+ *
+ * <p>The request stages the raw files on disk and inserts the job; workers of
+ * {@code PhotoJobWorker} claim queued jobs, send the files to the photo storage and
+ * attach the photos one by one. A claimed job holds a lease; when a worker dies the
+ * lease expires and another worker takes the job over, skipping the files that
+ * already have a photo.</p>
+ *
+ * <p>The boat is referenced by id only, so workers never load the boat graph.</p>
+ */
+@Entity
+@Data
+@Table(name = "photo_jobs")
+public class PhotoJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "boat_id", nullable = false)
+    private Long boatId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PhotoJobStatus status = PhotoJobStatus.QUEUED;
+
+    @Column(name = "total_files", nullable = false)
+    private int totalFiles;
+
+    @Column(name = "processed_files", nullable = false)
+    private int processedFiles;
+
+    // Number of times a worker claimed the job
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    // Earliest time a worker may claim the job, pushed back between retries
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    // End of the claim of the current worker, null unless PROCESSING
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @ElementCollection
+    @CollectionTable(name = "photo_job_files", joinColumns = @JoinColumn(name = "job_id"))
+    @OrderColumn(name = "file_order")
+    private List<PhotoJobFile> files = new ArrayList<>();
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,34 @@
+package com.jompastech.backend.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One raw photo of a {@link PhotoJob}, staged on local disk until it is processed.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PhotoJobFile {
+
+    // Random name of the staged file in the staging directory
+    @Column(name = "staged_name", nullable = false, length = 64)
+    private String stagedName;
+
+    @Column(name = "original_filename")
+    private String originalFilename;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "file_size", nullable = false)
+    private long size;
+
+    // Photo created from this file, null until it is processed
+    @Column(name = "photo_id")
+    private Long photoId;
+}
@@ -0,0 +1,14 @@
+package com.jompastech.backend.model.enums;
+
+/**
+ * Stable sort keys supported by the cursor-paginated boat catalog.
+ *
+ * <p>Every option ends with the boat id as tie-breaker so that the ordering
+ * is total and a cursor always points to exactly one position.</p>
+ */
+public enum CatalogSort {
+    /** Ascending by boat id (insertion order). */
+    ID,
+    /** Ascending by price per hour, then by boat id. Boats without a price are skipped. */
+    PRICE
+}
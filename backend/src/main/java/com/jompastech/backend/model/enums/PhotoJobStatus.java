@@ -0,0 +1,11 @@
+package com.jompastech.backend.model.enums;
+
+/**
+ * Lifecycle of a background photo processing job.
+ */
+public enum PhotoJobStatus {
+    QUEUED,
+    PROCESSING,
+    SUCCEEDED,
+    FAILED
+}
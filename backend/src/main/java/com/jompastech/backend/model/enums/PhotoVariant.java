@@ -0,0 +1,39 @@
+package com.jompastech.backend.model.enums;
+
+/**
+ * Responsive renditions generated for every boat photo at upload time.
+ *
+ * <p>Each variant is transcoded to WebP and bounded by the given box, so a listing
+ * never downloads more pixels than it displays.</p>
+ */
+public enum PhotoVariant {
+    /** Small crop for thumbnails and gallery strips. */
+    THUMBNAIL(320, 240, "fill"),
+    /** Catalog card image, cropped to the card aspect ratio. */
+    CARD(640, 480, "fill"),
+    /** Detail page image, scaled down only, never cropped or upscaled. */
+    FULL(1600, 1600, "limit");
+
+    private final int width;
+    private final int height;
+    private final String crop;
+
+    PhotoVariant(int width, int height, String crop) {
+        this.width = width;
+        this.height = height;
+        this.crop = crop;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /** Cloudinary crop mode used to fit the image into the variant box. */
+    public String getCrop() {
+        return crop;
+    }
+}
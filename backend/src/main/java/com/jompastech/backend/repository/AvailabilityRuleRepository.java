@@ -0,0 +1,81 @@
+package com.jompastech.backend.repository;
+
+import com.jompastech.backend.model.entity.AvailabilityRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for the recurring availability rules of boats.
+ *
+ * <p>Rules are always loaded with their exceptions, in one query, since every
+ * expansion of a rule needs them.</p>
+ */
+@Repository
+public interface AvailabilityRuleRepository extends JpaRepository<AvailabilityRule, Long> {
+
+    /**
+     * Loads all the rules of a boat with their exceptions.
+     *
+     * @param boatId the ID of the boat
+     * @return the rules of the boat, by ID
+     */
+    @Query("SELECT DISTINCT r FROM AvailabilityRule r LEFT JOIN FETCH r.exceptions " +
+            "WHERE r.boat.id = :boatId ORDER BY r.id")
+    List<AvailabilityRule> findByBoatIdWithExceptions(@Param("boatId") Long boatId);
+
+    /**
+     * Loads the rules of a boat valid on at least one day of a date range, with their exceptions.
+     *
+     * @param boatId the ID of the boat
+     * @param fromDate first day of the range
+     * @param toDate last day of the range, inclusive
+     * @return the rules valid during the range, by ID
+     */
+    @Query("SELECT DISTINCT r FROM AvailabilityRule r LEFT JOIN FETCH r.exceptions " +
+            "WHERE r.boat.id = :boatId AND r.validFrom <= :toDate " +
+            "AND (r.validUntil IS NULL OR r.validUntil >= :fromDate) ORDER BY r.id")
+    List<AvailabilityRule> findByBoatIdValidBetween(@Param("boatId") Long boatId,
+                                                    @Param("fromDate") LocalDate fromDate,
+                                                    @Param("toDate") LocalDate toDate);
+
+    /**
+     * Finds the rules of a boat that could have occurrences sharing time with a candidate
+     * rule: they share a weekday, their validity periods meet and their times of day overlap.
+     * Same test as {@code RecurrenceRule#overlaps}, run against the committed rules.
+     *
+     * @param boatId the ID of the boat
+     * @param weekdayMask weekdays of the candidate, one bit per day from Monday (bit 0)
+     * @param startTime time of day the candidate occurrences start
+     * @param endTime time of day the candidate occurrences end, exclusive
+     * @param validFrom first day of the candidate
+     * @param validUntil last day of the candidate, a far-future date when it is open-ended
+     * @return IDs of the overlapping rules, lowest first
+     */
+    @Query("SELECT r.id FROM AvailabilityRule r WHERE r.boat.id = :boatId " +
+            "AND bits_intersect(r.weekdayMask, :weekdayMask) " +
+            "AND r.startTime < :endTime AND :startTime < r.endTime " +
+            "AND r.validFrom <= :validUntil AND (r.validUntil IS NULL OR r.validUntil >= :validFrom) " +
+            "ORDER BY r.id")
+    List<Long> findOverlappingIds(@Param("boatId") Long boatId,
+                                  @Param("weekdayMask") int weekdayMask,
+                                  @Param("startTime") LocalTime startTime,
+                                  @Param("endTime") LocalTime endTime,
+                                  @Param("validFrom") LocalDate validFrom,
+                                  @Param("validUntil") LocalDate validUntil);
+
+    /**
+     * Finds a rule of a given boat.
+     *
+     * @param id the ID of the rule
+     * @param boatId the ID of the boat
+     * @return the rule, or empty if it does not exist or belongs to another boat
+     */
+    Optional<AvailabilityRule> findByIdAndBoatId(Long id, Long boatId);
+}
@@ -1,12 +1,15 @@
 package com.jompastech.backend.repository;
 
 import com.jompastech.backend.model.entity.Boat;
+import com.jompastech.backend.model.dto.schedule.ScheduleInterval;
 import com.jompastech.backend.model.entity.BoatAvailability;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -20,7 +23,6 @@ import java.util.List;
  * <ul>
  *     <li>Finding availabilities by boat ID</li>
  *     <li>Finding availabilities within specific date ranges</li>
- *     <li>Checking for overlapping availability periods</li>
  *     <li>Finding availabilities that overlap with given date ranges</li>
  * </ul>
  * </p>
@@ -36,6 +38,71 @@ public interface BoatAvailabilityRepository extends JpaRepository<BoatAvailabili
      */
     List<BoatAvailability> findByBoatId(Long boatId);
 
+    /**
+     * Deletes all availability windows of a boat with one statement, without loading them.
+     *
+     * @param boatId the ID of the boat
+     * @return the number of deleted windows
+     */
+    @Modifying
+    @Query("DELETE FROM BoatAvailability ba WHERE ba.boat.id = :boatId")
+    int deleteAllByBoatId(@Param("boatId") Long boatId);
+
+    /**
+     * Deletes the availability windows of a boat overlapping a half-open period with
+     * one statement, without loading them.
+     *
+     * @param boatId the ID of the boat
+     * @param startDate start of the period, inclusive
+     * @param endDate end of the period, exclusive
+     * @return the number of deleted windows
+     */
+    @Modifying
+    @Query("DELETE FROM BoatAvailability ba WHERE ba.boat.id = :boatId " +
+            "AND time_ranges_overlap(ba.startDate, ba.endDate, :startDate, :endDate)")
+    int deleteByBoatIdOverlapping(
+            @Param("boatId") Long boatId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Loads the availability windows of a boat as plain intervals for the schedule index.
+     *
+     * @param boatId the ID of the boat
+     * @return the windows of the boat, in no particular order
+     */
+    @Query("SELECT new com.jompastech.backend.model.dto.schedule.ScheduleInterval(" +
+            "ba.id, ba.startDate, ba.endDate, ba.pricePerHour) " +
+            "FROM BoatAvailability ba WHERE ba.boat.id = :boatId")
+    List<ScheduleInterval> findIntervalsByBoatId(@Param("boatId") Long boatId);
+
+    /**
+     * Loads the availability windows of a boat overlapping a half-open period, ordered by start.
+     *
+     * @param boatId the ID of the boat
+     * @param startDate start of the period, inclusive
+     * @param endDate end of the period, exclusive
+     * @return the overlapping windows, with their price
+     */
+    @Query("SELECT new com.jompastech.backend.model.dto.schedule.ScheduleInterval(" +
+            "ba.id, ba.startDate, ba.endDate, ba.pricePerHour) " +
+            "FROM BoatAvailability ba WHERE ba.boat.id = :boatId " +
+            "AND time_ranges_overlap(ba.startDate, ba.endDate, :startDate, :endDate) " +
+            "ORDER BY ba.startDate")
+    List<ScheduleInterval> findIntervalsByBoatIdOverlapping(
+            @Param("boatId") Long boatId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Finds the cheapest price per hour among the availability windows of a boat.
+     *
+     * @param boatId the ID of the boat
+     * @return the lowest window price, or null if the boat has no windows
+     */
+    @Query("SELECT MIN(ba.pricePerHour) FROM BoatAvailability ba WHERE ba.boat.id = :boatId")
+    BigDecimal findMinPricePerHourByBoatId(@Param("boatId") Long boatId);
+
     /**
      * Finds availability slots for a boat that fall completely within a date range.
      *
@@ -50,52 +117,29 @@ public interface BoatAvailabilityRepository extends JpaRepository<BoatAvailabili
     /**
      * Finds availability slots for a boat that overlap with a given date range.
      *
-     * <p>This query checks for three types of overlap:
-     * <ul>
-     *     <li>Request start date falls within an existing availability</li>
-     *     <li>Request end date falls within an existing availability</li>
-     *     <li>Existing availability falls completely within the requested period</li>
-     * </ul>
-     * </p>
+     * <p>Both periods are half-open ({@code [start, end)}): a slot ending when the
+     * requested period starts does not overlap it. On PostgreSQL this is a single
+     * probe of the {@code boats_availability_no_overlap} GiST index.</p>
      *
      * @param boat the boat entity
-     * @param startDate the start date of the requested period
-     * @param endDate the end date of the requested period
+     * @param startDate the start date of the requested period, inclusive
+     * @param endDate the end date of the requested period, exclusive
      * @return list of availability slots that overlap with the requested period
      */
     @Query("SELECT ba FROM BoatAvailability ba WHERE ba.boat = :boat " +
-            "AND (:startDate BETWEEN ba.startDate AND ba.endDate " +
-            "OR :endDate BETWEEN ba.startDate AND ba.endDate " +
-            "OR ba.startDate BETWEEN :startDate AND :endDate)")
+            "AND time_ranges_overlap(ba.startDate, ba.endDate, :startDate, :endDate)")
     List<BoatAvailability> findByBoatAndDateRange(
             @Param("boat") Boat boat,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
 
-    /**
-     * Checks if any availability slot exists for a boat that overlaps with a given period.
-     *
-     * <p>The overlap condition is true when:
-     * <ul>
-     *     <li>Availability start date is on or before the requested end date</li>
-     *     <li>Availability end date is on or after the requested start date</li>
-     * </ul>
-     * This covers all possible overlap scenarios between two time periods.</p>
-     *
-     * @param boatId the ID of the boat
-     * @param endDate the end date of the requested period
-     * @param startDate the start date of the requested period
-     * @return true if any overlapping availability exists, false otherwise
-     */
-    boolean existsByBoatIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
-            Long boatId, LocalDateTime endDate, LocalDateTime startDate);
-
     /**
      * Finds availability windows that completely cover a specific period.
      *
      * <p>Used for dynamic pricing to identify which price per hour applies
      * to a booking request. The window must completely contain the requested
-     * period (start to end) to be considered a match.</p>
+     * period (start to end) to be considered a match. On PostgreSQL this is a
+     * single probe of the {@code boats_availability_no_overlap} GiST index.</p>
      *
      * @param boat the boat to check availability for
      * @param startDate start of the requested period
@@ -104,8 +148,7 @@ public interface BoatAvailabilityRepository extends JpaRepository<BoatAvailabili
      */
     @Query("SELECT ba FROM BoatAvailability ba " +
             "WHERE ba.boat = :boat " +
-            "AND ba.startDate <= :startDate " +
-            "AND ba.endDate >= :endDate")
+            "AND time_range_contains(ba.startDate, ba.endDate, :startDate, :endDate)")
     List<BoatAvailability> findCoveringAvailabilityWindow(
             @Param("boat") Boat boat,
             @Param("startDate") LocalDateTime startDate,
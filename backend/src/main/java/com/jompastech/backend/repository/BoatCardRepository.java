@@ -0,0 +1,29 @@
+package com.jompastech.backend.repository;
+
+import com.jompastech.backend.model.entity.BoatCard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Write side of the {@code boat_cards} read model.
+ *
+ * <p>Catalog reads go through the card queries of {@link BoatRepository}, which build
+ * {@code BoatCardView} rows from this table without managing entities.</p>
+ */
+@Repository
+public interface BoatCardRepository extends JpaRepository<BoatCard, Long> {
+
+    /**
+     * Propagates an owner rename to all their cards in one statement.
+     *
+     * @param ownerId the owner user ID
+     * @param ownerName the new display name
+     * @return number of cards updated
+     */
+    @Modifying
+    @Query("UPDATE BoatCard c SET c.ownerName = :ownerName WHERE c.ownerId = :ownerId")
+    int updateOwnerName(@Param("ownerId") Long ownerId, @Param("ownerName") String ownerName);
+}
@@ -8,7 +8,9 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BoatPhotoRepository extends JpaRepository<BoatPhoto, Long> {
@@ -21,6 +23,23 @@ public interface BoatPhotoRepository extends JpaRepository<BoatPhoto, Long> {
      */
     List<BoatPhoto> findByBoatIdOrderByOrdemAsc(Long boatId);
 
+    /**
+     * Finds the cover photo of a boat: the first one by display order.
+     *
+     * @param boatId the ID of the boat
+     * @return the cover photo, or empty if the boat has no photos
+     */
+    Optional<BoatPhoto> findFirstByBoatIdOrderByOrdemAscIdAsc(Long boatId);
+
+    /**
+     * Lists the IDs of all photos of a boat.
+     *
+     * @param boatId the ID of the boat
+     * @return the photo IDs
+     */
+    @Query("SELECT bp.id FROM BoatPhoto bp WHERE bp.boat.id = :boatId")
+    List<Long> findIdsByBoatId(@Param("boatId") Long boatId);
+
     /**
      * Deletes all photos for a specific boat.
      *
@@ -46,4 +65,41 @@ public interface BoatPhotoRepository extends JpaRepository<BoatPhoto, Long> {
      * @return the count of photos
      */
     long countByBoatId(Long boatId);
-}
\ No newline at end of file
+
+    /**
+     * Checks whether any of the given public IDs is already attached to a photo.
+     *
+     * @param publicIds public IDs to look up
+     * @return true if at least one is already registered
+     */
+    boolean existsByPublicIdIn(Collection<String> publicIds);
+
+    /**
+     * Finds which of the given public IDs are attached to a photo.
+     *
+     * @param publicIds public IDs to look up
+     * @return the attached ones
+     */
+    @Query("SELECT bp.publicId FROM BoatPhoto bp WHERE bp.publicId IN :publicIds")
+    List<String> findExistingPublicIds(@Param("publicIds") Collection<String> publicIds);
+
+    /**
+     * Finds photos whose stored image can be reused for identical uploads: same content
+     * hash, and the image is not queued for deletion.
+     *
+     * @param contentHashes SHA-256 hashes of the uploads
+     * @return matching photos, possibly several per hash
+     */
+    @Query("SELECT bp FROM BoatPhoto bp WHERE bp.contentHash IN :contentHashes " +
+            "AND NOT EXISTS (SELECT d FROM PhotoDeletion d WHERE d.publicId = bp.publicId)")
+    List<BoatPhoto> findReusableByContentHashIn(@Param("contentHashes") Collection<String> contentHashes);
+
+    /**
+     * Checks whether another photo references the same stored image.
+     *
+     * @param publicId the public ID of the stored image
+     * @param id the ID of the photo to leave out
+     * @return true if the image is still referenced without that photo
+     */
+    boolean existsByPublicIdAndIdNot(String publicId, Long id);
+}
@@ -1,19 +1,170 @@
 package com.jompastech.backend.repository;
 
 import com.jompastech.backend.model.dto.BoatResponseDTO;
+import com.jompastech.backend.model.dto.catalog.BoatCardView;
+import com.jompastech.backend.model.dto.catalog.BoatContentVersion;
+import com.jompastech.backend.model.dto.geo.BoatLocation;
 import com.jompastech.backend.model.entity.Boat;
 import com.jompastech.backend.model.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BoatRepository extends JpaRepository<Boat, Long> {
+public interface BoatRepository extends JpaRepository<Boat, Long>, JpaSpecificationExecutor<Boat>,
+        BoatSearchRepository {
+
+    // Listing queries use the Boat.listing graph: owner and address are joined into the
+    // main select and photos/amenities are batch-loaded, so a page costs a constant
+    // number of statements instead of one or more per boat.
+
+    @Override
+    @EntityGraph(Boat.GRAPH_LISTING)
+    List<Boat> findAll();
+
+    @EntityGraph(Boat.GRAPH_LISTING)
     List<Boat> findByType(String type);
+
+    @EntityGraph(Boat.GRAPH_LISTING)
     List<Boat> findByOwnerId(long owner);
+
+    @EntityGraph(Boat.GRAPH_LISTING)
     Page<Boat> findByOwner(User owner, Pageable pageable);
 
     // to verify if the boat belongs to the user.
     boolean existsByIdAndOwner(Long boatId, User owner);
+
+    /**
+     * Select clause shared by the catalog card queries.
+     *
+     * <p>Builds {@link BoatCardView} rows from the {@code boat_cards} read model only,
+     * one flat row per boat maintained by {@code BoatCardProjector}. The alias is
+     * {@code b} and the ordering properties keep their {@code Boat} names, so the
+     * keyset predicates below read the same as on the boats table.</p>
+     */
+    String CARD_SELECT = "SELECT new com.jompastech.backend.model.dto.catalog.BoatCardView(" +
+            "b.id, b.name, b.type, b.capacity, b.pricePerHour, b.city, b.state, b.marina, b.ownerName, " +
+            "b.coverPhotoUrl, b.amenities, b.averageRating, b.reviewCount, b.minWindowPrice) " +
+            "FROM BoatCard b ";
+
+    /**
+     * Keyset page of the catalog ordered by boat id.
+     *
+     * <p>Seeks directly past the last id of the previous page through the primary key
+     * index, so the cost is independent of how deep the client has paged.</p>
+     *
+     * @param afterId id of the last boat already returned (0 for the first page)
+     * @param limit page bound, only the page size is used
+     * @return up to {@code limit.getPageSize()} cards after {@code afterId}
+     */
+    @Query(CARD_SELECT + "WHERE b.id > :afterId ORDER BY b.id ASC")
+    List<BoatCardView> findCatalogPageAfterId(@Param("afterId") Long afterId, Pageable limit);
+
+    /**
+     * First keyset page of the catalog ordered by price, then id.
+     * Boats without a price have no position in this ordering and are skipped.
+     */
+    @Query(CARD_SELECT + "WHERE b.pricePerHour IS NOT NULL ORDER BY b.pricePerHour ASC, b.id ASC")
+    List<BoatCardView> findCatalogFirstPageByPrice(Pageable limit);
+
+    /**
+     * Keyset page of the catalog ordered by price, then id.
+     *
+     * <p>The row-value comparison matches the {@code (price_per_hour, boat_id)} index of
+     * {@code boat_cards}, letting the database seek to the cursor instead of scanning and
+     * discarding rows.</p>
+     *
+     * @param price price of the last boat already returned
+     * @param afterId id of the last boat already returned
+     * @param limit page bound, only the page size is used
+     * @return up to {@code limit.getPageSize()} cards after the cursor position
+     */
+    @Query(CARD_SELECT + "WHERE (b.pricePerHour, b.id) > (:price, :afterId) " +
+            "ORDER BY b.pricePerHour ASC, b.id ASC")
+    List<BoatCardView> findCatalogPageAfterPrice(@Param("price") BigDecimal price,
+                                                 @Param("afterId") Long afterId,
+                                                 Pageable limit);
+
+    /**
+     * Catalog cards for the given boats, in no particular order.
+     * Used by the search to render a page of ids found by {@link #findIdsBy}.
+     *
+     * @param ids boat ids to load
+     * @return one card per existing boat
+     */
+    @Query(CARD_SELECT + "WHERE b.id IN :ids")
+    List<BoatCardView> findCardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Ids of every boat, used to rebuild the card read model.
+     */
+    @Query("SELECT b.id FROM Boat b ORDER BY b.id")
+    List<Long> findAllIds();
+
+    /**
+     * Coordinates of every boat whose address has them, used to build the geo index.
+     */
+    @Query("SELECT new com.jompastech.backend.model.dto.geo.BoatLocation(b.id, a.latitude, a.longitude) " +
+            "FROM Boat b JOIN b.address a WHERE a.latitude IS NOT NULL AND a.longitude IS NOT NULL")
+    List<BoatLocation> findAllLocations();
+
+    /**
+     * Content version of a boat, read without loading the entity or its associations.
+     */
+    @Query("SELECT new com.jompastech.backend.model.dto.catalog.BoatContentVersion(" +
+            "b.id, b.contentVersion, b.contentUpdatedAt) FROM Boat b WHERE b.id = :id")
+    Optional<BoatContentVersion> findContentVersionById(@Param("id") Long id);
+
+    /**
+     * Marks the boat as changed, invalidating the ETags of all its representations.
+     * A single UPDATE, so concurrent writers never lose a bump.
+     *
+     * @param id boat identifier
+     * @param now time of the change
+     * @return number of rows updated, 0 when the boat does not exist
+     */
+    @Modifying
+    @Query("UPDATE Boat b SET b.contentVersion = b.contentVersion + 1, b.contentUpdatedAt = :now " +
+            "WHERE b.id = :id")
+    int bumpContentVersion(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Ids of the boats of an owner, without loading them.
+     */
+    @Query("SELECT b.id FROM Boat b WHERE b.owner.id = :ownerId")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId);
+
+    /**
+     * Marks every boat of an owner as changed, for changes to the owner shown on
+     * the boats (e.g. their name). A single UPDATE, like {@link #bumpContentVersion}.
+     *
+     * @param ownerId owner identifier
+     * @param now change time, stored as the boats' Last-Modified
+     * @return number of boats bumped
+     */
+    @Modifying
+    @Query("UPDATE Boat b SET b.contentVersion = b.contentVersion + 1, b.contentUpdatedAt = :now " +
+            "WHERE b.owner.id = :ownerId")
+    int bumpContentVersionByOwnerId(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now);
+
+    /**
+     * Loads a boat and locks its row until the transaction ends (SELECT ... FOR UPDATE).
+     * Serializes writers that check and then change what belongs to the boat, such as
+     * its availability rules.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Boat b WHERE b.id = :id")
+    Optional<Boat> findByIdForUpdate(@Param("id") Long id);
 }
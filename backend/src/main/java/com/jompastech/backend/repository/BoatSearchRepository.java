@@ -0,0 +1,55 @@
+package com.jompastech.backend.repository;
+
+import com.jompastech.backend.model.dto.catalog.FacetCountDTO;
+import com.jompastech.backend.model.entity.Boat;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Search queries over boats that Spring Data cannot derive: id-only paging and
+ * grouped facet counts driven by a {@link Specification}.
+ */
+public interface BoatSearchRepository {
+
+    /**
+     * Finds the ids of the boats matching the specification.
+     *
+     * <p>Only ids are selected, so paging and sorting run on the boats table
+     * without loading entities; callers fetch the rows they need afterwards.</p>
+     *
+     * @param spec search predicates
+     * @param pageable page, size and sort to apply
+     * @return page of matching boat ids in the requested order
+     */
+    Page<Long> findIdsBy(Specification<Boat> spec, Pageable pageable);
+
+    /**
+     * Finds the ids of the boats matching the specification, most relevant to the
+     * free text first (full-text rank plus name similarity, then id).
+     *
+     * @param spec search predicates, expected to include the text match
+     * @param text free text the results are ranked against
+     * @param pageable page and size to apply; its sort is ignored
+     * @return page of matching boat ids by descending relevance
+     */
+    Page<Long> findIdsByRelevance(Specification<Boat> spec, String text, Pageable pageable);
+
+    /**
+     * Counts the boats matching the specification per boat type.
+     *
+     * @param spec search predicates
+     * @return counts ordered by count descending, then by type
+     */
+    List<FacetCountDTO> countByType(Specification<Boat> spec);
+
+    /**
+     * Counts the boats matching the specification per address city.
+     *
+     * @param spec search predicates
+     * @return counts ordered by count descending, then by city
+     */
+    List<FacetCountDTO> countByCity(Specification<Boat> spec);
+}
@@ -0,0 +1,116 @@
+package com.jompastech.backend.repository;
+
+import com.jompastech.backend.config.TextSearchFunctionContributor;
+import com.jompastech.backend.model.dto.catalog.FacetCountDTO;
+import com.jompastech.backend.model.entity.Boat;
+import com.jompastech.backend.repository.specification.BoatSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Criteria API implementation of {@link BoatSearchRepository}, picked up by
+ * Spring Data as a fragment of {@link BoatRepository}.
+ */
+public class BoatSearchRepositoryImpl implements BoatSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Long> findIdsBy(Specification<Boat> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Boat> root = query.from(Boat.class);
+        query.select(root.get("id"));
+        applySpecification(spec, root, query, cb);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        return page(query, spec, pageable);
+    }
+
+    @Override
+    public Page<Long> findIdsByRelevance(Specification<Boat> spec, String text, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Boat> root = query.from(Boat.class);
+        query.select(root.get("id"));
+        applySpecification(spec, root, query, cb);
+
+        Expression<Double> rank = cb.function(TextSearchFunctionContributor.TEXT_RANK, Double.class,
+                root.get("searchVector"), root.get("name"), cb.literal(text.trim()));
+        query.orderBy(cb.desc(rank), cb.asc(root.get("id")));
+        return page(query, spec, pageable);
+    }
+
+    @Override
+    public List<FacetCountDTO> countByType(Specification<Boat> spec) {
+        return countGroupedBy(spec, root -> root.get("type"));
+    }
+
+    @Override
+    public List<FacetCountDTO> countByCity(Specification<Boat> spec) {
+        return countGroupedBy(spec, root -> BoatSpecifications.address(root).get("city"));
+    }
+
+    private Page<Long> page(CriteriaQuery<Long> query, Specification<Boat> spec, Pageable pageable) {
+        List<Long> ids = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        // The count query only runs when the page alone cannot tell the total
+        return PageableExecutionUtils.getPage(ids, pageable, () -> count(spec));
+    }
+
+    private long count(Specification<Boat> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Boat> root = query.from(Boat.class);
+        query.select(cb.count(root));
+        applySpecification(spec, root, query, cb);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private List<FacetCountDTO> countGroupedBy(Specification<Boat> spec,
+                                               Function<Root<Boat>, Expression<String>> facet) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Boat> root = query.from(Boat.class);
+
+        // Filters first, so the facet reuses the address join when a filter created it
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        Expression<String> key = facet.apply(root);
+        Expression<Long> count = cb.count(root);
+
+        query.multiselect(key, count)
+                .where(predicate == null ? cb.isNotNull(key) : cb.and(predicate, cb.isNotNull(key)))
+                .groupBy(key)
+                .orderBy(cb.desc(count), cb.asc(key));
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(row -> new FacetCountDTO(row.get(0, String.class), row.get(1, Long.class)))
+                .collect(Collectors.toList());
+    }
+
+    private void applySpecification(Specification<Boat> spec, Root<Boat> root,
+                                    CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
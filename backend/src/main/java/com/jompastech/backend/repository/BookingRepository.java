@@ -1,10 +1,12 @@
 package com.jompastech.backend.repository;
 
+import com.jompastech.backend.model.dto.schedule.ScheduleInterval;
 import com.jompastech.backend.model.entity.Boat;
 import com.jompastech.backend.model.entity.Booking;
 import com.jompastech.backend.model.enums.BookingStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -26,29 +28,51 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     /**
      * Finds active bookings that conflict with a specified date range for a given boat.
-
-     * This query detects overlapping bookings by evaluating multiple temporal scenarios:
-     * - Booking starts within the target period
-     * - Booking ends within the target period
-     * - Booking completely encompasses the target period
-
+     *
+     * Both periods are half-open ([start, end)), as in {@link Booking#overlapsWith}: a
+     * booking ending when the target period starts does not conflict with it. On
+     * PostgreSQL this is a single probe of the booking_no_overlap GiST index.
+     *
      * Business Rule: Excludes cancelled bookings since they don't represent actual
      * reservations and shouldn't block availability. This ensures that cancelled
      * bookings don't interfere with new booking requests.
-
+     *
      * @param boat the boat to check for booking conflicts
      * @param startDate the start date of the potential booking period
      * @param endDate the end date of the potential booking period
      * @return list of non-cancelled bookings that overlap with the specified date range
      */
     @Query("SELECT b FROM Booking b WHERE b.boat = :boat AND b.status != 'CANCELLED' " +
-            "AND ((b.startDate BETWEEN :startDate AND :endDate) OR " +
-            "(b.endDate BETWEEN :startDate AND :endDate) OR " +
-            "(b.startDate <= :startDate AND b.endDate >= :endDate))")
+            "AND time_ranges_overlap(b.startDate, b.endDate, :startDate, :endDate)")
     List<Booking> findConflictingBookings(@Param("boat") Boat boat,
                                           @Param("startDate") LocalDateTime startDate,
                                           @Param("endDate") LocalDateTime endDate);
 
+    /**
+     * Loads the non-cancelled bookings of a boat as plain intervals for the schedule index.
+     *
+     * @param boatId the ID of the boat
+     * @return the active bookings of the boat, in no particular order
+     */
+    @Query("SELECT new com.jompastech.backend.model.dto.schedule.ScheduleInterval(b.id, b.startDate, b.endDate) " +
+            "FROM Booking b WHERE b.boat.id = :boatId AND b.status != 'CANCELLED'")
+    List<ScheduleInterval> findActiveIntervalsByBoatId(@Param("boatId") Long boatId);
+
+    /**
+     * Loads the non-cancelled bookings of a boat overlapping a half-open period.
+     *
+     * @param boatId the ID of the boat
+     * @param startDate start of the period, inclusive
+     * @param endDate end of the period, exclusive
+     * @return the overlapping active bookings, in no particular order
+     */
+    @Query("SELECT new com.jompastech.backend.model.dto.schedule.ScheduleInterval(b.id, b.startDate, b.endDate) " +
+            "FROM Booking b WHERE b.boat.id = :boatId AND b.status != 'CANCELLED' " +
+            "AND time_ranges_overlap(b.startDate, b.endDate, :startDate, :endDate)")
+    List<ScheduleInterval> findActiveIntervalsByBoatIdOverlapping(@Param("boatId") Long boatId,
+                                                                  @Param("startDate") LocalDateTime startDate,
+                                                                  @Param("endDate") LocalDateTime endDate);
+
     /**
      * Checks if a completed booking exists for the user-boat combination.
      * Used for review eligibility validation.
@@ -61,14 +85,21 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      */
     long countByUserIdAndBoatIdAndStatus(Long userId, Long boatId, BookingStatus status);
 
+    // The listing queries below use the Booking.listing graph so that renter, boat,
+    // boat owner and boat address are loaded with the page itself (no N+1 in BookingMapper).
+
     // Search for all of a user's bookings.
+    @EntityGraph(Booking.GRAPH_LISTING)
     Page<Booking> findByUserId(Long userId, Pageable pageable);
 
     // Search for a user's bookings by status.
+    @EntityGraph(Booking.GRAPH_LISTING)
     Page<Booking> findByUserIdAndStatus(Long userId, BookingStatus status, Pageable pageable);
 
     // Search for bookings where the user owns the boat.
-    @Query("SELECT b FROM Booking b WHERE b.boat.owner.id = :userId")
+    @EntityGraph(Booking.GRAPH_LISTING)
+    @Query(value = "SELECT b FROM Booking b WHERE b.boat.owner.id = :userId",
+            countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.boat.owner.id = :userId")
     Page<Booking> findByBoatOwnerId(@Param("userId") Long userId, Pageable pageable);
 
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.jompastech.backend.repository;
+
+import com.jompastech.backend.model.entity.PhotoDeletion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PhotoDeletionRepository extends JpaRepository<PhotoDeletion, Long> {
+
+    /**
+     * Finds the deletions due for an attempt, oldest first.
+     *
+     * @param now the current time
+     * @param pageable limits the batch size
+     * @return the due deletions
+     */
+    @Query("SELECT d FROM PhotoDeletion d WHERE d.availableAt <= :now ORDER BY d.id ASC")
+    List<PhotoDeletion> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Pushes back the next attempt of deletions while their batch is in flight, so a
+     * concurrent cleaner does not pick them up.
+     *
+     * @param ids the IDs of the deletions
+     * @param availableAt earliest time another attempt may start
+     * @return number of deletions updated
+     */
+    @Modifying
+    @Query("UPDATE PhotoDeletion d SET d.availableAt = :availableAt WHERE d.id IN :ids")
+    int postpone(@Param("ids") Collection<Long> ids, @Param("availableAt") LocalDateTime availableAt);
+
+    /**
+     * Counts a failed attempt of deletions and schedules the retry.
+     *
+     * @param ids the IDs of the deletions
+     * @param availableAt time of the retry
+     * @param lastError cause of the failure
+     * @return number of deletions updated
+     */
+    @Modifying
+    @Query("UPDATE PhotoDeletion d SET d.availableAt = :availableAt, d.attempts = d.attempts + 1, " +
+            "d.lastError = :lastError WHERE d.id IN :ids")
+    int recordFailure(@Param("ids") Collection<Long> ids,
+                      @Param("availableAt") LocalDateTime availableAt,
+                      @Param("lastError") String lastError);
+
+    /**
+     * Removes completed deletions in one statement.
+     *
+     * @param ids the IDs of the deletions
+     * @return number of deletions removed
+     */
+    @Modifying
+    @Query("DELETE FROM PhotoDeletion d WHERE d.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds which of the given public IDs are already queued for deletion.
+     *
+     * @param publicIds candidate public IDs
+     * @return the queued ones
+     */
+    @Query("SELECT d.publicId FROM PhotoDeletion d WHERE d.publicId IN :publicIds")
+    List<String> findQueuedPublicIds(@Param("publicIds") Collection<String> publicIds);
+
+    /**
+     * Queues the images of every photo of a boat with a single INSERT ... SELECT,
+     * without loading the photos. Images shared with photos of other boats are skipped.
+     *
+     * @param boatId the ID of the boat
+     * @param now the current time
+     * @return number of images queued
+     */
+    @Modifying
+    @Query(value = "INSERT INTO photo_deletions (public_id, attempts, available_at, created_at) " +
+            "SELECT DISTINCT p.public_id, 0, :now, :now FROM boat_photos p WHERE p.boat_id = :boatId " +
+            "AND NOT EXISTS (SELECT 1 FROM boat_photos o WHERE o.public_id = p.public_id AND o.boat_id <> :boatId)",
+            nativeQuery = true)
+    int enqueueBoatPhotos(@Param("boatId") Long boatId, @Param("now") LocalDateTime now);
+}
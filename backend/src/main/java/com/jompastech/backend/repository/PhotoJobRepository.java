@@ -0,0 +1,72 @@
+package com.jompastech.backend.repository;
+
+import com.jompastech.backend.model.entity.PhotoJob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PhotoJobRepository extends JpaRepository<PhotoJob, Long> {
+
+    /**
+     * Finds a job of a specific boat.
+     *
+     * @param id the ID of the job
+     * @param boatId the ID of the boat
+     * @return the job, or empty if it does not exist or belongs to another boat
+     */
+    Optional<PhotoJob> findByIdAndBoatId(Long id, Long boatId);
+
+    /**
+     * Loads a job and locks its row until the transaction ends, so a concurrent
+     * {@link #claim} waits and then sees the outcome of the holder.
+     *
+     * @param id the ID of the job
+     * @return the job, or empty if it does not exist
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM PhotoJob j WHERE j.id = :id")
+    Optional<PhotoJob> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Lists jobs a worker may claim: queued jobs that are due, and processing jobs
+     * whose worker lease expired. Oldest first.
+     *
+     * @param now the current time
+     * @param pageable limits the number of candidates
+     * @return IDs of the claimable jobs
+     */
+    @Query("SELECT j.id FROM PhotoJob j " +
+            "WHERE (j.status = com.jompastech.backend.model.enums.PhotoJobStatus.QUEUED AND j.availableAt <= :now) " +
+            "OR (j.status = com.jompastech.backend.model.enums.PhotoJobStatus.PROCESSING AND j.leaseExpiresAt < :now) " +
+            "ORDER BY j.id ASC")
+    List<Long> findClaimableIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Claims a job for a worker, if it is still claimable. The conditional update is
+     * atomic, so among concurrent workers exactly one gets 1 back.
+     *
+     * @param id the ID of the job
+     * @param now the current time
+     * @param leaseExpiresAt end of the claim
+     * @return 1 if the job was claimed, 0 if another worker got it first
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PhotoJob j SET j.status = com.jompastech.backend.model.enums.PhotoJobStatus.PROCESSING, " +
+            "j.leaseExpiresAt = :leaseExpiresAt, j.attempts = j.attempts + 1, j.updatedAt = :now " +
+            "WHERE j.id = :id AND ((j.status = com.jompastech.backend.model.enums.PhotoJobStatus.QUEUED " +
+            "AND j.availableAt <= :now) OR (j.status = com.jompastech.backend.model.enums.PhotoJobStatus.PROCESSING " +
+            "AND j.leaseExpiresAt < :now))")
+    int claim(@Param("id") Long id,
+              @Param("now") LocalDateTime now,
+              @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+}
@@ -0,0 +1,212 @@
+package com.jompastech.backend.repository.specification;
+
+import com.jompastech.backend.config.BitmaskFunctionContributor;
+import com.jompastech.backend.config.TextSearchFunctionContributor;
+import com.jompastech.backend.config.TimeRangeFunctionContributor;
+import com.jompastech.backend.model.entity.Address;
+import com.jompastech.backend.model.entity.AvailabilityRule;
+import com.jompastech.backend.model.entity.AvailabilityRuleException;
+import com.jompastech.backend.model.entity.Boat;
+import com.jompastech.backend.model.entity.BoatAvailability;
+import com.jompastech.backend.model.entity.Booking;
+import com.jompastech.backend.model.enums.BookingStatus;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Search predicates for {@link Boat}.
+ *
+ * <p>Every factory accepts a missing value: a null or blank argument yields a
+ * specification with no predicate, so callers can compose all filters without
+ * checking which ones the client sent. Text comparisons use {@code lower()} on
+ * both sides, matching the functional indexes created in V10.</p>
+ */
+public final class BoatSpecifications {
+
+    private BoatSpecifications() {
+    }
+
+    public static Specification<Boat> hasType(String type) {
+        return (root, query, cb) -> isBlank(type)
+                ? null
+                : cb.equal(root.get("type"), type.trim());
+    }
+
+    public static Specification<Boat> inCity(String city) {
+        return (root, query, cb) -> isBlank(city)
+                ? null
+                : cb.equal(cb.lower(address(root).get("city")), normalize(city));
+    }
+
+    public static Specification<Boat> inState(String state) {
+        return (root, query, cb) -> isBlank(state)
+                ? null
+                : cb.equal(cb.lower(address(root).get("state")), normalize(state));
+    }
+
+    public static Specification<Boat> atMarina(String marina) {
+        return (root, query, cb) -> isBlank(marina)
+                ? null
+                : cb.equal(cb.lower(address(root).get("marina")), normalize(marina));
+    }
+
+    public static Specification<Boat> hasMinCapacity(Integer minCapacity) {
+        return (root, query, cb) -> minCapacity == null
+                ? null
+                : cb.greaterThanOrEqualTo(root.get("capacity"), minCapacity);
+    }
+
+    public static Specification<Boat> priceBetween(BigDecimal minPrice, BigDecimal maxPrice) {
+        return (root, query, cb) -> {
+            if (minPrice == null && maxPrice == null) {
+                return null;
+            }
+            if (minPrice == null) {
+                return cb.lessThanOrEqualTo(root.get("pricePerHour"), maxPrice);
+            }
+            if (maxPrice == null) {
+                return cb.greaterThanOrEqualTo(root.get("pricePerHour"), minPrice);
+            }
+            return cb.between(root.get("pricePerHour"), minPrice, maxPrice);
+        };
+    }
+
+    /**
+     * Boats offering every one of the given amenities.
+     *
+     * <p>Uses one correlated subquery counting the distinct matching amenities
+     * instead of one join per amenity, so the query shape does not grow with the
+     * number of amenities requested.</p>
+     */
+    public static Specification<Boat> hasAllAmenities(Collection<String> amenities) {
+        return (root, query, cb) -> {
+            Set<String> required = amenities == null
+                    ? Set.of()
+                    : amenities.stream()
+                            .filter(amenity -> !isBlank(amenity))
+                            .map(BoatSpecifications::normalize)
+                            .collect(Collectors.toSet());
+            if (required.isEmpty()) {
+                return null;
+            }
+
+            Subquery<Long> matches = query.subquery(Long.class);
+            Root<Boat> boat = matches.correlate(root);
+            Join<Boat, String> amenity = boat.join("amenities");
+            matches.select(cb.countDistinct(cb.lower(amenity)))
+                    .where(cb.lower(amenity).in(required));
+
+            return cb.equal(matches, (long) required.size());
+        };
+    }
+
+    /**
+     * Boats whose name or description matches the free text, or whose name is
+     * similar to it despite typos. PostgreSQL only, see {@link TextSearchFunctionContributor}.
+     */
+    public static Specification<Boat> matchesText(String text) {
+        return (root, query, cb) -> isBlank(text)
+                ? null
+                : cb.isTrue(cb.function(TextSearchFunctionContributor.TEXT_MATCH, Boolean.class,
+                        root.get("searchVector"), root.get("name"), cb.literal(text.trim())));
+    }
+
+    /**
+     * Boats that can be booked for the whole period: an availability window or an
+     * occurrence of an availability rule covers it, and no non-cancelled booking overlaps it.
+     *
+     * <p>Rendered as EXISTS / NOT EXISTS subqueries, so the check runs inside the
+     * search query for every candidate boat instead of one request per boat.</p>
+     *
+     * <p>Rule occurrences start and end on the same day, so only a period within a
+     * single day can be covered by one. The rule must apply on that date (weekday,
+     * validity) and span the period's times of day, and the occurrence must not be
+     * cancelled by an exception.</p>
+     *
+     * @param start start of the period, inclusive
+     * @param end end of the period, exclusive
+     */
+    public static Specification<Boat> isAvailableBetween(LocalDateTime start, LocalDateTime end) {
+        return (root, query, cb) -> {
+            if (start == null || end == null) {
+                return null;
+            }
+
+            Subquery<Long> window = query.subquery(Long.class);
+            Root<BoatAvailability> availability = window.from(BoatAvailability.class);
+            window.select(availability.get("id"))
+                    .where(cb.equal(availability.get("boat"), root),
+                            cb.lessThanOrEqualTo(availability.get("startDate"), start),
+                            cb.greaterThanOrEqualTo(availability.get("endDate"), end));
+            Predicate covered = cb.exists(window);
+
+            LocalDate date = start.toLocalDate();
+            if (date.equals(end.toLocalDate())) {
+                Subquery<Long> occurrence = query.subquery(Long.class);
+                Root<AvailabilityRule> rule = occurrence.from(AvailabilityRule.class);
+
+                Subquery<Long> cancelled = occurrence.subquery(Long.class);
+                Root<AvailabilityRule> cancelledRule = cancelled.correlate(rule);
+                Join<AvailabilityRule, AvailabilityRuleException> exception = cancelledRule.join("exceptions");
+                cancelled.select(cancelledRule.get("id"))
+                        .where(cb.equal(exception.get("occurrenceDate"), date),
+                                cb.isNull(exception.get("pricePerHour")));
+
+                occurrence.select(rule.get("id"))
+                        .where(cb.equal(rule.get("boat"), root),
+                                cb.isTrue(cb.function(BitmaskFunctionContributor.BITS_INTERSECT, Boolean.class,
+                                        rule.get("weekdayMask"), cb.literal(1 << date.getDayOfWeek().ordinal()))),
+                                cb.lessThanOrEqualTo(rule.get("validFrom"), date),
+                                cb.or(cb.isNull(rule.get("validUntil")),
+                                        cb.greaterThanOrEqualTo(rule.get("validUntil"), date)),
+                                cb.lessThanOrEqualTo(rule.get("startTime"), start.toLocalTime()),
+                                cb.greaterThanOrEqualTo(rule.get("endTime"), end.toLocalTime()),
+                                cb.not(cb.exists(cancelled)));
+                covered = cb.or(covered, cb.exists(occurrence));
+            }
+
+            Subquery<Long> conflict = query.subquery(Long.class);
+            Root<Booking> booking = conflict.from(Booking.class);
+            conflict.select(booking.get("id"))
+                    .where(cb.equal(booking.get("boat"), root),
+                            cb.notEqual(booking.get("status"), BookingStatus.CANCELLED),
+                            cb.isTrue(cb.function(TimeRangeFunctionContributor.RANGES_OVERLAP, Boolean.class,
+                                    booking.get("startDate"), booking.get("endDate"),
+                                    cb.literal(start), cb.literal(end))));
+
+            return cb.and(covered, cb.not(cb.exists(conflict)));
+        };
+    }
+
+    /**
+     * Returns the address join of the query, creating it only once so that
+     * several address filters and the city facet share a single join.
+     */
+    @SuppressWarnings("unchecked")
+    public static Join<Boat, Address> address(Root<Boat> root) {
+        return root.getJoins().stream()
+                .filter(join -> join.getAttribute().getName().equals("address"))
+                .map(join -> (Join<Boat, Address>) join)
+                .findFirst()
+                .orElseGet(() -> root.join("address"));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
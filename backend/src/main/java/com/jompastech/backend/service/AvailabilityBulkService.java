@@ -0,0 +1,231 @@
+package com.jompastech.backend.service;
+
+import com.jompastech.backend.exception.EntityNotFoundException;
+import com.jompastech.backend.model.dto.schedule.AvailabilityBulkResultDTO;
+import com.jompastech.backend.model.dto.schedule.AvailabilityBulkWindowDTO;
+import com.jompastech.backend.model.dto.schedule.ScheduleInterval;
+import com.jompastech.backend.model.entity.Boat;
+import com.jompastech.backend.model.entity.BoatAvailability;
+import com.jompastech.backend.repository.BoatAvailabilityRepository;
+import com.jompastech.backend.repository.BoatRepository;
+import com.jompastech.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the availability windows of one or more boats from a bulk upload.
+ *
+ * <p>Design Decisions:
+ * <ul>
+ *   <li>For each boat, the upload replaces the windows overlapping its span, from the
+ *       earliest start to the latest end of its uploaded windows: uploading a season
+ *       again replaces it, and the windows of other seasons are kept</li>
+ *   <li>The whole upload is validated in memory before anything is written. Windows are
+ *       sorted by boat and start, then swept once comparing each window with the
+ *       previous one, so overlaps are found without a query per window</li>
+ *   <li>Changes are applied in one transaction: one set-based delete per boat, then
+ *       the inserts, which Hibernate sends in JDBC batches since {@link BoatAvailability}
+ *       ids come from a pooled sequence</li>
+ *   <li>The boats are evicted from the {@link BoatScheduleIndex} after commit instead
+ *       of being updated window by window</li>
+ *   <li>Uploads are capped at {@value #MAX_WINDOWS} windows</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AvailabilityBulkService {
+
+    /** Largest number of windows accepted in one upload. */
+    public static final int MAX_WINDOWS = 10_000;
+
+    private static final String CSV_HEADER = "boatId";
+    private static final int CSV_COLUMNS = 4;
+
+    private final BoatAvailabilityRepository boatAvailabilityRepository;
+    private final BoatRepository boatRepository;
+    private final UserRepository userRepository;
+    private final BoatScheduleIndex boatScheduleIndex;
+    private final BoatCardProjector boatCardProjector;
+
+    /**
+     * Replaces the windows of the uploaded boats overlapping the uploaded periods.
+     *
+     * @param windows the windows to create, for one or more boats
+     * @param email email of the current user, who must own every boat or be an admin
+     * @return the boats concerned and the number of windows deleted and created
+     * @throws IllegalArgumentException if the upload is empty or too large, a window is
+     *         invalid, or two uploaded windows of a boat overlap
+     * @throws EntityNotFoundException if a boat or the user does not exist
+     * @throws AccessDeniedException if the user may not manage one of the boats
+     */
+    @Transactional
+    public AvailabilityBulkResultDTO replaceWindows(List<AvailabilityBulkWindowDTO> windows, String email) {
+        if (windows == null || windows.isEmpty()) {
+            throw new IllegalArgumentException("Bulk upload must contain at least one availability window");
+        }
+        if (windows.size() > MAX_WINDOWS) {
+            throw new IllegalArgumentException("Bulk upload cannot exceed " + MAX_WINDOWS + " availability windows");
+        }
+        for (int i = 0; i < windows.size(); i++) {
+            validate(windows.get(i), i + 1);
+        }
+
+        List<AvailabilityBulkWindowDTO> sorted = windows.stream()
+                .sorted(Comparator.comparing(AvailabilityBulkWindowDTO::boatId)
+                        .thenComparing(AvailabilityBulkWindowDTO::startDate))
+                .toList();
+        Map<Long, ScheduleInterval> spans = sweep(sorted);
+        Map<Long, Boat> boats = loadManagedBoats(spans.keySet(), email);
+
+        log.info("Replacing availability of {} boats with {} windows", spans.size(), sorted.size());
+
+        int deleted = 0;
+        for (var span : spans.entrySet()) {
+            deleted += boatAvailabilityRepository.deleteByBoatIdOverlapping(
+                    span.getKey(), span.getValue().startDate(), span.getValue().endDate());
+        }
+        boatAvailabilityRepository.saveAll(sorted.stream()
+                .map(window -> new BoatAvailability(boats.get(window.boatId()), window.startDate(),
+                        window.endDate(), window.pricePerHour()))
+                .toList());
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Long boatId : spans.keySet()) {
+            boatScheduleIndex.evict(boatId);
+            boatRepository.bumpContentVersion(boatId, now);
+            boatCardProjector.markStale(boatId);
+        }
+        log.info("Bulk upload deleted {} and created {} availability windows", deleted, sorted.size());
+
+        return new AvailabilityBulkResultDTO(List.copyOf(spans.keySet()), deleted, sorted.size());
+    }
+
+    /**
+     * Reads the windows of a CSV upload, one {@code boatId,startDate,endDate,pricePerHour}
+     * line per window with ISO dates. A header line and blank lines are skipped.
+     *
+     * <p>The body is read line by line, so an upload over {@value #MAX_WINDOWS} windows
+     * is rejected without being buffered whole.</p>
+     *
+     * @param reader the CSV content
+     * @return the windows, in upload order
+     * @throws IllegalArgumentException if a line is malformed or the upload is too large
+     * @throws IOException if the content cannot be read
+     */
+    public List<AvailabilityBulkWindowDTO> readCsv(Reader reader) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        List<AvailabilityBulkWindowDTO> windows = new ArrayList<>();
+
+        String line;
+        int number = 0;
+        while ((line = lines.readLine()) != null) {
+            number++;
+            // A byte order mark may precede the first line
+            line = (number == 1 ? line.replace("\uFEFF", "") : line).strip();
+            if (line.isEmpty()
+                    || number == 1 && line.regionMatches(true, 0, CSV_HEADER, 0, CSV_HEADER.length())) {
+                continue;
+            }
+            if (windows.size() == MAX_WINDOWS) {
+                throw new IllegalArgumentException("Bulk upload cannot exceed " + MAX_WINDOWS + " availability windows");
+            }
+            windows.add(parseCsvLine(line, number));
+        }
+        return windows;
+    }
+
+    private static AvailabilityBulkWindowDTO parseCsvLine(String line, int number) {
+        String[] cells = line.split(",", -1);
+        if (cells.length != CSV_COLUMNS) {
+            throw new IllegalArgumentException("Line " + number +
+                    ": expected boatId,startDate,endDate,pricePerHour");
+        }
+        try {
+            return new AvailabilityBulkWindowDTO(
+                    Long.valueOf(cells[0].strip()),
+                    LocalDateTime.parse(cells[1].strip()),
+                    LocalDateTime.parse(cells[2].strip()),
+                    new BigDecimal(cells[3].strip()));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Line " + number + ": " + e.getMessage());
+        }
+    }
+
+    private static void validate(AvailabilityBulkWindowDTO window, int position) {
+        if (window == null || window.boatId() == null) {
+            throw new IllegalArgumentException("Window " + position + ": boat ID is required");
+        }
+        if (window.startDate() == null || window.endDate() == null) {
+            throw new IllegalArgumentException("Window " + position + ": start and end dates are required");
+        }
+        if (!window.startDate().isBefore(window.endDate())) {
+            throw new IllegalArgumentException("Window " + position + ": start date must be before end date");
+        }
+        if (window.pricePerHour() == null || window.pricePerHour().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Window " + position + ": price per hour must be positive");
+        }
+    }
+
+    /**
+     * Checks that the windows of each boat do not overlap and computes the span each
+     * boat's windows cover. As the windows are sorted by boat and start and none
+     * overlapped so far, the previous window of a boat is the one ending last.
+     *
+     * @param sorted the windows, sorted by boat and start
+     * @return the span of each boat, from its first start to its last end, by ascending boat ID
+     * @throws IllegalArgumentException if two windows of a boat overlap
+     */
+    private static Map<Long, ScheduleInterval> sweep(List<AvailabilityBulkWindowDTO> sorted) {
+        Map<Long, ScheduleInterval> spans = new LinkedHashMap<>();
+        AvailabilityBulkWindowDTO previous = null;
+        for (AvailabilityBulkWindowDTO window : sorted) {
+            boolean sameBoat = previous != null && previous.boatId().equals(window.boatId());
+            if (sameBoat && window.startDate().isBefore(previous.endDate())) {
+                throw new IllegalArgumentException("Availability windows of boat " + window.boatId() +
+                        " overlap: from " + previous.startDate() + " to " + previous.endDate() +
+                        " and from " + window.startDate() + " to " + window.endDate());
+            }
+            LocalDateTime spanStart = sameBoat ? spans.get(window.boatId()).startDate() : window.startDate();
+            spans.put(window.boatId(), new ScheduleInterval(null, spanStart, window.endDate()));
+            previous = window;
+        }
+        return spans;
+    }
+
+    private Map<Long, Boat> loadManagedBoats(Collection<Long> boatIds, String email) {
+        var user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with email: " + email));
+        boolean isAdmin = "ROLE_ADMIN".equals(user.getRole());
+
+        Map<Long, Boat> boats = new HashMap<>();
+        boatRepository.findAllById(boatIds).forEach(boat -> boats.put(boat.getId(), boat));
+        for (Long boatId : boatIds) {
+            Boat boat = boats.get(boatId);
+            if (boat == null) {
+                throw new EntityNotFoundException("Boat not found with id: " + boatId);
+            }
+            if (!isAdmin && !boat.getOwner().getId().equals(user.getId())) {
+                throw new AccessDeniedException("User is not authorized to manage availability for boat " + boatId);
+            }
+        }
+        return boats;
+    }
+}
@@ -0,0 +1,142 @@
+package com.jompastech.backend.service;
+
+import com.jompastech.backend.exception.EntityNotFoundException;
+import com.jompastech.backend.model.dto.schedule.AvailabilityCalendarDTO;
+import com.jompastech.backend.model.dto.schedule.RecurrenceRule;
+import com.jompastech.backend.model.dto.schedule.ScheduleInterval;
+import com.jompastech.backend.repository.AvailabilityRuleRepository;
+import com.jompastech.backend.repository.BoatAvailabilityRepository;
+import com.jompastech.backend.repository.BoatRepository;
+import com.jompastech.backend.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Builds the hourly availability calendar of a boat for a date range.
+ *
+ * <p>Design Decisions:
+ * <ul>
+ *   <li>Only the windows and active bookings overlapping the range are loaded, each with
+ *       one range lookup, so the database work depends on the range, not on the
+ *       boat's history. Recurring rules valid during the range are expanded for the
+ *       range only</li>
+ *   <li>Slot states are painted in one pass over the windows, then the bookings, and
+ *       run-length encoded: a month is typically a few dozen characters</li>
+ *   <li>A slot is free only if a window covers the whole hour, and booked as soon as
+ *       a booking touches it, so a free slot can always be part of a booking</li>
+ *   <li>Ranges are capped at {@value #MAX_RANGE_DAYS} days, a quarter</li>
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AvailabilityCalendarService {
+
+    /** Longest range served by one calendar request. */
+    public static final int MAX_RANGE_DAYS = 92;
+
+    private static final long SLOT_SECONDS = Duration.ofHours(1).toSeconds();
+
+    private final BoatRepository boatRepository;
+    private final BoatAvailabilityRepository boatAvailabilityRepository;
+    private final BookingRepository bookingRepository;
+    private final AvailabilityRuleRepository availabilityRuleRepository;
+
+    /**
+     * Builds the calendar of a boat. The range is widened to whole hours.
+     *
+     * @param boatId the ID of the boat
+     * @param from start of the range
+     * @param to end of the range, exclusive
+     * @return the hourly slot states and the windows and rule occurrences of the range
+     * @throws IllegalArgumentException if the range is empty, inverted or longer than {@value #MAX_RANGE_DAYS} days
+     * @throws EntityNotFoundException if the boat does not exist
+     */
+    public AvailabilityCalendarDTO getCalendar(Long boatId, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Calendar range must start before it ends");
+        }
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime end = to.truncatedTo(ChronoUnit.HOURS).isBefore(to)
+                ? to.truncatedTo(ChronoUnit.HOURS).plusHours(1)
+                : to;
+        if (Duration.between(start, end).compareTo(Duration.ofDays(MAX_RANGE_DAYS)) > 0) {
+            throw new IllegalArgumentException("Calendar range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        if (!boatRepository.existsById(boatId)) {
+            throw new EntityNotFoundException("Boat not found with id: " + boatId);
+        }
+
+        List<ScheduleInterval> windows = new ArrayList<>(
+                boatAvailabilityRepository.findIntervalsByBoatIdOverlapping(boatId, start, end));
+        availabilityRuleRepository.findByBoatIdValidBetween(boatId, start.toLocalDate(), end.toLocalDate()).stream()
+                .map(RecurrenceRule::from)
+                .forEach(rule -> windows.addAll(rule.occurrences(start, end)));
+        windows.sort(Comparator.comparing(ScheduleInterval::startDate));
+        List<ScheduleInterval> bookings = bookingRepository.findActiveIntervalsByBoatIdOverlapping(boatId, start, end);
+
+        return new AvailabilityCalendarDTO(boatId, start, end, encode(start, end, windows, bookings),
+                List.copyOf(windows));
+    }
+
+    /**
+     * Paints the state of each hour of the range and run-length encodes it.
+     *
+     * @param start start of the first slot, on the hour
+     * @param end end of the last slot, on the hour
+     * @param windows availability windows and rule occurrences
+     * @param bookings active bookings
+     * @return the encoded states, see {@link AvailabilityCalendarDTO}
+     */
+    private static String encode(LocalDateTime start, LocalDateTime end,
+                         List<ScheduleInterval> windows, List<ScheduleInterval> bookings) {
+        char[] slots = new char[(int) Duration.between(start, end).toHours()];
+        Arrays.fill(slots, AvailabilityCalendarDTO.UNAVAILABLE);
+
+        for (ScheduleInterval window : windows) {
+            // Only the hours entirely inside the window or occurrence
+            fill(slots, ceilSlot(start, window.startDate()), floorSlot(start, window.endDate()),
+                    AvailabilityCalendarDTO.FREE);
+        }
+        for (ScheduleInterval booking : bookings) {
+            // Every hour the booking touches
+            fill(slots, floorSlot(start, booking.startDate()), ceilSlot(start, booking.endDate()),
+                    AvailabilityCalendarDTO.BOOKED);
+        }
+
+        StringBuilder encoded = new StringBuilder();
+        int runStart = 0;
+        for (int i = 1; i <= slots.length; i++) {
+            if (i == slots.length || slots[i] != slots[runStart]) {
+                encoded.append(i - runStart).append(slots[runStart]);
+                runStart = i;
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static void fill(char[] slots, long from, long to, char state) {
+        int first = (int) Math.max(from, 0);
+        int last = (int) Math.min(to, slots.length);
+        if (first < last) {
+            Arrays.fill(slots, first, last, state);
+        }
+    }
+
+    private static long floorSlot(LocalDateTime start, LocalDateTime instant) {
+        return Math.floorDiv(ChronoUnit.SECONDS.between(start, instant), SLOT_SECONDS);
+    }
+
+    private static long ceilSlot(LocalDateTime start, LocalDateTime instant) {
+        return -Math.floorDiv(-ChronoUnit.SECONDS.between(start, instant), SLOT_SECONDS);
+    }
+}
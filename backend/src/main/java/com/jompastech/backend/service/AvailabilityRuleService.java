@@ -0,0 +1,224 @@
+package com.jompastech.backend.service;
+
+import com.jompastech.backend.exception.EntityNotFoundException;
+import com.jompastech.backend.model.dto.schedule.AvailabilityRuleExceptionDTO;
+import com.jompastech.backend.model.dto.schedule.AvailabilityRuleRequestDTO;
+import com.jompastech.backend.model.dto.schedule.AvailabilityRuleResponseDTO;
+import com.jompastech.backend.model.entity.AvailabilityRule;
+import com.jompastech.backend.model.entity.AvailabilityRuleException;
+import com.jompastech.backend.model.entity.Boat;
+import com.jompastech.backend.repository.AvailabilityRuleRepository;
+import com.jompastech.backend.repository.BoatRepository;
+import com.jompastech.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Service managing the recurring availability rules of boats and their exceptions.
+ *
+ * <p>Design Decisions:
+ * <ul>
+ *   <li>A rule stands for all its occurrences: creating one costs one row however
+ *       long it runs, and occurrences are expanded by readers for the period they need</li>
+ *   <li>Rules of a boat may not overlap each other, so an occurrence has a single price;
+ *       one-off windows may overlap rules and take precedence when pricing</li>
+ *   <li>Overlaps are checked against the committed rules while the boat row is locked,
+ *       not against the {@link BoatScheduleIndex}: the index may be stale or belong to
+ *       another instance, and two concurrent creations would each miss the other's rule</li>
+ *   <li>An occurrence is cancelled or repriced with an exception on its date instead
+ *       of splitting the rule</li>
+ *   <li>Every change is pushed to the {@link BoatScheduleIndex} after commit</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AvailabilityRuleService {
+
+    private final AvailabilityRuleRepository availabilityRuleRepository;
+    private final BoatRepository boatRepository;
+    private final UserRepository userRepository;
+    private final BoatScheduleIndex boatScheduleIndex;
+
+    // Stands in for the end of an open-ended rule in overlap queries
+    private static final LocalDate OPEN_END = LocalDate.of(9999, 12, 31);
+
+    /**
+     * Creates a recurring availability rule for a boat.
+     *
+     * @param boatId the ID of the boat
+     * @param requestDTO the rule to create
+     * @param email email of the current user, who must own the boat or be an admin
+     * @return the created rule
+     * @throws EntityNotFoundException if the boat does not exist
+     * @throws AccessDeniedException if the user may not manage the boat
+     * @throws IllegalArgumentException if the rule is invalid or overlaps another rule of the boat
+     */
+    @Transactional
+    public AvailabilityRuleResponseDTO createRule(Long boatId, AvailabilityRuleRequestDTO requestDTO, String email) {
+        log.info("Creating availability rule for boat ID: {}", boatId);
+
+        Boat boat = loadManagedBoat(boatId, email, boatRepository::findByIdForUpdate);
+        AvailabilityRule rule = new AvailabilityRule(boat, requestDTO.getWeekdays(), requestDTO.getStartTime(),
+                requestDTO.getEndTime(), requestDTO.getValidFrom(), requestDTO.getValidUntil(),
+                requestDTO.getPricePerHour());
+
+        List<Long> overlapping = availabilityRuleRepository.findOverlappingIds(boatId, rule.getWeekdayMask(),
+                rule.getStartTime(), rule.getEndTime(), rule.getValidFrom(),
+                rule.getValidUntil() != null ? rule.getValidUntil() : OPEN_END);
+        if (!overlapping.isEmpty()) {
+            throw new IllegalArgumentException("Availability rule overlaps the existing rule " + overlapping.get(0));
+        }
+
+        rule = availabilityRuleRepository.save(rule);
+        changed(rule);
+        log.info("Availability rule created with ID: {}", rule.getId());
+
+        return convertToResponseDTO(rule);
+    }
+
+    /**
+     * Retrieves the rules of a boat with their exceptions.
+     *
+     * @param boatId the ID of the boat
+     * @return the rules of the boat
+     */
+    @Transactional(readOnly = true)
+    public List<AvailabilityRuleResponseDTO> findRulesByBoatId(Long boatId) {
+        return availabilityRuleRepository.findByBoatIdWithExceptions(boatId).stream()
+                .map(this::convertToResponseDTO)
+                .toList();
+    }
+
+    /**
+     * Deletes a rule and all its occurrences.
+     *
+     * @param boatId the ID of the boat
+     * @param ruleId the ID of the rule
+     * @param email email of the current user, who must own the boat or be an admin
+     * @throws EntityNotFoundException if the boat or the rule does not exist
+     * @throws AccessDeniedException if the user may not manage the boat
+     */
+    @Transactional
+    public void deleteRule(Long boatId, Long ruleId, String email) {
+        loadManagedBoat(boatId, email);
+        AvailabilityRule rule = loadRule(boatId, ruleId);
+
+        availabilityRuleRepository.delete(rule);
+        boatScheduleIndex.removeRule(boatId, ruleId);
+        boatRepository.bumpContentVersion(boatId, LocalDateTime.now());
+        log.info("Availability rule {} of boat {} deleted", ruleId, boatId);
+    }
+
+    /**
+     * Cancels or reprices one occurrence of a rule, replacing any previous exception for that date.
+     *
+     * @param boatId the ID of the boat
+     * @param ruleId the ID of the rule
+     * @param exceptionDTO the date of the occurrence and its new price, or no price to cancel it
+     * @param email email of the current user, who must own the boat or be an admin
+     * @return the updated rule
+     * @throws EntityNotFoundException if the boat or the rule does not exist
+     * @throws AccessDeniedException if the user may not manage the boat
+     * @throws IllegalArgumentException if the rule has no occurrence on that date or the price is not positive
+     */
+    @Transactional
+    public AvailabilityRuleResponseDTO putException(Long boatId, Long ruleId,
+                                                    AvailabilityRuleExceptionDTO exceptionDTO, String email) {
+        loadManagedBoat(boatId, email);
+        AvailabilityRule rule = loadRule(boatId, ruleId);
+
+        LocalDate date = exceptionDTO.date();
+        if (date == null || !rule.occursOn(date)) {
+            throw new IllegalArgumentException("Availability rule " + ruleId + " has no occurrence on " + date);
+        }
+        BigDecimal price = exceptionDTO.pricePerHour();
+        if (price != null && price.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Price per hour must be positive");
+        }
+
+        rule.getExceptions().removeIf(exception -> exception.getOccurrenceDate().equals(date));
+        rule.getExceptions().add(new AvailabilityRuleException(date, price));
+        rule = availabilityRuleRepository.save(rule);
+        changed(rule);
+        log.info("Occurrence of availability rule {} on {} {}", ruleId, date,
+                price == null ? "cancelled" : "repriced to " + price);
+
+        return convertToResponseDTO(rule);
+    }
+
+    /**
+     * Restores one occurrence of a rule to its regular state.
+     *
+     * @param boatId the ID of the boat
+     * @param ruleId the ID of the rule
+     * @param date the date of the occurrence
+     * @param email email of the current user, who must own the boat or be an admin
+     * @return the updated rule
+     * @throws EntityNotFoundException if the boat, the rule or the exception does not exist
+     * @throws AccessDeniedException if the user may not manage the boat
+     */
+    @Transactional
+    public AvailabilityRuleResponseDTO removeException(Long boatId, Long ruleId, LocalDate date, String email) {
+        loadManagedBoat(boatId, email);
+        AvailabilityRule rule = loadRule(boatId, ruleId);
+
+        if (!rule.getExceptions().removeIf(exception -> exception.getOccurrenceDate().equals(date))) {
+            throw new EntityNotFoundException("No exception on " + date + " for availability rule " + ruleId);
+        }
+        rule = availabilityRuleRepository.save(rule);
+        changed(rule);
+
+        return convertToResponseDTO(rule);
+    }
+
+    private Boat loadManagedBoat(Long boatId, String email) {
+        return loadManagedBoat(boatId, email, boatRepository::findById);
+    }
+
+    private Boat loadManagedBoat(Long boatId, String email, Function<Long, Optional<Boat>> loader) {
+        Boat boat = loader.apply(boatId)
+                .orElseThrow(() -> new EntityNotFoundException("Boat not found with id: " + boatId));
+        var user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with email: " + email));
+
+        boolean isOwner = boat.getOwner().getId().equals(user.getId());
+        boolean isAdmin = "ROLE_ADMIN".equals(user.getRole());
+        if (!isOwner && !isAdmin) {
+            throw new AccessDeniedException("User is not authorized to manage availability for this boat");
+        }
+        return boat;
+    }
+
+    private AvailabilityRule loadRule(Long boatId, Long ruleId) {
+        return availabilityRuleRepository.findByIdAndBoatId(ruleId, boatId)
+                .orElseThrow(() -> new EntityNotFoundException("Availability rule not found with id: " + ruleId));
+    }
+
+    private void changed(AvailabilityRule rule) {
+        boatScheduleIndex.putRule(rule);
+        boatRepository.bumpContentVersion(rule.getBoat().getId(), LocalDateTime.now());
+    }
+
+    private AvailabilityRuleResponseDTO convertToResponseDTO(AvailabilityRule rule) {
+        List<AvailabilityRuleExceptionDTO> exceptions = rule.getExceptions().stream()
+                .map(exception -> new AvailabilityRuleExceptionDTO(
+                        exception.getOccurrenceDate(), exception.getPricePerHour()))
+                .sorted(Comparator.comparing(AvailabilityRuleExceptionDTO::date))
+                .toList();
+        return new AvailabilityRuleResponseDTO(rule.getId(), rule.getBoat().getId(), rule.getWeekdays(),
+                rule.getStartTime(), rule.getEndTime(), rule.getValidFrom(), rule.getValidUntil(),
+                rule.getPricePerHour(), exceptions);
+    }
+}
@@ -39,6 +39,8 @@ public class BoatAvailabilityService {
     private final BoatAvailabilityRepository boatAvailabilityRepository;
     private final BoatRepository boatRepository;
     private final UserRepository userRepository;
+    private final BoatCardProjector boatCardProjector;
+    private final BoatScheduleIndex boatScheduleIndex;
 
     /**
      * Creates and persists a new boat availability slot.
@@ -46,6 +48,7 @@ public class BoatAvailabilityService {
      * @param boatId the ID of the boat to create availability for
      * @param requestDTO the availability data to be created
      * @return the created availability as a response DTO
+     * @throws IllegalArgumentException if the period overlaps another window of the boat
      */
     @Transactional
     public BoatAvailabilityResponseDTO createAvailability(Long boatId, BoatAvailabilityRequestDTO requestDTO, String email) {
@@ -64,6 +67,8 @@ public class BoatAvailabilityService {
             throw new RuntimeException("User is not authorized to create availability for this boat");
         }
 
+        rejectOverlap(boatId, requestDTO, null);
+
         var availability = new BoatAvailability(
                 boat,
                 requestDTO.getStartDate(),
@@ -72,6 +77,9 @@ public class BoatAvailabilityService {
         );
 
         availability = boatAvailabilityRepository.save(availability);
+        boatScheduleIndex.putWindow(availability);
+        boatRepository.bumpContentVersion(boatId, LocalDateTime.now());
+        boatCardProjector.markStale(boatId);
         log.info("Availability created with ID: {}", availability.getId());
 
         return convertToResponseDTO(availability);
@@ -131,8 +139,7 @@ public class BoatAvailabilityService {
     public boolean isBoatAvailable(Long boatId, LocalDateTime startDate, LocalDateTime endDate) {
         log.info("Checking availability for boat ID: {} from {} to {}", boatId, startDate, endDate);
 
-        boolean hasOverlap = boatAvailabilityRepository.existsByBoatIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
-                boatId, endDate, startDate);
+        boolean hasOverlap = boatScheduleIndex.schedule(boatId).hasWindowOverlapping(startDate, endDate);
         // If there is no overlap, the boat is available
         return !hasOverlap;
     }
@@ -144,6 +151,7 @@ public class BoatAvailabilityService {
      * @param requestDTO the updated availability data
      * @return the updated availability as a response DTO
      * @throws RuntimeException if no availability is found with the given ID
+     * @throws IllegalArgumentException if the new period overlaps another window of the boat
      */
     @Transactional
     public BoatAvailabilityResponseDTO updateAvailability(Long id, BoatAvailabilityRequestDTO requestDTO) {
@@ -152,11 +160,16 @@ public class BoatAvailabilityService {
         var availability = boatAvailabilityRepository.findById(id)
                 .orElseThrow(() -> new AvailabilityNotFoundException("Availability not found with id: " + id));
 
+        rejectOverlap(availability.getBoat().getId(), requestDTO, id);
+
         availability.setStartDate(requestDTO.getStartDate());
         availability.setEndDate(requestDTO.getEndDate());
         availability.setPricePerHour(requestDTO.getPricePerHour());
 
         availability = boatAvailabilityRepository.save(availability);
+        boatScheduleIndex.putWindow(availability);
+        boatRepository.bumpContentVersion(availability.getBoat().getId(), LocalDateTime.now());
+        boatCardProjector.markStale(availability.getBoat().getId());
         log.info("Availability updated with ID: {}", availability.getId());
 
         return convertToResponseDTO(availability);
@@ -169,14 +182,16 @@ public class BoatAvailabilityService {
      */
     @Transactional
     public void deleteAvailability(Long id) {
-        if (!boatAvailabilityRepository.existsById(id)) {
-            throw new AvailabilityNotFoundException("Availability not found with id: " + id);
-        }
-        boatAvailabilityRepository.deleteById(id);
+        var availability = boatAvailabilityRepository.findById(id)
+                .orElseThrow(() -> new AvailabilityNotFoundException("Availability not found with id: " + id));
+        boatAvailabilityRepository.delete(availability);
+        boatScheduleIndex.removeWindow(availability.getBoat().getId(), id);
+        boatRepository.bumpContentVersion(availability.getBoat().getId(), LocalDateTime.now());
+        boatCardProjector.markStale(availability.getBoat().getId());
     }
 
     /**
-     * Deletes all availability slots for a specific boat.
+     * Deletes all availability slots for a specific boat with a single bulk delete.
      *
      * @param boatId the ID of the boat whose availability slots should be deleted
      */
@@ -184,9 +199,43 @@ public class BoatAvailabilityService {
     public void deleteByBoatId(Long boatId) {
         log.info("Deleting all availabilities for boat ID: {}", boatId);
 
-        var availabilities = boatAvailabilityRepository.findByBoatId(boatId);
-        boatAvailabilityRepository.deleteAll(availabilities);
-        log.info("Deleted {} availabilities for boat ID: {}", availabilities.size(), boatId);
+        int deleted = boatAvailabilityRepository.deleteAllByBoatId(boatId);
+        boatScheduleIndex.evict(boatId);
+        boatRepository.bumpContentVersion(boatId, LocalDateTime.now());
+        boatCardProjector.markStale(boatId);
+        log.info("Deleted {} availabilities for boat ID: {}", deleted, boatId);
+    }
+
+    /**
+     * Rejects a window overlapping another window of the same boat, which the
+     * boats_availability_no_overlap constraint would refuse anyway.
+     *
+     * <p>An overlap in the schedule is confirmed against the database: the window it
+     * found may have been deleted on another instance. Overlaps the schedule misses
+     * are left to the constraint.</p>
+     *
+     * @param boatId the ID of the boat
+     * @param requestDTO the requested window
+     * @param ignoredId the window being updated, null on creation
+     * @throws IllegalArgumentException if another window overlaps the requested one
+     */
+    private void rejectOverlap(Long boatId, BoatAvailabilityRequestDTO requestDTO, Long ignoredId) {
+        if (boatScheduleIndex.schedule(boatId)
+                .findOverlappingWindow(requestDTO.getStartDate(), requestDTO.getEndDate(), ignoredId) == null) {
+            return;
+        }
+
+        var overlapping = boatAvailabilityRepository.findIntervalsByBoatIdOverlapping(
+                        boatId, requestDTO.getStartDate(), requestDTO.getEndDate()).stream()
+                .filter(window -> !window.id().equals(ignoredId))
+                .findFirst();
+        if (overlapping.isEmpty()) {
+            // Deleted on another instance; reloaded on the next check
+            boatScheduleIndex.evict(boatId);
+            return;
+        }
+        throw new IllegalArgumentException("Availability overlaps the existing window from " +
+                overlapping.get().startDate() + " to " + overlapping.get().endDate());
     }
 
     /**
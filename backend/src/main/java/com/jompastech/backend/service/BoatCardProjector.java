@@ -0,0 +1,163 @@
+package com.jompastech.backend.service;
+
+import com.jompastech.backend.model.entity.Address;
+import com.jompastech.backend.model.entity.Boat;
+import com.jompastech.backend.model.entity.BoatCard;
+import com.jompastech.backend.model.entity.BoatPhoto;
+import com.jompastech.backend.repository.BoatAvailabilityRepository;
+import com.jompastech.backend.repository.BoatCardRepository;
+import com.jompastech.backend.repository.BoatPhotoRepository;
+import com.jompastech.backend.repository.BoatRepository;
+import com.jompastech.backend.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Maintains the {@code boat_cards} read model.
+ *
+ * <p>Design Decisions:
+ * <ul>
+ *   <li>Writers only mark a boat as stale; its card is recomputed once, right before the
+ *       surrounding transaction commits, from the final state of the boat and its children</li>
+ *   <li>The card is written in the same transaction as the change, so a rolled back write
+ *       never shows up in the catalog and a committed one is visible immediately</li>
+ *   <li>A boat that no longer exists has its card removed by the same refresh</li>
+ *   <li>{@link #rebuildAll()} recomputes every card, for backfills and repairs</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoatCardProjector {
+
+    private final BoatRepository boatRepository;
+    private final BoatCardRepository boatCardRepository;
+    private final BoatPhotoRepository boatPhotoRepository;
+    private final ReviewRepository reviewRepository;
+    private final BoatAvailabilityRepository boatAvailabilityRepository;
+
+    /**
+     * Schedules the card of a boat to be recomputed before the current transaction commits.
+     * Several calls for the same boat in one transaction cost a single refresh.
+     * Outside a transaction the card is refreshed immediately.
+     *
+     * @param boatId boat identifier
+     */
+    public void markStale(Long boatId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(boatId);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Long> stale = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (stale == null) {
+            stale = refreshBeforeCommit();
+        }
+        stale.add(boatId);
+    }
+
+    // Binds the set of stale boats to the current transaction and refreshes them on commit
+    private Set<Long> refreshBeforeCommit() {
+        Set<Long> stale = new LinkedHashSet<>();
+        TransactionSynchronizationManager.bindResource(this, stale);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                stale.forEach(BoatCardProjector.this::refresh);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(BoatCardProjector.this);
+            }
+        });
+        return stale;
+    }
+
+    /**
+     * Recomputes the card of a boat from the normalized tables, or deletes it when
+     * the boat no longer exists.
+     *
+     * @param boatId boat identifier
+     */
+    @Transactional
+    public void refresh(Long boatId) {
+        Optional<Boat> found = boatRepository.findById(boatId);
+        if (found.isEmpty()) {
+            boatCardRepository.deleteById(boatId);
+            return;
+        }
+        Boat boat = found.get();
+        BoatCard card = boatCardRepository.findById(boatId).orElseGet(BoatCard::new);
+
+        card.setId(boat.getId());
+        card.setName(boat.getName());
+        card.setType(boat.getType());
+        card.setCapacity(boat.getCapacity());
+        card.setPricePerHour(boat.getPricePerHour());
+
+        Address address = boat.getAddress();
+        card.setCity(address != null ? address.getCity() : null);
+        card.setState(address != null ? address.getState() : null);
+        card.setMarina(address != null ? address.getMarina() : null);
+
+        card.setOwnerId(boat.getOwner().getId());
+        card.setOwnerName(boat.getOwner().getName());
+        card.setCoverPhotoUrl(boatPhotoRepository.findFirstByBoatIdOrderByOrdemAscIdAsc(boatId)
+                .map(BoatCardProjector::coverUrl)
+                .orElse(null));
+        card.setAmenities(boat.getAmenities() == null ? new ArrayList<>() : new ArrayList<>(boat.getAmenities()));
+
+        ReviewRepository.ReviewAggregation reviews = reviewRepository.getReviewAggregation(boatId);
+        card.setAverageRating(reviews != null ? reviews.getAverageRating() : null);
+        card.setReviewCount(reviews != null && reviews.getReviewCount() != null ? reviews.getReviewCount() : 0L);
+        card.setMinWindowPrice(boatAvailabilityRepository.findMinPricePerHourByBoatId(boatId));
+        card.setRefreshedAt(LocalDateTime.now());
+
+        boatCardRepository.save(card);
+    }
+
+    // Cards show the card-sized rendition, or the original for photos uploaded before variants
+    private static String coverUrl(BoatPhoto photo) {
+        return photo.getCard() != null && photo.getCard().getUrl() != null
+                ? photo.getCard().getUrl()
+                : photo.getPhotoUrl();
+    }
+
+    /**
+     * Propagates an owner rename to all their cards.
+     *
+     * @param ownerId owner user ID
+     * @param ownerName new display name
+     */
+    @Transactional
+    public void ownerRenamed(Long ownerId, String ownerName) {
+        int updated = boatCardRepository.updateOwnerName(ownerId, ownerName);
+        log.debug("Owner name updated on {} boat cards for user ID: {}", updated, ownerId);
+    }
+
+    /**
+     * Recomputes the cards of every boat and drops cards of boats that no longer exist.
+     *
+     * @return number of cards written
+     */
+    @Transactional
+    public int rebuildAll() {
+        List<Long> boatIds = boatRepository.findAllIds();
+        boatCardRepository.deleteAllInBatch();
+        boatIds.forEach(this::refresh);
+        log.info("Boat card read model rebuilt with {} cards", boatIds.size());
+        return boatIds.size();
+    }
+}
@@ -0,0 +1,252 @@
+package com.jompastech.backend.service;
+
+import com.jompastech.backend.model.dto.geo.BoatLocation;
+import com.jompastech.backend.repository.BoatRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory spatial index of boat moorings for proximity searches.
+ *
+ * <p>Boats are bucketed in a fixed grid of {@value #CELL_DEGREES}-degree cells
+ * (about 11 km of latitude). A query only visits the cells overlapping its
+ * bounding box and then filters the candidates by exact distance, so the cost
+ * depends on the boats around the searched point, not on the size of the catalog.</p>
+ *
+ * <p>Design Decisions:
+ * <ul>
+ *   <li>The index is rebuilt from the database when the application is ready and
+ *       then maintained by {@link BoatService} on create, update and delete</li>
+ *   <li>Changes made inside a transaction are applied after commit, so a rolled
+ *       back boat never shows up in searches</li>
+ *   <li>Writes are serialized; reads are lock-free over concurrent maps and may
+ *       briefly miss a boat that is being moved between cells</li>
+ *   <li>The index only returns ids: a boat deleted outside {@link BoatService}
+ *       disappears from results when its card is loaded</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoatGeoIndex {
+
+    /** Size of a grid cell, in degrees of latitude and longitude. */
+    static final double CELL_DEGREES = 0.1;
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.toRadians(EARTH_RADIUS_KM);
+
+    private final BoatRepository boatRepository;
+
+    private final Map<Long, BoatLocation> locations = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    /**
+     * A boat found by a geographic query.
+     *
+     * @param location indexed position of the boat
+     * @param distanceKm great-circle distance to the reference point
+     */
+    public record Hit(BoatLocation location, double distanceKm) {}
+
+    /**
+     * Loads every boat with coordinates from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        locations.clear();
+        cells.clear();
+        boatRepository.findAllLocations().forEach(this::index);
+        log.info("Boat geo index loaded with {} boats in {} cells", locations.size(), cells.size());
+    }
+
+    /**
+     * Indexes or moves a boat. Null coordinates remove it from the index.
+     * Inside a transaction the change is applied after commit.
+     *
+     * @param boatId boat identifier
+     * @param latitude WGS84 latitude, or null
+     * @param longitude WGS84 longitude, or null
+     */
+    public void put(Long boatId, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            remove(boatId);
+            return;
+        }
+        BoatLocation location = new BoatLocation(boatId, latitude, longitude);
+        afterCommit(() -> index(location));
+    }
+
+    /**
+     * Removes a boat from the index. Inside a transaction the change is applied after commit.
+     *
+     * @param boatId boat identifier
+     */
+    public void remove(Long boatId) {
+        afterCommit(() -> unindex(boatId));
+    }
+
+    /**
+     * Finds the boats within a radius of a point, closest first.
+     *
+     * @param latitude latitude of the center
+     * @param longitude longitude of the center
+     * @param radiusKm search radius in kilometers
+     * @param limit maximum number of hits
+     * @return hits ordered by distance
+     */
+    public List<Hit> findWithinRadius(double latitude, double longitude, double radiusKm, int limit) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double lonDelta = latDelta / Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+
+        List<Hit> hits = new ArrayList<>();
+        for (BoatLocation location : candidates(latitude - latDelta, longitude - lonDelta,
+                latitude + latDelta, longitude + lonDelta)) {
+            double distance = distanceKm(latitude, longitude, location.latitude(), location.longitude());
+            if (distance <= radiusKm) {
+                hits.add(new Hit(location, distance));
+            }
+        }
+        return closest(hits, limit);
+    }
+
+    /**
+     * Finds the boats inside a bounding box, closest to the box center first.
+     * Boxes crossing the antimeridian are not supported.
+     *
+     * @param south minimum latitude
+     * @param west minimum longitude
+     * @param north maximum latitude
+     * @param east maximum longitude
+     * @param limit maximum number of hits
+     * @return hits ordered by distance to the box center
+     */
+    public List<Hit> findInBox(double south, double west, double north, double east, int limit) {
+        double centerLat = (south + north) / 2;
+        double centerLon = (west + east) / 2;
+
+        List<Hit> hits = new ArrayList<>();
+        for (BoatLocation location : candidates(south, west, north, east)) {
+            if (location.latitude() >= south && location.latitude() <= north
+                    && location.longitude() >= west && location.longitude() <= east) {
+                hits.add(new Hit(location,
+                        distanceKm(centerLat, centerLon, location.latitude(), location.longitude())));
+            }
+        }
+        return closest(hits, limit);
+    }
+
+    /**
+     * @return number of indexed boats
+     */
+    public int size() {
+        return locations.size();
+    }
+
+    /**
+     * Haversine distance between two points in kilometers.
+     */
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // Boats in the cells overlapping the box. When the box covers more cells than
+    // there are boats, scanning all locations is cheaper than probing empty cells.
+    private Collection<BoatLocation> candidates(double south, double west, double north, double east) {
+        int minRow = row(Math.max(south, -90));
+        int maxRow = row(Math.min(north, 90));
+        int minColumn = column(Math.max(west, -180));
+        int maxColumn = column(Math.min(east, 180));
+
+        long cellCount = (long) (maxRow - minRow + 1) * (maxColumn - minColumn + 1);
+        if (cellCount > locations.size()) {
+            return locations.values();
+        }
+
+        List<BoatLocation> candidates = new ArrayList<>();
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                Set<Long> boatIds = cells.get(cellKey(row, column));
+                if (boatIds == null) {
+                    continue;
+                }
+                for (Long boatId : boatIds) {
+                    BoatLocation location = locations.get(boatId);
+                    if (location != null) {
+                        candidates.add(location);
+                    }
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private synchronized void index(BoatLocation location) {
+        unindex(location.boatId());
+        locations.put(location.boatId(), location);
+        cells.computeIfAbsent(cellKey(location), key -> ConcurrentHashMap.newKeySet())
+                .add(location.boatId());
+    }
+
+    private synchronized void unindex(Long boatId) {
+        BoatLocation previous = locations.remove(boatId);
+        if (previous != null) {
+            cells.computeIfPresent(cellKey(previous), (key, boatIds) -> {
+                boatIds.remove(boatId);
+                return boatIds.isEmpty() ? null : boatIds;
+            });
+        }
+    }
+
+    private static List<Hit> closest(List<Hit> hits, int limit) {
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static long cellKey(BoatLocation location) {
+        return cellKey(row(location.latitude()), column(location.longitude()));
+    }
+
+    private static long cellKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    private static int row(double latitude) {
+        return (int) Math.floor((latitude + 90) / CELL_DEGREES);
+    }
+
+    private static int column(double longitude) {
+        return (int) Math.floor((longitude + 180) / CELL_DEGREES);
+    }
+}
@@ -0,0 +1,428 @@
+package com.jompastech.backend.service;
+
+import com.jompastech.backend.model.dto.schedule.RecurrenceRule;
+import com.jompastech.backend.model.dto.schedule.ScheduleInterval;
+import com.jompastech.backend.model.entity.AvailabilityRule;
+import com.jompastech.backend.model.entity.BoatAvailability;
+import com.jompastech.backend.model.entity.Booking;
+import com.jompastech.backend.model.enums.BookingStatus;
+import com.jompastech.backend.repository.AvailabilityRuleRepository;
+import com.jompastech.backend.repository.BoatAvailabilityRepository;
+import com.jompastech.backend.repository.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory index of the availability windows, recurring availability rules and
+ * active bookings of each boat, for availability and booking conflict checks.
+ *
+ * <p>Each boat has an immutable {@link Schedule}: its intervals sorted by start, with
+ * the running maximum of their ends. Whether some interval covers or overlaps a period
+ * is then answered by one binary search, whatever the number of windows and bookings.
+ * Intervals are half-open ({@code [start, end)}), as in the database range lookups.</p>
+ *
+ * <p>Recurring rules are kept as rules: their occurrences are expanded only for the
+ * period being checked, so memory and load cost grow with the number of rules, not
+ * with the number of occurrences.</p>
+ *
+ * <p>Design Decisions:
+ * <ul>
+ *   <li>A schedule is loaded from the database the first time the boat is checked and
+ *       then maintained by {@link BoatAvailabilityService}, {@link AvailabilityRuleService},
+ *       {@link BookingApplicationService} and {@link PaymentService} on every write</li>
+ *   <li>Writes made by other instances do not reach this index, so a loaded schedule is
+ *       only kept for {@code app.bookings.schedule-ttl} and then loaded again. Conflicts
+ *       are confirmed against the database before a booking is rejected, and the
+ *       {@code booking_no_overlap} constraint rejects what a stale schedule lets through</li>
+ *   <li>Writes replace the schedule with an updated copy, so readers never lock and
+ *       always see a consistent snapshot</li>
+ *   <li>Changes made inside a transaction are applied after commit, so a rolled back
+ *       window or booking never shows up in checks</li>
+ *   <li>Each boat has a write generation: a load that raced with a write is used once
+ *       but not kept, and the next check loads again</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class BoatScheduleIndex {
+
+    private final BoatAvailabilityRepository boatAvailabilityRepository;
+    private final BookingRepository bookingRepository;
+    private final AvailabilityRuleRepository availabilityRuleRepository;
+    private final long ttlNanos;
+
+    private final Map<Long, Loaded> schedules = new ConcurrentHashMap<>();
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    // A schedule and when it was read from the database; local writes keep the load time
+    private record Loaded(Schedule schedule, long loadedAt) {
+    }
+
+    /**
+     * @param ttl time a loaded schedule is used before it is read from the database again
+     */
+    public BoatScheduleIndex(BoatAvailabilityRepository boatAvailabilityRepository,
+                             BookingRepository bookingRepository,
+                             AvailabilityRuleRepository availabilityRuleRepository,
+                             @Value("${app.bookings.schedule-ttl:1m}") Duration ttl) {
+        this.boatAvailabilityRepository = boatAvailabilityRepository;
+        this.bookingRepository = bookingRepository;
+        this.availabilityRuleRepository = availabilityRuleRepository;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Returns the schedule of a boat, loading it on first use and again once it is
+     * older than the TTL.
+     *
+     * @param boatId boat identifier
+     * @return the current snapshot of the boat's windows, rules and active bookings
+     */
+    public Schedule schedule(Long boatId) {
+        Loaded cached = schedules.get(boatId);
+        if (isFresh(cached)) {
+            return cached.schedule();
+        }
+
+        long generation = generations.getOrDefault(boatId, 0L);
+        long loadedAt = System.nanoTime();
+        Schedule loaded = Schedule.of(
+                boatAvailabilityRepository.findIntervalsByBoatId(boatId),
+                bookingRepository.findActiveIntervalsByBoatId(boatId),
+                availabilityRuleRepository.findByBoatIdWithExceptions(boatId).stream()
+                        .map(RecurrenceRule::from)
+                        .toList());
+        log.debug("Loaded schedule of boat {}: {} windows, {} rules, {} bookings",
+                boatId, loaded.windows().size(), loaded.rules().size(), loaded.bookings().size());
+
+        Loaded fresh = new Loaded(loaded, loadedAt);
+        Loaded installed = schedules.compute(boatId, (id, current) -> {
+            if (isFresh(current)) {
+                return current; // loaded by a concurrent check
+            }
+            return generations.getOrDefault(id, 0L) == generation ? fresh : null;
+        });
+        return installed != null ? installed.schedule() : loaded;
+    }
+
+    /**
+     * Adds or replaces an availability window. Inside a transaction the change is applied after commit.
+     *
+     * @param window the saved window
+     */
+    public void putWindow(BoatAvailability window) {
+        ScheduleInterval interval = new ScheduleInterval(
+                window.getId(), window.getStartDate(), window.getEndDate(), window.getPricePerHour());
+        update(window.getBoat().getId(), schedule -> schedule.withWindows(schedule.windows().with(interval)));
+    }
+
+    /**
+     * Removes an availability window. Inside a transaction the change is applied after commit.
+     *
+     * @param boatId boat identifier
+     * @param windowId window identifier
+     */
+    public void removeWindow(Long boatId, Long windowId) {
+        update(boatId, schedule -> schedule.withWindows(schedule.windows().without(windowId)));
+    }
+
+    /**
+     * Adds or replaces a recurring rule, with its exceptions. Inside a transaction the
+     * change is applied after commit.
+     *
+     * @param rule the saved rule
+     */
+    public void putRule(AvailabilityRule rule) {
+        RecurrenceRule snapshot = RecurrenceRule.from(rule);
+        update(rule.getBoat().getId(), schedule -> schedule.withRules(schedule.rulesWithout(snapshot.id()), snapshot));
+    }
+
+    /**
+     * Removes a recurring rule. Inside a transaction the change is applied after commit.
+     *
+     * @param boatId boat identifier
+     * @param ruleId rule identifier
+     */
+    public void removeRule(Long boatId, Long ruleId) {
+        update(boatId, schedule -> schedule.withRules(schedule.rulesWithout(ruleId), null));
+    }
+
+    /**
+     * Records the current state of a booking: a cancelled booking stops blocking its
+     * period. Inside a transaction the change is applied after commit.
+     *
+     * @param booking the saved booking
+     */
+    public void putBooking(Booking booking) {
+        Long bookingId = booking.getId();
+        UnaryOperator<Schedule> change = booking.getStatus() == BookingStatus.CANCELLED
+                ? schedule -> schedule.withBookings(schedule.bookings().without(bookingId))
+                : schedule -> schedule.withBookings(schedule.bookings().with(
+                        new ScheduleInterval(bookingId, booking.getStartDate(), booking.getEndDate())));
+        update(booking.getBoat().getId(), change);
+    }
+
+    /**
+     * Drops the schedule of a boat, e.g. after a bulk change; it is loaded again on next use.
+     * Inside a transaction the change is applied after commit.
+     *
+     * @param boatId boat identifier
+     */
+    public void evict(Long boatId) {
+        update(boatId, schedule -> null);
+    }
+
+    private boolean isFresh(Loaded loaded) {
+        return loaded != null && System.nanoTime() - loaded.loadedAt() < ttlNanos;
+    }
+
+    // Bumps the generation first: a load racing with this write is then not kept
+    private void update(Long boatId, UnaryOperator<Schedule> change) {
+        afterCommit(() -> {
+            generations.merge(boatId, 1L, Long::sum);
+            schedules.computeIfPresent(boatId, (id, current) -> {
+                Schedule changed = change.apply(current.schedule());
+                return changed != null ? new Loaded(changed, current.loadedAt()) : null;
+            });
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Immutable snapshot of the schedule of one boat.
+     *
+     * @param windows one-off availability windows
+     * @param bookings non-cancelled bookings
+     * @param rules recurring availability rules
+     */
+    public record Schedule(IntervalSet windows, IntervalSet bookings, List<RecurrenceRule> rules) {
+
+        /**
+         * Builds a schedule without rules from unsorted intervals.
+         */
+        public static Schedule of(Collection<ScheduleInterval> windows, Collection<ScheduleInterval> bookings) {
+            return of(windows, bookings, List.of());
+        }
+
+        /**
+         * Builds a schedule from unsorted intervals and rules.
+         */
+        public static Schedule of(Collection<ScheduleInterval> windows, Collection<ScheduleInterval> bookings,
+                                  List<RecurrenceRule> rules) {
+            return new Schedule(IntervalSet.of(windows), IntervalSet.of(bookings), List.copyOf(rules));
+        }
+
+        Schedule withWindows(IntervalSet windows) {
+            return new Schedule(windows, bookings, rules);
+        }
+
+        Schedule withBookings(IntervalSet bookings) {
+            return new Schedule(windows, bookings, rules);
+        }
+
+        Schedule withRules(List<RecurrenceRule> others, RecurrenceRule added) {
+            List<RecurrenceRule> copy = new ArrayList<>(others);
+            if (added != null) {
+                copy.add(added);
+            }
+            return new Schedule(windows, bookings, List.copyOf(copy));
+        }
+
+        List<RecurrenceRule> rulesWithout(Long ruleId) {
+            return rules.stream().filter(rule -> !rule.id().equals(ruleId)).toList();
+        }
+
+        /**
+         * Checks whether some availability window or rule occurrence shares time with a
+         * period; touching ends do not overlap.
+         *
+         * @param start start of the period
+         * @param end end of the period
+         * @return true if a window or occurrence starts before the end and ends after the start
+         */
+        public boolean hasWindowOverlapping(LocalDateTime start, LocalDateTime end) {
+            if (findOverlappingWindow(start, end, null) != null) {
+                return true;
+            }
+            return rules.stream().anyMatch(rule -> rule.firstOccurrence(start, end) != null);
+        }
+
+        /**
+         * Finds an availability window sharing time with a period, e.g. to reject a new
+         * window before the exclusion constraint does.
+         *
+         * @param start start of the period
+         * @param end end of the period
+         * @param ignoredWindowId window to leave out, such as the one being updated; may be null
+         * @return an overlapping window, or null if there is none
+         */
+        public ScheduleInterval findOverlappingWindow(LocalDateTime start, LocalDateTime end, Long ignoredWindowId) {
+            IntervalSet candidates = ignoredWindowId != null ? windows.without(ignoredWindowId) : windows;
+            ScheduleInterval reach = candidates.furthestReaching(end, false);
+            return reach != null && reach.endDate().isAfter(start) ? reach : null;
+        }
+
+        /**
+         * Checks whether a single availability window or rule occurrence contains a whole period.
+         *
+         * @param start start of the period
+         * @param end end of the period
+         * @return true if a window or occurrence starts on or before the start and ends on or after the end
+         */
+        public boolean hasWindowCovering(LocalDateTime start, LocalDateTime end) {
+            ScheduleInterval reach = windows.furthestReaching(start, true);
+            return (reach != null && !reach.endDate().isBefore(end)) || findCoveringOccurrence(start, end) != null;
+        }
+
+        /**
+         * Finds a rule occurrence containing a whole period, e.g. to price a booking
+         * that no one-off window covers.
+         *
+         * @param start start of the period
+         * @param end end of the period
+         * @return the covering occurrence, with its price, or null if there is none
+         */
+        public ScheduleInterval findCoveringOccurrence(LocalDateTime start, LocalDateTime end) {
+            for (RecurrenceRule rule : rules) {
+                ScheduleInterval occurrence = rule.occurrenceCovering(start, end);
+                if (occurrence != null) {
+                    return occurrence;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Finds a rule that could have occurrences sharing time with a candidate rule.
+         *
+         * @param candidate the candidate rule; a rule with the same id is left out
+         * @return an overlapping rule, or null if there is none
+         */
+        public RecurrenceRule findOverlappingRule(RecurrenceRule candidate) {
+            return rules.stream()
+                    .filter(rule -> !rule.id().equals(candidate.id()) && rule.overlaps(candidate))
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        /**
+         * Finds an active booking sharing some time with a period; touching ends do not conflict.
+         *
+         * @param start start of the period
+         * @param end end of the period
+         * @return a conflicting booking, or null if there is none
+         */
+        public ScheduleInterval findConflictingBooking(LocalDateTime start, LocalDateTime end) {
+            ScheduleInterval reach = bookings.furthestReaching(end, false);
+            return reach != null && reach.endDate().isAfter(start) ? reach : null;
+        }
+    }
+
+    /**
+     * Intervals sorted by start, with the running maximum of their ends.
+     *
+     * <p>Among the intervals starting before a given instant, the one ending last is
+     * found by a binary search over the starts; every coverage and overlap check
+     * reduces to comparing its end.</p>
+     */
+    public static final class IntervalSet {
+
+        private static final IntervalSet EMPTY = new IntervalSet(List.of());
+
+        private final List<ScheduleInterval> intervals;
+        // reach[i]: among intervals[0..i], the one with the latest end
+        private final ScheduleInterval[] reach;
+
+        private IntervalSet(List<ScheduleInterval> sorted) {
+            this.intervals = sorted;
+            this.reach = new ScheduleInterval[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                ScheduleInterval interval = sorted.get(i);
+                reach[i] = i > 0 && reach[i - 1].endDate().isAfter(interval.endDate()) ? reach[i - 1] : interval;
+            }
+        }
+
+        static IntervalSet of(Collection<ScheduleInterval> intervals) {
+            if (intervals.isEmpty()) {
+                return EMPTY;
+            }
+            List<ScheduleInterval> sorted = new ArrayList<>(intervals);
+            sorted.sort(Comparator.comparing(ScheduleInterval::startDate));
+            return new IntervalSet(List.copyOf(sorted));
+        }
+
+        /** Copy with the interval added, replacing any interval with the same id. */
+        IntervalSet with(ScheduleInterval interval) {
+            List<ScheduleInterval> copy = new ArrayList<>(intervals.size() + 1);
+            for (ScheduleInterval existing : intervals) {
+                if (!existing.id().equals(interval.id())) {
+                    copy.add(existing);
+                }
+            }
+            copy.add(interval);
+            return of(copy);
+        }
+
+        /** Copy without the interval with the given id. */
+        IntervalSet without(Long id) {
+            return of(intervals.stream().filter(interval -> !interval.id().equals(id)).toList());
+        }
+
+        public int size() {
+            return intervals.size();
+        }
+
+        /** The intervals, sorted by start. */
+        public List<ScheduleInterval> intervals() {
+            return intervals;
+        }
+
+        /**
+         * Among the intervals starting before an instant, returns the one ending last.
+         *
+         * @param instant the instant
+         * @param inclusive whether intervals starting at the instant count
+         * @return the interval, or null if none starts early enough
+         */
+        ScheduleInterval furthestReaching(LocalDateTime instant, boolean inclusive) {
+            int low = 0;
+            int high = intervals.size();
+            // First index whose start is after the instant (or at it, when exclusive)
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int comparison = intervals.get(middle).startDate().compareTo(instant);
+                if (comparison < 0 || (inclusive && comparison == 0)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low == 0 ? null : reach[low - 1];
+        }
+    }
+}
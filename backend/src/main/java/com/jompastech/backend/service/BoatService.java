@@ -1,29 +1,54 @@
 package com.jompastech.backend.service;
 
+import com.jompastech.backend.config.CacheConfig;
 import com.jompastech.backend.mapper.BoatMapper;
 import com.jompastech.backend.model.dto.BoatRequestDTO;
 import com.jompastech.backend.model.dto.BoatResponseDTO;
+import com.jompastech.backend.model.dto.catalog.BoatCardView;
+import com.jompastech.backend.model.dto.catalog.BoatCatalogCursor;
+import com.jompastech.backend.model.dto.catalog.BoatContentVersion;
+import com.jompastech.backend.model.dto.catalog.BoatDetails;
+import com.jompastech.backend.model.dto.catalog.BoatSearchCriteria;
+import com.jompastech.backend.model.dto.catalog.BoatSearchResponseDTO;
+import com.jompastech.backend.model.dto.catalog.CursorPageResponseDTO;
+import com.jompastech.backend.model.dto.geo.NearbyBoatDTO;
 import com.jompastech.backend.model.entity.Address;
 import com.jompastech.backend.model.entity.Boat;
 import com.jompastech.backend.model.entity.BoatPhoto;
 import com.jompastech.backend.model.entity.User;
+import com.jompastech.backend.model.enums.CatalogSort;
 import com.jompastech.backend.repository.AddressRepository;
+import com.jompastech.backend.repository.BoatPhotoRepository;
 import com.jompastech.backend.repository.BoatRepository;
 import com.jompastech.backend.repository.UserRepository;
+import com.jompastech.backend.repository.specification.BoatSpecifications;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,10 +56,32 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BoatService {
 
+    /** Page size used by the catalog when the client does not ask for one. */
+    public static final int DEFAULT_CATALOG_PAGE_SIZE = 20;
+
+    /** Upper bound for catalog pages, keeps the cost of one request constant. */
+    public static final int MAX_CATALOG_PAGE_SIZE = 100;
+
+    /** Longest free-text query accepted by the search. */
+    public static final int MAX_SEARCH_TEXT_LENGTH = 200;
+
+    /** Largest radius accepted by the nearby search, in kilometers. */
+    public static final double MAX_NEARBY_RADIUS_KM = 500;
+
+    /** Largest bounding box side accepted by the map search, in degrees. */
+    public static final double MAX_BOX_SPAN_DEGREES = 10;
+
     private final BoatRepository boatRepository;
     private final AddressRepository addressRepository;
     private final BoatMapper boatMapper;
     private final UserRepository userRepository;
+    private final BoatGeoIndex boatGeoIndex;
+    private final BoatScheduleIndex boatScheduleIndex;
+    private final BoatCardProjector boatCardProjector;
+    private final PhotoDeletionQueue photoDeletionQueue;
+    private final BoatPhotoRepository boatPhotoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
 
     /**
      * Saves a new boat with associated photos.
@@ -65,6 +112,7 @@ public class BoatService {
         address.setCity(boatRequestDTO.getCity());
         address.setState(boatRequestDTO.getState());
         address.setMarina(boatRequestDTO.getMarina());
+        applyCoordinates(address, boatRequestDTO);
 
         Address savedAddress = addressRepository.save(address);
 
@@ -82,6 +130,8 @@ public class BoatService {
 
         // 5. Save boat (cascade will save photos)
         Boat savedBoat = boatRepository.save(boat);
+        boatGeoIndex.put(savedBoat.getId(), address.getLatitude(), address.getLongitude());
+        boatCardProjector.markStale(savedBoat.getId());
         return boatMapper.toResponseDTO(savedBoat);
     }
 
@@ -100,7 +150,7 @@ public class BoatService {
     }
 
     /**
-     * Finds a boat by ID.
+     * Finds a boat by ID, bypassing the details cache.
      *
      * @param id Boat ID
      * @return BoatResponseDTO with boat information
@@ -108,9 +158,95 @@ public class BoatService {
      */
     @Transactional(readOnly = true)
     public BoatResponseDTO findById(Long id) {
+        return loadDetails(id).boat();
+    }
+
+    /**
+     * Finds the details of a boat, with the content version they were read at.
+     *
+     * <p>Responses are cached per boat id and evicted by every write that changes
+     * them (boat update/delete, photo changes in {@link PhotoService} and owner
+     * renames). The version is cached with the details, so callers can tell a
+     * cached copy older than the database and serve the ETag of the body they send.</p>
+     *
+     * @param id Boat ID
+     * @return the details and their version
+     * @throws EntityNotFoundException if boat not found
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.BOAT_DETAILS, key = "#id")
+    public BoatDetails findDetails(Long id) {
+        return loadDetails(id);
+    }
+
+    /**
+     * Reloads the details of a boat and replaces its cached copy, for callers that
+     * found the cached copy older than the boat's current content version.
+     *
+     * @param id Boat ID
+     * @return the details and their version
+     * @throws EntityNotFoundException if boat not found
+     */
+    @Transactional(readOnly = true)
+    @CachePut(cacheNames = CacheConfig.BOAT_DETAILS, key = "#id")
+    public BoatDetails refreshDetails(Long id) {
+        return loadDetails(id);
+    }
+
+    private BoatDetails loadDetails(Long id) {
         Boat boat = boatRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Boat not found"));
-        return boatMapper.toResponseDTO(boat);
+        return new BoatDetails(boatMapper.toResponseDTO(boat),
+                new BoatContentVersion(boat.getId(), boat.getContentVersion(), boat.getContentUpdatedAt()));
+    }
+
+    /**
+     * Current content version of a boat, read with a primary key lookup.
+     * Used by the read endpoints to answer conditional requests before loading anything.
+     *
+     * @param id Boat ID
+     * @return the version, or empty if the boat does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<BoatContentVersion> findContentVersion(Long id) {
+        return boatRepository.findContentVersionById(id);
+    }
+
+    /**
+     * Records that something served about the boat changed (details, photos,
+     * availability or reviews), so clients holding its ETags re-download it and its
+     * catalog card is recomputed before the transaction commits.
+     *
+     * @param boatId Boat ID
+     */
+    @Transactional
+    public void markContentChanged(Long boatId) {
+        boatRepository.bumpContentVersion(boatId, LocalDateTime.now());
+        boatCardProjector.markStale(boatId);
+    }
+
+    /**
+     * Records that an owner was renamed. The owner name is part of the details and
+     * catalog cards of all their boats: the boats are bumped with one UPDATE, their
+     * cards rewritten, and their cached details evicted once the transaction commits.
+     *
+     * @param ownerId the owner's user ID
+     * @param ownerName the new name
+     */
+    @Transactional
+    public void ownerRenamed(Long ownerId, String ownerName) {
+        List<Long> boatIds = boatRepository.findIdsByOwnerId(ownerId);
+        if (boatIds.isEmpty()) {
+            return;
+        }
+        boatRepository.bumpContentVersionByOwnerId(ownerId, LocalDateTime.now());
+        boatCardProjector.ownerRenamed(ownerId, ownerName);
+
+        // Deferred until commit by the transaction-aware cache manager
+        Cache details = cacheManager.getCache(CacheConfig.BOAT_DETAILS);
+        if (details != null) {
+            boatIds.forEach(details::evict);
+        }
     }
 
     /**
@@ -136,13 +272,20 @@ public class BoatService {
     }
 
     /**
-     * Deletes a boat by ID.
+     * Deletes a boat by ID, queuing the images of its photos for deletion from photo storage.
      *
      * @param id Boat ID to delete
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOAT_DETAILS, key = "#id")
     public void deleteById(Long id) {
+        photoDeletionQueue.enqueueBoatPhotos(id);
+        List<Long> photoIds = boatPhotoRepository.findIdsByBoatId(id);
         boatRepository.deleteById(id);
+        eventPublisher.publishEvent(new PhotoService.PhotosDeletedEvent(photoIds));
+        boatGeoIndex.remove(id);
+        boatScheduleIndex.evict(id);
+        boatCardProjector.markStale(id);
     }
 
     /**
@@ -180,6 +323,138 @@ public class BoatService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Retrieves one page of the public boat catalog using keyset pagination.
+     *
+     * <p>One extra row is fetched to find out whether another page exists, so no
+     * COUNT query is needed. The page size is clamped to
+     * [1, {@value #MAX_CATALOG_PAGE_SIZE}]. Rows are read as {@link BoatCardView}
+     * projections, so a page is a single statement and no entity is managed.</p>
+     *
+     * @param cursor opaque cursor from the previous page, or null for the first page
+     * @param size requested page size, or null for the default
+     * @param sort ordering of the catalog
+     * @return the page of boat cards with the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another sort
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<BoatCardView> findCatalogPage(String cursor, Integer size, CatalogSort sort) {
+        CatalogSort effectiveSort = sort != null ? sort : CatalogSort.ID;
+        int pageSize = size == null
+                ? DEFAULT_CATALOG_PAGE_SIZE
+                : Math.max(1, Math.min(size, MAX_CATALOG_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        BoatCatalogCursor position = (cursor == null || cursor.isBlank())
+                ? null
+                : BoatCatalogCursor.decode(cursor, effectiveSort);
+
+        List<BoatCardView> boats;
+        if (effectiveSort == CatalogSort.PRICE) {
+            boats = position == null
+                    ? boatRepository.findCatalogFirstPageByPrice(limit)
+                    : boatRepository.findCatalogPageAfterPrice(position.pricePerHour(), position.boatId(), limit);
+        } else {
+            boats = boatRepository.findCatalogPageAfterId(position == null ? 0L : position.boatId(), limit);
+        }
+
+        boolean hasNext = boats.size() > pageSize;
+        List<BoatCardView> page = hasNext ? boats.subList(0, pageSize) : boats;
+
+        String nextCursor = null;
+        if (hasNext) {
+            BoatCardView last = page.get(page.size() - 1);
+            nextCursor = new BoatCatalogCursor(effectiveSort,
+                    effectiveSort == CatalogSort.PRICE ? last.pricePerHour() : null,
+                    last.id()).encode();
+        }
+
+        return new CursorPageResponseDTO<>(page, nextCursor, pageSize, hasNext);
+    }
+
+    /**
+     * Searches boats by type, location, capacity, price and amenities.
+     *
+     * <p>Filtering, paging and facet counting run in the database. The matching ids
+     * are paged first and only that page is then read as {@link BoatCardView} rows.
+     * Each facet is counted with every filter except its own, so the counts show
+     * what the client would get by switching to another type or city.</p>
+     *
+     * <p>With free text and no explicit sort, results are ordered by relevance. With an
+     * availability period, only boats bookable for the whole period are returned; the
+     * check is part of the same query, not one availability call per boat.</p>
+     *
+     * @param criteria optional filters, null values are ignored
+     * @param page zero-based page number
+     * @param size requested page size, or null for the default
+     * @param sort ordering of the results, or null for relevance (with text) or id
+     * @return the page of boat cards with type and city facets
+     * @throws IllegalArgumentException if the page is negative, the price range or the
+     *                                  availability period is invalid or the free text is too long
+     */
+    @Transactional(readOnly = true)
+    public BoatSearchResponseDTO searchBoats(BoatSearchCriteria criteria, int page, Integer size, CatalogSort sort) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null
+                && criteria.getMinPrice().compareTo(criteria.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("Minimum price must not be greater than maximum price");
+        }
+        if ((criteria.getAvailableFrom() == null) != (criteria.getAvailableTo() == null)) {
+            throw new IllegalArgumentException("Availability search requires both availableFrom and availableTo");
+        }
+        if (criteria.getAvailableFrom() != null && !criteria.getAvailableFrom().isBefore(criteria.getAvailableTo())) {
+            throw new IllegalArgumentException("availableFrom must be before availableTo");
+        }
+        boolean hasText = criteria.getQ() != null && !criteria.getQ().isBlank();
+        if (hasText && criteria.getQ().length() > MAX_SEARCH_TEXT_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Search text must not exceed " + MAX_SEARCH_TEXT_LENGTH + " characters");
+        }
+        int pageSize = size == null
+                ? DEFAULT_CATALOG_PAGE_SIZE
+                : Math.max(1, Math.min(size, MAX_CATALOG_PAGE_SIZE));
+        Sort order = sort == CatalogSort.PRICE
+                ? Sort.by("pricePerHour", "id")
+                : Sort.by("id");
+
+        Specification<Boat> common = Specification.allOf(
+                BoatSpecifications.inState(criteria.getState()),
+                BoatSpecifications.atMarina(criteria.getMarina()),
+                BoatSpecifications.hasMinCapacity(criteria.getMinCapacity()),
+                BoatSpecifications.priceBetween(criteria.getMinPrice(), criteria.getMaxPrice()),
+                BoatSpecifications.hasAllAmenities(criteria.getAmenities()),
+                BoatSpecifications.matchesText(criteria.getQ()),
+                BoatSpecifications.isAvailableBetween(criteria.getAvailableFrom(), criteria.getAvailableTo()));
+        Specification<Boat> byType = BoatSpecifications.hasType(criteria.getType());
+        Specification<Boat> byCity = BoatSpecifications.inCity(criteria.getCity());
+
+        Specification<Boat> all = common.and(byType).and(byCity);
+        Page<Long> ids = hasText && sort == null
+                ? boatRepository.findIdsByRelevance(all, criteria.getQ(), PageRequest.of(page, pageSize))
+                : boatRepository.findIdsBy(all, PageRequest.of(page, pageSize, order));
+
+        List<BoatCardView> items = List.of();
+        if (ids.hasContent()) {
+            Map<Long, BoatCardView> cardsById = boatRepository.findCardsByIdIn(ids.getContent()).stream()
+                    .collect(Collectors.toMap(BoatCardView::id, Function.identity()));
+            items = ids.getContent().stream()
+                    .map(cardsById::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        }
+
+        return new BoatSearchResponseDTO(
+                items,
+                page,
+                pageSize,
+                ids.getTotalElements(),
+                ids.getTotalPages(),
+                boatRepository.countByType(common.and(byCity)),
+                boatRepository.countByCity(common.and(byType)));
+    }
+
     /**
      * Retrieves boat entity by ID for internal use.
      *
@@ -232,6 +507,7 @@ public class BoatService {
      * @throws RuntimeException if the boat is not found or user is not the owner
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOAT_DETAILS, key = "#id")
     public BoatResponseDTO updateBoat(Long id, BoatRequestDTO dto, String email) {
         log.info("Updating boat with ID: {} for user: {}", id, email);
 
@@ -268,11 +544,105 @@ public class BoatService {
         address.setCity(dto.getCity());
         address.setState(dto.getState());
         address.setMarina(dto.getMarina());
+        applyCoordinates(address, dto);
 
         // Save the updated boat
         boat = boatRepository.save(boat);
+        boatGeoIndex.put(boat.getId(), address.getLatitude(), address.getLongitude());
+        markContentChanged(boat.getId());
         log.info("Boat with ID: {} updated successfully", id);
 
         return boatMapper.toResponseDTO(boat);
     }
-}
\ No newline at end of file
+
+    /**
+     * Finds boats moored within a radius of a point, closest first.
+     *
+     * <p>Candidates come from the in-memory {@link BoatGeoIndex}; only the cards of
+     * the returned boats are read from the database, in a single query.</p>
+     *
+     * @param latitude latitude of the center
+     * @param longitude longitude of the center
+     * @param radiusKm radius in kilometers, up to {@value #MAX_NEARBY_RADIUS_KM}
+     * @param limit maximum number of boats, or null for the default page size
+     * @return nearby boats with their distance to the center
+     * @throws IllegalArgumentException if the point or the radius is invalid
+     */
+    @Transactional(readOnly = true)
+    public List<NearbyBoatDTO> findNearby(double latitude, double longitude, double radiusKm, Integer limit) {
+        validateCoordinates(latitude, longitude);
+        if (radiusKm <= 0 || radiusKm > MAX_NEARBY_RADIUS_KM) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + MAX_NEARBY_RADIUS_KM + " km");
+        }
+        return toNearbyBoats(boatGeoIndex.findWithinRadius(latitude, longitude, radiusKm, resultLimit(limit)));
+    }
+
+    /**
+     * Finds boats moored inside a bounding box, closest to its center first.
+     *
+     * @param south minimum latitude
+     * @param west minimum longitude
+     * @param north maximum latitude
+     * @param east maximum longitude
+     * @param limit maximum number of boats, or null for the default page size
+     * @return boats in the box with their distance to the box center
+     * @throws IllegalArgumentException if the box is invalid or larger than
+     *                                  {@value #MAX_BOX_SPAN_DEGREES} degrees per side
+     */
+    @Transactional(readOnly = true)
+    public List<NearbyBoatDTO> findInBoundingBox(double south, double west, double north, double east,
+                                                 Integer limit) {
+        validateCoordinates(south, west);
+        validateCoordinates(north, east);
+        if (south > north || west > east) {
+            throw new IllegalArgumentException("Bounding box corners are inverted");
+        }
+        if (north - south > MAX_BOX_SPAN_DEGREES || east - west > MAX_BOX_SPAN_DEGREES) {
+            throw new IllegalArgumentException(
+                    "Bounding box must not span more than " + MAX_BOX_SPAN_DEGREES + " degrees");
+        }
+        return toNearbyBoats(boatGeoIndex.findInBox(south, west, north, east, resultLimit(limit)));
+    }
+
+    private List<NearbyBoatDTO> toNearbyBoats(List<BoatGeoIndex.Hit> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = hits.stream().map(hit -> hit.location().boatId()).collect(Collectors.toList());
+        Map<Long, BoatCardView> cardsById = boatRepository.findCardsByIdIn(ids).stream()
+                .collect(Collectors.toMap(BoatCardView::id, Function.identity()));
+
+        return hits.stream()
+                .filter(hit -> cardsById.containsKey(hit.location().boatId()))
+                .map(hit -> new NearbyBoatDTO(
+                        cardsById.get(hit.location().boatId()),
+                        hit.location().latitude(),
+                        hit.location().longitude(),
+                        hit.distanceKm()))
+                .collect(Collectors.toList());
+    }
+
+    private int resultLimit(Integer limit) {
+        return limit == null
+                ? DEFAULT_CATALOG_PAGE_SIZE
+                : Math.max(1, Math.min(limit, MAX_CATALOG_PAGE_SIZE));
+    }
+
+    // Copies the optional coordinates of the request into the address
+    private void applyCoordinates(Address address, BoatRequestDTO dto) {
+        if ((dto.getLatitude() == null) != (dto.getLongitude() == null)) {
+            throw new IllegalArgumentException("Latitude and longitude must be provided together");
+        }
+        if (dto.getLatitude() != null) {
+            validateCoordinates(dto.getLatitude(), dto.getLongitude());
+        }
+        address.setLatitude(dto.getLatitude());
+        address.setLongitude(dto.getLongitude());
+    }
+
+    private void validateCoordinates(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Invalid coordinates: " + latitude + ", " + longitude);
+        }
+    }
+}
@@ -9,11 +9,13 @@ import com.jompastech.backend.model.dto.booking.BookingResponseDTO;
 import com.jompastech.backend.model.dto.payment.MockCardData;
 import com.jompastech.backend.model.dto.payment.PaymentInfo;
 import com.jompastech.backend.model.dto.payment.PaymentResult;
+import com.jompastech.backend.model.dto.schedule.RecurrenceRule;
 import com.jompastech.backend.model.entity.Boat;
 import com.jompastech.backend.model.entity.BoatAvailability;
 import com.jompastech.backend.model.entity.Booking;
 import com.jompastech.backend.model.entity.User;
 import com.jompastech.backend.model.enums.BookingStatus;
+import com.jompastech.backend.repository.AvailabilityRuleRepository;
 import com.jompastech.backend.repository.BoatAvailabilityRepository;
 import com.jompastech.backend.repository.BoatRepository;
 import com.jompastech.backend.repository.BookingRepository;
@@ -26,8 +28,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
 @Transactional
@@ -38,26 +43,32 @@ public class BookingApplicationService {
     private final UserRepository userRepository;
     private final BoatRepository boatRepository;
     private final BoatAvailabilityRepository boatAvailabilityRepository;
+    private final AvailabilityRuleRepository availabilityRuleRepository;
     private final BookingValidationService bookingValidationService;
     private final PaymentService paymentService;
     private final NotificationService notificationService;
+    private final BoatScheduleIndex boatScheduleIndex;
 
     public BookingApplicationService(
             BookingRepository bookingRepository,
             UserRepository userRepository,
             BoatRepository boatRepository,
             BoatAvailabilityRepository boatAvailabilityRepository,
+            AvailabilityRuleRepository availabilityRuleRepository,
             BookingValidationService bookingValidationService,
             PaymentService paymentService,
-            NotificationService notificationService) {
+            NotificationService notificationService,
+            BoatScheduleIndex boatScheduleIndex) {
 
         this.bookingRepository = bookingRepository;
         this.userRepository = userRepository;
         this.boatRepository = boatRepository;
         this.boatAvailabilityRepository = boatAvailabilityRepository;
+        this.availabilityRuleRepository = availabilityRuleRepository;
         this.bookingValidationService = bookingValidationService;
         this.paymentService = paymentService;
         this.notificationService = notificationService;
+        this.boatScheduleIndex = boatScheduleIndex;
     }
 
     /**
@@ -98,6 +109,7 @@ public class BookingApplicationService {
 
         // Step 6: Save booking first to get an ID
         Booking savedBooking = bookingRepository.save(booking);
+        boatScheduleIndex.putBooking(savedBooking);
 
         // Step 7: Prepare and process payment with bookingId
         PaymentInfo paymentInfo = buildPaymentInfo(bookingRequest, user, totalPrice, savedBooking.getId());
@@ -107,6 +119,7 @@ public class BookingApplicationService {
             // Se payment falhar, cancelar a reserva usando o método de domínio
             savedBooking.cancel();
             bookingRepository.save(savedBooking); // Atualizar status para CANCELLED
+            boatScheduleIndex.putBooking(savedBooking);
             log.warn("Payment failed for booking ID: {}. Booking cancelled.", savedBooking.getId());
             throw new PaymentProcessingException(
                     "Payment failed: " + paymentResult.getErrorMessage());
@@ -115,6 +128,7 @@ public class BookingApplicationService {
         // Step 8: Confirm the booking
         savedBooking.confirm();
         Booking confirmedBooking = bookingRepository.save(savedBooking);
+        boatScheduleIndex.putBooking(confirmedBooking);
 
         // Step 9: Send notifications
         notificationService.notifyOwner(savedBooking);
@@ -129,6 +143,9 @@ public class BookingApplicationService {
      * This method is critical for implementing dynamic pricing based on
      * different availability windows with different price rates.
      *
+     * One-off windows take precedence; otherwise the occurrence of a recurring rule
+     * covering the period is used, as a transient window that is never saved.
+     *
      * @param boat The boat being booked
      * @param startDate Start of the booking period
      * @param endDate End of the booking period
@@ -144,11 +161,31 @@ public class BookingApplicationService {
         return availabilityWindows.stream()
                 .filter(window -> window.coversPeriod(startDate, endDate))
                 .findFirst()
+                .or(() -> findCoveringRuleOccurrence(boat, startDate, endDate))
                 .orElseThrow(() -> new BookingCreationException(
                         "No availability window with dynamic pricing found for the selected period. " +
                                 "The boat may not be available or the period spans multiple pricing windows."));
     }
 
+    /**
+     * Finds the occurrence of a recurring rule covering the booking period, as a transient window.
+     *
+     * Read from the stored rules and exceptions, like the one-off windows, rather than from
+     * the schedule index: the index may not yet have seen a rule deleted or an occurrence
+     * cancelled on another instance, and no database constraint would reject the booking.
+     */
+    private Optional<BoatAvailability> findCoveringRuleOccurrence(
+            Boat boat, LocalDateTime startDate, LocalDateTime endDate) {
+
+        LocalDate date = startDate.toLocalDate();
+        return availabilityRuleRepository.findByBoatIdValidBetween(boat.getId(), date, date).stream()
+                .map(rule -> RecurrenceRule.from(rule).occurrenceCovering(startDate, endDate))
+                .filter(Objects::nonNull)
+                .findFirst()
+                .map(occurrence -> new BoatAvailability(boat, occurrence.startDate(),
+                        occurrence.endDate(), occurrence.pricePerHour()));
+    }
+
     /**
      * Builds payment information from booking data and user details.
      *
@@ -2,9 +2,8 @@ package com.jompastech.backend.service;
 
 import com.jompastech.backend.exception.BookingConflictException;
 import com.jompastech.backend.exception.BookingValidationException;
-import com.jompastech.backend.model.entity.BoatAvailability;
+import com.jompastech.backend.model.dto.schedule.ScheduleInterval;
 import com.jompastech.backend.model.entity.Booking;
-import com.jompastech.backend.repository.BoatAvailabilityRepository;
 import com.jompastech.backend.repository.BookingRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,26 +16,28 @@ import java.util.List;
  * Performs comprehensive validation including duration checks, availability verification,
  * and conflict detection to ensure booking integrity before creation.
  *
- * Uses read-only transactions for validation queries to optimize database performance
- * while maintaining data consistency during the validation process.
+ * Availability and conflict checks run against the {@link BoatScheduleIndex}, an
+ * in-memory snapshot of each boat's windows and bookings, so a validation does not
+ * query the database once the boat's schedule is loaded. A conflict found in the
+ * snapshot is confirmed against the database before the booking is rejected, as the
+ * snapshot may miss a cancellation made on another instance.
  */
 @Service
 @Transactional(readOnly = true)
 public class BookingValidationService {
 
+    private final BoatScheduleIndex boatScheduleIndex;
     private final BookingRepository bookingRepository;
-    private final BoatAvailabilityRepository boatAvailabilityRepository;
 
     /**
-     * Constructs the validation service with required repository dependencies.
+     * Constructs the validation service with its schedule index.
      *
-     * @param bookingRepository repository for booking data access
-     * @param boatAvailabilityRepository repository for boat availability checks
+     * @param boatScheduleIndex index of boat availability windows and bookings
+     * @param bookingRepository confirms conflicts found in the index
      */
-    public BookingValidationService(BookingRepository bookingRepository,
-                                    BoatAvailabilityRepository boatAvailabilityRepository) {
+    public BookingValidationService(BoatScheduleIndex boatScheduleIndex, BookingRepository bookingRepository) {
+        this.boatScheduleIndex = boatScheduleIndex;
         this.bookingRepository = bookingRepository;
-        this.boatAvailabilityRepository = boatAvailabilityRepository;
     }
 
     /**
@@ -57,11 +58,13 @@ public class BookingValidationService {
             throw new BookingValidationException("Booking must be at least 4 hours");
         }
 
-        // Step 2: Check boat availability periods (external dependency - database)
-        validateBoatAvailability(newBooking);
+        BoatScheduleIndex.Schedule schedule = boatScheduleIndex.schedule(newBooking.getBoat().getId());
 
-        // Step 3: Check for overlapping bookings (external dependency - database)
-        validateNoConflictingBookings(newBooking);
+        // Step 2: Check boat availability periods
+        validateBoatAvailability(newBooking, schedule);
+
+        // Step 3: Check for overlapping bookings
+        validateNoConflictingBookings(newBooking, schedule);
     }
 
     /**
@@ -71,23 +74,15 @@ public class BookingValidationService {
      * to ensure the booking fits within predefined availability windows.
      *
      * @param booking the booking to validate against availability
+     * @param schedule the boat's windows and bookings
      * @throws BookingValidationException if no availability periods exist or don't match
      */
-    private void validateBoatAvailability(Booking booking) {
-        List<BoatAvailability> availablePeriods = boatAvailabilityRepository
-                .findByBoatAndDateRange(booking.getBoat(), booking.getStartDate(), booking.getEndDate());
-
-        if (availablePeriods.isEmpty()) {
+    private void validateBoatAvailability(Booking booking, BoatScheduleIndex.Schedule schedule) {
+        if (!schedule.hasWindowOverlapping(booking.getStartDate(), booking.getEndDate())) {
             throw new BookingValidationException("Boat is not available for the selected dates");
         }
 
-        // Additional logic: verify the booking fits within available periods
-        boolean isWithinAnyAvailability = availablePeriods.stream()
-                .anyMatch(availability ->
-                        !booking.getStartDate().isBefore(availability.getStartDate()) &&
-                                !booking.getEndDate().isAfter(availability.getEndDate()));
-
-        if (!isWithinAnyAvailability) {
+        if (!schedule.hasWindowCovering(booking.getStartDate(), booking.getEndDate())) {
             throw new BookingValidationException("Booking period doesn't match boat availability");
         }
     }
@@ -95,22 +90,30 @@ public class BookingValidationService {
     /**
      * Validates that no existing bookings conflict with the new booking timeframe.
      *
-     * Uses the repository's conflict detection query to find overlapping bookings
-     * and performs additional domain-level overlap verification for safety.
+     * Cancelled bookings are not part of the schedule and never conflict; bookings
+     * that merely touch the new one at its start or end do not conflict either. A
+     * conflict in the schedule is confirmed against the database.
      *
      * @param newBooking the new booking to check for conflicts
+     * @param schedule the boat's windows and bookings
      * @throws BookingConflictException if overlapping bookings are detected
      */
-    private void validateNoConflictingBookings(Booking newBooking) {
-        List<Booking> existingBookings = bookingRepository
-                .findConflictingBookings(newBooking.getBoat(), newBooking.getStartDate(), newBooking.getEndDate());
+    private void validateNoConflictingBookings(Booking newBooking, BoatScheduleIndex.Schedule schedule) {
+        if (schedule.findConflictingBooking(newBooking.getStartDate(), newBooking.getEndDate()) == null) {
+            return;
+        }
 
-        for (Booking existing : existingBookings) {
-            if (newBooking.overlapsWith(existing.getStartDate(), existing.getEndDate())) {
-                throw new BookingConflictException(
-                        "Booking conflicts with existing reservation from " +
-                                existing.getStartDate() + " to " + existing.getEndDate());
-            }
+        Long boatId = newBooking.getBoat().getId();
+        List<ScheduleInterval> conflicts = bookingRepository.findActiveIntervalsByBoatIdOverlapping(
+                boatId, newBooking.getStartDate(), newBooking.getEndDate());
+        if (conflicts.isEmpty()) {
+            // Cancelled on another instance; reloaded on the next check
+            boatScheduleIndex.evict(boatId);
+            return;
         }
+        ScheduleInterval existing = conflicts.get(0);
+        throw new BookingConflictException(
+                "Booking conflicts with existing reservation from " +
+                        existing.startDate() + " to " + existing.endDate());
     }
-}
\ No newline at end of file
+}
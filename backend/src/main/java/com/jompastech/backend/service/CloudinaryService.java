@@ -3,28 +3,86 @@ package com.jompastech.backend.service;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import com.jompastech.backend.config.CloudinaryConfig;
+import com.jompastech.backend.config.PhotoUploadConfig;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import com.jompastech.backend.model.dto.cloudinary.CloudinaryUploadResult;
+import com.jompastech.backend.model.dto.cloudinary.PhotoUploadSignatureDTO;
+import com.jompastech.backend.model.dto.cloudinary.RegisterPhotosRequestDTO;
+import com.jompastech.backend.model.entity.ImageVariant;
+import com.jompastech.backend.model.enums.PhotoVariant;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
- * Service class for handling Cloudinary image upload and management operations.
+ * Service class for handling Cloudinary image upload and management operations,
+ * the default {@link PhotoStorage} backend.
  * Provides methods for uploading single or multiple images to Cloudinary storage,
  * deleting images by their public ID, and performing image validation.
  *
+ * <p>Image bytes never live on the heap: each multipart file is moved (or, when the
+ * container kept a small part in memory, written) to a spool file and the HTTP client
+ * streams it from disk to Cloudinary. Memory used per upload is therefore constant,
+ * whatever the size of the image.</p>
+ *
  * @since 1.0
  */
 @Slf4j
 @Service
-public class CloudinaryService {
+@ConditionalOnProperty(name = "app.photos.storage", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryService implements PhotoStorage {
+
+    /** Folder holding every boat photo in the Cloudinary account. */
+    private static final String FOLDER = "timoneiro/boats";
+
+    /** Cloudinary rejects signed upload parameters older than one hour. */
+    private static final Duration SIGNATURE_TTL = Duration.ofHours(1);
+
+    private static final Pattern IMAGE_FORMAT = Pattern.compile("[a-z0-9]{2,5}");
 
     private final Cloudinary cloudinary;
+    private final String cloudName;
+    private final String apiKey;
+    private final String apiSecret;
+    private final Executor uploadExecutor;
+    private final Duration uploadTimeout;
+    private final Path spoolDirectory;
+    private final PhotoVariantProcessor variantProcessor;
+    private final HttpClient httpClient;
 
     /**
      * Constructs a CloudinaryService with the provided configuration.
@@ -32,19 +90,40 @@ public class CloudinaryService {
      *
      * @param cloudinaryConfig the Cloudinary configuration containing credentials
      *                         (cloud name, API key, API secret, and secure flag)
+     * @param uploadExecutor bounded executor running the uploads of {@link #uploadImages}
+     * @param uploadTimeout maximum time allowed for a single upload
+     * @param spoolDirectory directory holding images while they are streamed to Cloudinary
+     * @param variantProcessor image processing stage applied to every upload
      */
-    public CloudinaryService(CloudinaryConfig cloudinaryConfig) {
+    public CloudinaryService(CloudinaryConfig cloudinaryConfig,
+                             @Qualifier(PhotoUploadConfig.PHOTO_UPLOAD_EXECUTOR) Executor uploadExecutor,
+                             @Value("${app.photos.upload.timeout:30s}") Duration uploadTimeout,
+                             @Value("${app.photos.upload.spool-dir:${java.io.tmpdir}}") Path spoolDirectory,
+                             PhotoVariantProcessor variantProcessor) {
         this.cloudinary = new Cloudinary(ObjectUtils.asMap(
                 "cloud_name", cloudinaryConfig.getCloudName(),
                 "api_key", cloudinaryConfig.getApiKey(),
                 "api_secret", cloudinaryConfig.getApiSecret(),
                 "secure", cloudinaryConfig.isSecure()
         ));
+        this.cloudName = cloudinaryConfig.getCloudName();
+        this.apiKey = cloudinaryConfig.getApiKey();
+        this.apiSecret = cloudinaryConfig.getApiSecret();
+        this.uploadExecutor = uploadExecutor;
+        this.uploadTimeout = uploadTimeout;
+        this.spoolDirectory = spoolDirectory;
+        this.variantProcessor = variantProcessor;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
     }
 
     /**
      * Uploads a single image file to Cloudinary storage.
      * Validates the file before upload and organizes it in the specified folder structure.
+     * The image is streamed from a spool file, which is removed once the upload ends.
+     * The upload also stores its responsive variants, see {@link PhotoVariantProcessor}.
      *
      * @param file the image file to upload (must not be null or empty)
      * @return CloudinaryUploadResult containing the secure URL and public ID of the uploaded image
@@ -52,21 +131,31 @@ public class CloudinaryService {
      * @throws IOException if an I/O error occurs during the upload process
      * @throws RuntimeException if the upload result doesn't contain required data
      */
+    @Override
     public CloudinaryUploadResult uploadImage(MultipartFile file) throws IOException {
-        validateImageFile(file);
+        PhotoStorage.validateImageFile(file);
 
         log.debug("Uploading image: {} ({} bytes, type: {})",
                 file.getOriginalFilename(), file.getSize(), file.getContentType());
 
-        Map<String, Object> uploadResult = cloudinary.uploader().upload(
-                file.getBytes(),
-                ObjectUtils.asMap(
-                        "folder", "timoneiro/boats",
-                        "public_id", generatePublicId(file.getOriginalFilename()),
-                        "overwrite", false,
-                        "resource_type", "auto"
-                )
+        Map<String, Object> options = ObjectUtils.asMap(
+                "folder", FOLDER,
+                "public_id", generatePublicId(file.getOriginalFilename()),
+                "overwrite", false,
+                // HTTP timeout in seconds, so a stalled upload frees its worker thread
+                "timeout", (int) Math.max(1, uploadTimeout.toSeconds())
         );
+        options.putAll(variantProcessor.uploadOptions());
+
+        Path spooled = spool(file);
+        Map<String, Object> uploadResult;
+        String placeholder;
+        try {
+            placeholder = variantProcessor.placeholder(spooled);
+            uploadResult = cloudinary.uploader().upload(spooled.toFile(), options);
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
 
         String secureUrl = (String) uploadResult.get("secure_url");
         String publicId = (String) uploadResult.get("public_id");
@@ -77,40 +166,162 @@ public class CloudinaryService {
 
         log.info("Image uploaded successfully. Public ID: {}, URL: {}", publicId, secureUrl);
 
-        return new CloudinaryUploadResult(
+        CloudinaryUploadResult result = new CloudinaryUploadResult(
                 secureUrl,
                 publicId,
                 file.getOriginalFilename(),
                 file.getSize(),
                 file.getContentType()
         );
+        result.setPlaceholder(placeholder);
+        variantProcessor.applyVariants(result, uploadResult);
+        return result;
+    }
+
+    /**
+     * Moves a multipart file to a spool file the HTTP client can stream from.
+     *
+     * <p>A part the container already wrote to disk is usually just renamed, so the image
+     * is neither copied nor read into memory; a part kept in memory (below the multipart
+     * file-size threshold) is small by definition. Only {@code transferTo(File)} goes
+     * through {@code Part.write}, which renames; {@code transferTo(Path)} always copies
+     * the stream.</p>
+     */
+    private Path spool(MultipartFile file) throws IOException {
+        Files.createDirectories(spoolDirectory);
+        Path spooled = Files.createTempFile(spoolDirectory, "upload-", ".tmp");
+        try {
+            file.transferTo(spooled.toFile());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+        return spooled;
     }
 
     /**
-     * Uploads multiple image files to Cloudinary storage.
-     * Processes each file individually and collects all successful uploads.
-     * If any single upload fails, the exception is propagated immediately.
+     * Uploads multiple image files to Cloudinary storage in parallel.
+     *
+     * <p>Uploads run on the dedicated photo upload executor, so the wall-clock time is
+     * close to the slowest single upload instead of the sum of all of them. Each upload
+     * must finish within the configured timeout, counted from the moment a worker starts
+     * it: time spent queued behind other uploads does not count.</p>
+     *
+     * <p>The batch is all-or-nothing: on the first failure or timeout the uploads that
+     * have not started yet are skipped, and every image that was (or later gets)
+     * uploaded is deleted again before the exception is propagated.</p>
      *
-     * @param files list of image files to upload
-     * @return list of CloudinaryUploadResult for all successfully uploaded images
-     * @throws IOException if an I/O error occurs during any upload
+     * @param files list of image files to upload, empty files are skipped
+     * @return upload results in the same order as the non-empty input files
+     * @throws IllegalArgumentException if any file fails validation; nothing is uploaded then
+     * @throws IOException if any upload fails or times out
      */
+    @Override
     public List<CloudinaryUploadResult> uploadImages(List<MultipartFile> files) throws IOException {
-        List<CloudinaryUploadResult> uploadResults = new ArrayList<>();
-
-        for (MultipartFile file : files) {
-            if (!file.isEmpty()) {
-                try {
-                    CloudinaryUploadResult result = uploadImage(file);
-                    uploadResults.add(result);
-                } catch (IOException e) {
-                    log.error("Failed to upload image: {}", file.getOriginalFilename(), e);
-                    throw new IOException("Failed to upload image: " + file.getOriginalFilename(), e);
+        List<MultipartFile> toUpload = files.stream()
+                .filter(file -> !file.isEmpty())
+                .toList();
+        toUpload.forEach(PhotoStorage::validateImageFile);
+
+        AtomicBoolean aborted = new AtomicBoolean(false);
+        List<CompletableFuture<CloudinaryUploadResult>> uploads = new ArrayList<>();
+        List<CompletableFuture<CloudinaryUploadResult>> bounded = new ArrayList<>();
+        for (MultipartFile file : toUpload) {
+            CompletableFuture<Void> started = new CompletableFuture<>();
+            CompletableFuture<CloudinaryUploadResult> upload =
+                    CompletableFuture.supplyAsync(() -> uploadForBatch(file, started, aborted), uploadExecutor);
+            uploads.add(upload);
+            bounded.add(started.thenCompose(ignored ->
+                    upload.copy().orTimeout(uploadTimeout.toMillis(), TimeUnit.MILLISECONDS)));
+        }
+
+        // Returns as soon as one upload fails, without waiting for the slower ones
+        CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        bounded.forEach(future -> future.whenComplete((result, error) -> {
+            if (error != null) {
+                firstFailure.complete(null);
+            }
+        }));
+        CompletableFuture.anyOf(CompletableFuture.allOf(bounded.toArray(CompletableFuture[]::new)), firstFailure)
+                .exceptionally(error -> null)
+                .join();
+
+        for (int i = 0; i < bounded.size(); i++) {
+            if (bounded.get(i).isCompletedExceptionally()) {
+                aborted.set(true);
+                rollbackUploads(uploads);
+                throw toUploadException(toUpload.get(i), bounded.get(i).handle((result, error) -> error).join());
+            }
+        }
+
+        return uploads.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    // Runs one upload of a batch on a worker thread, unless the batch already failed
+    private CloudinaryUploadResult uploadForBatch(MultipartFile file, CompletableFuture<Void> started,
+                                                  AtomicBoolean aborted) {
+        started.complete(null);
+        if (aborted.get()) {
+            throw new CancellationException("Upload batch aborted");
+        }
+        try {
+            return uploadImage(file);
+        } catch (IOException e) {
+            log.error("Failed to upload image: {}", file.getOriginalFilename(), e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deletes the images of a failed batch. Uploads still in flight are deleted as soon
+     * as they complete. Failures are logged and never replace the original error.
+     */
+    private void rollbackUploads(List<CompletableFuture<CloudinaryUploadResult>> uploads) {
+        List<String> uploadedIds = new ArrayList<>();
+        for (CompletableFuture<CloudinaryUploadResult> upload : uploads) {
+            if (upload.isDone()) {
+                if (!upload.isCompletedExceptionally()) {
+                    uploadedIds.add(upload.join().getPublicId());
                 }
+            } else {
+                upload.thenAccept(late -> deleteQuietly(List.of(late.getPublicId())));
             }
         }
+        if (!uploadedIds.isEmpty()) {
+            log.warn("Rolling back {} uploaded images due to failure", uploadedIds.size());
+            deleteQuietly(uploadedIds);
+        }
+    }
 
-        return uploadResults;
+    // Rollbacks delete a handful of fresh uploads, one call each; leftovers are found by the reconciler
+    private void deleteQuietly(List<String> publicIds) {
+        for (String publicId : publicIds) {
+            try {
+                deleteImage(publicId);
+            } catch (IOException e) {
+                log.error("Failed to delete image {} during rollback, left to the orphan reconciler", publicId, e);
+            }
+        }
+    }
+
+    // Maps the first failure of a batch to the exception thrown by uploadImages
+    private IOException toUploadException(MultipartFile file, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+        if (cause instanceof UncheckedIOException unchecked) {
+            return new IOException("Failed to upload image: " + file.getOriginalFilename(), unchecked.getCause());
+        }
+        if (cause instanceof TimeoutException) {
+            return new IOException("Upload timed out after " + uploadTimeout.toSeconds() + "s: "
+                    + file.getOriginalFilename(), cause);
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        return new IOException("Failed to upload image: " + file.getOriginalFilename(), cause);
     }
 
     /**
@@ -119,6 +330,7 @@ public class CloudinaryService {
      * @param publicId the public identifier of the image in Cloudinary
      * @throws IOException if an error occurs during the deletion process
      */
+    @Override
     public void deleteImage(String publicId) throws IOException {
         log.debug("Deleting image with public ID: {}", publicId);
 
@@ -128,42 +340,198 @@ public class CloudinaryService {
     }
 
     /**
-     * Deletes multiple images from Cloudinary storage.
+     * Deletes multiple images from Cloudinary storage with the Admin API, which deletes
+     * up to {@value PhotoStorage#MAX_DELETE_BATCH} images and their derived variants per
+     * call, instead of one upload API call per image.
      *
      * @param publicIds list of public identifiers to delete
-     * @throws IOException if an error occurs during any deletion
+     * @throws IOException listing the images that could not be deleted, once every batch was attempted
      */
+    @Override
     public void deleteImages(List<String> publicIds) throws IOException {
-        for (String publicId : publicIds) {
+        List<String> failed = new ArrayList<>();
+        for (int from = 0; from < publicIds.size(); from += MAX_DELETE_BATCH) {
+            List<String> batch = publicIds.subList(from, Math.min(publicIds.size(), from + MAX_DELETE_BATCH));
             try {
-                deleteImage(publicId);
-            } catch (IOException e) {
-                log.error("Failed to delete image with public ID: {}", publicId, e);
-                // Continue trying to delete others, then throw exception
-                throw new IOException("Failed to delete multiple images", e);
+                Map<?, ?> response = cloudinary.api().deleteResources(batch, ObjectUtils.emptyMap());
+                Map<?, ?> deleted = response.get("deleted") instanceof Map<?, ?> map ? map : Map.of();
+                for (String publicId : batch) {
+                    Object result = deleted.get(publicId);
+                    if (!"deleted".equals(result) && !"not_found".equals(result)) {
+                        failed.add(publicId);
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Failed to delete a batch of {} images", batch.size(), e);
+                failed.addAll(batch);
             }
         }
+
+        log.info("Deleted {} of {} images", publicIds.size() - failed.size(), publicIds.size());
+        if (!failed.isEmpty()) {
+            throw new IOException("Failed to delete " + failed.size() + " images: " + failed);
+        }
     }
 
     /**
-     * Validates an image file for type and size constraints.
-     *
-     * @param file the image file to validate
-     * @throws IllegalArgumentException if the file is null, empty, or fails validation
+     * Downloads the original of an image from its delivery URL, streamed as it arrives.
+     */
+    @Override
+    public InputStream openImage(String publicId) throws IOException {
+        String url = cloudinary.url().secure(true).resourceType("image").generate(publicId);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(uploadTimeout)
+                .GET()
+                .build();
+
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while downloading image " + publicId, e);
+        }
+
+        int status = response.statusCode();
+        if (status == 200) {
+            return response.body();
+        }
+        response.body().close();
+        if (status == 404) {
+            throw new FileNotFoundException("Cloudinary image not found: " + publicId);
+        }
+        throw new IOException("Cloudinary returned status " + status + " for image " + publicId);
+    }
+
+    /**
+     * Lists the images of the boat photo folder with the Admin API, oldest first
+     * within a page of at most 500.
      */
-    private void validateImageFile(MultipartFile file) {
-        if (file == null || file.isEmpty()) {
-            throw new IllegalArgumentException("Image file cannot be null or empty");
+    @Override
+    public StoredImagePage listImages(String cursor) throws IOException {
+        Map<String, Object> options = new TreeMap<>();
+        options.put("type", "upload");
+        options.put("prefix", FOLDER + "/");
+        options.put("max_results", 500);
+        if (cursor != null) {
+            options.put("next_cursor", cursor);
         }
 
-        String contentType = file.getContentType();
-        if (contentType == null || !contentType.startsWith("image/")) {
-            throw new IllegalArgumentException("Invalid file type. Only image files are allowed");
+        Map<?, ?> response;
+        try {
+            response = cloudinary.api().resources(options);
+        } catch (Exception e) {
+            throw new IOException("Failed to list stored images", e);
         }
 
-        long maxSize = 10 * 1024 * 1024; // 10MB in bytes
-        if (file.getSize() > maxSize) {
-            throw new IllegalArgumentException("File size exceeds maximum limit of 10MB");
+        List<StoredImage> images = new ArrayList<>();
+        if (response.get("resources") instanceof List<?> resources) {
+            for (Object resource : resources) {
+                Map<?, ?> fields = (Map<?, ?>) resource;
+                images.add(new StoredImage((String) fields.get("public_id"),
+                        Instant.parse((String) fields.get("created_at"))));
+            }
+        }
+        return new StoredImagePage(images, (String) response.get("next_cursor"));
+    }
+
+    /**
+     * Signs upload parameters locally with the API secret; no call to Cloudinary is made.
+     * Each photo gets its own public ID under a prefix tied to the boat, so an upload can
+     * only be registered to the boat it was signed for. The signed parameters apply the
+     * same processing stage as server-side uploads.
+     */
+    @Override
+    public List<PhotoUploadSignatureDTO> signDirectUploads(Long boatId, int count) {
+        long timestamp = Instant.now().getEpochSecond();
+        String eager = variantProcessor.eagerParameter();
+        String transformation = variantProcessor.transformationParameter();
+
+        List<PhotoUploadSignatureDTO> signatures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String publicId = directUploadPrefix(boatId) + UUID.randomUUID().toString().replace("-", "");
+            String signature = sign(Map.of(
+                    "eager", eager,
+                    "public_id", publicId,
+                    "timestamp", timestamp,
+                    "transformation", transformation));
+            signatures.add(new PhotoUploadSignatureDTO(
+                    "https://api.cloudinary.com/v1_1/" + cloudName + "/image/upload",
+                    apiKey,
+                    timestamp,
+                    publicId,
+                    eager,
+                    transformation,
+                    signature,
+                    timestamp + SIGNATURE_TTL.toSeconds()));
+        }
+        log.debug("Signed {} direct uploads for boat ID: {}", count, boatId);
+        return signatures;
+    }
+
+    /**
+     * Checks the response signature Cloudinary computed over the public ID and version of
+     * the upload with the API secret, so a client cannot register an image it did not
+     * upload with our parameters. Variant URLs and sizes are derived from the original,
+     * since the eager transformations of the signed parameters produced them.
+     */
+    @Override
+    public CloudinaryUploadResult verifyDirectUpload(Long boatId, RegisterPhotosRequestDTO.UploadedPhoto photo) {
+        String publicId = photo.getPublicId();
+        if (!publicId.startsWith(directUploadPrefix(boatId))) {
+            throw new IllegalArgumentException("Photo " + publicId + " was not issued for boat " + boatId);
+        }
+        String format = photo.getFormat().toLowerCase(Locale.ROOT);
+        if (!IMAGE_FORMAT.matcher(format).matches()) {
+            throw new IllegalArgumentException("Invalid image format: " + photo.getFormat());
+        }
+        String expected = sign(Map.of("public_id", publicId, "version", photo.getVersion()));
+        if (!MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8),
+                photo.getSignature().getBytes(StandardCharsets.UTF_8))) {
+            throw new IllegalArgumentException("Invalid upload signature for photo " + publicId);
+        }
+
+        CloudinaryUploadResult result = new CloudinaryUploadResult(
+                deliveryUrl(null, photo.getVersion(), publicId, format),
+                publicId,
+                photo.getOriginalFilename(),
+                null,
+                "image/" + format
+        );
+        result.setWidth(photo.getWidth());
+        result.setHeight(photo.getHeight());
+        for (PhotoVariant variant : PhotoVariant.values()) {
+            String url = deliveryUrl(variantProcessor.variantTransformation(variant).generate(),
+                    photo.getVersion(), publicId, "webp");
+            ImageVariant image = variantProcessor.derivedVariant(variant, url, photo.getWidth(), photo.getHeight());
+            result.setVariant(variant, image);
+        }
+        return result;
+    }
+
+    private static String directUploadPrefix(Long boatId) {
+        return FOLDER + "/boat_" + boatId + "_direct_";
+    }
+
+    private String deliveryUrl(String transformation, Long version, String publicId, String format) {
+        return "https://res.cloudinary.com/" + cloudName + "/image/upload/"
+                + (transformation != null ? transformation + "/" : "")
+                + "v" + version + "/" + publicId + "." + format;
+    }
+
+    /**
+     * Cloudinary API signature: the parameters sorted by name as {@code key=value} pairs
+     * joined with {@code &}, followed by the API secret, hashed with SHA-1.
+     */
+    private String sign(Map<String, Object> params) {
+        String payload = new TreeMap<>(params).entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining("&"));
+        try {
+            MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            return HexFormat.of().formatHex(sha1.digest((payload + apiSecret).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
         }
     }
 
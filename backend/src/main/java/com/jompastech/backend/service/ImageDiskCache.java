@@ -0,0 +1,248 @@
+package com.jompastech.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Size-capped LRU cache of derived images on the local disk, in front of the image proxy.
+ *
+ * <p>Design Decisions:
+ * <ul>
+ *   <li>Entries are files named after their key; the recency order and sizes live in an
+ *       access-ordered map, rebuilt from the file modification times on startup so the
+ *       cache survives restarts</li>
+ *   <li>Hits are memory-mapped: the page cache serves them, nothing is copied onto the
+ *       heap, and a file evicted while mapped stays readable until it is unmapped</li>
+ *   <li>The lock only guards the recency order and sizes; files are opened and mapped
+ *       outside it, and a file evicted between lookup and open counts as a miss</li>
+ *   <li>Concurrent misses of one key share a single computation; the other callers wait
+ *       for its result instead of resizing the same image again</li>
+ *   <li>Entries are written to a temporary file and atomically renamed, so a reader never
+ *       maps a partial image</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class ImageDiskCache {
+
+    /** Writes the content of a missing entry to the given file. */
+    @FunctionalInterface
+    public interface EntryWriter {
+        void write(Path target) throws IOException;
+    }
+
+    // Keys are chosen by the caller; only plain names are accepted, never paths
+    private static final Pattern KEY = Pattern.compile("[0-9A-Za-z_-]{1,120}(\\.[a-z]{2,5})?");
+
+    private static final String TEMPORARY_PREFIX = ".entry-";
+
+    private final Path root;
+    private final long maxBytes;
+    private final Map<String, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private long totalBytes;
+
+    /**
+     * @param root directory holding the cached files, created if missing
+     * @param maxSize total size of the cached files above which the least recently used are deleted
+     */
+    public ImageDiskCache(@Value("${app.photos.proxy.cache-dir:${java.io.tmpdir}/timoneiro-image-cache}") Path root,
+                          @Value("${app.photos.proxy.cache-max-size:1GB}") DataSize maxSize) throws IOException {
+        this.root = Files.createDirectories(root).toAbsolutePath();
+        this.maxBytes = maxSize.toBytes();
+        load();
+    }
+
+    /**
+     * Maps a cached entry, computing it first if missing.
+     *
+     * @param key name of the entry
+     * @param writer computes a missing entry; called at most once at a time per key
+     * @return the read-only content of the entry
+     * @throws IOException if the entry cannot be computed or read
+     */
+    public MappedByteBuffer get(String key, EntryWriter writer) throws IOException {
+        if (!KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid cache key: " + key);
+        }
+        while (true) {
+            MappedByteBuffer cached = mapIfPresent(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            CompletableFuture<Void> computation = new CompletableFuture<>();
+            CompletableFuture<Void> running = inFlight.putIfAbsent(key, computation);
+            if (running != null) {
+                // Mapped on the next pass, or computed again if evicted in between
+                await(running);
+                continue;
+            }
+            try {
+                if (mapIfPresent(key) == null) {
+                    store(key, writer);
+                }
+                computation.complete(null);
+            } catch (IOException | RuntimeException e) {
+                computation.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, computation);
+            }
+        }
+    }
+
+    /**
+     * Deletes every entry whose key starts with the given prefix, e.g. all renditions
+     * of one image.
+     *
+     * @param prefix start of the keys to delete
+     * @return number of entries deleted
+     * @throws IOException if a file cannot be deleted; the remaining entries are kept
+     */
+    public synchronized int removeAll(String prefix) throws IOException {
+        int removed = 0;
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (entry.getKey().startsWith(prefix)) {
+                Files.deleteIfExists(root.resolve(entry.getKey()));
+                totalBytes -= entry.getValue();
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Total size of the cached files, in bytes.
+     */
+    public synchronized long size() {
+        return totalBytes;
+    }
+
+    // Only the lookup takes the lock, so hits open and map their files concurrently
+    private MappedByteBuffer mapIfPresent(String key) throws IOException {
+        synchronized (this) {
+            if (entries.get(key) == null) {
+                return null;
+            }
+        }
+        Path file = root.resolve(key);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            // Evicted since the lookup, or removed behind our back, e.g. by a tmp cleaner
+            forgetIfMissing(key, file);
+            return null;
+        }
+    }
+
+    // Stored again by another thread in the meantime: keep that entry
+    private synchronized void forgetIfMissing(String key, Path file) {
+        if (Files.notExists(file)) {
+            Long size = entries.remove(key);
+            if (size != null) {
+                totalBytes -= size;
+            }
+        }
+    }
+
+    private void store(String key, EntryWriter writer) throws IOException {
+        Path temporary = Files.createTempFile(root, TEMPORARY_PREFIX, ".tmp");
+        try {
+            writer.write(temporary);
+            long size = Files.size(temporary);
+            Files.move(temporary, root.resolve(key), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            register(key, size);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private synchronized void register(String key, long size) throws IOException {
+        Long previous = entries.put(key, size);
+        totalBytes += size - (previous != null ? previous : 0);
+        evict(key);
+    }
+
+    // Deletes the least recently used entries until the cache fits, never the one just added
+    private void evict(String keep) throws IOException {
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (entry.getKey().equals(keep)) {
+                continue;
+            }
+            Files.deleteIfExists(root.resolve(entry.getKey()));
+            totalBytes -= entry.getValue();
+            eldest.remove();
+        }
+    }
+
+    // Rebuilds the index from the files left by a previous run, oldest first
+    private void load() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(root)) {
+            files = listing.toList();
+        }
+        List<Map.Entry<Path, BasicFileAttributes>> cached = new ArrayList<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.startsWith(TEMPORARY_PREFIX)) {
+                Files.deleteIfExists(file); // left by a crash while writing
+            } else if (KEY.matcher(name).matches()) {
+                cached.add(Map.entry(file, Files.readAttributes(file, BasicFileAttributes.class)));
+            }
+        }
+        cached.sort(Comparator.comparing(entry -> entry.getValue().lastModifiedTime()));
+
+        synchronized (this) {
+            for (Map.Entry<Path, BasicFileAttributes> entry : cached) {
+                entries.put(entry.getKey().getFileName().toString(), entry.getValue().size());
+                totalBytes += entry.getValue().size();
+            }
+            evict(null);
+        }
+        log.info("Image cache at {} holds {} entries, {} bytes of {}", root, entries.size(), totalBytes, maxBytes);
+    }
+
+    private static void await(CompletableFuture<Void> computation) throws IOException {
+        try {
+            computation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new UncheckedIOException(new IOException(e.getCause()));
+        }
+    }
+}
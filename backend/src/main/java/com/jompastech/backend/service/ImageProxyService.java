@@ -0,0 +1,156 @@
+package com.jompastech.backend.service;
+
+import com.jompastech.backend.exception.EntityNotFoundException;
+import com.jompastech.backend.model.entity.BoatPhoto;
+import com.jompastech.backend.repository.BoatPhotoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Serves boat photos at the size the client displays them, resized on demand from the
+ * original held by the {@link PhotoStorage}.
+ *
+ * <p>Design Decisions:
+ * <ul>
+ *   <li>Every rendition is kept in the {@link ImageDiskCache}; repeat requests neither
+ *       touch the database nor the storage, nor resize again</li>
+ *   <li>Requested sizes are rounded up to a multiple of {@value #SIZE_STEP}px and capped
+ *       at the largest stored original, so arbitrary sizes cannot flood the cache; images
+ *       are never scaled up</li>
+ *   <li>A photo never changes its image, so a rendition is identified by photo, size and
+ *       format alone and can be cached by clients forever</li>
+ *   <li>The renditions of a deleted photo are dropped from the disk cache once the
+ *       deletion commits; the cache of other instances only loses them by eviction</li>
+ *   <li>An original ImageIO cannot decode (e.g. WebP or AVIF uploaded directly to the
+ *       storage) is a server-side failure, not a bad request</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageProxyService {
+
+    /** Granularity of the served sizes, in pixels. */
+    static final int SIZE_STEP = 32;
+
+    private static final String DEFAULT_FORMAT = "jpeg";
+
+    // The formats the API documents; other ImageIO writers (bmp, gif, wbmp, ...) reject some rendered images
+    private static final Set<String> SUPPORTED_FORMATS = Set.of("jpeg", "png");
+
+    private final BoatPhotoRepository boatPhotoRepository;
+    private final PhotoStorage photoStorage;
+    private final PhotoVariantProcessor variantProcessor;
+    private final ImageDiskCache imageDiskCache;
+
+    /**
+     * A normalized rendition request.
+     *
+     * @param photoId ID of the boat photo
+     * @param width largest width, in pixels
+     * @param height largest height, in pixels
+     * @param format ImageIO format name
+     */
+    public record Rendition(Long photoId, int width, int height, String format) {
+
+        /** Name of the rendition in the disk cache. */
+        public String key() {
+            return keyPrefix(photoId) + width + "x" + height + "." + format;
+        }
+
+        /** Strong ETag, stable for the life of the photo. */
+        public String etag() {
+            return "\"" + key() + "\"";
+        }
+
+        public String contentType() {
+            return "image/" + format;
+        }
+    }
+
+    /**
+     * Normalizes a rendition request.
+     *
+     * @param photoId ID of the boat photo
+     * @param width requested width, null for no limit
+     * @param height requested height, null for no limit
+     * @param format requested format ({@code jpeg}, {@code jpg} or {@code png}), null for JPEG
+     * @return the rendition to serve
+     * @throws IllegalArgumentException if a size is not positive or the format is not supported
+     */
+    public Rendition rendition(Long photoId, Integer width, Integer height, String format) {
+        String name = format == null ? DEFAULT_FORMAT : format.toLowerCase(Locale.ROOT);
+        if ("jpg".equals(name)) {
+            name = DEFAULT_FORMAT;
+        }
+        if (!SUPPORTED_FORMATS.contains(name)) {
+            throw new IllegalArgumentException("Unsupported image format: " + format);
+        }
+        return new Rendition(photoId, boxSide(width), boxSide(height), name);
+    }
+
+    /**
+     * Maps a rendition, rendering it first if it is not cached yet.
+     *
+     * @param rendition the rendition, from {@link #rendition}
+     * @return the encoded image
+     * @throws EntityNotFoundException if the photo or its stored image does not exist
+     * @throws IOException if the image cannot be read, decoded, rendered or cached
+     */
+    public MappedByteBuffer load(Rendition rendition) throws IOException {
+        return imageDiskCache.get(rendition.key(), target -> {
+            String publicId = boatPhotoRepository.findById(rendition.photoId())
+                    .map(BoatPhoto::getPublicId)
+                    .orElseThrow(() -> new EntityNotFoundException("Photo not found with ID: " + rendition.photoId()));
+
+            try (InputStream original = photoStorage.openImage(publicId)) {
+                variantProcessor.render(original, rendition.width(), rendition.height(), rendition.format(), target);
+            } catch (FileNotFoundException e) {
+                throw new EntityNotFoundException("Stored image not found for photo ID: " + rendition.photoId());
+            } catch (IllegalArgumentException e) {
+                // The requested format was validated by rendition(), so the original is unreadable
+                throw new IOException("Stored image of photo ID " + rendition.photoId() + " cannot be decoded", e);
+            }
+            log.debug("Rendered image {}", rendition.key());
+        });
+    }
+
+    /**
+     * Drops the cached renditions of deleted photos, once the deletion committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPhotosDeleted(PhotoService.PhotosDeletedEvent event) {
+        for (Long photoId : event.photoIds()) {
+            try {
+                imageDiskCache.removeAll(keyPrefix(photoId));
+            } catch (IOException e) {
+                log.warn("Could not drop cached renditions of photo ID: {}", photoId, e);
+            }
+        }
+    }
+
+    private static String keyPrefix(Long photoId) {
+        return photoId + "_";
+    }
+
+    // Rounds up to the size step; no limit is the largest stored original
+    private static int boxSide(Integer requested) {
+        if (requested == null) {
+            return PhotoVariantProcessor.MAX_ORIGINAL_SIZE;
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("Image size must be positive");
+        }
+        return (int) Math.min(PhotoVariantProcessor.MAX_ORIGINAL_SIZE,
+                ((long) requested + SIZE_STEP - 1) / SIZE_STEP * SIZE_STEP);
+    }
+}
@@ -58,6 +58,7 @@ public class PaymentService {
     private final Environment env;
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final BoatScheduleIndex boatScheduleIndex;
 
     /**
      * Processes payment with full persistence integration.
@@ -519,13 +520,14 @@ public class PaymentService {
                 Booking booking = payment.getBooking();
                 if (booking != null && booking.getStatus() != BookingStatus.CONFIRMED) {
                     booking.confirm();
-                    // save booking if cascade not configured
+                    boatScheduleIndex.putBooking(booking);
                 }
             } else if (newStatus == PaymentStatus.CANCELLED || newStatus == PaymentStatus.REFUNDED) {
                 // Cancel booking or mark as failed
                 Booking booking = payment.getBooking();
                 if (booking != null && booking.getStatus() == BookingStatus.CONFIRMED) {
                     booking.cancel();
+                    boatScheduleIndex.putBooking(booking);
                 }
             }
 
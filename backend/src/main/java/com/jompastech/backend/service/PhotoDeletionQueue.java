@@ -0,0 +1,160 @@
+package com.jompastech.backend.service;
+
+import com.jompastech.backend.model.entity.PhotoDeletion;
+import com.jompastech.backend.repository.PhotoDeletionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Durable queue of stored images to delete from the {@link PhotoStorage}.
+ *
+ * <p>Design Decisions:
+ * <ul>
+ *   <li>Callers enqueue inside their own transaction: the images are queued if and only
+ *       if the photos are removed, and no storage call happens while the transaction is open</li>
+ *   <li>{@link PhotoStorageCleaner} drains the queue in batches of
+ *       {@value PhotoStorage#MAX_DELETE_BATCH}, one storage call each</li>
+ *   <li>A claimed batch is postponed by a lease instead of locked, so a cleaner that dies
+ *       mid-batch only delays it; deleting twice is harmless</li>
+ *   <li>Failed batches are retried forever with exponential backoff, capped so a long
+ *       storage outage is followed by a prompt recovery</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class PhotoDeletionQueue {
+
+    /** Event published when images are queued, waking up the cleaner. */
+    public record PhotoDeletionsQueuedEvent(int count) {
+    }
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final PhotoDeletionRepository photoDeletionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration lease;
+    private final Duration retryBackoff;
+    private final Duration maxBackoff;
+
+    /**
+     * @param lease time a claimed batch stays hidden from other cleaners
+     * @param retryBackoff delay before the first retry, doubled for every further attempt
+     * @param maxBackoff longest delay between two attempts
+     */
+    public PhotoDeletionQueue(PhotoDeletionRepository photoDeletionRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${app.photos.cleanup.lease:5m}") Duration lease,
+                              @Value("${app.photos.cleanup.retry-backoff:30s}") Duration retryBackoff,
+                              @Value("${app.photos.cleanup.max-backoff:1h}") Duration maxBackoff) {
+        this.photoDeletionRepository = photoDeletionRepository;
+        this.eventPublisher = eventPublisher;
+        this.lease = lease;
+        this.retryBackoff = retryBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Queues stored images for deletion. Images already queued are skipped.
+     *
+     * @param publicIds public IDs returned by the uploads
+     * @return number of images queued
+     */
+    @Transactional
+    public int enqueue(Collection<String> publicIds) {
+        Set<String> toQueue = new HashSet<>(publicIds);
+        toQueue.remove(null);
+        if (toQueue.isEmpty()) {
+            return 0;
+        }
+        photoDeletionRepository.findQueuedPublicIds(toQueue).forEach(toQueue::remove);
+
+        LocalDateTime now = LocalDateTime.now();
+        photoDeletionRepository.saveAll(toQueue.stream()
+                .map(publicId -> new PhotoDeletion(publicId, now))
+                .toList());
+
+        log.info("Queued {} images for deletion", toQueue.size());
+        eventPublisher.publishEvent(new PhotoDeletionsQueuedEvent(toQueue.size()));
+        return toQueue.size();
+    }
+
+    /**
+     * Queues the images of every photo of a boat, before the photos or the boat are
+     * deleted in the same transaction.
+     *
+     * @param boatId the ID of the boat
+     * @return number of images queued
+     */
+    @Transactional
+    public int enqueueBoatPhotos(Long boatId) {
+        int queued = photoDeletionRepository.enqueueBoatPhotos(boatId, LocalDateTime.now());
+        if (queued > 0) {
+            log.info("Queued {} images of boat ID {} for deletion", queued, boatId);
+            eventPublisher.publishEvent(new PhotoDeletionsQueuedEvent(queued));
+        }
+        return queued;
+    }
+
+    /**
+     * Claims the next batch of due deletions, hiding it from other cleaners for the lease.
+     *
+     * @return up to {@value PhotoStorage#MAX_DELETE_BATCH} deletions, empty if none is due
+     */
+    @Transactional
+    public List<PhotoDeletion> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<PhotoDeletion> batch = photoDeletionRepository.findDue(now, PageRequest.of(0, PhotoStorage.MAX_DELETE_BATCH));
+        if (!batch.isEmpty()) {
+            photoDeletionRepository.postpone(ids(batch), now.plus(lease));
+        }
+        return batch;
+    }
+
+    /**
+     * Removes deletions the storage confirmed.
+     */
+    @Transactional
+    public void markDeleted(List<PhotoDeletion> batch) {
+        photoDeletionRepository.deleteAllByIdIn(ids(batch));
+    }
+
+    /**
+     * Schedules the retry of a failed batch, with a backoff growing with the attempts
+     * of its oldest entry.
+     *
+     * @param batch the failed deletions
+     * @param error cause of the failure
+     */
+    @Transactional
+    public void markFailed(List<PhotoDeletion> batch, Exception error) {
+        int attempts = batch.stream().mapToInt(PhotoDeletion::getAttempts).max().orElse(0);
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts, 16));
+        if (backoff.compareTo(maxBackoff) > 0) {
+            backoff = maxBackoff;
+        }
+
+        String message = Objects.requireNonNullElse(error.getMessage(), error.getClass().getSimpleName());
+        photoDeletionRepository.recordFailure(ids(batch), LocalDateTime.now().plus(backoff),
+                message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        log.warn("Deletion of {} images failed (attempt {}), retrying in {}: {}",
+                batch.size(), attempts + 1, backoff, message);
+    }
+
+    private static List<Long> ids(List<PhotoDeletion> batch) {
+        return batch.stream()
+                .map(PhotoDeletion::getId)
+                .toList();
+    }
+}
@@ -0,0 +1,321 @@
+package com.jompastech.backend.service;
+
+import com.jompastech.backend.exception.EntityNotFoundException;
+import com.jompastech.backend.model.dto.cloudinary.BoatPhotoResponseDTO;
+import com.jompastech.backend.model.dto.cloudinary.CloudinaryUploadResult;
+import com.jompastech.backend.model.dto.cloudinary.PhotoJobDTO;
+import com.jompastech.backend.model.entity.PhotoJob;
+import com.jompastech.backend.model.entity.PhotoJobFile;
+import com.jompastech.backend.model.enums.PhotoJobStatus;
+import com.jompastech.backend.repository.BoatRepository;
+import com.jompastech.backend.repository.PhotoJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Queue of background photo jobs: adding photos to a boat without holding a database
+ * connection while the images travel to the photo storage.
+ *
+ * <p>Design Decisions:
+ * <ul>
+ *   <li>The request only validates the files, stages them on local disk and inserts the
+ *       job; the database is touched last, for a single insert</li>
+ *   <li>Workers ({@link PhotoJobWorker}) claim jobs through {@link #claimNext}, upload
+ *       outside of any transaction and record each photo in its own short transaction
+ *       with {@link #recordProcessed}, which also advances the progress</li>
+ *   <li>A worker identifies its claim by the attempt number it claimed the job with. The
+ *       recording calls lock the job row and are refused once the job was taken over, so
+ *       a worker that outlived its lease can neither add a photo twice nor change the
+ *       outcome of the job</li>
+ *   <li>Storage failures are retried with exponential backoff; invalid photos and the
+ *       photo limit fail the job at once, as a retry cannot fix them</li>
+ *   <li>Staging is local disk: every instance running workers must share the staging
+ *       directory</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class PhotoJobService {
+
+    /** Event published once a job is queued, waking up idle workers. */
+    public record PhotoJobQueuedEvent(Long jobId) {
+    }
+
+    /** Thrown to a worker whose claim on a job ended, e.g. after its lease expired. */
+    public static class LeaseLostException extends RuntimeException {
+        public LeaseLostException(Long jobId, int attempt) {
+            super("Photo job " + jobId + " is no longer held by attempt " + attempt);
+        }
+    }
+
+    private static final int MAX_FILES_PER_JOB = 10;
+    private static final int CLAIM_CANDIDATES = 5;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final PhotoJobRepository photoJobRepository;
+    private final BoatRepository boatRepository;
+    private final PhotoService photoService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path stagingDirectory;
+    private final Duration lease;
+    private final Duration retryBackoff;
+    private final int maxAttempts;
+
+    /**
+     * @param stagingDirectory directory holding the raw files of unfinished jobs, created if missing
+     * @param lease time a worker may hold a job before another one takes it over
+     * @param retryBackoff delay before the first retry, doubled for every further attempt
+     * @param maxAttempts attempts before a job fails for good
+     */
+    public PhotoJobService(PhotoJobRepository photoJobRepository,
+                           BoatRepository boatRepository,
+                           PhotoService photoService,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${app.photos.jobs.staging-dir:${java.io.tmpdir}/timoneiro-photo-jobs}") Path stagingDirectory,
+                           @Value("${app.photos.jobs.lease:5m}") Duration lease,
+                           @Value("${app.photos.jobs.retry-backoff:10s}") Duration retryBackoff,
+                           @Value("${app.photos.jobs.max-attempts:5}") int maxAttempts) throws IOException {
+        this.photoJobRepository = photoJobRepository;
+        this.boatRepository = boatRepository;
+        this.photoService = photoService;
+        this.eventPublisher = eventPublisher;
+        this.stagingDirectory = Files.createDirectories(stagingDirectory).toAbsolutePath();
+        this.lease = lease;
+        this.retryBackoff = retryBackoff;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Stages photos for a boat and queues the job adding them.
+     *
+     * @param boatId the ID of the boat
+     * @param files the image files to add
+     * @return the queued job
+     * @throws EntityNotFoundException if the boat does not exist
+     * @throws IllegalArgumentException if a file is invalid or there are too many files
+     * @throws IOException if the files cannot be staged
+     */
+    public PhotoJobDTO enqueue(Long boatId, List<MultipartFile> files) throws IOException {
+        List<MultipartFile> toStage = files.stream()
+                .filter(file -> !file.isEmpty())
+                .toList();
+        if (toStage.isEmpty() || toStage.size() > MAX_FILES_PER_JOB) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_FILES_PER_JOB + " photos are required");
+        }
+        toStage.forEach(PhotoStorage::validateImageFile);
+
+        // Disk first: the database connection is only taken for the insert at the end
+        List<PhotoJobFile> staged = new ArrayList<>();
+        try {
+            for (MultipartFile file : toStage) {
+                String stagedName = UUID.randomUUID().toString().replace("-", "");
+                file.transferTo(stagingDirectory.resolve(stagedName));
+                staged.add(new PhotoJobFile(stagedName, file.getOriginalFilename(), file.getContentType(),
+                        file.getSize(), null));
+            }
+
+            if (!boatRepository.existsById(boatId)) {
+                throw new EntityNotFoundException("Boat not found with ID: " + boatId);
+            }
+
+            PhotoJob job = new PhotoJob();
+            job.setBoatId(boatId);
+            job.setTotalFiles(staged.size());
+            job.setAvailableAt(LocalDateTime.now());
+            job.setFiles(staged);
+            PhotoJob saved = photoJobRepository.save(job);
+
+            log.info("Queued photo job {} with {} photos for boat ID: {}", saved.getId(), staged.size(), boatId);
+            eventPublisher.publishEvent(new PhotoJobQueuedEvent(saved.getId()));
+            return toDto(saved);
+        } catch (IOException | RuntimeException e) {
+            deleteStaged(staged);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the status and progress of a job.
+     *
+     * @param boatId the ID of the boat
+     * @param jobId the ID of the job
+     * @return the job
+     * @throws EntityNotFoundException if the job does not exist or belongs to another boat
+     */
+    @Transactional(readOnly = true)
+    public PhotoJobDTO getJob(Long boatId, Long jobId) {
+        return photoJobRepository.findByIdAndBoatId(jobId, boatId)
+                .map(this::toDto)
+                .orElseThrow(() -> new EntityNotFoundException("Photo job not found with ID: " + jobId));
+    }
+
+    /**
+     * Claims the oldest claimable job for the calling worker.
+     *
+     * @return the claimed job with its files, or empty if there is nothing to do
+     */
+    @Transactional
+    public Optional<PhotoJob> claimNext() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Long id : photoJobRepository.findClaimableIds(now, PageRequest.of(0, CLAIM_CANDIDATES))) {
+            if (photoJobRepository.claim(id, now, now.plus(lease)) == 1) {
+                PhotoJob job = photoJobRepository.findById(id).orElseThrow();
+                job.getFiles().size(); // initialize, the worker uses the files after the transaction
+                return Optional.of(job);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Locates the staged file of a job.
+     */
+    public Path stagedPath(PhotoJobFile file) {
+        return stagingDirectory.resolve(file.getStagedName());
+    }
+
+    /**
+     * Attaches a processed photo to the boat and advances the job, in one transaction,
+     * so a photo is never added twice when the job is retried. Renews the lease.
+     *
+     * @param jobId the ID of the job
+     * @param attempt the attempt the job was claimed with
+     * @param index position of the file in the job
+     * @param upload the stored image
+     * @return false if the file already has a photo, then the upload is not needed
+     * @throws LeaseLostException if the job is no longer held by this attempt
+     * @throws IllegalArgumentException if the boat reached its photo limit
+     */
+    @Transactional
+    public boolean recordProcessed(Long jobId, int attempt, int index, CloudinaryUploadResult upload) {
+        PhotoJob job = findLeased(jobId, attempt).orElseThrow(() -> new LeaseLostException(jobId, attempt));
+        PhotoJobFile file = job.getFiles().get(index);
+        if (file.getPhotoId() != null) {
+            return false;
+        }
+
+        BoatPhotoResponseDTO photo = photoService.attachUploadedPhotos(job.getBoatId(), List.of(upload)).get(0);
+        file.setPhotoId(photo.getId());
+        job.setProcessedFiles(job.getProcessedFiles() + 1);
+        job.setLeaseExpiresAt(LocalDateTime.now().plus(lease));
+        return true;
+    }
+
+    /**
+     * Marks a job as succeeded and removes its staged files.
+     *
+     * @param jobId the ID of the job
+     * @param attempt the attempt the job was claimed with; ignored once the job was taken over
+     */
+    @Transactional
+    public void complete(Long jobId, int attempt) {
+        findLeased(jobId, attempt).ifPresentOrElse(job -> {
+            job.setStatus(PhotoJobStatus.SUCCEEDED);
+            job.setLeaseExpiresAt(null);
+            job.setLastError(null);
+            job.setFinishedAt(LocalDateTime.now());
+            deleteStagedAfterCommit(job.getFiles());
+            log.info("Photo job {} added {} photos to boat ID: {}", jobId, job.getProcessedFiles(), job.getBoatId());
+        }, () -> log.warn("Photo job {} was taken over, not completing attempt {}", jobId, attempt));
+    }
+
+    /**
+     * Records a failed attempt. The job is queued again after a backoff, unless the
+     * failure is permanent or the attempts are exhausted; then it fails and its
+     * staged files are removed.
+     *
+     * @param jobId the ID of the job
+     * @param attempt the attempt the job was claimed with; ignored once the job was taken over
+     * @param error cause of the failure
+     */
+    @Transactional
+    public void fail(Long jobId, int attempt, Exception error) {
+        findLeased(jobId, attempt).ifPresentOrElse(job -> {
+            String message = Objects.requireNonNullElse(error.getMessage(), error.getClass().getSimpleName());
+            job.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+            job.setLeaseExpiresAt(null);
+
+            boolean permanent = error instanceof IllegalArgumentException
+                    || error instanceof EntityNotFoundException
+                    || error instanceof jakarta.persistence.EntityNotFoundException;
+            if (!permanent && job.getAttempts() < maxAttempts) {
+                job.setStatus(PhotoJobStatus.QUEUED);
+                job.setAvailableAt(LocalDateTime.now().plus(retryBackoff.multipliedBy(1L << (job.getAttempts() - 1))));
+                log.warn("Photo job {} failed attempt {}, retrying: {}", jobId, job.getAttempts(), message);
+            } else {
+                job.setStatus(PhotoJobStatus.FAILED);
+                job.setFinishedAt(LocalDateTime.now());
+                deleteStagedAfterCommit(job.getFiles());
+                log.error("Photo job {} failed after {} attempts: {}", jobId, job.getAttempts(), message);
+            }
+        }, () -> log.warn("Photo job {} was taken over, not failing attempt {}", jobId, attempt));
+    }
+
+    // Locks the job, so a takeover waits for the caller; empty if the claim is gone
+    private Optional<PhotoJob> findLeased(Long jobId, int attempt) {
+        return photoJobRepository.findByIdForUpdate(jobId)
+                .filter(job -> job.getStatus() == PhotoJobStatus.PROCESSING && job.getAttempts() == attempt);
+    }
+
+    // Keeps the files if the status change rolls back, so the job can still run
+    private void deleteStagedAfterCommit(List<PhotoJobFile> files) {
+        List<PhotoJobFile> staged = List.copyOf(files);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deleteStaged(staged);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deleteStaged(staged);
+            }
+        });
+    }
+
+    private void deleteStaged(List<PhotoJobFile> files) {
+        for (PhotoJobFile file : files) {
+            try {
+                Files.deleteIfExists(stagedPath(file));
+            } catch (IOException e) {
+                log.warn("Could not delete staged photo {}", file.getStagedName(), e);
+            }
+        }
+    }
+
+    private PhotoJobDTO toDto(PhotoJob job) {
+        List<Long> photoIds = job.getFiles().stream()
+                .map(PhotoJobFile::getPhotoId)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PhotoJobDTO(
+                job.getId(),
+                job.getBoatId(),
+                job.getStatus(),
+                job.getTotalFiles(),
+                job.getProcessedFiles(),
+                job.getAttempts(),
+                job.getLastError(),
+                photoIds,
+                job.getCreatedAt(),
+                job.getFinishedAt()
+        );
+    }
+}
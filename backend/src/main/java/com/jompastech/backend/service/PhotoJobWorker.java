@@ -0,0 +1,151 @@
+package com.jompastech.backend.service;
+
+import com.jompastech.backend.config.PhotoUploadConfig;
+import com.jompastech.backend.model.dto.cloudinary.CloudinaryUploadResult;
+import com.jompastech.backend.model.entity.PhotoJob;
+import com.jompastech.backend.model.entity.PhotoJobFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Drains the photo job queue of {@link PhotoJobService}.
+ *
+ * <p>Design Decisions:
+ * <ul>
+ *   <li>Workers poll the queue every {@code app.photos.jobs.poll-interval}, and are woken
+ *       up at once when a job is queued on this instance, so a job starts within
+ *       milliseconds while other instances still pick up the backlog</li>
+ *   <li>At most {@code app.photos.jobs.workers} jobs run at a time per instance; a worker
+ *       keeps claiming jobs until the queue is empty</li>
+ *   <li>Photos are uploaded one at a time and recorded as soon as they are stored, so the
+ *       progress advances per photo and a retry skips what is already done</li>
+ *   <li>A worker whose job was taken over stops at its next recording and deletes the
+ *       image it stored for nothing</li>
+ *   <li>Disabled with {@code app.photos.jobs.enabled=false}, e.g. on instances that should
+ *       only accept uploads</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.photos.jobs.enabled", havingValue = "true", matchIfMissing = true)
+public class PhotoJobWorker {
+
+    private final PhotoJobService photoJobService;
+    private final PhotoStorage photoStorage;
+    private final PhotoUploader photoUploader;
+    private final ThreadPoolTaskScheduler scheduler;
+    private final Duration pollInterval;
+    private final Semaphore workers;
+
+    /**
+     * @param scheduler threads running the workers
+     * @param workers maximum number of jobs processed at the same time
+     * @param pollInterval delay between two looks at the queue of an idle worker
+     */
+    public PhotoJobWorker(PhotoJobService photoJobService,
+                          PhotoStorage photoStorage,
+                          PhotoUploader photoUploader,
+                          @Qualifier(PhotoUploadConfig.PHOTO_JOB_SCHEDULER) ThreadPoolTaskScheduler scheduler,
+                          @Value("${app.photos.jobs.workers:2}") int workers,
+                          @Value("${app.photos.jobs.poll-interval:5s}") Duration pollInterval) {
+        this.photoJobService = photoJobService;
+        this.photoStorage = photoStorage;
+        this.photoUploader = photoUploader;
+        this.scheduler = scheduler;
+        this.pollInterval = pollInterval;
+        this.workers = new Semaphore(workers);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::drain, pollInterval);
+        log.info("Photo job workers started, polling every {}", pollInterval);
+    }
+
+    @EventListener
+    public void onJobQueued(PhotoJobService.PhotoJobQueuedEvent event) {
+        if (workers.availablePermits() > 0) {
+            scheduler.execute(this::drain);
+        }
+    }
+
+    /**
+     * Processes claimable jobs until the queue is empty, if a worker slot is free.
+     */
+    public void drain() {
+        if (!workers.tryAcquire()) {
+            return;
+        }
+        try {
+            Optional<PhotoJob> job;
+            while ((job = photoJobService.claimNext()).isPresent()) {
+                process(job.get());
+            }
+        } catch (RuntimeException e) {
+            // E.g. database unavailable; the next poll tries again
+            log.error("Photo job worker stopped draining the queue", e);
+        } finally {
+            workers.release();
+        }
+    }
+
+    /**
+     * Uploads the pending photos of a claimed job and records the outcome.
+     *
+     * @param job the claimed job, with its files
+     */
+    public void process(PhotoJob job) {
+        int attempt = job.getAttempts();
+        try {
+            List<PhotoJobFile> files = job.getFiles();
+            for (int i = 0; i < files.size(); i++) {
+                PhotoJobFile file = files.get(i);
+                if (file.getPhotoId() != null) {
+                    continue; // processed by an earlier attempt
+                }
+
+                CloudinaryUploadResult stored = photoUploader.upload(new StagedPhotoFile(
+                        photoJobService.stagedPath(file), file.getOriginalFilename(), file.getContentType(), file.getSize()));
+                boolean recorded;
+                try {
+                    recorded = photoJobService.recordProcessed(job.getId(), attempt, i, stored);
+                } catch (RuntimeException e) {
+                    discard(stored);
+                    throw e;
+                }
+                if (!recorded) {
+                    discard(stored);
+                }
+            }
+            photoJobService.complete(job.getId(), attempt);
+        } catch (PhotoJobService.LeaseLostException e) {
+            log.warn("Stopped processing photo job {}: {}", job.getId(), e.getMessage());
+        } catch (Exception e) {
+            photoJobService.fail(job.getId(), attempt, e);
+        }
+    }
+
+    private void discard(CloudinaryUploadResult stored) {
+        if (stored.isReused()) {
+            return; // still shown by other photos
+        }
+        try {
+            photoStorage.deleteImage(stored.getPublicId());
+        } catch (IOException e) {
+            log.error("Failed to delete image {} of a failed photo job. Manual cleanup required",
+                    stored.getPublicId(), e);
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.jompastech.backend.service;
 
+import com.jompastech.backend.config.CacheConfig;
+import com.jompastech.backend.mapper.BoatMapper;
 import com.jompastech.backend.model.dto.cloudinary.BoatPhotoResponseDTO;
 import com.jompastech.backend.model.dto.cloudinary.PhotoOrderUpdateDTO;
+import com.jompastech.backend.model.dto.cloudinary.PhotoUploadSignatureDTO;
+import com.jompastech.backend.model.dto.cloudinary.RegisterPhotosRequestDTO;
 import com.jompastech.backend.model.entity.Boat;
 import com.jompastech.backend.model.entity.BoatPhoto;
 import com.jompastech.backend.repository.BoatPhotoRepository;
@@ -10,13 +14,17 @@ import com.jompastech.backend.model.dto.cloudinary.CloudinaryUploadResult;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -26,9 +34,19 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class PhotoService {
 
+    /** Event published when photos are deleted, before the transaction commits. */
+    public record PhotosDeletedEvent(List<Long> photoIds) {
+    }
+
+    private static final int MAX_PHOTOS_PER_BOAT = 20;
+
     private final BoatRepository boatRepository;
     private final BoatPhotoRepository boatPhotoRepository;
-    private final CloudinaryService cloudinaryService;
+    private final PhotoStorage photoStorage;
+    private final PhotoUploader photoUploader;
+    private final PhotoDeletionQueue photoDeletionQueue;
+    private final BoatCardProjector boatCardProjector;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Adds new photos to an existing boat.
@@ -39,51 +57,32 @@ public class PhotoService {
      * @throws IOException if upload fails
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOAT_DETAILS, key = "#boatId")
     public List<BoatPhotoResponseDTO> addPhotosToBoat(Long boatId, List<MultipartFile> files) throws IOException {
         Boat boat = boatRepository.findById(boatId)
                 .orElseThrow(() -> new EntityNotFoundException("Boat not found with ID: " + boatId));
 
         // Validate file count
         long existingPhotoCount = boatPhotoRepository.countByBoatId(boatId);
-        if (existingPhotoCount + files.size() > 20) {
-            throw new IllegalArgumentException("Maximum 20 photos allowed per boat");
+        if (existingPhotoCount + files.size() > MAX_PHOTOS_PER_BOAT) {
+            throw new IllegalArgumentException("Maximum " + MAX_PHOTOS_PER_BOAT + " photos allowed per boat");
         }
 
         List<CloudinaryUploadResult> uploadResults = new ArrayList<>();
-        List<BoatPhoto> newPhotos = new ArrayList<>();
 
         try {
-            // Upload images to Cloudinary
-            uploadResults = cloudinaryService.uploadImages(files);
-
-            // Determine starting order
-            int startOrder = (int) existingPhotoCount;
-
-            // Create BoatPhoto entities
-            for (int i = 0; i < uploadResults.size(); i++) {
-                CloudinaryUploadResult result = uploadResults.get(i);
-
-                BoatPhoto photo = new BoatPhoto();
-                photo.setPhotoUrl(result.getUrl());
-                photo.setPublicId(result.getPublicId());
-                photo.setFileName(result.getFileName());
-                photo.setOrdem(startOrder + i);
-                photo.setBoat(boat);
-
-                newPhotos.add(photo);
-            }
+            // Upload images to photo storage, reusing images already stored
+            uploadResults = photoUploader.uploadAll(files);
 
-            // Save all photos
-            boatPhotoRepository.saveAll(newPhotos);
+            // Create and save BoatPhoto entities after the existing ones
+            List<BoatPhotoResponseDTO> added = savePhotos(boat, uploadResults, (int) existingPhotoCount);
 
-            log.info("Added {} photos to boat ID: {}", newPhotos.size(), boatId);
+            log.info("Added {} photos to boat ID: {}", added.size(), boatId);
 
-            return newPhotos.stream()
-                    .map(this::convertToResponseDTO)
-                    .collect(Collectors.toList());
+            return added;
 
         } catch (Exception e) {
-            // Rollback uploaded images from Cloudinary
+            // Rollback uploaded images from photo storage
             if (!uploadResults.isEmpty()) {
                 rollbackUploads(uploadResults);
             }
@@ -92,14 +91,101 @@ public class PhotoService {
     }
 
     /**
-     * Deletes a specific photo from a boat and from Cloudinary.
+     * Issues signed parameters for uploading photos of a boat directly to the photo
+     * storage, without sending the image bytes through this application.
+     *
+     * @param boatId the ID of the boat
+     * @param count number of photos to upload
+     * @return one set of upload parameters per photo
+     * @throws IllegalArgumentException if the boat would exceed the photo limit
+     * @throws UnsupportedOperationException if the photo storage has no direct uploads
+     */
+    @Transactional(readOnly = true)
+    public List<PhotoUploadSignatureDTO> createUploadSignatures(Long boatId, int count) {
+        if (!boatRepository.existsById(boatId)) {
+            throw new EntityNotFoundException("Boat not found with ID: " + boatId);
+        }
+        if (count < 1 || boatPhotoRepository.countByBoatId(boatId) + count > MAX_PHOTOS_PER_BOAT) {
+            throw new IllegalArgumentException("Maximum " + MAX_PHOTOS_PER_BOAT + " photos allowed per boat");
+        }
+        return photoStorage.signDirectUploads(boatId, count);
+    }
+
+    /**
+     * Attaches photos uploaded directly to the photo storage to a boat. Every upload
+     * signature is verified before anything is written, then all photos are saved in
+     * one transaction.
+     *
+     * @param boatId the ID of the boat
+     * @param photos fields of the storage upload responses, in display order
+     * @return list of created photo DTOs
+     * @throws IllegalArgumentException if a signature is invalid, a photo was issued for
+     *                                  another boat or is already registered, or the
+     *                                  boat would exceed the photo limit
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOAT_DETAILS, key = "#boatId")
+    public List<BoatPhotoResponseDTO> registerUploadedPhotos(Long boatId,
+                                                             List<RegisterPhotosRequestDTO.UploadedPhoto> photos) {
+        Boat boat = boatRepository.findById(boatId)
+                .orElseThrow(() -> new EntityNotFoundException("Boat not found with ID: " + boatId));
+
+        long existingPhotoCount = boatPhotoRepository.countByBoatId(boatId);
+        if (existingPhotoCount + photos.size() > MAX_PHOTOS_PER_BOAT) {
+            throw new IllegalArgumentException("Maximum " + MAX_PHOTOS_PER_BOAT + " photos allowed per boat");
+        }
+
+        List<String> publicIds = photos.stream()
+                .map(RegisterPhotosRequestDTO.UploadedPhoto::getPublicId)
+                .toList();
+        if (new HashSet<>(publicIds).size() != publicIds.size() || boatPhotoRepository.existsByPublicIdIn(publicIds)) {
+            throw new IllegalArgumentException("Photo already registered");
+        }
+
+        List<CloudinaryUploadResult> verified = photos.stream()
+                .map(photo -> photoStorage.verifyDirectUpload(boatId, photo))
+                .toList();
+        List<BoatPhotoResponseDTO> registered = savePhotos(boat, verified, (int) existingPhotoCount);
+
+        log.info("Registered {} directly uploaded photos for boat ID: {}", registered.size(), boatId);
+
+        return registered;
+    }
+
+    /**
+     * Attaches images already stored in the photo storage to a boat, after its existing
+     * photos. Only touches the database, so the transaction stays short; used by the
+     * background photo jobs, which upload outside of any transaction.
+     *
+     * @param boatId the ID of the boat
+     * @param uploads stored images, in display order
+     * @return list of created photo DTOs
+     * @throws IllegalArgumentException if the boat would exceed the photo limit
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOAT_DETAILS, key = "#boatId")
+    public List<BoatPhotoResponseDTO> attachUploadedPhotos(Long boatId, List<CloudinaryUploadResult> uploads) {
+        Boat boat = boatRepository.findById(boatId)
+                .orElseThrow(() -> new EntityNotFoundException("Boat not found with ID: " + boatId));
+
+        long existingPhotoCount = boatPhotoRepository.countByBoatId(boatId);
+        if (existingPhotoCount + uploads.size() > MAX_PHOTOS_PER_BOAT) {
+            throw new IllegalArgumentException("Maximum " + MAX_PHOTOS_PER_BOAT + " photos allowed per boat");
+        }
+
+        return savePhotos(boat, uploads, (int) existingPhotoCount);
+    }
+
+    /**
+     * Deletes a specific photo from a boat and queues its image for deletion from
+     * photo storage, unless other photos share the image.
      *
      * @param boatId the ID of the boat
      * @param photoId the ID of the photo to delete
-     * @throws IOException if deletion from Cloudinary fails
      */
     @Transactional
-    public void deletePhoto(Long boatId, Long photoId) throws IOException {
+    @CacheEvict(cacheNames = CacheConfig.BOAT_DETAILS, key = "#boatId")
+    public void deletePhoto(Long boatId, Long photoId) {
         BoatPhoto photo = boatPhotoRepository.findById(photoId)
                 .orElseThrow(() -> new EntityNotFoundException("Photo not found with ID: " + photoId));
 
@@ -108,14 +194,19 @@ public class PhotoService {
             throw new IllegalArgumentException("Photo does not belong to the specified boat");
         }
 
-        // Delete from Cloudinary
-        cloudinaryService.deleteImage(photo.getPublicId());
+        // Deleted from photo storage once this transaction commits, if no other photo shows it
+        if (!boatPhotoRepository.existsByPublicIdAndIdNot(photo.getPublicId(), photo.getId())) {
+            photoDeletionQueue.enqueue(List.of(photo.getPublicId()));
+        }
 
         // Delete from database
         boatPhotoRepository.delete(photo);
+        eventPublisher.publishEvent(new PhotosDeletedEvent(List.of(photo.getId())));
 
         // Reorder remaining photos
         reorderPhotosAfterDeletion(boatId, photo.getOrdem());
+        boatRepository.bumpContentVersion(boatId, LocalDateTime.now());
+        boatCardProjector.markStale(boatId);
 
         log.info("Deleted photo ID: {} from boat ID: {}", photoId, boatId);
     }
@@ -127,6 +218,7 @@ public class PhotoService {
      * @param orderUpdate DTO containing photo IDs in desired order
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOAT_DETAILS, key = "#boatId")
     public void updatePhotoOrder(Long boatId, PhotoOrderUpdateDTO orderUpdate) {
         List<Long> photoIds = orderUpdate.getPhotoIdsInOrder();
 
@@ -148,6 +240,8 @@ public class PhotoService {
         }
 
         boatPhotoRepository.saveAll(boatPhotos);
+        boatRepository.bumpContentVersion(boatId, LocalDateTime.now());
+        boatCardProjector.markStale(boatId);
         log.info("Updated photo order for boat ID: {}", boatId);
     }
 
@@ -165,28 +259,43 @@ public class PhotoService {
     }
 
     /**
-     * Deletes all photos for a boat (useful when deleting the boat).
+     * Deletes all photos for a boat (useful when deleting the boat). The images are
+     * queued and deleted from photo storage in batches after the commit.
      *
      * @param boatId the ID of the boat
-     * @throws IOException if deletion from Cloudinary fails
      */
     @Transactional
-    public void deleteAllBoatPhotos(Long boatId) throws IOException {
-        List<BoatPhoto> photos = boatPhotoRepository.findByBoatIdOrderByOrdemAsc(boatId);
+    @CacheEvict(cacheNames = CacheConfig.BOAT_DETAILS, key = "#boatId")
+    public void deleteAllBoatPhotos(Long boatId) {
+        int queued = photoDeletionQueue.enqueueBoatPhotos(boatId);
+        List<Long> photoIds = boatPhotoRepository.findIdsByBoatId(boatId);
 
-        // Delete from Cloudinary
-        List<String> publicIds = photos.stream()
-                .map(BoatPhoto::getPublicId)
-                .collect(Collectors.toList());
+        // Delete from database
+        boatPhotoRepository.deleteByBoatId(boatId);
+        eventPublisher.publishEvent(new PhotosDeletedEvent(photoIds));
+        boatRepository.bumpContentVersion(boatId, LocalDateTime.now());
+        boatCardProjector.markStale(boatId);
 
-        if (!publicIds.isEmpty()) {
-            cloudinaryService.deleteImages(publicIds);
+        log.info("Deleted all {} photos for boat ID: {}", queued, boatId);
+    }
+
+    /**
+     * Saves stored images as photos of a boat, numbered from the given display order,
+     * and refreshes the boat's content version and catalog card.
+     */
+    private List<BoatPhotoResponseDTO> savePhotos(Boat boat, List<CloudinaryUploadResult> uploads, int startOrder) {
+        List<BoatPhoto> newPhotos = new ArrayList<>();
+        for (int i = 0; i < uploads.size(); i++) {
+            newPhotos.add(BoatMapper.toBoatPhoto(uploads.get(i), startOrder + i, boat));
         }
 
-        // Delete from database
-        boatPhotoRepository.deleteByBoatId(boatId);
+        boatPhotoRepository.saveAll(newPhotos);
+        boatRepository.bumpContentVersion(boat.getId(), LocalDateTime.now());
+        boatCardProjector.markStale(boat.getId());
 
-        log.info("Deleted all {} photos for boat ID: {}", photos.size(), boatId);
+        return newPhotos.stream()
+                .map(this::convertToResponseDTO)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -206,20 +315,21 @@ public class PhotoService {
     }
 
     /**
-     * Rolls back uploaded images from Cloudinary in case of failure.
+     * Rolls back uploaded images from photo storage in case of failure.
      */
     private void rollbackUploads(List<CloudinaryUploadResult> uploadResults) {
-        log.warn("Rolling back {} uploaded images due to failure", uploadResults.size());
-
-        List<String> publicIds = uploadResults.stream()
-                .map(CloudinaryUploadResult::getPublicId)
-                .collect(Collectors.toList());
+        // Reused images still belong to other photos
+        List<String> publicIds = PhotoUploader.uploadedPublicIds(uploadResults);
+        if (publicIds.isEmpty()) {
+            return;
+        }
+        log.warn("Rolling back {} uploaded images due to failure", publicIds.size());
 
         try {
-            cloudinaryService.deleteImages(publicIds);
+            photoStorage.deleteImages(publicIds);
             log.info("Rollback completed: {} images deleted", publicIds.size());
         } catch (IOException e) {
-            log.error("Failed to delete images during rollback. Manual cleanup required for public IDs: {}",
+            log.error("Failed to delete images during rollback, left to the orphan reconciler: {}",
                     publicIds, e);
         }
     }
@@ -234,7 +344,8 @@ public class PhotoService {
                 photo.getPublicId(),
                 photo.getFileName(),
                 photo.getOrdem(),
-                photo.getBoat().getId()
+                photo.getBoat().getId(),
+                BoatMapper.toPhotoVariants(photo)
         );
     }
 }
\ No newline at end of file
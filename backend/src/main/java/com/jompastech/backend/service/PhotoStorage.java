@@ -0,0 +1,189 @@
+package com.jompastech.backend.service;
+
+import com.jompastech.backend.model.dto.cloudinary.CloudinaryUploadResult;
+import com.jompastech.backend.model.dto.cloudinary.PhotoUploadSignatureDTO;
+import com.jompastech.backend.model.dto.cloudinary.RegisterPhotosRequestDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Storage backend for boat photos.
+ *
+ * <p>The backend is selected with {@code app.photos.storage}: {@code cloudinary}
+ * (default, {@link CloudinaryService}) or {@code local}
+ * ({@link com.jompastech.backend.service.impl.LocalPhotoStorage}), which keeps the
+ * files on this server for self-hosted deployments, development and load tests.</p>
+ *
+ * <p>Every backend identifies a stored image by the {@code publicId} of its upload
+ * result and serves it from the returned {@code url}.</p>
+ */
+public interface PhotoStorage {
+
+    /** Largest accepted image, in bytes. */
+    long MAX_IMAGE_SIZE = 10 * 1024 * 1024;
+
+    /** Most public IDs deleted by one storage call of {@link #deleteImages}. */
+    int MAX_DELETE_BATCH = 100;
+
+    /**
+     * A stored image, as listed by {@link #listImages}.
+     *
+     * @param publicId public ID returned by the upload
+     * @param createdAt time the image was stored
+     */
+    record StoredImage(String publicId, Instant createdAt) {
+    }
+
+    /**
+     * One page of stored images.
+     *
+     * @param images images of the page
+     * @param nextCursor cursor of the next page, null on the last page
+     */
+    record StoredImagePage(List<StoredImage> images, String nextCursor) {
+    }
+
+    /**
+     * Stores a single image.
+     *
+     * @param file the image file to store (must not be null or empty)
+     * @return URL and public ID of the stored image
+     * @throws IllegalArgumentException if the file fails validation
+     * @throws IOException if the image cannot be stored
+     */
+    CloudinaryUploadResult uploadImage(MultipartFile file) throws IOException;
+
+    /**
+     * Stores several images, all or nothing: if one fails, the others are removed
+     * again before the exception is propagated.
+     *
+     * @param files image files to store, empty files are skipped
+     * @return results in the same order as the non-empty input files
+     * @throws IllegalArgumentException if any file fails validation; nothing is stored then
+     * @throws IOException if any image cannot be stored
+     */
+    List<CloudinaryUploadResult> uploadImages(List<MultipartFile> files) throws IOException;
+
+    /**
+     * Deletes a stored image.
+     *
+     * @param publicId public ID returned by the upload
+     * @throws IOException if the image cannot be deleted
+     */
+    void deleteImage(String publicId) throws IOException;
+
+    /**
+     * Deletes several stored images, in storage calls of at most {@value #MAX_DELETE_BATCH}
+     * IDs. Images that no longer exist count as deleted, so a retry is harmless; a failed
+     * call does not stop the remaining ones.
+     *
+     * @param publicIds public IDs returned by the uploads
+     * @throws IOException if any image cannot be deleted, after all calls were attempted
+     */
+    void deleteImages(List<String> publicIds) throws IOException;
+
+    /**
+     * Opens the original of a stored image for reading, e.g. to derive other sizes from it.
+     *
+     * @param publicId public ID returned by the upload
+     * @return the image bytes, to be closed by the caller
+     * @throws FileNotFoundException if no image has this public ID
+     * @throws IOException if the image cannot be read
+     */
+    InputStream openImage(String publicId) throws IOException;
+
+    /**
+     * Lists the boat photos held by the storage, one page at a time, so images no
+     * longer referenced by any photo can be found.
+     *
+     * @param cursor cursor returned with the previous page, null for the first page
+     * @return the page
+     * @throws IOException if the storage cannot be listed
+     */
+    StoredImagePage listImages(String cursor) throws IOException;
+
+    /**
+     * Issues signed parameters for clients to upload photos of a boat directly to the
+     * storage, so the image bytes never pass through this application.
+     *
+     * @param boatId boat the photos will be attached to
+     * @param count number of photos, one set of parameters each
+     * @return one set of upload parameters per photo
+     * @throws UnsupportedOperationException if the backend has no direct uploads
+     */
+    default List<PhotoUploadSignatureDTO> signDirectUploads(Long boatId, int count) {
+        throw new UnsupportedOperationException("Direct uploads are not supported by this photo storage");
+    }
+
+    /**
+     * Verifies that a photo was uploaded directly with parameters issued by
+     * {@link #signDirectUploads} for the given boat.
+     *
+     * @param boatId boat the photo is registered to
+     * @param photo fields of the storage upload response
+     * @return the stored photo, as if it had been uploaded through {@link #uploadImage}
+     * @throws IllegalArgumentException if the signature is invalid or the photo was
+     *                                  issued for another boat
+     * @throws UnsupportedOperationException if the backend has no direct uploads
+     */
+    default CloudinaryUploadResult verifyDirectUpload(Long boatId, RegisterPhotosRequestDTO.UploadedPhoto photo) {
+        throw new UnsupportedOperationException("Direct uploads are not supported by this photo storage");
+    }
+
+    /**
+     * Validates an image file for type and size constraints shared by all backends.
+     *
+     * @param file the image file to validate
+     * @throws IllegalArgumentException if the file is null, empty, or fails validation
+     */
+    static void validateImageFile(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Image file cannot be null or empty");
+        }
+
+        String contentType = file.getContentType();
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new IllegalArgumentException("Invalid file type. Only image files are allowed");
+        }
+
+        if (file.getSize() > MAX_IMAGE_SIZE) {
+            throw new IllegalArgumentException("File size exceeds maximum limit of 10MB");
+        }
+    }
+
+    /**
+     * Computes the content hash of an image file: the SHA-256 of its bytes, as lowercase
+     * hex. The file is streamed through the digest, never buffered whole.
+     *
+     * <p>This is a read pass of its own: the hash decides whether the file is uploaded at
+     * all, so it cannot be taken during the upload, and the spool before the upload is a
+     * rename that never reads the bytes. The pass reads the part the container has just
+     * written, usually still in the page cache.</p>
+     *
+     * @param file the image file
+     * @return 64 hex characters identifying the content
+     * @throws IOException if the file cannot be read
+     */
+    static String contentHash(MultipartFile file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,165 @@
+package com.jompastech.backend.service;
+
+import com.jompastech.backend.config.PhotoUploadConfig;
+import com.jompastech.backend.model.entity.PhotoDeletion;
+import com.jompastech.backend.repository.BoatPhotoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the photo storage in line with the {@code boat_photos} table.
+ *
+ * <p>Design Decisions:
+ * <ul>
+ *   <li>Drains the {@link PhotoDeletionQueue} every {@code app.photos.cleanup.poll-interval},
+ *       and right after a transaction queued deletions on this instance</li>
+ *   <li>Reconciles every {@code app.photos.cleanup.reconcile-interval}: lists the stored
+ *       images and queues those no photo references, e.g. left by a crash between an
+ *       upload and its insert, or by a failed rollback</li>
+ *   <li>Images younger than {@code app.photos.cleanup.orphan-min-age} are never orphans,
+ *       so uploads still on their way to the database are left alone</li>
+ *   <li>Queued images a photo references again, through content-hash reuse, are dropped
+ *       from the queue without being deleted</li>
+ *   <li>Runs on a single maintenance thread instead of {@code @Scheduled}, like the photo
+ *       job workers; disabled with {@code app.photos.cleanup.enabled=false}</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.photos.cleanup.enabled", havingValue = "true", matchIfMissing = true)
+public class PhotoStorageCleaner {
+
+    private final PhotoDeletionQueue photoDeletionQueue;
+    private final PhotoStorage photoStorage;
+    private final BoatPhotoRepository boatPhotoRepository;
+    private final ThreadPoolTaskScheduler scheduler;
+    private final Duration pollInterval;
+    private final Duration reconcileInterval;
+    private final Duration orphanMinAge;
+    private final AtomicBoolean drainPending = new AtomicBoolean();
+
+    /**
+     * @param scheduler thread running the cleanup
+     * @param pollInterval delay between two looks at the deletion queue
+     * @param reconcileInterval delay between two reconciliations
+     * @param orphanMinAge age an unreferenced image must reach before it is deleted
+     */
+    public PhotoStorageCleaner(PhotoDeletionQueue photoDeletionQueue,
+                               PhotoStorage photoStorage,
+                               BoatPhotoRepository boatPhotoRepository,
+                               @Qualifier(PhotoUploadConfig.PHOTO_MAINTENANCE_SCHEDULER) ThreadPoolTaskScheduler scheduler,
+                               @Value("${app.photos.cleanup.poll-interval:30s}") Duration pollInterval,
+                               @Value("${app.photos.cleanup.reconcile-interval:24h}") Duration reconcileInterval,
+                               @Value("${app.photos.cleanup.orphan-min-age:24h}") Duration orphanMinAge) {
+        this.photoDeletionQueue = photoDeletionQueue;
+        this.photoStorage = photoStorage;
+        this.boatPhotoRepository = boatPhotoRepository;
+        this.scheduler = scheduler;
+        this.pollInterval = pollInterval;
+        this.reconcileInterval = reconcileInterval;
+        this.orphanMinAge = orphanMinAge;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::drainDeletions, pollInterval);
+        scheduler.scheduleWithFixedDelay(this::reconcile, Instant.now().plus(reconcileInterval), reconcileInterval);
+        log.info("Photo storage cleanup started, draining every {}, reconciling every {}", pollInterval, reconcileInterval);
+    }
+
+    // After commit: the deletions are only visible, and only final, once the transaction is done
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeletionsQueued(PhotoDeletionQueue.PhotoDeletionsQueuedEvent event) {
+        if (drainPending.compareAndSet(false, true)) {
+            scheduler.execute(this::drainDeletions);
+        }
+    }
+
+    /**
+     * Deletes due images batch by batch until the queue is empty or the storage fails.
+     *
+     * @return number of images deleted
+     */
+    public int drainDeletions() {
+        drainPending.set(false);
+        int deleted = 0;
+        try {
+            List<PhotoDeletion> batch;
+            while (!(batch = photoDeletionQueue.claimBatch()).isEmpty()) {
+                // An identical upload may have reused an image since it was queued
+                Set<String> publicIds = new LinkedHashSet<>();
+                batch.forEach(deletion -> publicIds.add(deletion.getPublicId()));
+                boatPhotoRepository.findExistingPublicIds(publicIds).forEach(publicIds::remove);
+                try {
+                    if (!publicIds.isEmpty()) {
+                        photoStorage.deleteImages(List.copyOf(publicIds));
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // Partly deleted batches are retried whole; deleting again is a no-op
+                    photoDeletionQueue.markFailed(batch, e);
+                    break;
+                }
+                photoDeletionQueue.markDeleted(batch);
+                deleted += publicIds.size();
+            }
+        } catch (RuntimeException e) {
+            // E.g. database unavailable; the next poll tries again
+            log.error("Photo storage cleanup stopped draining the deletion queue", e);
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} images from the photo storage", deleted);
+        }
+        return deleted;
+    }
+
+    /**
+     * Queues the deletion of stored images no photo references.
+     *
+     * @return number of orphans queued
+     */
+    public int reconcile() {
+        Instant cutoff = Instant.now().minus(orphanMinAge);
+        int orphans = 0;
+        int scanned = 0;
+        try {
+            String cursor = null;
+            do {
+                PhotoStorage.StoredImagePage page = photoStorage.listImages(cursor);
+                Set<String> candidates = new HashSet<>();
+                for (PhotoStorage.StoredImage image : page.images()) {
+                    if (image.createdAt() != null && image.createdAt().isBefore(cutoff)) {
+                        candidates.add(image.publicId());
+                    }
+                }
+                scanned += page.images().size();
+
+                if (!candidates.isEmpty()) {
+                    boatPhotoRepository.findExistingPublicIds(candidates).forEach(candidates::remove);
+                    orphans += photoDeletionQueue.enqueue(candidates);
+                }
+                cursor = page.nextCursor();
+            } while (cursor != null);
+        } catch (IOException | RuntimeException e) {
+            // What was queued so far stays queued; the next run scans again
+            log.error("Photo storage reconciliation stopped after {} images", scanned, e);
+        }
+        log.info("Reconciled {} stored images, {} orphans queued for deletion", scanned, orphans);
+        return orphans;
+    }
+}
@@ -0,0 +1,173 @@
+package com.jompastech.backend.service;
+
+import com.jompastech.backend.model.dto.cloudinary.CloudinaryUploadResult;
+import com.jompastech.backend.model.entity.BoatPhoto;
+import com.jompastech.backend.model.entity.ImageVariant;
+import com.jompastech.backend.repository.BoatPhotoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores uploaded boat photos in the {@link PhotoStorage}, reusing the stored image of
+ * an earlier upload with the same content.
+ *
+ * <p>Design Decisions:
+ * <ul>
+ *   <li>Every file is hashed (SHA-256) from its spooled copy before any storage call; a
+ *       hash already attached to a photo reuses that image, URL and variants, so a
+ *       duplicate costs one local read and no storage I/O at all</li>
+ *   <li>Hashing is a separate read rather than a digest over the upload stream, since
+ *       the upload only happens once the hash is known. Digesting while copying the part
+ *       instead would turn the rename of the storage spool back into a full copy</li>
+ *   <li>Identical files within one request are uploaded once</li>
+ *   <li>The references of a stored image are the photos carrying its public ID: the
+ *       image is queued for deletion only when its last photo goes, and the cleaner
+ *       checks again before deleting, so no counter has to be kept in sync</li>
+ *   <li>Reused images are flagged on the result and never deleted by a rollback, since
+ *       other photos still show them</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PhotoUploader {
+
+    private final PhotoStorage photoStorage;
+    private final BoatPhotoRepository boatPhotoRepository;
+
+    /**
+     * Stores a single image, or reuses the stored image with the same content.
+     *
+     * @param file the image file (must not be null or empty)
+     * @return the stored image, flagged as reused if it was not uploaded again
+     * @throws IllegalArgumentException if the file fails validation
+     * @throws IOException if the image cannot be read or stored
+     */
+    public CloudinaryUploadResult upload(MultipartFile file) throws IOException {
+        return uploadAll(List.of(file)).get(0);
+    }
+
+    /**
+     * Stores several images, all or nothing, uploading only contents not stored yet.
+     *
+     * @param files image files to store, empty files are skipped
+     * @return results in the same order as the non-empty input files
+     * @throws IllegalArgumentException if any file fails validation; nothing is stored then
+     * @throws IOException if any file cannot be read or any image cannot be stored
+     */
+    public List<CloudinaryUploadResult> uploadAll(List<MultipartFile> files) throws IOException {
+        List<MultipartFile> toStore = files.stream()
+                .filter(file -> !file.isEmpty())
+                .toList();
+        toStore.forEach(PhotoStorage::validateImageFile);
+        if (toStore.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> hashes = new ArrayList<>(toStore.size());
+        for (MultipartFile file : toStore) {
+            hashes.add(PhotoStorage.contentHash(file));
+        }
+
+        Map<String, CloudinaryUploadResult> stored = new HashMap<>();
+        for (BoatPhoto photo : boatPhotoRepository.findReusableByContentHashIn(hashes)) {
+            stored.putIfAbsent(photo.getContentHash(), storedImage(photo));
+        }
+
+        // First file of every content not stored yet
+        Map<String, MultipartFile> missing = new LinkedHashMap<>();
+        for (int i = 0; i < toStore.size(); i++) {
+            if (!stored.containsKey(hashes.get(i))) {
+                missing.putIfAbsent(hashes.get(i), toStore.get(i));
+            }
+        }
+
+        Map<String, CloudinaryUploadResult> uploaded = new HashMap<>();
+        if (!missing.isEmpty()) {
+            List<String> missingHashes = new ArrayList<>(missing.keySet());
+            List<CloudinaryUploadResult> results = photoStorage.uploadImages(new ArrayList<>(missing.values()));
+            for (int i = 0; i < results.size(); i++) {
+                results.get(i).setContentHash(missingHashes.get(i));
+                uploaded.put(missingHashes.get(i), results.get(i));
+            }
+        }
+
+        List<CloudinaryUploadResult> results = new ArrayList<>(toStore.size());
+        for (int i = 0; i < toStore.size(); i++) {
+            String hash = hashes.get(i);
+            CloudinaryUploadResult fresh = uploaded.remove(hash);
+            if (fresh != null) {
+                results.add(fresh);
+            } else if (stored.containsKey(hash)) {
+                results.add(reuse(stored.get(hash), toStore.get(i)));
+            } else {
+                // Same content as an earlier file of this request
+                results.add(reuse(results.get(hashes.indexOf(hash)), toStore.get(i)));
+            }
+        }
+
+        int reused = (int) results.stream().filter(CloudinaryUploadResult::isReused).count();
+        if (reused > 0) {
+            log.info("Reused {} stored images for {} uploaded files", reused, toStore.size());
+        }
+        return results;
+    }
+
+    /**
+     * Public IDs of the images a rollback of these results should delete: the freshly
+     * uploaded ones only.
+     *
+     * @param results results of {@link #upload} or {@link #uploadAll}
+     * @return public IDs of the images that were not reused
+     */
+    public static List<String> uploadedPublicIds(List<CloudinaryUploadResult> results) {
+        return results.stream()
+                .filter(result -> !result.isReused())
+                .map(CloudinaryUploadResult::getPublicId)
+                .distinct()
+                .toList();
+    }
+
+    // The stored image of a photo, as returned by its upload
+    private static CloudinaryUploadResult storedImage(BoatPhoto photo) {
+        CloudinaryUploadResult result = new CloudinaryUploadResult(
+                photo.getPhotoUrl(), photo.getPublicId(), photo.getFileName(), null, null);
+        result.setWidth(photo.getWidth());
+        result.setHeight(photo.getHeight());
+        result.setPlaceholder(photo.getPlaceholder());
+        result.setThumbnail(photo.getThumbnail());
+        result.setCard(photo.getCard());
+        result.setFull(photo.getFull());
+        result.setContentHash(photo.getContentHash());
+        return result;
+    }
+
+    // A reference to an already stored image for another upload of the same content
+    private static CloudinaryUploadResult reuse(CloudinaryUploadResult original, MultipartFile file) {
+        CloudinaryUploadResult result = new CloudinaryUploadResult(
+                original.getUrl(), original.getPublicId(), file.getOriginalFilename(), file.getSize(), file.getContentType());
+        result.setWidth(original.getWidth());
+        result.setHeight(original.getHeight());
+        result.setPlaceholder(original.getPlaceholder());
+        result.setThumbnail(copy(original.getThumbnail()));
+        result.setCard(copy(original.getCard()));
+        result.setFull(copy(original.getFull()));
+        result.setContentHash(original.getContentHash());
+        result.setReused(true);
+        return result;
+    }
+
+    // Embeddables must not be shared between entities
+    private static ImageVariant copy(ImageVariant variant) {
+        return variant == null ? null : new ImageVariant(variant.getUrl(), variant.getWidth(), variant.getHeight());
+    }
+}
@@ -0,0 +1,337 @@
+package com.jompastech.backend.service;
+
+import com.cloudinary.EagerTransformation;
+import com.cloudinary.Transformation;
+import com.jompastech.backend.model.dto.cloudinary.CloudinaryUploadResult;
+import com.jompastech.backend.model.entity.ImageVariant;
+import com.jompastech.backend.model.enums.PhotoVariant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Image processing stage of the photo upload.
+ *
+ * <p>Design Decisions:
+ * <ul>
+ *   <li>Resizing and transcoding run on Cloudinary as eager transformations of the upload
+ *       call, so the variants exist before the photo is saved and no image is decoded at
+ *       full size on this server</li>
+ *   <li>The original is capped at {@value #MAX_ORIGINAL_SIZE}px and re-encoded on the way
+ *       in, which also drops EXIF metadata (camera, GPS position of the marina, etc.)</li>
+ *   <li>Variants are WebP: every supported browser decodes it and it is far cheaper to
+ *       encode than AVIF, which would slow down the upload request</li>
+ *   <li>The placeholder is computed locally from the spooled file, decoding only every
+ *       n-th pixel, so memory stays small whatever the size of the image</li>
+ *   <li>Sizes requested later through {@link ImageProxyService} are rendered locally the
+ *       same way, then cached on disk</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class PhotoVariantProcessor {
+
+    /** Longest side of the stored original, in pixels. */
+    static final int MAX_ORIGINAL_SIZE = 2560;
+
+    /** Longest side of the placeholder, in pixels. */
+    static final int PLACEHOLDER_SIZE = 24;
+
+    private static final String VARIANT_FORMAT = "webp";
+
+    // JPEG quality of renditions made on this server
+    private static final float RENDITION_QUALITY = 0.82f;
+
+    /**
+     * Cloudinary upload options applying the processing stage.
+     *
+     * @return options to merge into the upload call
+     */
+    public Map<String, Object> uploadOptions() {
+        List<EagerTransformation> eager = Arrays.stream(PhotoVariant.values())
+                .map(variant -> applyBox(new EagerTransformation(), variant).format(VARIANT_FORMAT))
+                .toList();
+
+        return Map.of(
+                "resource_type", "image",
+                "transformation", originalTransformation(),
+                "eager", eager
+        );
+    }
+
+    /**
+     * The {@code eager} upload parameter as sent on the wire, for uploads signed here
+     * and sent by the client directly to Cloudinary.
+     */
+    public String eagerParameter() {
+        return Arrays.stream(PhotoVariant.values())
+                .map(variant -> variantTransformation(variant).generate() + "/" + VARIANT_FORMAT)
+                .collect(Collectors.joining("|"));
+    }
+
+    /**
+     * The {@code transformation} upload parameter as sent on the wire, capping the original.
+     */
+    public String transformationParameter() {
+        return originalTransformation().generate();
+    }
+
+    /**
+     * Transformation producing a variant, also the path segment of its delivery URL.
+     *
+     * @param variant the variant
+     * @return the Cloudinary transformation
+     */
+    public Transformation variantTransformation(PhotoVariant variant) {
+        return applyBox(new Transformation(), variant);
+    }
+
+    /**
+     * Describes a variant derived from an original of known size, without asking
+     * Cloudinary: fill crops produce exactly the variant box, limit crops scale the
+     * original down to fit it and never scale up.
+     *
+     * @param variant the variant
+     * @param url delivery URL of the variant
+     * @param width width of the original, null if unknown
+     * @param height height of the original, null if unknown
+     * @return the variant with its expected dimensions
+     */
+    public ImageVariant derivedVariant(PhotoVariant variant, String url, Integer width, Integer height) {
+        if ("fill".equals(variant.getCrop())) {
+            return new ImageVariant(url, variant.getWidth(), variant.getHeight());
+        }
+        if (width == null || height == null || width <= 0 || height <= 0) {
+            return new ImageVariant(url, null, null);
+        }
+        double scale = Math.min(1.0, Math.min((double) variant.getWidth() / width, (double) variant.getHeight() / height));
+        return new ImageVariant(url, (int) Math.round(width * scale), (int) Math.round(height * scale));
+    }
+
+    // Gravity only applies to cropping modes, Cloudinary rejects it on limit
+    @SuppressWarnings("unchecked")
+    private static <T extends Transformation> T applyBox(T transformation, PhotoVariant variant) {
+        transformation.width(variant.getWidth()).height(variant.getHeight()).crop(variant.getCrop());
+        if ("fill".equals(variant.getCrop())) {
+            transformation.gravity("auto");
+        }
+        return (T) transformation.quality("auto");
+    }
+
+    private static Transformation originalTransformation() {
+        return new Transformation()
+                .width(MAX_ORIGINAL_SIZE)
+                .height(MAX_ORIGINAL_SIZE)
+                .crop("limit");
+    }
+
+    /**
+     * Copies the dimensions of the original and its variants from the Cloudinary
+     * response onto the upload result. Eager results come back in request order,
+     * one per {@link PhotoVariant}.
+     *
+     * @param result upload result to complete
+     * @param response raw Cloudinary upload response
+     */
+    public void applyVariants(CloudinaryUploadResult result, Map<?, ?> response) {
+        result.setWidth(asInteger(response.get("width")));
+        result.setHeight(asInteger(response.get("height")));
+
+        if (!(response.get("eager") instanceof List<?> eager) || eager.size() != PhotoVariant.values().length) {
+            log.warn("Upload of {} returned no variants", result.getPublicId());
+            return;
+        }
+        for (PhotoVariant variant : PhotoVariant.values()) {
+            Map<?, ?> rendition = (Map<?, ?>) eager.get(variant.ordinal());
+            ImageVariant image = new ImageVariant(
+                    (String) rendition.get("secure_url"),
+                    asInteger(rendition.get("width")),
+                    asInteger(rendition.get("height")));
+            result.setVariant(variant, image);
+        }
+    }
+
+    /**
+     * Computes a low quality image placeholder: a blurry JPEG of at most
+     * {@value #PLACEHOLDER_SIZE}px on its longest side, as a data URI.
+     *
+     * @param image image file to read
+     * @return the data URI, or null if the format cannot be decoded here
+     */
+    public String placeholder(Path image) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(image.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                BufferedImage sampled = reader.read(0, subsampled(reader));
+                return toDataUri(shrink(sampled));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not compute placeholder for {}", image, e);
+            return null;
+        }
+    }
+
+    /**
+     * Renders an image scaled down to fit a box, never up, on this server; used by the
+     * image proxy for sizes Cloudinary did not generate at upload. Only every n-th pixel
+     * is decoded, keeping at least twice the target resolution for a smooth result.
+     *
+     * @param original the image bytes, read once
+     * @param maxWidth width of the box, in pixels
+     * @param maxHeight height of the box, in pixels
+     * @param format ImageIO format name of the rendition, e.g. {@code jpeg} or {@code png}
+     * @param target file receiving the rendition
+     * @throws IllegalArgumentException if the image cannot be decoded or the format is not supported
+     * @throws IOException if the image cannot be read or written
+     */
+    public void render(InputStream original, int maxWidth, int maxHeight, String format, Path target) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original)) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Image format not supported");
+            }
+            ImageReader reader = readers.next();
+            BufferedImage decoded;
+            int width;
+            int height;
+            try {
+                reader.setInput(input, true, true);
+                double scale = Math.min(1.0, Math.min((double) maxWidth / reader.getWidth(0),
+                        (double) maxHeight / reader.getHeight(0)));
+                width = Math.max(1, (int) Math.round(reader.getWidth(0) * scale));
+                height = Math.max(1, (int) Math.round(reader.getHeight(0) * scale));
+
+                int step = Math.max(1, reader.getWidth(0) / (width * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                decoded = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+            write(scale(decoded, width, height, !"jpeg".equals(format)), format, target);
+        }
+    }
+
+    /**
+     * Applies the processing of the original on this server, for backends that store it
+     * themselves: scales it down to {@value #MAX_ORIGINAL_SIZE}px and re-encodes it, so
+     * EXIF and other metadata are not carried over.
+     *
+     * @param original the image bytes, read once
+     * @param format ImageIO format name of the stored original, {@code jpeg} or {@code png}
+     * @param target file receiving the original
+     * @throws IllegalArgumentException if the image cannot be decoded or the format is not supported
+     * @throws IOException if the image cannot be read or written
+     */
+    public void processOriginal(InputStream original, String format, Path target) throws IOException {
+        render(original, MAX_ORIGINAL_SIZE, MAX_ORIGINAL_SIZE, format, target);
+    }
+
+    // Reads only every n-th pixel, so the decoded image is close to the placeholder size
+    private ImageReadParam subsampled(ImageReader reader) throws IOException {
+        int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+        int step = Math.max(1, longestSide / (PLACEHOLDER_SIZE * 4));
+        ImageReadParam param = reader.getDefaultReadParam();
+        param.setSourceSubsampling(step, step, 0, 0);
+        return param;
+    }
+
+    // Scales down to the placeholder size on an opaque RGB canvas, as required by JPEG
+    private BufferedImage shrink(BufferedImage source) {
+        double scale = Math.min(1.0, (double) PLACEHOLDER_SIZE / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    // Draws the image at the given size; formats without transparency get a white background
+    private BufferedImage scale(BufferedImage source, int width, int height, boolean alpha) {
+        BufferedImage target = new BufferedImage(width, height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, alpha ? null : Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void write(BufferedImage image, String format, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            throw new IllegalArgumentException("Image format not supported: " + format);
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpeg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(RENDITION_QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private String toDataUri(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(0.5f);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    private static Integer asInteger(Object value) {
+        return value instanceof Number number ? number.intValue() : null;
+    }
+}
@@ -0,0 +1,415 @@
+package com.jompastech.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jompastech.backend.exception.EntityNotFoundException;
+import com.jompastech.backend.model.dto.cloudinary.BoatPhotoResponseDTO;
+import com.jompastech.backend.model.dto.cloudinary.ResumableUploadDTO;
+import com.jompastech.backend.model.dto.cloudinary.ResumableUploadRequestDTO;
+import com.jompastech.backend.repository.BoatRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Resumable photo uploads, following the tus protocol: the client announces a photo,
+ * sends it in chunks with {@code PATCH} requests carrying the byte offset, and
+ * completes the upload, which hands the assembled file to {@link PhotoService}.
+ *
+ * <p>Design Decisions:
+ * <ul>
+ *   <li>Chunks are appended to a part file on local disk; its size is the upload offset,
+ *       so there is no separate counter that could disagree with the data after a crash</li>
+ *   <li>A dropped chunk keeps the bytes that arrived, and the client resumes from the
+ *       offset reported by {@code HEAD}; only the missing bytes are sent again</li>
+ *   <li>A chunk sent with an {@code Upload-Checksum} is all or nothing: on mismatch the
+ *       part file is truncated back to where the chunk started</li>
+ *   <li>Chunks are streamed through a fixed buffer, so memory stays constant whatever the
+ *       chunk size, and each request only lasts as long as its chunk</li>
+ *   <li>Sessions expire after {@code app.photos.resumable.ttl}; expired ones are removed
+ *       whenever a new upload is created</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class ResumableUploadService {
+
+    /** Status answered when a chunk does not match its {@code Upload-Checksum}, as defined by tus. */
+    public static final HttpStatusCode CHECKSUM_MISMATCH = HttpStatusCode.valueOf(460);
+
+    private static final Pattern UPLOAD_ID = Pattern.compile("[0-9a-f]{32}");
+    private static final String PART_SUFFIX = ".part";
+    private static final String INFO_SUFFIX = ".json";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final Duration ttl;
+    private final BoatRepository boatRepository;
+    private final PhotoService photoService;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * @param directory directory holding the uploads in progress, created if missing
+     * @param ttl time after which an unfinished upload is discarded
+     */
+    public ResumableUploadService(@Value("${app.photos.resumable.dir:${java.io.tmpdir}/timoneiro-resumable}") Path directory,
+                                  @Value("${app.photos.resumable.ttl:24h}") Duration ttl,
+                                  BoatRepository boatRepository,
+                                  PhotoService photoService,
+                                  ObjectMapper objectMapper) throws IOException {
+        this.directory = Files.createDirectories(directory).toAbsolutePath();
+        this.ttl = ttl;
+        this.boatRepository = boatRepository;
+        this.photoService = photoService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Upload metadata, stored next to the part file.
+     */
+    record Session(String uploadId, Long boatId, String fileName, String contentType,
+                   long length, String checksum, Instant createdAt) {
+    }
+
+    /**
+     * Starts a resumable upload of one photo.
+     *
+     * @param boatId the ID of the boat the photo is added to
+     * @param request name, type and size of the photo
+     * @return the new upload, at offset 0
+     * @throws EntityNotFoundException if the boat does not exist
+     * @throws IllegalArgumentException if the photo is not an image or too large
+     */
+    public ResumableUploadDTO create(Long boatId, ResumableUploadRequestDTO request) throws IOException {
+        if (!boatRepository.existsById(boatId)) {
+            throw new EntityNotFoundException("Boat not found with ID: " + boatId);
+        }
+        if (!request.getContentType().toLowerCase(Locale.ROOT).startsWith("image/")) {
+            throw new IllegalArgumentException("Invalid file type. Only image files are allowed");
+        }
+        if (request.getLength() > PhotoStorage.MAX_IMAGE_SIZE) {
+            throw new IllegalArgumentException("File size exceeds maximum limit of 10MB");
+        }
+
+        purgeExpired();
+
+        Session session = new Session(
+                UUID.randomUUID().toString().replace("-", ""),
+                boatId,
+                request.getFileName(),
+                request.getContentType(),
+                request.getLength(),
+                request.getChecksum() != null ? request.getChecksum().toLowerCase(Locale.ROOT) : null,
+                Instant.now());
+
+        Files.createFile(partFile(session.uploadId()));
+        // Written last and atomically: an upload exists once its metadata does
+        Path temporary = Files.createTempFile(directory, ".upload-", ".tmp");
+        try {
+            objectMapper.writeValue(temporary.toFile(), session);
+            Files.move(temporary, infoFile(session.uploadId()), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+
+        log.info("Created resumable upload {} of {} bytes for boat ID: {}", session.uploadId(), session.length(), boatId);
+        return toDto(session, 0);
+    }
+
+    /**
+     * Reads the state of an upload, in particular the offset to resume from.
+     *
+     * @throws EntityNotFoundException if the upload does not exist, expired, or belongs to another boat
+     */
+    public ResumableUploadDTO status(Long boatId, String uploadId) throws IOException {
+        Session session = load(boatId, uploadId);
+        return toDto(session, offsetOf(uploadId));
+    }
+
+    /**
+     * Appends a chunk to an upload.
+     *
+     * @param boatId the ID of the boat
+     * @param uploadId the upload
+     * @param offset offset the chunk starts at, must equal the current offset
+     * @param checksum optional {@code Upload-Checksum} header: {@code sha256 <base64 digest>}
+     * @param chunk the chunk bytes
+     * @return the offset after the chunk
+     * @throws EntityNotFoundException if the upload does not exist
+     * @throws ResponseStatusException 409 if the offset is not the current one, 423 if another
+     *                                 chunk of the same upload is being written,
+     *                                 {@link #CHECKSUM_MISMATCH} if the chunk is corrupt
+     * @throws IllegalArgumentException if the chunk runs past the announced length or the
+     *                                  checksum algorithm is not supported
+     */
+    public long appendChunk(Long boatId, String uploadId, long offset, String checksum, InputStream chunk)
+            throws IOException {
+        Session session = load(boatId, uploadId);
+        MessageDigest digest = checksum != null ? checksumDigest(checksum) : null;
+
+        ReentrantLock lock = lockFor(uploadId);
+        try {
+            Path part = partFile(uploadId);
+            long current = offsetOf(uploadId);
+            if (offset != current) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Upload offset is " + current);
+            }
+
+            try (FileChannel channel = FileChannel.open(part, StandardOpenOption.WRITE)) {
+                channel.position(current);
+                long end = writeChunk(channel, chunk, digest, session.length() - current, current);
+
+                if (digest != null && !MessageDigest.isEqual(digest.digest(), expectedDigest(checksum))) {
+                    channel.truncate(current);
+                    throw new ResponseStatusException(CHECKSUM_MISMATCH, "Chunk does not match its checksum");
+                }
+                channel.force(false);
+                return end;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Completes an upload: verifies the whole photo and adds it to the boat through
+     * {@link PhotoService#addPhotosToBoat}. The upload is removed once the photo is saved
+     * and kept otherwise, so the client can retry the completion.
+     *
+     * @return the added photo
+     * @throws EntityNotFoundException if the upload does not exist
+     * @throws ResponseStatusException 409 if bytes are still missing, 423 if a chunk is being
+     *                                 written, {@link #CHECKSUM_MISMATCH} if the photo does not
+     *                                 match the checksum given at creation; the upload is
+     *                                 discarded in that case
+     */
+    public List<BoatPhotoResponseDTO> complete(Long boatId, String uploadId) throws IOException {
+        Session session = load(boatId, uploadId);
+
+        ReentrantLock lock = lockFor(uploadId);
+        try {
+            Path part = partFile(uploadId);
+            long received = offsetOf(uploadId);
+            if (received != session.length()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Upload incomplete: " + received + " of " + session.length() + " bytes received");
+            }
+            if (session.checksum() != null && !session.checksum().equals(sha256Hex(part))) {
+                delete(uploadId);
+                throw new ResponseStatusException(CHECKSUM_MISMATCH, "Photo does not match its checksum");
+            }
+
+            List<BoatPhotoResponseDTO> added = photoService.addPhotosToBoat(boatId,
+                    List.of(new StagedPhotoFile(part, session.fileName(), session.contentType(), session.length())));
+            delete(uploadId);
+
+            log.info("Completed resumable upload {} for boat ID: {}", uploadId, boatId);
+            return added;
+        } finally {
+            lock.unlock();
+            locks.remove(uploadId, lock);
+        }
+    }
+
+    /**
+     * Abandons an upload and removes its data.
+     *
+     * @throws EntityNotFoundException if the upload does not exist
+     */
+    public void abort(Long boatId, String uploadId) throws IOException {
+        load(boatId, uploadId);
+
+        ReentrantLock lock = lockFor(uploadId);
+        try {
+            delete(uploadId);
+            log.info("Aborted resumable upload {} for boat ID: {}", uploadId, boatId);
+        } finally {
+            lock.unlock();
+            locks.remove(uploadId, lock);
+        }
+    }
+
+    /**
+     * Removes the uploads older than the configured time to live.
+     *
+     * @return number of uploads removed
+     */
+    public int purgeExpired() throws IOException {
+        Instant cutoff = Instant.now().minus(ttl);
+        int purged = 0;
+        try (DirectoryStream<Path> infos = Files.newDirectoryStream(directory, "*" + INFO_SUFFIX)) {
+            for (Path info : infos) {
+                String uploadId = info.getFileName().toString().replace(INFO_SUFFIX, "");
+                if (Files.getLastModifiedTime(info).toInstant().isBefore(cutoff) && !isLocked(uploadId)) {
+                    delete(uploadId);
+                    locks.remove(uploadId);
+                    purged++;
+                }
+            }
+        }
+        if (purged > 0) {
+            log.info("Purged {} expired resumable uploads", purged);
+        }
+        return purged;
+    }
+
+    // Copies the chunk through a fixed buffer, never past the announced length
+    private long writeChunk(FileChannel channel, InputStream chunk, MessageDigest digest,
+                            long remaining, long start) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long written = 0;
+        try {
+            int read;
+            while ((read = chunk.read(buffer)) != -1) {
+                if (written + read > remaining) {
+                    throw new IllegalArgumentException("Chunk exceeds the upload length");
+                }
+                if (digest != null) {
+                    digest.update(buffer, 0, read);
+                }
+                ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, read);
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                written += read;
+            }
+            return start + written;
+        } catch (IOException | RuntimeException e) {
+            // Keep what arrived of an unchecked chunk so the client resumes from there,
+            // but never part of a chunk that cannot be verified
+            if (digest != null || e instanceof IllegalArgumentException) {
+                channel.truncate(start);
+            } else {
+                channel.force(false);
+            }
+            throw e;
+        }
+    }
+
+    private Session load(Long boatId, String uploadId) throws IOException {
+        if (uploadId == null || !UPLOAD_ID.matcher(uploadId).matches()) {
+            throw new EntityNotFoundException("Upload not found: " + uploadId);
+        }
+        Session session;
+        try {
+            session = objectMapper.readValue(Files.readAllBytes(infoFile(uploadId)), Session.class);
+        } catch (NoSuchFileException e) {
+            throw new EntityNotFoundException("Upload not found: " + uploadId);
+        }
+        if (!session.boatId().equals(boatId) || session.createdAt().plus(ttl).isBefore(Instant.now())
+                || !Files.exists(partFile(uploadId))) {
+            throw new EntityNotFoundException("Upload not found: " + uploadId);
+        }
+        return session;
+    }
+
+    // The part file size is the offset; it disappears if the upload was aborted meanwhile
+    private long offsetOf(String uploadId) throws IOException {
+        try {
+            return Files.size(partFile(uploadId));
+        } catch (NoSuchFileException e) {
+            throw new EntityNotFoundException("Upload not found: " + uploadId);
+        }
+    }
+
+    private ReentrantLock lockFor(String uploadId) {
+        ReentrantLock lock = locks.computeIfAbsent(uploadId, id -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            throw new ResponseStatusException(HttpStatus.LOCKED, "Upload " + uploadId + " is busy");
+        }
+        return lock;
+    }
+
+    private boolean isLocked(String uploadId) {
+        ReentrantLock lock = locks.get(uploadId);
+        return lock != null && lock.isLocked();
+    }
+
+    private void delete(String uploadId) throws IOException {
+        Files.deleteIfExists(infoFile(uploadId));
+        Files.deleteIfExists(partFile(uploadId));
+    }
+
+    private Path partFile(String uploadId) {
+        return directory.resolve(uploadId + PART_SUFFIX);
+    }
+
+    private Path infoFile(String uploadId) {
+        return directory.resolve(uploadId + INFO_SUFFIX);
+    }
+
+    private ResumableUploadDTO toDto(Session session, long offset) {
+        return new ResumableUploadDTO(
+                session.uploadId(),
+                session.boatId(),
+                session.fileName(),
+                session.contentType(),
+                session.length(),
+                offset,
+                session.createdAt().plus(ttl).getEpochSecond());
+    }
+
+    private static MessageDigest checksumDigest(String checksum) {
+        String algorithm = checksum.strip().split(" ", 2)[0].toLowerCase(Locale.ROOT);
+        if (!"sha256".equals(algorithm)) {
+            throw new IllegalArgumentException("Unsupported checksum algorithm: " + algorithm);
+        }
+        return sha256();
+    }
+
+    private static byte[] expectedDigest(String checksum) {
+        String[] parts = checksum.strip().split(" ", 2);
+        try {
+            return Base64.getDecoder().decode(parts.length == 2 ? parts[1].strip() : "");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed checksum: " + checksum);
+        }
+    }
+
+    private static String sha256Hex(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
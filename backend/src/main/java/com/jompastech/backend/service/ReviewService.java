@@ -88,6 +88,7 @@ public class ReviewService {
         review.setBoat(boat);
 
         Review savedReview = reviewRepository.save(review);
+        boatService.markContentChanged(boat.getId());
         return reviewMapper.toResponseDTO(savedReview);
     }
 
@@ -114,6 +115,7 @@ public class ReviewService {
         existingReview.setComment(reviewRequest.getComment());
 
         Review updatedReview = reviewRepository.save(existingReview);
+        boatService.markContentChanged(existingReview.getBoat().getId());
         return reviewMapper.toResponseDTO(updatedReview);
     }
 
@@ -162,6 +164,7 @@ public class ReviewService {
         }
 
         reviewRepository.delete(review);
+        boatService.markContentChanged(review.getBoat().getId());
     }
 
     /**
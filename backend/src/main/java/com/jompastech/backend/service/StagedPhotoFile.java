@@ -0,0 +1,82 @@
+package com.jompastech.backend.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Presents a photo kept on local disk to the photo pipeline as an uploaded file.
+ *
+ * <p>The transfer copies the file instead of moving it, so the staged photo survives a
+ * failed upload to the storage and can be processed again.</p>
+ */
+public final class StagedPhotoFile implements MultipartFile {
+
+    private final Path path;
+    private final String originalFilename;
+    private final String contentType;
+    private final long size;
+
+    /**
+     * @param path the staged photo
+     * @param originalFilename name of the photo on the client
+     * @param contentType declared content type of the photo
+     * @param size size of the photo, in bytes
+     */
+    public StagedPhotoFile(Path path, String originalFilename, String contentType, long size) {
+        this.path = path;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.size = size;
+    }
+
+    @Override
+    public String getName() {
+        return "images";
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        transferTo(dest.toPath());
+    }
+
+    @Override
+    public void transferTo(Path dest) throws IOException {
+        Files.copy(path, dest, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
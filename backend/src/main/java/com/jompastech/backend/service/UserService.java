@@ -30,6 +30,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final BoatService boatService;
     @Autowired
     private AuthenticationManager authenticationManager;
 
@@ -37,10 +38,12 @@ public class UserService {
     private JwtUtil jwtUtil;
 
     @Autowired
-    public UserService(UserRepository userRepository, UserMapper userMapper, PasswordEncoder passwordEncoder){
+    public UserService(UserRepository userRepository, UserMapper userMapper, PasswordEncoder passwordEncoder,
+                       BoatService boatService){
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.passwordEncoder = passwordEncoder;
+        this.boatService = boatService;
     }
 
     /**
@@ -131,6 +134,8 @@ public class UserService {
             }
         }
 
+        String previousName = existing.getName();
+
         // merge  without killing null fields
         userMapper.updateEntityFromRequest(dto, existing);
 
@@ -140,6 +145,11 @@ public class UserService {
         }
 
         User saved = userRepository.save(existing);
+
+        // Owner name is shown on the details and catalog cards of their boats
+        if (saved.getName() != null && !saved.getName().equals(previousName)) {
+            boatService.ownerRenamed(saved.getId(), saved.getName());
+        }
         return userMapper.toResponseDTO(saved);
     }
 
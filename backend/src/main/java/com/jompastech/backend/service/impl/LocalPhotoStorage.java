@@ -0,0 +1,219 @@
+package com.jompastech.backend.service.impl;
+
+import com.jompastech.backend.model.dto.cloudinary.CloudinaryUploadResult;
+import com.jompastech.backend.service.PhotoStorage;
+import com.jompastech.backend.service.PhotoVariantProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * {@link PhotoStorage} backend keeping the images on the local filesystem.
+ * Enabled with {@code app.photos.storage=local}; the files are served by
+ * {@code PhotoFileController}.
+ *
+ * <p>Design Decisions:
+ * <ul>
+ *   <li>Each image is written to a temporary file in the storage directory, flushed to
+ *       disk and atomically renamed to its final name, so a reader never sees a partial
+ *       file and a crash leaves at most a stray temporary file</li>
+ *   <li>File names are random and never reused, which lets them be cached forever</li>
+ *   <li>The original goes through the processing stage of {@link PhotoVariantProcessor}
+ *       on this server: capped in size and re-encoded as JPEG, or PNG for the other
+ *       formats, so EXIF metadata such as the GPS position never reaches the public URL</li>
+ *   <li>What Cloudinary does beyond that is skipped: no variants are generated, so clients
+ *       fall back to the original URL; animated GIFs keep their first frame only; and
+ *       formats the JDK cannot decode (WebP, AVIF) are rejected rather than stored as sent</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.photos.storage", havingValue = "local")
+public class LocalPhotoStorage implements PhotoStorage {
+
+    /** Path the stored files are served from. */
+    public static final String FILES_PATH = "/api/public/photos/";
+
+    static final int LIST_PAGE_SIZE = 500;
+
+    // Random 32 hex digit name plus the extension chosen on upload; nothing else is served
+    private static final Pattern FILE_NAME = Pattern.compile("[0-9a-f]{32}\\.[a-z]{3,4}");
+
+    private final Path root;
+    private final String baseUrl;
+    private final PhotoVariantProcessor variantProcessor;
+
+    /**
+     * @param root directory holding the stored images, created if missing
+     * @param baseUrl scheme and host prefixed to the file URLs, empty for relative URLs
+     * @param variantProcessor used to process the original and compute its placeholder
+     */
+    public LocalPhotoStorage(@Value("${app.photos.local.root:${java.io.tmpdir}/timoneiro-photos}") Path root,
+                             @Value("${app.photos.local.base-url:}") String baseUrl,
+                             PhotoVariantProcessor variantProcessor) throws IOException {
+        this.root = Files.createDirectories(root).toAbsolutePath();
+        this.baseUrl = baseUrl;
+        this.variantProcessor = variantProcessor;
+        log.info("Storing boat photos on local disk at {}", this.root);
+    }
+
+    @Override
+    public CloudinaryUploadResult uploadImage(MultipartFile file) throws IOException {
+        PhotoStorage.validateImageFile(file);
+
+        boolean jpeg = isJpeg(file.getContentType());
+        String fileName = UUID.randomUUID().toString().replace("-", "") + (jpeg ? ".jpg" : ".png");
+        Path temporary = Files.createTempFile(root, ".upload-", ".tmp");
+        try {
+            try (InputStream original = file.getInputStream()) {
+                variantProcessor.processOriginal(original, jpeg ? "jpeg" : "png", temporary);
+            }
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            String placeholder = variantProcessor.placeholder(temporary);
+            Files.move(temporary, root.resolve(fileName), StandardCopyOption.ATOMIC_MOVE);
+
+            log.info("Image stored locally as {}", fileName);
+
+            CloudinaryUploadResult result = new CloudinaryUploadResult(
+                    baseUrl + FILES_PATH + fileName,
+                    fileName,
+                    file.getOriginalFilename(),
+                    Files.size(root.resolve(fileName)),
+                    jpeg ? "image/jpeg" : "image/png"
+            );
+            result.setPlaceholder(placeholder);
+            return result;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    @Override
+    public List<CloudinaryUploadResult> uploadImages(List<MultipartFile> files) throws IOException {
+        List<MultipartFile> toUpload = files.stream()
+                .filter(file -> !file.isEmpty())
+                .toList();
+        toUpload.forEach(PhotoStorage::validateImageFile);
+
+        // Local writes are fast, so the batch runs sequentially and rolls back on failure
+        List<CloudinaryUploadResult> results = new ArrayList<>();
+        try {
+            for (MultipartFile file : toUpload) {
+                results.add(uploadImage(file));
+            }
+            return results;
+        } catch (IOException | RuntimeException e) {
+            for (CloudinaryUploadResult stored : results) {
+                Files.deleteIfExists(root.resolve(stored.getPublicId()));
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void deleteImage(String publicId) throws IOException {
+        Optional<Path> stored = resolve(publicId);
+        if (stored.isPresent()) {
+            Files.deleteIfExists(stored.get());
+            log.info("Deleted local image {}", publicId);
+        } else {
+            log.warn("Local image not found for deletion: {}", publicId);
+        }
+    }
+
+    @Override
+    public void deleteImages(List<String> publicIds) throws IOException {
+        List<String> failed = new ArrayList<>();
+        for (String publicId : publicIds) {
+            try {
+                deleteImage(publicId);
+            } catch (IOException e) {
+                log.error("Failed to delete local image {}", publicId, e);
+                failed.add(publicId);
+            }
+        }
+        if (!failed.isEmpty()) {
+            throw new IOException("Failed to delete " + failed.size() + " images: " + failed);
+        }
+    }
+
+    @Override
+    public InputStream openImage(String publicId) throws IOException {
+        Optional<Path> stored = resolve(publicId);
+        if (stored.isEmpty()) {
+            throw new FileNotFoundException("Local image not found: " + publicId);
+        }
+        return Files.newInputStream(stored.get());
+    }
+
+    /**
+     * Lists the stored images in file name order, {@value #LIST_PAGE_SIZE} per page; the
+     * cursor is the last name of the previous page.
+     */
+    @Override
+    public StoredImagePage listImages(String cursor) throws IOException {
+        List<Path> page;
+        try (Stream<Path> files = Files.list(root)) {
+            page = files
+                    .filter(file -> FILE_NAME.matcher(file.getFileName().toString()).matches())
+                    .filter(file -> cursor == null || file.getFileName().toString().compareTo(cursor) > 0)
+                    .sorted()
+                    .limit(LIST_PAGE_SIZE + 1L)
+                    .toList();
+        }
+
+        List<StoredImage> images = new ArrayList<>();
+        for (Path file : page.subList(0, Math.min(page.size(), LIST_PAGE_SIZE))) {
+            try {
+                images.add(new StoredImage(file.getFileName().toString(),
+                        Files.getLastModifiedTime(file).toInstant()));
+            } catch (NoSuchFileException e) {
+                // Deleted while listing
+            }
+        }
+        String nextCursor = page.size() > LIST_PAGE_SIZE
+                ? page.get(LIST_PAGE_SIZE - 1).getFileName().toString()
+                : null;
+        return new StoredImagePage(images, nextCursor);
+    }
+
+    /**
+     * Locates a stored image.
+     *
+     * @param fileName file name, as returned in the public ID of the upload
+     * @return the file, or empty if the name is not a stored image name or the file does not exist
+     */
+    public Optional<Path> resolve(String fileName) {
+        if (fileName == null || !FILE_NAME.matcher(fileName).matches()) {
+            return Optional.empty();
+        }
+        Path file = root.resolve(fileName);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    private static boolean isJpeg(String contentType) {
+        String type = contentType.toLowerCase(Locale.ROOT);
+        return type.equals("image/jpeg") || type.equals("image/jpg");
+    }
+}
@@ -0,0 +1,29 @@
+-- Indexes supporting the faceted boat search (GET /api/boats/search)
+-- Design Decisions:
+-- - The legacy idx_boat_location_type index disappeared with the location column in V2,
+--   leaving type, capacity and address filters without any index
+-- - City, state and marina are compared with lower() on both sides, so the address
+--   indexes are functional indexes on the same expressions
+-- - Postgres does not index foreign keys automatically; boats.address_id is indexed for
+--   the boats-addresses join used by every location filter and the city facet
+-- - Required amenities are matched through a correlated subquery per boat, which the
+--   existing (boat_id, amenity) primary key already serves; the (lower(amenity), boat_id)
+--   index lets the planner start from the rarest amenity instead
+
+CREATE INDEX IF NOT EXISTS idx_boats_type_price ON boats(type, price_per_hour);
+CREATE INDEX IF NOT EXISTS idx_boats_capacity ON boats(capacity);
+CREATE INDEX IF NOT EXISTS idx_boats_address ON boats(address_id);
+
+CREATE INDEX IF NOT EXISTS idx_addresses_state_city ON addresses(lower(state), lower(city));
+CREATE INDEX IF NOT EXISTS idx_addresses_city ON addresses(lower(city));
+CREATE INDEX IF NOT EXISTS idx_addresses_marina ON addresses(lower(marina));
+
+CREATE INDEX IF NOT EXISTS idx_boat_amenities_amenity ON boat_amenities(lower(amenity), boat_id);
+
+COMMENT ON INDEX idx_boats_type_price IS 'Boat search filtered by type, optionally with a price range';
+COMMENT ON INDEX idx_boats_capacity IS 'Boat search filtered by minimum capacity';
+COMMENT ON INDEX idx_boats_address IS 'Join from boats to their address in location searches';
+COMMENT ON INDEX idx_addresses_state_city IS 'Case-insensitive search by state and city';
+COMMENT ON INDEX idx_addresses_city IS 'Case-insensitive search and facet by city';
+COMMENT ON INDEX idx_addresses_marina IS 'Case-insensitive search by marina';
+COMMENT ON INDEX idx_boat_amenities_amenity IS 'Finds boats offering a given amenity';
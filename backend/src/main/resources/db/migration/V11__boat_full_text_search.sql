@@ -0,0 +1,26 @@
+-- Full-text and typo-tolerant search over boat name and description
+-- Design Decisions:
+-- - search_vector is a STORED generated column, so Postgres keeps it in sync on every
+--   insert/update of name or description without triggers or application code
+-- - Name is weighted A and description B, so ts_rank_cd ranks title hits first
+-- - The 'portuguese' configuration stems Brazilian listings; it must match the one used
+--   by TextSearchFunctionContributor
+-- - pg_trgm similarity on the name catches misspellings that stemming cannot
+--   ("lanxa" -> "lancha"); the trigram index is case-insensitive by construction
+-- - Both predicates are index-backed (GIN), avoiding LIKE '%...%' sequential scans
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE boats ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('portuguese', coalesce(description, '')), 'B')
+    ) STORED;
+
+COMMENT ON COLUMN boats.search_vector IS 'Weighted full-text document of name (A) and description (B)';
+
+CREATE INDEX IF NOT EXISTS idx_boats_search_vector ON boats USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_boats_name_trgm ON boats USING GIN (name gin_trgm_ops);
+
+COMMENT ON INDEX idx_boats_search_vector IS 'Full-text search over boat name and description';
+COMMENT ON INDEX idx_boats_name_trgm IS 'Typo-tolerant similarity search on boat name';
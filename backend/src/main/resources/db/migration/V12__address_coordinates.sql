@@ -0,0 +1,19 @@
+-- Add geographic coordinates to addresses for "boats near me" searches
+-- Design Decisions:
+-- - Plain DOUBLE PRECISION latitude/longitude (WGS84) instead of PostGIS geometry,
+--   proximity queries are answered by an in-memory spatial index in the application
+-- - Coordinates are optional, but a row has either both or none
+-- - No spatial index here: the database only feeds the in-memory index at startup
+
+ALTER TABLE addresses ADD COLUMN IF NOT EXISTS latitude DOUBLE PRECISION;
+ALTER TABLE addresses ADD COLUMN IF NOT EXISTS longitude DOUBLE PRECISION;
+
+ALTER TABLE addresses ADD CONSTRAINT chk_addresses_coordinates CHECK (
+    (latitude IS NULL) = (longitude IS NULL)
+    AND latitude BETWEEN -90 AND 90
+    AND longitude BETWEEN -180 AND 180
+);
+
+COMMENT ON COLUMN addresses.latitude IS 'WGS84 latitude of the mooring in decimal degrees';
+COMMENT ON COLUMN addresses.longitude IS 'WGS84 longitude of the mooring in decimal degrees';
+COMMENT ON CONSTRAINT chk_addresses_coordinates ON addresses IS 'Coordinates are set together and within valid ranges';
@@ -0,0 +1,13 @@
+-- Indexes supporting the "available between" boat search
+-- Design Decisions:
+-- - The search keeps boats with an availability window covering the requested range and
+--   no overlapping non-cancelled booking, as EXISTS / NOT EXISTS in the search query
+-- - The window lookup filters boats_availability by boat and both dates, served by a
+--   composite (boat_id, start_date, end_date) index
+-- - The booking anti-join uses tsrange(start_date, end_date) &&, the same expression as
+--   the booking_no_overlap exclusion constraint, whose GiST index is reused as is
+
+CREATE INDEX IF NOT EXISTS idx_boats_availability_boat_dates
+    ON boats_availability(boat_id, start_date, end_date);
+
+COMMENT ON INDEX idx_boats_availability_boat_dates IS 'Finds availability windows of a boat covering a period';
@@ -0,0 +1,16 @@
+-- Per-boat content version for conditional GETs (ETag / Last-Modified)
+-- Design Decisions:
+-- - One counter on boats covers the boat details and its photos, availability windows
+--   and reviews; any write to them bumps it with a single UPDATE
+-- - Read endpoints compare If-None-Match against the counter with a primary key lookup,
+--   so a 304 never loads or serializes the entity graph
+-- - content_updated_at backs Last-Modified for clients that only send If-Modified-Since;
+--   existing rows start at the migration time
+
+ALTER TABLE boats
+    ADD COLUMN IF NOT EXISTS content_version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE boats
+    ADD COLUMN IF NOT EXISTS content_updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+
+COMMENT ON COLUMN boats.content_version IS 'Bumped on every change to the boat, its photos, availability or reviews';
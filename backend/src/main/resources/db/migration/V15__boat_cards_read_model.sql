@@ -0,0 +1,53 @@
+-- Denormalized read model for the boat catalog cards
+-- Design Decisions:
+-- - One flat row per boat with everything a catalog card shows: display fields, owner
+--   name, cover photo, amenities, review stats and the cheapest availability window
+-- - Catalog, search and nearby pages read only this table, so a page is a single
+--   indexed scan instead of a join over boats, addresses, users, photos, amenities and reviews
+-- - Rows are recomputed by BoatCardProjector in the same transaction as every write to the
+--   boat, its photos, availability or reviews; owner renames update owner_name in bulk
+-- - Amenities are stored '|'-separated, matching BoatCard.AmenitiesConverter
+-- - Existing boats are backfilled here; POST /api/boats/cards/rebuild recomputes everything
+
+CREATE TABLE IF NOT EXISTS boat_cards (
+    boat_id BIGINT PRIMARY KEY REFERENCES boats(boat_id) ON DELETE CASCADE,
+    name VARCHAR(100),
+    type VARCHAR(50),
+    capacity INT NOT NULL DEFAULT 0,
+    price_per_hour NUMERIC(10,2),
+    city VARCHAR(40),
+    state VARCHAR(40),
+    marina VARCHAR(255),
+    owner_id BIGINT,
+    owner_name VARCHAR(100),
+    cover_photo_url TEXT,
+    amenities TEXT,
+    average_rating DOUBLE PRECISION,
+    review_count BIGINT NOT NULL DEFAULT 0,
+    min_window_price NUMERIC(10,2),
+    refreshed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO boat_cards (boat_id, name, type, capacity, price_per_hour, city, state, marina,
+                        owner_id, owner_name, cover_photo_url, amenities,
+                        average_rating, review_count, min_window_price)
+SELECT b.boat_id, b.name, b.type, COALESCE(b.capacity, 0), b.price_per_hour,
+       a.city, a.state, a.marina, u.user_id, u.name,
+       (SELECT p.photo_url FROM boat_photos p WHERE p.boat_id = b.boat_id
+        ORDER BY p.ordem ASC, p.id ASC LIMIT 1),
+       (SELECT string_agg(am.amenity, '|') FROM boat_amenities am WHERE am.boat_id = b.boat_id),
+       (SELECT AVG(r.rating) FROM reviews r WHERE r.boat_id = b.boat_id),
+       (SELECT COUNT(*) FROM reviews r WHERE r.boat_id = b.boat_id),
+       (SELECT MIN(ba.price_per_hour) FROM boats_availability ba WHERE ba.boat_id = b.boat_id)
+FROM boats b
+JOIN users u ON u.user_id = b.owner_id
+LEFT JOIN addresses a ON a.address_id = b.address_id
+ON CONFLICT (boat_id) DO NOTHING;
+
+CREATE INDEX IF NOT EXISTS idx_boat_cards_price_id ON boat_cards(price_per_hour, boat_id);
+CREATE INDEX IF NOT EXISTS idx_boat_cards_owner ON boat_cards(owner_id);
+
+COMMENT ON TABLE boat_cards IS 'Catalog card read model, one row per boat, maintained on write';
+COMMENT ON COLUMN boat_cards.min_window_price IS 'Cheapest price per hour among the availability windows of the boat';
+COMMENT ON INDEX idx_boat_cards_price_id IS 'Keyset pagination of the catalog ordered by price per hour';
+COMMENT ON INDEX idx_boat_cards_owner IS 'Propagates owner renames to their cards';
@@ -0,0 +1,29 @@
+-- Responsive variants and placeholders for boat photos
+-- Design Decisions:
+-- - Variants are generated once at upload time (thumbnail, card, full, all WebP) and
+--   their URLs and dimensions are stored, so listings pick the smallest fitting image
+--   and clients can reserve layout space before it loads
+-- - width/height describe the stored original, which is itself capped and stripped of
+--   EXIF metadata on upload
+-- - placeholder is a tiny inline image (data URI, well under 1 KB) shown while the
+--   real image loads
+-- - All columns are nullable: photos uploaded before this migration keep serving
+--   photo_url until they are uploaded again
+
+ALTER TABLE boat_photos
+    ADD COLUMN IF NOT EXISTS width INTEGER,
+    ADD COLUMN IF NOT EXISTS height INTEGER,
+    ADD COLUMN IF NOT EXISTS placeholder TEXT,
+    ADD COLUMN IF NOT EXISTS thumbnail_url VARCHAR(1000),
+    ADD COLUMN IF NOT EXISTS thumbnail_width INTEGER,
+    ADD COLUMN IF NOT EXISTS thumbnail_height INTEGER,
+    ADD COLUMN IF NOT EXISTS card_url VARCHAR(1000),
+    ADD COLUMN IF NOT EXISTS card_width INTEGER,
+    ADD COLUMN IF NOT EXISTS card_height INTEGER,
+    ADD COLUMN IF NOT EXISTS full_url VARCHAR(1000),
+    ADD COLUMN IF NOT EXISTS full_width INTEGER,
+    ADD COLUMN IF NOT EXISTS full_height INTEGER;
+
+COMMENT ON COLUMN boat_photos.placeholder IS 'Low quality image placeholder as a data URI';
+COMMENT ON COLUMN boat_photos.card_url IS 'WebP rendition sized for catalog cards';
+
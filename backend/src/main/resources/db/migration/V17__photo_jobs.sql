@@ -0,0 +1,46 @@
+-- Background photo processing queue
+-- Design Decisions:
+-- - The queue is a table: a job survives restarts and is visible to every instance,
+--   without adding a message broker to the deployment
+-- - Workers claim a job with a conditional UPDATE on its status, so two workers never
+--   process the same job; the claim is a lease (lease_expires_at) that another worker
+--   takes over once it expires, e.g. after a crash
+-- - Failed attempts are retried with backoff by pushing available_at forward
+-- - One row per staged file, with the photo it produced; a retried job skips the files
+--   that already have a photo
+-- - Partial indexes keep the claim queries on the few active rows, however many
+--   finished jobs accumulate
+
+CREATE TABLE IF NOT EXISTS photo_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    boat_id BIGINT NOT NULL REFERENCES boats(boat_id) ON DELETE CASCADE,
+    status VARCHAR(20) NOT NULL,
+    total_files INTEGER NOT NULL,
+    processed_files INTEGER NOT NULL DEFAULT 0,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    available_at TIMESTAMP NOT NULL,
+    lease_expires_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS photo_job_files (
+    job_id BIGINT NOT NULL REFERENCES photo_jobs(id) ON DELETE CASCADE,
+    file_order INTEGER NOT NULL,
+    staged_name VARCHAR(64) NOT NULL,
+    original_filename VARCHAR(255),
+    content_type VARCHAR(100) NOT NULL,
+    file_size BIGINT NOT NULL,
+    photo_id BIGINT,
+    PRIMARY KEY (job_id, file_order)
+);
+
+CREATE INDEX IF NOT EXISTS idx_photo_jobs_queued ON photo_jobs(available_at, id) WHERE status = 'QUEUED';
+CREATE INDEX IF NOT EXISTS idx_photo_jobs_leases ON photo_jobs(lease_expires_at) WHERE status = 'PROCESSING';
+CREATE INDEX IF NOT EXISTS idx_photo_jobs_boat ON photo_jobs(boat_id);
+
+COMMENT ON TABLE photo_jobs IS 'Queue of background jobs adding uploaded photos to boats';
+COMMENT ON COLUMN photo_jobs.lease_expires_at IS 'End of the current worker claim; expired PROCESSING jobs are taken over';
+COMMENT ON COLUMN photo_job_files.photo_id IS 'Photo created from the staged file, null until processed';
@@ -0,0 +1,27 @@
+-- Durable queue of stored images to delete from the photo storage
+-- Design Decisions:
+-- - Rows are inserted in the transaction that removes the photos, so deleting photos or a
+--   boat never waits for the storage and a committed deletion is never lost
+-- - PhotoStorageCleaner deletes the images in batches of up to 100 per storage call and
+--   removes the rows once the storage confirmed; failed batches are retried with backoff
+-- - Deleting an image that is already gone succeeds, so retrying a batch is harmless
+-- - The orphan reconciler queues images left in the storage without a boat_photos row,
+--   e.g. after a failed rollback of an upload
+
+CREATE TABLE IF NOT EXISTS photo_deletions (
+    id BIGSERIAL PRIMARY KEY,
+    public_id VARCHAR(500) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    available_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_photo_deletions_due ON photo_deletions(available_at, id);
+CREATE INDEX IF NOT EXISTS idx_photo_deletions_public_id ON photo_deletions(public_id);
+
+-- Lets the reconciler check a page of stored public IDs in one indexed lookup
+CREATE INDEX IF NOT EXISTS idx_boat_photos_public_id ON boat_photos(public_id);
+
+COMMENT ON TABLE photo_deletions IS 'Stored images queued for deletion from the photo storage';
+COMMENT ON COLUMN photo_deletions.available_at IS 'Earliest time of the next attempt, pushed back between retries';
@@ -0,0 +1,21 @@
+-- Content-hash deduplication of boat photos
+-- Design Decisions:
+-- - content_hash is the SHA-256 (hex) of the uploaded bytes, computed before any storage
+--   call; an upload whose hash is already stored reuses that image (public_id and
+--   variants) instead of uploading it again
+-- - Several rows may therefore share one public_id. The references of a stored image are
+--   the rows carrying its public_id (indexed by idx_boat_photos_public_id, V18); an image
+--   is queued for deletion only when its last row goes, and the deletion queue checks
+--   again before calling the storage, so no separate counter can drift
+-- - Nullable: photos uploaded before this migration and direct uploads, whose bytes never
+--   reach the application, have no hash and are never reused
+-- - Partial index, as only hashed rows are looked up
+
+ALTER TABLE boat_photos
+    ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_boat_photos_content_hash
+    ON boat_photos(content_hash)
+    WHERE content_hash IS NOT NULL;
+
+COMMENT ON COLUMN boat_photos.content_hash IS 'SHA-256 of the uploaded bytes; rows with the same hash share one stored image';
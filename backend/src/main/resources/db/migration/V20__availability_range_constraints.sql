@@ -0,0 +1,35 @@
+-- Half-open range semantics and GiST indexes for availability windows and bookings
+-- Design Decisions:
+-- - Windows and bookings are half-open [start_date, end_date) ranges, the tsrange default:
+--   a window or booking ending at 12:00 does not overlap one starting at 12:00
+-- - Overlap (&&) and containment (@>) lookups go through the time_ranges_overlap and
+--   time_range_contains HQL functions (TimeRangeFunctionContributor), which render
+--   tsrange(start_date, end_date) on PostgreSQL. The constraints below index that exact
+--   expression, so each lookup is one GiST probe; an expression is used rather than a
+--   generated column so the entities and the H2 test schema stay unchanged
+-- - boats_availability_no_overlap rejects overlapping windows of one boat, so a period
+--   has at most one price. Existing overlapping windows must be fixed before migrating;
+--   the error names the conflicting rows
+-- - booking_no_overlap (V1) also counted cancelled bookings, so a slot freed by a
+--   cancellation could never be booked again. It is recreated for non-cancelled
+--   bookings only, the same predicate as the conflict lookups
+
+ALTER TABLE boats_availability
+    ADD CONSTRAINT boats_availability_no_overlap
+    EXCLUDE USING gist (
+        boat_id WITH =,
+        tsrange(start_date, end_date) WITH &&
+    );
+
+COMMENT ON CONSTRAINT boats_availability_no_overlap ON boats_availability IS 'Prevents overlapping availability windows for the same boat';
+
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS booking_no_overlap;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT booking_no_overlap
+    EXCLUDE USING gist (
+        boat_id WITH =,
+        tsrange(start_date, end_date) WITH &&
+    ) WHERE (status <> 'CANCELLED');
+
+COMMENT ON CONSTRAINT booking_no_overlap ON bookings IS 'Prevents double-booking by ensuring no overlapping time ranges of active bookings for the same boat';
@@ -0,0 +1,37 @@
+-- Recurring availability rules
+-- Design Decisions:
+-- - One row per rule (weekdays, time of day, validity period, price) instead of one
+--   boats_availability row per occurrence: storage grows with the number of rules, and
+--   occurrences are expanded by the application for the period being read
+-- - weekday_mask has one bit per day, Monday = 1 to Sunday = 64
+-- - Occurrences start and end on the same day (start_time < end_time), so the occurrence
+--   containing an instant is found from its date alone
+-- - Exceptions are keyed by occurrence date: a NULL price cancels the occurrence, any
+--   other price replaces the rule price for that day
+-- - Rules are always read per boat, through idx_availability_rules_boat
+
+CREATE TABLE IF NOT EXISTS availability_rules (
+    rule_id BIGSERIAL PRIMARY KEY,
+    boat_id BIGINT NOT NULL REFERENCES boats(boat_id) ON DELETE CASCADE,
+    weekday_mask INTEGER NOT NULL CHECK (weekday_mask BETWEEN 1 AND 127),
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    valid_from DATE NOT NULL,
+    valid_until DATE,
+    price_per_hour DECIMAL(10,2) NOT NULL CHECK (price_per_hour > 0),
+    CONSTRAINT availability_rules_time_order CHECK (start_time < end_time),
+    CONSTRAINT availability_rules_validity_order CHECK (valid_until IS NULL OR valid_until >= valid_from)
+);
+
+CREATE TABLE IF NOT EXISTS availability_rule_exceptions (
+    rule_id BIGINT NOT NULL REFERENCES availability_rules(rule_id) ON DELETE CASCADE,
+    occurrence_date DATE NOT NULL,
+    price_per_hour DECIMAL(10,2) CHECK (price_per_hour > 0),
+    PRIMARY KEY (rule_id, occurrence_date)
+);
+
+CREATE INDEX IF NOT EXISTS idx_availability_rules_boat ON availability_rules(boat_id);
+
+COMMENT ON TABLE availability_rules IS 'Recurring availability of boats, expanded into occurrences on read';
+COMMENT ON COLUMN availability_rules.weekday_mask IS 'Days with an occurrence, one bit per day from Monday (1) to Sunday (64)';
+COMMENT ON COLUMN availability_rule_exceptions.price_per_hour IS 'Price of the occurrence on that date, NULL when it is cancelled';
@@ -0,0 +1,16 @@
+-- Pooled sequence ids for availability windows, so Hibernate can batch their inserts
+-- Design Decisions:
+-- - IDENTITY ids are only known after each INSERT, which forces Hibernate to send the
+--   rows one statement at a time. BoatAvailability now takes its ids from the SERIAL
+--   sequence with an allocation size of 50: one nextval per 50 rows, and the INSERTs
+--   of a bulk upload go out in JDBC batches
+-- - The sequence increment must equal the allocation size. The pooled optimizer hands
+--   out the 50 values up to each nextval result, so the sequence restarts 50 past the
+--   highest existing id
+-- - The column default is kept: rows inserted outside Hibernate still get unique ids
+
+ALTER SEQUENCE boats_availability_availability_id_seq INCREMENT BY 50;
+
+SELECT setval('boats_availability_availability_id_seq',
+              COALESCE((SELECT MAX(availability_id) FROM boats_availability), 0) + 50,
+              false);
@@ -0,0 +1,10 @@
+-- Indexes supporting the cursor-paginated boat catalog (GET /api/boats/catalog)
+-- Design Decisions:
+-- - Keyset pagination seeks past the last row of the previous page instead of using OFFSET
+-- - The ID ordering is already served by the boats primary key
+-- - The PRICE ordering needs a composite (price_per_hour, boat_id) index matching the
+--   row-value comparison and ORDER BY of the query, so each page is one index range scan
+
+CREATE INDEX IF NOT EXISTS idx_boats_price_id ON boats(price_per_hour, boat_id);
+
+COMMENT ON INDEX idx_boats_price_id IS 'Keyset pagination of the boat catalog ordered by price per hour';
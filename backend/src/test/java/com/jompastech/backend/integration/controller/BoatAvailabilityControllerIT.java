@@ -5,15 +5,20 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
 import com.jompastech.backend.model.dto.BoatAvailabilityRequestDTO;
 import com.jompastech.backend.model.dto.BoatAvailabilityResponseDTO;
+import com.jompastech.backend.model.entity.AvailabilityRule;
+import com.jompastech.backend.model.entity.AvailabilityRuleException;
 import com.jompastech.backend.model.entity.Boat;
 import com.jompastech.backend.model.entity.BoatAvailability;
 import com.jompastech.backend.model.entity.User;
+import com.jompastech.backend.repository.AvailabilityRuleRepository;
 import com.jompastech.backend.repository.BoatAvailabilityRepository;
 import com.jompastech.backend.repository.BoatRepository;
 import com.jompastech.backend.repository.UserRepository;
 import com.jompastech.backend.security.dto.AuthRequestDTO;
 import com.jompastech.backend.security.filter.JwtAuthenticationFilter;
 import com.jompastech.backend.service.BoatAvailabilityService;
+import com.jompastech.backend.service.BoatCardProjector;
+import com.jompastech.backend.service.BoatScheduleIndex;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -42,8 +47,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -71,6 +80,9 @@ class BoatAvailabilityControllerIT {
     @Autowired
     private BoatAvailabilityRepository boatAvailabilityRepository;
 
+    @Autowired
+    private AvailabilityRuleRepository availabilityRuleRepository;
+
     private String jwtToken;
     private Long boatId;
     private String userEmail;
@@ -163,6 +175,7 @@ class BoatAvailabilityControllerIT {
     void cleanup() {
         // Clean up in reverse order to avoid foreign key constraints
         boatAvailabilityRepository.deleteAll();
+        availabilityRuleRepository.deleteAll();
         boatRepository.deleteAll();
         userRepository.deleteAll();
     }
@@ -523,6 +536,223 @@ class BoatAvailabilityControllerIT {
                 .andExpect(status().isInternalServerError());
     }
 
+    // ===========================
+    // CALENDAR TESTS
+    // ===========================
+
+    @Test
+    void shouldGetHourlyCalendarForRange() throws Exception {
+        BoatAvailability inside = new BoatAvailability();
+        inside.setBoat(testBoat);
+        inside.setStartDate(LocalDateTime.parse("2024-12-01T10:00:00"));
+        inside.setEndDate(LocalDateTime.parse("2024-12-01T14:00:00"));
+        inside.setPricePerHour(new BigDecimal(150));
+        boatAvailabilityRepository.save(inside);
+
+        BoatAvailability outside = new BoatAvailability();
+        outside.setBoat(testBoat);
+        outside.setStartDate(LocalDateTime.parse("2024-12-05T10:00:00"));
+        outside.setEndDate(LocalDateTime.parse("2024-12-05T14:00:00"));
+        outside.setPricePerHour(new BigDecimal(150));
+        boatAvailabilityRepository.save(outside);
+
+        mockMvc.perform(get("/api/boats/{boatId}/availability/calendar", boatId)
+                        .param("from", "2024-12-01T08:00:00")
+                        .param("to", "2024-12-01T16:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.boatId").value(boatId))
+                .andExpect(jsonPath("$.slots").value("2U4F2U"))
+                .andExpect(jsonPath("$.windows.length()").value(1))
+                .andExpect(jsonPath("$.windows[0].pricePerHour").value(150));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenCalendarRangeIsInverted() throws Exception {
+        mockMvc.perform(get("/api/boats/{boatId}/availability/calendar", boatId)
+                        .param("from", "2024-12-01T16:00:00")
+                        .param("to", "2024-12-01T08:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenCalendarBoatDoesNotExist() throws Exception {
+        mockMvc.perform(get("/api/boats/{boatId}/availability/calendar", 999999L)
+                        .param("from", "2024-12-01T08:00:00")
+                        .param("to", "2024-12-01T16:00:00"))
+                .andExpect(status().isNotFound());
+    }
+
+    // ===========================
+    // RECURRING RULE TESTS
+    // ===========================
+
+    @Test
+    void shouldExpandRecurringRuleWithExceptionsInCalendar() throws Exception {
+        // Saturdays 2024-12-07 and 2024-12-14; the first is repriced, the second cancelled
+        String ruleJson = """
+            {
+              "weekdays": ["SATURDAY"],
+              "startTime": "09:00",
+              "endTime": "13:00",
+              "validFrom": "2024-12-01",
+              "pricePerHour": 200
+            }
+            """;
+
+        MvcResult created = mockMvc.perform(post("/api/boats/{boatId}/availability/rules", boatId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ruleJson)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.weekdays[0]").value("SATURDAY"))
+                .andReturn();
+        long ruleId = ((Number) JsonPath.read(created.getResponse().getContentAsString(), "$.id")).longValue();
+
+        mockMvc.perform(put("/api/boats/{boatId}/availability/rules/{ruleId}/exceptions/{date}",
+                        boatId, ruleId, "2024-12-07")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"pricePerHour\": 250}")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/boats/{boatId}/availability/rules/{ruleId}/exceptions/{date}",
+                        boatId, ruleId, "2024-12-14")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.exceptions.length()").value(2));
+
+        mockMvc.perform(get("/api/boats/{boatId}/availability/calendar", boatId)
+                        .param("from", "2024-12-07T00:00:00")
+                        .param("to", "2024-12-15T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.slots").value("9U4F179U"))
+                .andExpect(jsonPath("$.windows.length()").value(1))
+                .andExpect(jsonPath("$.windows[0].ruleId").value(ruleId))
+                .andExpect(jsonPath("$.windows[0].pricePerHour").value(250));
+
+        mockMvc.perform(get("/api/boats/{boatId}/availability/rules", boatId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void shouldRejectOverlappingRuleAndExceptionOffTheRule() throws Exception {
+        String ruleJson = """
+            {
+              "weekdays": ["SATURDAY", "SUNDAY"],
+              "startTime": "09:00",
+              "endTime": "13:00",
+              "validFrom": "2024-12-01",
+              "validUntil": "2024-12-31",
+              "pricePerHour": 200
+            }
+            """;
+        MvcResult created = mockMvc.perform(post("/api/boats/{boatId}/availability/rules", boatId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ruleJson)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long ruleId = ((Number) JsonPath.read(created.getResponse().getContentAsString(), "$.id")).longValue();
+
+        mockMvc.perform(post("/api/boats/{boatId}/availability/rules", boatId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ruleJson.replace("09:00", "12:00").replace("13:00", "16:00"))
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+
+        // 2024-12-02 is a Monday
+        mockMvc.perform(put("/api/boats/{boatId}/availability/rules/{ruleId}/exceptions/{date}",
+                        boatId, ruleId, "2024-12-02")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(delete("/api/boats/{boatId}/availability/rules/{ruleId}", boatId, ruleId)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isNoContent());
+        assertTrue(availabilityRuleRepository.findByBoatIdWithExceptions(boatId).isEmpty());
+    }
+
+    @Test
+    void shouldLetOwnerWithUserRoleDeleteRuleAndException() throws Exception {
+        // 2024-12-07 is a Saturday
+        AvailabilityRule rule = new AvailabilityRule(testBoat, Set.of(DayOfWeek.SATURDAY), LocalTime.of(9, 0),
+                LocalTime.of(13, 0), LocalDate.of(2024, 12, 1), null, new BigDecimal("200.00"));
+        rule.getExceptions().add(new AvailabilityRuleException(LocalDate.of(2024, 12, 7), null));
+        long ruleId = availabilityRuleRepository.save(rule).getId();
+
+        TestSecurityConfig.setCurrentUser(userEmail, "ROLE_USER");
+        try {
+            mockMvc.perform(delete("/api/boats/{boatId}/availability/rules/{ruleId}/exceptions/{date}",
+                            boatId, ruleId, "2024-12-07")
+                            .header("Authorization", "Bearer " + jwtToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.exceptions.length()").value(0));
+
+            mockMvc.perform(delete("/api/boats/{boatId}/availability/rules/{ruleId}", boatId, ruleId)
+                            .header("Authorization", "Bearer " + jwtToken))
+                    .andExpect(status().isNoContent());
+        } finally {
+            TestSecurityConfig.clearCurrentUser();
+        }
+        assertTrue(availabilityRuleRepository.findByBoatIdWithExceptions(boatId).isEmpty());
+    }
+
+    // ===========================
+    // BULK UPLOAD TESTS
+    // ===========================
+
+    @Test
+    void shouldReplaceWindowsOverlappingBulkUpload() throws Exception {
+        BoatAvailability replaced = boatAvailabilityRepository.save(new BoatAvailability(testBoat,
+                LocalDateTime.of(2024, 12, 1, 10, 0), LocalDateTime.of(2024, 12, 1, 14, 0), new BigDecimal("100.00")));
+        BoatAvailability kept = boatAvailabilityRepository.save(new BoatAvailability(testBoat,
+                LocalDateTime.of(2025, 1, 10, 10, 0), LocalDateTime.of(2025, 1, 10, 14, 0), new BigDecimal("100.00")));
+
+        String windowsJson = String.format("""
+            [
+              {"boatId": %d, "startDate": "2024-12-02T08:00:00", "endDate": "2024-12-02T18:00:00", "pricePerHour": 180},
+              {"boatId": %d, "startDate": "2024-12-01T08:00:00", "endDate": "2024-12-01T18:00:00", "pricePerHour": 150}
+            ]
+            """, boatId, boatId);
+
+        mockMvc.perform(put("/api/boats/availability/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(windowsJson)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.boatIds[0]").value(boatId))
+                .andExpect(jsonPath("$.windowsDeleted").value(1))
+                .andExpect(jsonPath("$.windowsCreated").value(2));
+
+        List<BoatAvailability> windows = boatAvailabilityRepository.findByBoatId(boatId);
+        assertEquals(3, windows.size());
+        assertFalse(boatAvailabilityRepository.existsById(replaced.getId()));
+        assertTrue(boatAvailabilityRepository.existsById(kept.getId()));
+    }
+
+    @Test
+    void shouldLoadCsvUploadAndRejectOverlappingWindows() throws Exception {
+        String csv = "boatId,startDate,endDate,pricePerHour\n" +
+                boatId + ",2024-12-01T08:00:00,2024-12-01T12:00:00,150.00\n" +
+                boatId + ",2024-12-01T12:00:00,2024-12-01T18:00:00,180.00\n";
+
+        mockMvc.perform(put("/api/boats/availability/bulk")
+                        .contentType("text/csv")
+                        .content(csv)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windowsCreated").value(2));
+
+        String overlapping = csv + boatId + ",2024-12-01T17:00:00,2024-12-01T20:00:00,180.00\n";
+        mockMvc.perform(put("/api/boats/availability/bulk")
+                        .contentType("text/csv")
+                        .content(overlapping)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(2, boatAvailabilityRepository.findByBoatId(boatId).size());
+    }
+
     // ===========================
     // AUTHENTICATION TESTS
     // ===========================
@@ -946,9 +1176,12 @@ class BoatAvailabilityControllerIT {
         public BoatAvailabilityService testBoatAvailabilityService(
                 BoatAvailabilityRepository boatAvailabilityRepository,
                 BoatRepository boatRepository,
-                UserRepository userRepository) {
+                UserRepository userRepository,
+                BoatCardProjector boatCardProjector,
+                BoatScheduleIndex boatScheduleIndex) {
 
-            return new BoatAvailabilityService(boatAvailabilityRepository, boatRepository, userRepository) {
+            return new BoatAvailabilityService(boatAvailabilityRepository, boatRepository, userRepository,
+                    boatCardProjector, boatScheduleIndex) {
 
                 @Override
                 public List<BoatAvailabilityResponseDTO> findAvailabilityByBoatId(Long boatId) {
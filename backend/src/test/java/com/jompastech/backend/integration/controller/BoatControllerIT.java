@@ -3,15 +3,21 @@ package com.jompastech.backend.integration.controller;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
+import com.jompastech.backend.config.CacheConfig;
 import com.jompastech.backend.exception.EntityNotFoundException;
 import com.jompastech.backend.model.dto.BoatRequestDTO;
 import com.jompastech.backend.model.dto.UserRequestDTO;
 import com.jompastech.backend.model.dto.cloudinary.BoatPhotoResponseDTO;
 import com.jompastech.backend.model.dto.cloudinary.CloudinaryUploadResult;
 import com.jompastech.backend.model.dto.cloudinary.PhotoOrderUpdateDTO;
+import com.jompastech.backend.model.dto.cloudinary.RegisterPhotosRequestDTO;
+import com.jompastech.backend.model.entity.AvailabilityRule;
+import com.jompastech.backend.model.entity.AvailabilityRuleException;
 import com.jompastech.backend.model.entity.Boat;
 import com.jompastech.backend.model.entity.BoatPhoto;
 import com.jompastech.backend.model.entity.User;
+import com.jompastech.backend.repository.AvailabilityRuleRepository;
+import com.jompastech.backend.repository.BoatCardRepository;
 import com.jompastech.backend.repository.BoatPhotoRepository;
 import com.jompastech.backend.repository.BoatRepository;
 import com.jompastech.backend.repository.UserRepository;
@@ -33,6 +39,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
@@ -47,8 +55,12 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMultipartHttpServletRequestBuilder;
 
 import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -83,9 +95,18 @@ class BoatControllerIT {
     @Autowired
     private BoatRepository boatRepository;
 
+    @Autowired
+    private BoatCardRepository boatCardRepository;
+
+    @Autowired
+    private AvailabilityRuleRepository availabilityRuleRepository;
+
     @Autowired
     private BoatService boatService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     private String jwtToken;
     private Long boatId;
     private String userEmail;
@@ -207,16 +228,22 @@ class BoatControllerIT {
     @AfterEach
     void cleanup() {
         boatPhotoRepository.deleteAll();
+        availabilityRuleRepository.deleteAll();
+        boatCardRepository.deleteAll(); // read model rows are not removed with the boats
         boatRepository.deleteAll();
         userRepository.deleteAll();
     }
 
     private Long createBoatAndReturnId() throws Exception {
+        return createBoatAndReturnId(boatJson);
+    }
+
+    private Long createBoatAndReturnId(String json) throws Exception {
         MockMultipartFile boatPart = new MockMultipartFile(
                 "boat",
                 "",
                 MediaType.APPLICATION_JSON_VALUE,
-                boatJson.getBytes()
+                json.getBytes()
         );
 
         CloudinaryUploadResult result = new CloudinaryUploadResult();
@@ -258,6 +285,296 @@ class BoatControllerIT {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void shouldWalkCatalogWithCursor() throws Exception {
+        Long secondBoatId = createBoatAndReturnId();
+
+        String firstPage = mockMvc.perform(get("/api/boats/catalog")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(boatId))
+                .andExpect(jsonPath("$.items[0].state").value("SP"))
+                .andExpect(jsonPath("$.items[0].marina").value("Marina Teste"))
+                .andExpect(jsonPath("$.items[0].ownerName").value("Test User"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String cursor = JsonPath.read(firstPage, "$.nextCursor");
+
+        mockMvc.perform(get("/api/boats/catalog")
+                        .param("size", "1")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(secondBoatId))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void shouldSortCatalogByPrice() throws Exception {
+        mockMvc.perform(get("/api/boats/catalog")
+                        .param("sort", "PRICE")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(boatId));
+    }
+
+    @Test
+    void shouldSearchBoatsWithFacets() throws Exception {
+        mockMvc.perform(get("/api/boats/search")
+                        .param("type", "LANCHA")
+                        .param("state", "sp")
+                        .param("marina", "marina teste")
+                        .param("minCapacity", "10")
+                        .param("minPrice", "100")
+                        .param("maxPrice", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[?(@.id == %d)]", boatId).exists())
+                .andExpect(jsonPath("$.typeFacets[?(@.value == 'LANCHA')].count").exists())
+                .andExpect(jsonPath("$.cityFacets").isArray());
+
+        mockMvc.perform(get("/api/boats/search")
+                        .param("minCapacity", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(0))
+                .andExpect(jsonPath("$.items").isEmpty());
+    }
+
+    @Test
+    void shouldRankTextSearchResultsByRelevance() throws Exception {
+        // The boat created in setup is "Boat Test"
+        Long exactId = createBoatAndReturnId(boatJson.replace("\"Boat Test\"", "\"Boat\""));
+        Long containingId = createBoatAndReturnId(boatJson.replace("\"Boat Test\"", "\"Grand Boat\""));
+        Long otherId = createBoatAndReturnId(boatJson.replace("\"Boat Test\"", "\"Veleiro\""));
+
+        mockMvc.perform(get("/api/boats/search")
+                        .param("q", "BOAT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.items[0].id").value(exactId))
+                .andExpect(jsonPath("$.items[1].id").value(boatId))
+                .andExpect(jsonPath("$.items[2].id").value(containingId))
+                .andExpect(jsonPath("$.items[?(@.id == %d)]", otherId).doesNotExist());
+
+        // An explicit sort replaces the ranking
+        mockMvc.perform(get("/api/boats/search")
+                        .param("q", "boat")
+                        .param("sort", "ID"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(boatId))
+                .andExpect(jsonPath("$.items[1].id").value(exactId));
+    }
+
+    @Test
+    void shouldSearchBoatsAvailableInPeriod() throws Exception {
+        // The boat created in setup has no availability window
+        mockMvc.perform(get("/api/boats/search")
+                        .param("availableFrom", "2030-01-10T10:00:00")
+                        .param("availableTo", "2030-01-10T14:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[?(@.id == %d)]", boatId).doesNotExist());
+
+        mockMvc.perform(get("/api/boats/search")
+                        .param("availableFrom", "2030-01-10T10:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldSearchBoatsAvailableThroughRecurringRule() throws Exception {
+        // 2030-01-10 is a Thursday
+        Boat boat = boatRepository.findById(boatId).orElseThrow();
+        AvailabilityRule rule = availabilityRuleRepository.save(new AvailabilityRule(boat, Set.of(DayOfWeek.THURSDAY),
+                LocalTime.of(8, 0), LocalTime.of(18, 0), LocalDate.of(2030, 1, 1), null, new BigDecimal("100.00")));
+
+        mockMvc.perform(get("/api/boats/search")
+                        .param("availableFrom", "2030-01-10T10:00:00")
+                        .param("availableTo", "2030-01-10T14:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[?(@.id == %d)]", boatId).exists());
+
+        // Outside the rule's hours, on another weekday, or across days
+        mockMvc.perform(get("/api/boats/search")
+                        .param("availableFrom", "2030-01-10T17:00:00")
+                        .param("availableTo", "2030-01-10T19:00:00"))
+                .andExpect(jsonPath("$.items[?(@.id == %d)]", boatId).doesNotExist());
+        mockMvc.perform(get("/api/boats/search")
+                        .param("availableFrom", "2030-01-11T10:00:00")
+                        .param("availableTo", "2030-01-11T14:00:00"))
+                .andExpect(jsonPath("$.items[?(@.id == %d)]", boatId).doesNotExist());
+        mockMvc.perform(get("/api/boats/search")
+                        .param("availableFrom", "2030-01-10T10:00:00")
+                        .param("availableTo", "2030-01-17T14:00:00"))
+                .andExpect(jsonPath("$.items[?(@.id == %d)]", boatId).doesNotExist());
+
+        // A cancelled occurrence does not make the boat available
+        rule.getExceptions().add(new AvailabilityRuleException(LocalDate.of(2030, 1, 10), null));
+        availabilityRuleRepository.save(rule);
+        mockMvc.perform(get("/api/boats/search")
+                        .param("availableFrom", "2030-01-10T10:00:00")
+                        .param("availableTo", "2030-01-10T14:00:00"))
+                .andExpect(jsonPath("$.items[?(@.id == %d)]", boatId).doesNotExist());
+    }
+
+    @Test
+    void shouldRejectInvertedPriceRange() throws Exception {
+        mockMvc.perform(get("/api/boats/search")
+                        .param("minPrice", "500")
+                        .param("maxPrice", "100"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldFindBoatsNearPointAndInsideBox() throws Exception {
+        String json = boatJson.replace("\"marina\": \"Marina Teste\"",
+                "\"marina\": \"Marina Teste\", \"latitude\": -23.9608, \"longitude\": -46.3336");
+        Long mooredBoatId = createBoatAndReturnId(json);
+
+        mockMvc.perform(get("/api/boats/nearby")
+                        .param("lat", "-23.95")
+                        .param("lng", "-46.33")
+                        .param("radiusKm", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.boat.id == %d)]", mooredBoatId).exists())
+                .andExpect(jsonPath("$[?(@.boat.id == %d)].distanceKm", boatId).doesNotExist());
+
+        mockMvc.perform(get("/api/boats/within")
+                        .param("south", "-24.5")
+                        .param("west", "-47")
+                        .param("north", "-23.5")
+                        .param("east", "-46"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.boat.id == %d)].latitude", mooredBoatId).value(-23.9608));
+
+        mockMvc.perform(get("/api/boats/nearby")
+                        .param("lat", "-23.95")
+                        .param("lng", "-46.33")
+                        .param("radiusKm", "5000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldServeBoatDetailsFromCacheUntilUpdated() throws Exception {
+        Cache cache = cacheManager.getCache(CacheConfig.BOAT_DETAILS);
+        cache.evict(boatId);
+
+        mockMvc.perform(get("/api/boats/{id}", boatId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Boat Test"));
+        assertNotNull(cache.get(boatId));
+
+        // A write that bypasses BoatService is not seen while the entry is cached
+        Boat boat = boatRepository.findById(boatId).orElseThrow();
+        boat.setName("Renamed Directly");
+        boatRepository.save(boat);
+        mockMvc.perform(get("/api/boats/{id}", boatId))
+                .andExpect(jsonPath("$.name").value("Boat Test"));
+
+        // Updating through the service evicts the entry
+        BoatRequestDTO update = objectMapper.readValue(boatJson, BoatRequestDTO.class);
+        update.setName("Updated Through Service");
+        boatService.updateBoat(boatId, update, userEmail);
+        assertNull(cache.get(boatId));
+
+        mockMvc.perform(get("/api/boats/{id}", boatId))
+                .andExpect(jsonPath("$.name").value("Updated Through Service"));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedUntilBoatContentChanges() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/boats/{id}", boatId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/boats/{id}", boatId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        // Each representation of the boat has its own tag
+        mockMvc.perform(get("/api/boats/{id}/photos", boatId)
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk());
+
+        // A change to the boat content (photos, availability, reviews) invalidates the tag
+        boatService.markContentChanged(boatId);
+
+        MvcResult changed = mockMvc.perform(get("/api/boats/{id}", boatId).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(boatId))
+                .andReturn();
+        assertNotEquals(etag, changed.getResponse().getHeader("ETag"));
+    }
+
+    @Test
+    void shouldServeNewOwnerNameUnderNewETagAfterRename() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/boats/{id}", boatId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ownerName").value("Test User"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+
+        String renameJson = """
+        {
+          "name": "Renamed Owner",
+          "email": "%s",
+          "password": "asd@12345",
+          "cpf": "%s",
+          "phone": "11999999999"
+        }
+        """.formatted(userEmail, testUser.getCpf());
+        mockMvc.perform(put("/api/users/{id}", testUser.getId())
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(renameJson))
+                .andExpect(status().isOk());
+
+        MvcResult renamed = mockMvc.perform(get("/api/boats/{id}", boatId).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ownerName").value("Renamed Owner"))
+                .andReturn();
+        assertNotEquals(etag, renamed.getResponse().getHeader("ETag"));
+        assertEquals(boatRepository.findContentVersionById(boatId).orElseThrow().etag("details"),
+                renamed.getResponse().getHeader("ETag"));
+    }
+
+    @Test
+    void shouldNotSendETagForMissingBoat() throws Exception {
+        mockMvc.perform(get("/api/boats/{id}", 999999L).header("If-None-Match", "*"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    @Test
+    void shouldServeCatalogFromRebuiltCards() throws Exception {
+        mockMvc.perform(post("/api/boats/cards/rebuild")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cards").isNumber());
+
+        mockMvc.perform(get("/api/boats/search")
+                        .param("marina", "marina teste"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[?(@.id == %d)].ownerName", boatId).value("Test User"))
+                .andExpect(jsonPath("$.items[?(@.id == %d)].reviewCount", boatId).value(0));
+
+        mockMvc.perform(post("/api/boats/cards/rebuild"))
+                .andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    void shouldRejectInvalidCatalogCursor() throws Exception {
+        mockMvc.perform(get("/api/boats/catalog")
+                        .param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldGetBoatById() throws Exception {
         mockMvc.perform(get("/api/boats/{id}", boatId)
@@ -551,8 +868,8 @@ class BoatControllerIT {
 
         when(photoService.addPhotosToBoat(anyLong(), anyList()))
                 .thenReturn(List.of(
-                        new BoatPhotoResponseDTO(1L, "new-url1", "new-id1", "new-photo1.jpg", 2, boatId),
-                        new BoatPhotoResponseDTO(2L, "new-url2", "new-id2", "new-photo2.jpg", 3, boatId)
+                        new BoatPhotoResponseDTO(1L, "new-url1", "new-id1", "new-photo1.jpg", 2, boatId, null),
+                        new BoatPhotoResponseDTO(2L, "new-url2", "new-id2", "new-photo2.jpg", 3, boatId, null)
                 ));
 
         mockMvc.perform(multipart("/api/boats/{boatId}/photos", boatId)
@@ -564,6 +881,44 @@ class BoatControllerIT {
                 .andExpect(jsonPath("$.length()").value(2));
     }
 
+    @Test
+    void shouldRegisterDirectlyUploadedPhotos() throws Exception {
+        RegisterPhotosRequestDTO request = new RegisterPhotosRequestDTO(List.of(
+                new RegisterPhotosRequestDTO.UploadedPhoto("timoneiro/boats/boat_1_direct_a", 1700000000L,
+                        "sig", "jpg", 1200, 800, "a.jpg")));
+
+        when(photoService.registerUploadedPhotos(eq(boatId), anyList()))
+                .thenReturn(List.of(new BoatPhotoResponseDTO(1L, "url", "timoneiro/boats/boat_1_direct_a",
+                        "a.jpg", 0, boatId, null)));
+
+        mockMvc.perform(post("/api/boats/{boatId}/photos/register", boatId)
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        // A rejected signature is a client error
+        when(photoService.registerUploadedPhotos(eq(boatId), anyList()))
+                .thenThrow(new IllegalArgumentException("Invalid upload signature"));
+
+        mockMvc.perform(post("/api/boats/{boatId}/photos/register", boatId)
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRejectInvalidUploadSignatureCount() throws Exception {
+        mockMvc.perform(post("/api/boats/{boatId}/photos/upload-signatures", boatId)
+                        .param("count", "11")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+
+        verify(photoService, never()).createUploadSignatures(anyLong(), anyInt());
+    }
+
     @Test
     void shouldReturnBadRequestWhenAddingTooManyPhotos() throws Exception {
         // Create more than 10 images
@@ -654,7 +1009,7 @@ class BoatControllerIT {
                 "images",
                 "img.jpg",
                 MediaType.IMAGE_JPEG_VALUE,
-                "fake-image".getBytes()
+                "fake-image-never-stored".getBytes() // content not stored yet, so it is uploaded
         );
 
         when(cloudinaryService.uploadImages(anyList()))
@@ -760,6 +1115,8 @@ class BoatControllerIT {
                 null,
                 null,
                 null,
+                null,
+                null,
                 null
         );
 
@@ -391,8 +391,8 @@ class BookingControllerIT {
     @Test
     void shouldGetMyBookings() throws Exception {
 
-        // Create second availability
-        String nextDayAvailabilityStartStr = availabilityStart.plusDays(1).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        // Create second availability, right after the first one (windows of a boat cannot overlap)
+        String nextDayAvailabilityStartStr = availabilityEnd.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
         String nextDayAvailabilityEndStr = availabilityEnd.plusDays(1).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
         String availabilityJson = String.format("""
     {
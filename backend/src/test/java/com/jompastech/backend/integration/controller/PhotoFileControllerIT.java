@@ -0,0 +1,103 @@
+package com.jompastech.backend.integration.controller;
+
+import com.jompastech.backend.model.dto.cloudinary.CloudinaryUploadResult;
+import com.jompastech.backend.service.PhotoStorage;
+import com.jompastech.backend.service.impl.LocalPhotoStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for {@code PhotoFileController} with the local photo storage enabled.
+ */
+@SpringBootTest(properties = {
+        "app.photos.storage=local",
+        "app.photos.local.root=${java.io.tmpdir}/timoneiro-photos-it"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PhotoFileControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PhotoStorage photoStorage;
+
+    private String url;
+
+    private byte[] storedBytes;
+
+    @BeforeEach
+    void setup() throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(8, 6, BufferedImage.TYPE_INT_RGB), "png", png);
+        MockMultipartFile image = new MockMultipartFile(
+                "images", "boat.png", "image/png", png.toByteArray());
+        CloudinaryUploadResult stored = photoStorage.uploadImage(image);
+        url = stored.getUrl();
+        try (InputStream input = photoStorage.openImage(stored.getPublicId())) {
+            storedBytes = input.readAllBytes();
+        }
+    }
+
+    @Test
+    void shouldUseLocalStorageWhenConfigured() {
+        assertThat(photoStorage).isInstanceOf(LocalPhotoStorage.class);
+        assertThat(url).startsWith(LocalPhotoStorage.FILES_PATH).endsWith(".png");
+    }
+
+    @Test
+    void shouldServeStoredPhotoPubliclyWithImmutableCacheHeaders() throws Exception {
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(storedBytes))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=31536000")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void shouldServeRequestedByteRange() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/" + storedBytes.length))
+                .andExpect(content().bytes(Arrays.copyOfRange(storedBytes, 2, 6)));
+    }
+
+    @Test
+    void shouldReturnNotModifiedForCurrentCopy() throws Exception {
+        String etag = mockMvc.perform(get(url))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownOrInvalidNames() throws Exception {
+        mockMvc.perform(get(LocalPhotoStorage.FILES_PATH + "0123456789abcdef0123456789abcdef.png"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get(LocalPhotoStorage.FILES_PATH + "application.yml"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,4 +1,226 @@
 package com.jompastech.backend.integration.repository;
 
-public class BoatRepositoryIT {
+import com.jompastech.backend.model.dto.catalog.BoatCardView;
+import com.jompastech.backend.model.dto.catalog.FacetCountDTO;
+import com.jompastech.backend.model.entity.Address;
+import com.jompastech.backend.model.entity.Boat;
+import com.jompastech.backend.model.entity.BoatAvailability;
+import com.jompastech.backend.model.entity.BoatCard;
+import com.jompastech.backend.model.entity.BoatPhoto;
+import com.jompastech.backend.model.entity.Booking;
+import com.jompastech.backend.model.entity.User;
+import com.jompastech.backend.repository.BoatRepository;
+import com.jompastech.backend.repository.specification.BoatSpecifications;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the fetch plans of BoatRepository listing queries and the search
+ * specifications and facet counts.
+ *
+ * <p>Counts the SQL statements issued while a page of boats is loaded and every
+ * association used by BoatMapper is touched. The count must not grow with the
+ * number of boats on the page. Catalog card projections must not load entities at all.</p>
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class BoatRepositoryIT {
+
+    private static final int BOATS = 6;
+
+    @Autowired
+    BoatRepository repository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@fetchplan.com");
+        owner.setPassword("secret");
+        owner.setCpf("12345678909");
+        entityManager.persist(owner);
+
+        for (int i = 0; i < BOATS; i++) {
+            Address address = new Address();
+            address.setCity("City " + i);
+            address.setState("SP");
+            entityManager.persist(address);
+
+            Boat boat = new Boat();
+            boat.setName("Boat " + i);
+            boat.setType("LANCHA");
+            boat.setPricePerHour(BigDecimal.valueOf(100 + i));
+            boat.setOwner(owner);
+            boat.setAddress(address);
+            boat.setAmenities(List.of("GPS", "Cooler"));
+            boat.addPhoto(new BoatPhoto("url-" + i + "-a", 0, "pid-" + i + "-a", "a.jpg", boat));
+            boat.addPhoto(new BoatPhoto("url-" + i + "-b", 1, "pid-" + i + "-b", "b.jpg", boat));
+            entityManager.persist(boat);
+            entityManager.persist(cardOf(boat, address));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findByOwner_ShouldLoadPageWithConstantNumberOfStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<Boat> page = repository.findByOwner(owner, PageRequest.of(0, 10));
+        page.forEach(this::touchListingAssociations);
+
+        assertEquals(BOATS, page.getNumberOfElements());
+        // page select (with owner and address) + count + photos batch + amenities batch
+        assertTrue(statistics.getPrepareStatementCount() <= 4,
+                "Expected a constant number of statements but got " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findCatalogPageAfterId_ShouldReadCardsInSingleStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BoatCardView> cards = repository.findCatalogPageAfterId(0L, PageRequest.of(0, 10));
+
+        assertEquals(BOATS, cards.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        BoatCardView first = cards.get(0);
+        assertEquals("Boat 0", first.name());
+        assertEquals("City 0", first.city());
+        assertEquals("Owner", first.ownerName());
+        assertEquals("url-0-a", first.coverPhotoUrl());
+        assertEquals(List.of("GPS", "Cooler"), first.amenities());
+        assertEquals(4.5, first.averageRating());
+        assertEquals(2, first.reviewCount());
+    }
+
+    @Test
+    void findIdsBy_ShouldFilterByPriceRangeAndRequiredAmenities() {
+        Specification<Boat> spec = Specification.allOf(
+                BoatSpecifications.inState("sp"),
+                BoatSpecifications.priceBetween(BigDecimal.valueOf(101), BigDecimal.valueOf(103)),
+                BoatSpecifications.hasAllAmenities(List.of("gps", " Cooler ")));
+
+        Page<Long> ids = repository.findIdsBy(spec, PageRequest.of(0, 2, Sort.by("pricePerHour", "id")));
+
+        assertEquals(3, ids.getTotalElements());
+        assertEquals(2, ids.getNumberOfElements());
+        assertEquals("Boat 1", repository.findById(ids.getContent().get(0)).orElseThrow().getName());
+
+        Specification<Boat> missingAmenity = BoatSpecifications.hasAllAmenities(List.of("GPS", "Wifi"));
+        assertEquals(0, repository.findIdsBy(missingAmenity, PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void countFacets_ShouldGroupMatchingBoatsInDatabase() {
+        Specification<Boat> spec = BoatSpecifications.hasMinCapacity(0)
+                .and(BoatSpecifications.inCity("city 2").or(BoatSpecifications.inCity("CITY 3")));
+
+        List<FacetCountDTO> types = repository.countByType(spec);
+        List<FacetCountDTO> cities = repository.countByCity(spec);
+
+        assertEquals(List.of(new FacetCountDTO("LANCHA", 2)), types);
+        assertEquals(List.of(new FacetCountDTO("City 2", 1), new FacetCountDTO("City 3", 1)), cities);
+    }
+
+    @Test
+    void isAvailableBetween_ShouldKeepBoatsWithCoveringWindowAndNoActiveBooking() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        LocalDateTime end = start.plusHours(4);
+        List<Boat> boats = repository.findAll(Sort.by("id"));
+        User renter = entityManager.find(User.class, owner.getId());
+
+        // Boat 0: covering window, only a cancelled overlapping booking -> available
+        addWindow(boats.get(0), start.minusDays(1), end.plusDays(1));
+        Booking cancelled = new Booking(renter, boats.get(0), start.plusHours(1), end, BigDecimal.TEN);
+        cancelled.cancel();
+        entityManager.persist(cancelled);
+        // Boat 1: covering window but a confirmed overlapping booking -> unavailable
+        addWindow(boats.get(1), start.minusDays(1), end.plusDays(1));
+        Booking confirmed = new Booking(renter, boats.get(1), start.minusHours(2), start.plusHours(1), BigDecimal.TEN);
+        confirmed.confirm();
+        entityManager.persist(confirmed);
+        // Boat 2: covering window, booking ending exactly at the start (half-open) -> available
+        addWindow(boats.get(2), start.minusDays(1), end.plusDays(1));
+        entityManager.persist(new Booking(renter, boats.get(2), start.minusHours(2), start, BigDecimal.TEN));
+        // Boat 3: window ends before the period does -> unavailable
+        addWindow(boats.get(3), start.minusDays(1), end.minusHours(1));
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<Long> ids = repository.findIdsBy(BoatSpecifications.isAvailableBetween(start, end),
+                PageRequest.of(0, 10, Sort.by("id")));
+
+        assertEquals(List.of(boats.get(0).getId(), boats.get(2).getId()), ids.getContent());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private void addWindow(Boat boat, LocalDateTime start, LocalDateTime end) {
+        BoatAvailability window = new BoatAvailability();
+        window.setBoat(boat);
+        window.setStartDate(start);
+        window.setEndDate(end);
+        window.setPricePerHour(BigDecimal.valueOf(100));
+        entityManager.persist(window);
+    }
+
+    // Touches the same associations BoatMapper.toResponseDTO reads
+    private void touchListingAssociations(Boat boat) {
+        boat.getOwner().getName();
+        boat.getAddress().getCity();
+        boat.getPhotos().size();
+        boat.getAmenities().size();
+    }
+
+    // Card row as BoatCardProjector would write it
+    private BoatCard cardOf(Boat boat, Address address) {
+        BoatCard card = new BoatCard();
+        card.setId(boat.getId());
+        card.setName(boat.getName());
+        card.setType(boat.getType());
+        card.setPricePerHour(boat.getPricePerHour());
+        card.setCity(address.getCity());
+        card.setState(address.getState());
+        card.setOwnerId(owner.getId());
+        card.setOwnerName(owner.getName());
+        card.setCoverPhotoUrl(boat.getPhotos().get(0).getPhotoUrl());
+        card.setAmenities(List.of("GPS", "Cooler"));
+        card.setAverageRating(4.5);
+        card.setReviewCount(2);
+        card.setRefreshedAt(LocalDateTime.now());
+        return card;
+    }
 }
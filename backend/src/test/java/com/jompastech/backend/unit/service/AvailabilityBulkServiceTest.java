@@ -0,0 +1,193 @@
+package com.jompastech.backend.unit.service;
+
+import com.jompastech.backend.exception.EntityNotFoundException;
+import com.jompastech.backend.model.dto.schedule.AvailabilityBulkResultDTO;
+import com.jompastech.backend.model.dto.schedule.AvailabilityBulkWindowDTO;
+import com.jompastech.backend.model.entity.Boat;
+import com.jompastech.backend.model.entity.BoatAvailability;
+import com.jompastech.backend.model.entity.User;
+import com.jompastech.backend.repository.BoatAvailabilityRepository;
+import com.jompastech.backend.repository.BoatRepository;
+import com.jompastech.backend.repository.UserRepository;
+import com.jompastech.backend.service.AvailabilityBulkService;
+import com.jompastech.backend.service.BoatCardProjector;
+import com.jompastech.backend.service.BoatScheduleIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link AvailabilityBulkService}.
+ *
+ * <p>Verifies that:
+ * <ul>
+ *   <li>Each boat's windows overlapping the span of its upload are deleted in one statement,
+ *       then all windows are saved in one call and the boats evicted from the schedule index</li>
+ *   <li>Overlapping or invalid windows are rejected before anything is loaded or written</li>
+ *   <li>Unknown boats and boats the user does not own reject the whole upload</li>
+ *   <li>CSV uploads are parsed line by line, skipping the header and blank lines</li>
+ * </ul>
+ */
+@ExtendWith(MockitoExtension.class)
+class AvailabilityBulkServiceTest {
+
+    private static final String EMAIL = "owner@boat.com";
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 7, 0, 0);
+
+    @Mock
+    private BoatAvailabilityRepository boatAvailabilityRepository;
+
+    @Mock
+    private BoatRepository boatRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private BoatScheduleIndex boatScheduleIndex;
+
+    @Mock
+    private BoatCardProjector boatCardProjector;
+
+    @InjectMocks
+    private AvailabilityBulkService service;
+
+    private User owner;
+    private Boat boat;
+    private Boat otherBoat;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setId(1L);
+        owner.setEmail(EMAIL);
+        owner.setRole("ROLE_USER");
+
+        boat = new Boat();
+        boat.setId(10L);
+        boat.setOwner(owner);
+
+        otherBoat = new Boat();
+        otherBoat.setId(20L);
+        otherBoat.setOwner(owner);
+    }
+
+    @Test
+    void replaceWindows_ShouldDeleteSpanOfEachBoatAndSaveAllWindows() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(owner));
+        when(boatRepository.findAllById(anyIterable())).thenReturn(List.of(boat, otherBoat));
+        when(boatAvailabilityRepository.deleteByBoatIdOverlapping(eq(10L), any(), any())).thenReturn(3);
+        when(boatAvailabilityRepository.deleteByBoatIdOverlapping(eq(20L), any(), any())).thenReturn(1);
+
+        AvailabilityBulkResultDTO result = service.replaceWindows(List.of(
+                window(20L, 8, 12),
+                window(10L, 14, 18),
+                window(10L, 8, 14)), EMAIL);
+
+        assertThat(result.boatIds()).containsExactly(10L, 20L);
+        assertThat(result.windowsDeleted()).isEqualTo(4);
+        assertThat(result.windowsCreated()).isEqualTo(3);
+        verify(boatAvailabilityRepository).deleteByBoatIdOverlapping(10L, DAY.plusHours(8), DAY.plusHours(18));
+        verify(boatAvailabilityRepository).deleteByBoatIdOverlapping(20L, DAY.plusHours(8), DAY.plusHours(12));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BoatAvailability>> saved = ArgumentCaptor.forClass(List.class);
+        verify(boatAvailabilityRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(BoatAvailability::getBoat)
+                .containsExactly(boat, boat, otherBoat);
+        verify(boatScheduleIndex).evict(10L);
+        verify(boatScheduleIndex).evict(20L);
+        verify(boatCardProjector).markStale(10L);
+    }
+
+    @Test
+    void replaceWindows_WhenWindowsOfABoatOverlap_ShouldThrowBeforeWriting() {
+        assertThatThrownBy(() -> service.replaceWindows(List.of(
+                window(10L, 8, 12),
+                window(20L, 10, 14),
+                window(10L, 11, 16)), EMAIL))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("boat 10");
+        verifyNoInteractions(boatRepository, boatAvailabilityRepository, boatScheduleIndex);
+    }
+
+    @Test
+    void replaceWindows_WhenWindowIsEmpty_ShouldThrow() {
+        assertThatThrownBy(() -> service.replaceWindows(List.of(window(10L, 8, 12), window(10L, 14, 14)), EMAIL))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Window 2");
+        verifyNoInteractions(boatAvailabilityRepository);
+    }
+
+    @Test
+    void replaceWindows_WhenBoatDoesNotExist_ShouldThrowNotFound() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(owner));
+        when(boatRepository.findAllById(anyIterable())).thenReturn(List.of(boat));
+
+        assertThatThrownBy(() -> service.replaceWindows(List.of(window(10L, 8, 12), window(20L, 8, 12)), EMAIL))
+                .isInstanceOf(EntityNotFoundException.class);
+        verify(boatAvailabilityRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void replaceWindows_WhenUserDoesNotOwnEveryBoat_ShouldThrow() {
+        User stranger = new User();
+        stranger.setId(2L);
+        otherBoat.setOwner(stranger);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(owner));
+        when(boatRepository.findAllById(anyIterable())).thenReturn(List.of(boat, otherBoat));
+
+        assertThatThrownBy(() -> service.replaceWindows(List.of(window(10L, 8, 12), window(20L, 8, 12)), EMAIL))
+                .isInstanceOf(AccessDeniedException.class);
+        verify(boatAvailabilityRepository, never()).deleteByBoatIdOverlapping(any(), any(), any());
+    }
+
+    @Test
+    void readCsv_ShouldSkipHeaderAndBlankLines() throws Exception {
+        String csv = """
+                boatId,startDate,endDate,pricePerHour
+                10,2030-01-07T08:00:00,2030-01-07T12:00:00,150.00
+
+                20, 2030-01-07T08:00:00 ,2030-01-07T12:00:00,90
+                """;
+
+        assertThat(service.readCsv(new StringReader(csv))).containsExactly(
+                new AvailabilityBulkWindowDTO(10L, DAY.plusHours(8), DAY.plusHours(12), new BigDecimal("150.00")),
+                new AvailabilityBulkWindowDTO(20L, DAY.plusHours(8), DAY.plusHours(12), new BigDecimal("90")));
+    }
+
+    @Test
+    void readCsv_WhenLineIsMalformed_ShouldThrowWithLineNumber() {
+        String csv = "10,2030-01-07T08:00:00,2030-01-07T12:00:00,150.00\n10,tomorrow,2030-01-07T12:00:00,150.00\n";
+
+        assertThatThrownBy(() -> service.readCsv(new StringReader(csv)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Line 2");
+    }
+
+    private static AvailabilityBulkWindowDTO window(Long boatId, int startHour, int endHour) {
+        return new AvailabilityBulkWindowDTO(boatId, DAY.plusHours(startHour), DAY.plusHours(endHour),
+                new BigDecimal("120.00"));
+    }
+}
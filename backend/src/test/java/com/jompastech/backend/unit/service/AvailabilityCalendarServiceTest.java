@@ -0,0 +1,166 @@
+package com.jompastech.backend.unit.service;
+
+import com.jompastech.backend.exception.EntityNotFoundException;
+import com.jompastech.backend.model.dto.schedule.AvailabilityCalendarDTO;
+import com.jompastech.backend.model.dto.schedule.ScheduleInterval;
+import com.jompastech.backend.model.entity.AvailabilityRule;
+import com.jompastech.backend.model.entity.AvailabilityRuleException;
+import com.jompastech.backend.model.entity.Boat;
+import com.jompastech.backend.repository.AvailabilityRuleRepository;
+import com.jompastech.backend.repository.BoatAvailabilityRepository;
+import com.jompastech.backend.repository.BoatRepository;
+import com.jompastech.backend.repository.BookingRepository;
+import com.jompastech.backend.service.AvailabilityCalendarService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link AvailabilityCalendarService}.
+ *
+ * <p>Verifies that:
+ * <ul>
+ *   <li>Hourly states are run-length encoded over the whole range</li>
+ *   <li>Only hours entirely inside a window are free; any hour a booking touches is booked</li>
+ *   <li>Recurring rules are expanded for the range, without their cancelled occurrences</li>
+ *   <li>The range is widened to whole hours and only that range is queried</li>
+ *   <li>Empty, inverted and too long ranges and unknown boats are rejected</li>
+ * </ul>
+ */
+@ExtendWith(MockitoExtension.class)
+class AvailabilityCalendarServiceTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 10, 0, 0);
+
+    @Mock
+    private BoatRepository boatRepository;
+
+    @Mock
+    private BoatAvailabilityRepository boatAvailabilityRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private AvailabilityRuleRepository availabilityRuleRepository;
+
+    @InjectMocks
+    private AvailabilityCalendarService service;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(boatRepository.existsById(1L)).thenReturn(true);
+    }
+
+    @Test
+    void getCalendar_ShouldEncodeFreeAndBookedHours() {
+        ScheduleInterval window = new ScheduleInterval(1L, at(8), at(18), new BigDecimal("100.00"));
+        when(boatAvailabilityRepository.findIntervalsByBoatIdOverlapping(1L, at(0), at(24)))
+                .thenReturn(List.of(window));
+        when(bookingRepository.findActiveIntervalsByBoatIdOverlapping(1L, at(0), at(24)))
+                .thenReturn(List.of(new ScheduleInterval(2L, at(12), at(16))));
+
+        AvailabilityCalendarDTO calendar = service.getCalendar(1L, at(0), at(24));
+
+        assertThat(calendar.slots()).isEqualTo("8U4F4B2F6U");
+        assertThat(calendar.windows()).containsExactly(window);
+        assertThat(calendar.from()).isEqualTo(at(0));
+        assertThat(calendar.to()).isEqualTo(at(24));
+    }
+
+    @Test
+    void getCalendar_ShouldFreeOnlyWholeHoursAndBookEveryTouchedHour() {
+        when(boatAvailabilityRepository.findIntervalsByBoatIdOverlapping(1L, at(0), at(12)))
+                .thenReturn(List.of(new ScheduleInterval(1L, at(1).plusMinutes(30), at(10).plusMinutes(30),
+                        new BigDecimal("100.00"))));
+        when(bookingRepository.findActiveIntervalsByBoatIdOverlapping(1L, at(0), at(12)))
+                .thenReturn(List.of(new ScheduleInterval(2L, at(4).plusMinutes(15), at(5).plusMinutes(15))));
+
+        AvailabilityCalendarDTO calendar = service.getCalendar(1L, at(0), at(12));
+
+        // Free 2..4, booked 4..6, free 6..10
+        assertThat(calendar.slots()).isEqualTo("2U2F2B4F2U");
+    }
+
+    @Test
+    void getCalendar_ShouldClampIntervalsReachingOutsideTheRange() {
+        when(boatAvailabilityRepository.findIntervalsByBoatIdOverlapping(1L, at(6), at(12)))
+                .thenReturn(List.of(new ScheduleInterval(1L, at(0), at(48), new BigDecimal("100.00"))));
+        when(bookingRepository.findActiveIntervalsByBoatIdOverlapping(1L, at(6), at(12)))
+                .thenReturn(List.of(new ScheduleInterval(2L, at(2), at(8))));
+
+        assertThat(service.getCalendar(1L, at(6), at(12)).slots()).isEqualTo("2B4F");
+    }
+
+    @Test
+    void getCalendar_ShouldExpandRulesForTheRange() {
+        // DAY is a Thursday: occurrences on Thursday and Saturday, Saturday's is cancelled
+        AvailabilityRule rule = new AvailabilityRule(new Boat(), Set.of(DayOfWeek.THURSDAY, DayOfWeek.SATURDAY),
+                LocalTime.of(10, 0), LocalTime.of(12, 0), DAY.toLocalDate(), null, new BigDecimal("80.00"));
+        rule.setId(3L);
+        rule.getExceptions().add(new AvailabilityRuleException(DAY.toLocalDate().plusDays(2), null));
+        when(boatAvailabilityRepository.findIntervalsByBoatIdOverlapping(1L, at(0), at(72))).thenReturn(List.of());
+        when(bookingRepository.findActiveIntervalsByBoatIdOverlapping(1L, at(0), at(72))).thenReturn(List.of());
+        when(availabilityRuleRepository.findByBoatIdValidBetween(1L, DAY.toLocalDate(), DAY.toLocalDate().plusDays(3)))
+                .thenReturn(List.of(rule));
+
+        AvailabilityCalendarDTO calendar = service.getCalendar(1L, at(0), at(72));
+
+        assertThat(calendar.slots()).isEqualTo("10U2F60U");
+        assertThat(calendar.windows()).containsExactly(
+                new ScheduleInterval(null, at(10), at(12), new BigDecimal("80.00"), 3L));
+    }
+
+    @Test
+    void getCalendar_ShouldWidenRangeToWholeHours() {
+        when(boatAvailabilityRepository.findIntervalsByBoatIdOverlapping(1L, at(6), at(9))).thenReturn(List.of());
+        when(bookingRepository.findActiveIntervalsByBoatIdOverlapping(1L, at(6), at(9))).thenReturn(List.of());
+
+        AvailabilityCalendarDTO calendar = service.getCalendar(1L, at(6).plusMinutes(20), at(8).plusMinutes(1));
+
+        assertThat(calendar.slots()).isEqualTo("3U");
+        verify(boatAvailabilityRepository).findIntervalsByBoatIdOverlapping(1L, at(6), at(9));
+    }
+
+    @Test
+    void getCalendar_ShouldRejectInvalidRanges() {
+        assertThatThrownBy(() -> service.getCalendar(1L, at(8), at(8)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getCalendar(1L, at(8), at(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getCalendar(1L, DAY,
+                DAY.plusDays(AvailabilityCalendarService.MAX_RANGE_DAYS).plusMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(boatAvailabilityRepository, bookingRepository);
+    }
+
+    @Test
+    void getCalendar_WhenBoatMissing_ShouldThrowNotFound() {
+        when(boatRepository.existsById(9L)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.getCalendar(9L, at(0), at(24)))
+                .isInstanceOf(EntityNotFoundException.class);
+        verifyNoInteractions(boatAvailabilityRepository, bookingRepository);
+    }
+
+    private static LocalDateTime at(int hour) {
+        return DAY.plusHours(hour);
+    }
+}
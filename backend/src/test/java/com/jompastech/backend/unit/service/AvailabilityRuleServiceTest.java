@@ -0,0 +1,203 @@
+package com.jompastech.backend.unit.service;
+
+import com.jompastech.backend.exception.EntityNotFoundException;
+import com.jompastech.backend.model.dto.schedule.AvailabilityRuleExceptionDTO;
+import com.jompastech.backend.model.dto.schedule.AvailabilityRuleRequestDTO;
+import com.jompastech.backend.model.dto.schedule.AvailabilityRuleResponseDTO;
+import com.jompastech.backend.model.entity.AvailabilityRule;
+import com.jompastech.backend.model.entity.Boat;
+import com.jompastech.backend.model.entity.User;
+import com.jompastech.backend.repository.AvailabilityRuleRepository;
+import com.jompastech.backend.repository.BoatRepository;
+import com.jompastech.backend.repository.UserRepository;
+import com.jompastech.backend.service.AvailabilityRuleService;
+import com.jompastech.backend.service.BoatScheduleIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link AvailabilityRuleService}.
+ *
+ * <p>Verifies that:
+ * <ul>
+ *   <li>A valid rule is saved once and pushed to the schedule index</li>
+ *   <li>Rules are created with the boat row locked and checked for overlaps against the stored rules</li>
+ *   <li>Invalid rules, rules overlapping another rule and users not owning the boat are rejected</li>
+ *   <li>Exceptions replace any previous exception of the same date and only apply to occurrence dates</li>
+ * </ul>
+ */
+@ExtendWith(MockitoExtension.class)
+class AvailabilityRuleServiceTest {
+
+    private static final String EMAIL = "owner@boat.com";
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    @Mock
+    private AvailabilityRuleRepository availabilityRuleRepository;
+
+    @Mock
+    private BoatRepository boatRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private BoatScheduleIndex boatScheduleIndex;
+
+    @InjectMocks
+    private AvailabilityRuleService service;
+
+    private Boat boat;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setId(1L);
+        owner.setEmail(EMAIL);
+        owner.setRole("ROLE_USER");
+
+        boat = new Boat();
+        boat.setId(10L);
+        boat.setOwner(owner);
+    }
+
+    @Test
+    void createRule_WhenValid_ShouldSaveAndIndexRule() {
+        authorizeForUpdate(owner);
+        int weekendMask = (1 << DayOfWeek.SATURDAY.ordinal()) | (1 << DayOfWeek.SUNDAY.ordinal());
+        when(availabilityRuleRepository.findOverlappingIds(10L, weekendMask, LocalTime.of(8, 0),
+                LocalTime.of(18, 0), MONDAY, LocalDate.of(9999, 12, 31))).thenReturn(List.of());
+        when(availabilityRuleRepository.save(any(AvailabilityRule.class))).thenAnswer(invocation -> {
+            AvailabilityRule saved = invocation.getArgument(0);
+            saved.setId(5L);
+            return saved;
+        });
+
+        AvailabilityRuleResponseDTO response = service.createRule(10L, weekendRequest(), EMAIL);
+
+        assertThat(response.id()).isEqualTo(5L);
+        assertThat(response.boatId()).isEqualTo(10L);
+        assertThat(response.weekdays()).containsExactlyInAnyOrder(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+        verify(boatScheduleIndex).putRule(any(AvailabilityRule.class));
+        verify(boatRepository).bumpContentVersion(eq(10L), any());
+        verify(boatRepository, never()).findById(any());
+    }
+
+    @Test
+    void createRule_WhenOverlappingAnotherRule_ShouldThrow() {
+        authorizeForUpdate(owner);
+        when(availabilityRuleRepository.findOverlappingIds(eq(10L), anyInt(), any(), any(), any(), any()))
+                .thenReturn(List.of(3L, 4L));
+
+        assertThatThrownBy(() -> service.createRule(10L, weekendRequest(), EMAIL))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("rule 3");
+        verify(availabilityRuleRepository, never()).save(any());
+    }
+
+    @Test
+    void createRule_WhenInvalid_ShouldThrow() {
+        authorizeForUpdate(owner);
+        AvailabilityRuleRequestDTO request = weekendRequest();
+        request.setEndTime(LocalTime.of(7, 0));
+
+        assertThatThrownBy(() -> service.createRule(10L, request, EMAIL))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(availabilityRuleRepository, never()).save(any());
+    }
+
+    @Test
+    void createRule_WhenUserDoesNotOwnBoat_ShouldThrow() {
+        User stranger = new User();
+        stranger.setId(2L);
+        stranger.setRole("ROLE_USER");
+        authorizeForUpdate(stranger);
+
+        assertThatThrownBy(() -> service.createRule(10L, weekendRequest(), EMAIL))
+                .isInstanceOf(AccessDeniedException.class);
+        verify(availabilityRuleRepository, never()).save(any());
+    }
+
+    @Test
+    void putException_ShouldReplaceExceptionOfTheSameDate() {
+        authorize(owner);
+        AvailabilityRule rule = existingRule();
+        when(availabilityRuleRepository.save(rule)).thenReturn(rule);
+        LocalDate saturday = MONDAY.plusDays(5);
+
+        service.putException(10L, 5L, new AvailabilityRuleExceptionDTO(saturday, null), EMAIL);
+        AvailabilityRuleResponseDTO response = service.putException(10L, 5L,
+                new AvailabilityRuleExceptionDTO(saturday, new BigDecimal("150.00")), EMAIL);
+
+        assertThat(response.exceptions()).containsExactly(
+                new AvailabilityRuleExceptionDTO(saturday, new BigDecimal("150.00")));
+        verify(boatScheduleIndex, times(2)).putRule(rule);
+    }
+
+    @Test
+    void putException_WhenDateHasNoOccurrence_ShouldThrow() {
+        authorize(owner);
+        existingRule();
+
+        assertThatThrownBy(() -> service.putException(10L, 5L,
+                new AvailabilityRuleExceptionDTO(MONDAY, null), EMAIL))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(availabilityRuleRepository, never()).save(any());
+    }
+
+    @Test
+    void removeException_WhenMissing_ShouldThrowNotFound() {
+        authorize(owner);
+        existingRule();
+
+        assertThatThrownBy(() -> service.removeException(10L, 5L, MONDAY.plusDays(5), EMAIL))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private void authorize(User user) {
+        when(boatRepository.findById(10L)).thenReturn(Optional.of(boat));
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+    }
+
+    private void authorizeForUpdate(User user) {
+        when(boatRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(boat));
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+    }
+
+    private AvailabilityRule existingRule() {
+        AvailabilityRule rule = new AvailabilityRule(boat, Set.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY),
+                LocalTime.of(8, 0), LocalTime.of(18, 0), MONDAY, null, new BigDecimal("120.00"));
+        rule.setId(5L);
+        when(availabilityRuleRepository.findByIdAndBoatId(5L, 10L)).thenReturn(Optional.of(rule));
+        return rule;
+    }
+
+    private static AvailabilityRuleRequestDTO weekendRequest() {
+        return new AvailabilityRuleRequestDTO(Set.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY),
+                LocalTime.of(8, 0), LocalTime.of(18, 0), MONDAY, null, new BigDecimal("120.00"));
+    }
+}
@@ -2,6 +2,7 @@ package com.jompastech.backend.unit.service;
 
 import com.jompastech.backend.model.dto.BoatAvailabilityRequestDTO;
 import com.jompastech.backend.model.dto.BoatAvailabilityResponseDTO;
+import com.jompastech.backend.model.dto.schedule.ScheduleInterval;
 import com.jompastech.backend.model.entity.Boat;
 import com.jompastech.backend.model.entity.BoatAvailability;
 import com.jompastech.backend.model.entity.User;
@@ -9,6 +10,8 @@ import com.jompastech.backend.repository.BoatAvailabilityRepository;
 import com.jompastech.backend.repository.BoatRepository;
 import com.jompastech.backend.repository.UserRepository;
 import com.jompastech.backend.service.BoatAvailabilityService;
+import com.jompastech.backend.service.BoatCardProjector;
+import com.jompastech.backend.service.BoatScheduleIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -60,6 +63,12 @@ class BoatAvailabilityServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BoatCardProjector boatCardProjector;
+
+    @Mock
+    private BoatScheduleIndex boatScheduleIndex;
+
     private Boat testBoat;
     private BoatAvailability testAvailability;
     private BoatAvailability testAvailability2;
@@ -134,6 +143,7 @@ class BoatAvailabilityServiceTest {
         when(boatRepository.findById(1L)).thenReturn(Optional.of(testBoat));
         when(boatAvailabilityRepository.save(any(BoatAvailability.class))).thenReturn(testAvailability);
         when(userRepository.findByEmail(email)).thenReturn(Optional.of(testBoatOwner));
+        when(boatScheduleIndex.schedule(1L)).thenReturn(BoatScheduleIndex.Schedule.of(List.of(), List.of()));
 
         // Act
         BoatAvailabilityResponseDTO result = boatAvailabilityService.createAvailability(1L, requestDTO, email);
@@ -148,6 +158,85 @@ class BoatAvailabilityServiceTest {
 
         verify(boatRepository, times(1)).findById(1L);
         verify(boatAvailabilityRepository, times(1)).save(any(BoatAvailability.class));
+        verify(boatScheduleIndex).putWindow(testAvailability);
+    }
+
+    /**
+     * Tests that a window overlapping another window of the boat is rejected.
+     *
+     * <p>Verifies that:
+     * <ul>
+     *   <li>Service throws IllegalArgumentException naming the existing window</li>
+     *   <li>A window merely touching the existing one is not an overlap</li>
+     *   <li>Nothing is saved for the rejected window</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("CREATE - Should reject availability overlapping an existing window")
+    void createAvailability_WhenOverlappingExistingWindow_ShouldThrowException() {
+        // Arrange
+        User owner = new User();
+        owner.setId(1L);
+        owner.setEmail("teste@teste.com");
+        testBoat.setOwner(owner);
+
+        when(boatRepository.findById(1L)).thenReturn(Optional.of(testBoat));
+        when(userRepository.findByEmail("teste@teste.com")).thenReturn(Optional.of(owner));
+        when(boatScheduleIndex.schedule(1L)).thenReturn(BoatScheduleIndex.Schedule.of(
+                List.of(interval(testAvailability)), List.of()));
+
+        BoatAvailabilityRequestDTO overlapping = new BoatAvailabilityRequestDTO(
+                endDate.minusHours(1), endDate.plusHours(3), new BigDecimal("100.00"));
+        BoatAvailabilityRequestDTO touching = new BoatAvailabilityRequestDTO(
+                endDate, endDate.plusHours(3), new BigDecimal("100.00"));
+        when(boatAvailabilityRepository.findIntervalsByBoatIdOverlapping(
+                1L, overlapping.getStartDate(), overlapping.getEndDate()))
+                .thenReturn(List.of(interval(testAvailability)));
+        when(boatAvailabilityRepository.save(any(BoatAvailability.class))).thenReturn(testAvailability2);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> boatAvailabilityService.createAvailability(1L, overlapping, "teste@teste.com"));
+        assertTrue(exception.getMessage().contains("overlaps the existing window"));
+        assertDoesNotThrow(() -> boatAvailabilityService.createAvailability(1L, touching, "teste@teste.com"));
+        verify(boatAvailabilityRepository, times(1)).save(any(BoatAvailability.class));
+    }
+
+    /**
+     * Tests that an overlap found only in a stale schedule does not reject the window.
+     *
+     * <p>Verifies that:
+     * <ul>
+     *   <li>The overlap is confirmed against the database before rejecting</li>
+     *   <li>The stale schedule is evicted and the window is saved</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("CREATE - Should accept availability when the overlapping window was deleted elsewhere")
+    void createAvailability_WhenOverlapOnlyInStaleSchedule_ShouldEvictAndSave() {
+        // Arrange
+        User owner = new User();
+        owner.setId(1L);
+        owner.setEmail("teste@teste.com");
+        testBoat.setOwner(owner);
+
+        when(boatRepository.findById(1L)).thenReturn(Optional.of(testBoat));
+        when(userRepository.findByEmail("teste@teste.com")).thenReturn(Optional.of(owner));
+        when(boatScheduleIndex.schedule(1L)).thenReturn(BoatScheduleIndex.Schedule.of(
+                List.of(interval(testAvailability)), List.of()));
+
+        BoatAvailabilityRequestDTO recreated = new BoatAvailabilityRequestDTO(
+                startDate, endDate, new BigDecimal("100.00"));
+        when(boatAvailabilityRepository.findIntervalsByBoatIdOverlapping(1L, startDate, endDate))
+                .thenReturn(List.of());
+        when(boatAvailabilityRepository.save(any(BoatAvailability.class))).thenReturn(testAvailability2);
+
+        // Act
+        assertDoesNotThrow(() -> boatAvailabilityService.createAvailability(1L, recreated, "teste@teste.com"));
+
+        // Assert
+        verify(boatScheduleIndex).evict(1L);
+        verify(boatAvailabilityRepository).save(any(BoatAvailability.class));
     }
 
     /**
@@ -306,7 +395,7 @@ class BoatAvailabilityServiceTest {
      * <p>Verifies that:
      * <ul>
      *   <li>Service returns true when boat is completely available during requested period</li>
-     *   <li>Repository exists method is called with correct parameters and date logic</li>
+     *   <li>The check runs against the boat's schedule from the index</li>
      * </ul>
      */
     @Test
@@ -316,16 +405,15 @@ class BoatAvailabilityServiceTest {
         LocalDateTime checkStart = LocalDateTime.of(2024, 1, 16, 10, 0);
         LocalDateTime checkEnd = LocalDateTime.of(2024, 1, 16, 18, 0);
 
-        when(boatAvailabilityRepository.existsByBoatIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
-                1L, checkEnd, checkStart)).thenReturn(false);
+        when(boatScheduleIndex.schedule(1L)).thenReturn(BoatScheduleIndex.Schedule.of(
+                List.of(interval(testAvailability)), List.of()));
 
         // Act
         boolean isAvailable = boatAvailabilityService.isBoatAvailable(1L, checkStart, checkEnd);
 
         // Assert
         assertTrue(isAvailable);
-        verify(boatAvailabilityRepository, times(1))
-                .existsByBoatIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(1L, checkEnd, checkStart);
+        verifyNoInteractions(boatAvailabilityRepository);
     }
 
     /**
@@ -334,23 +422,21 @@ class BoatAvailabilityServiceTest {
      * <p>Verifies that:
      * <ul>
      *   <li>Service returns false when boat is already booked during requested period</li>
-     *   <li>Repository exists method correctly identifies overlapping time periods</li>
+     *   <li>The schedule correctly identifies overlapping time periods</li>
      * </ul>
      */
     @Test
     @DisplayName("READ - isBoatAvailable should return false when boat is not available")
     void isBoatAvailable_WhenOverlapExists_ShouldReturnFalse() {
         // Arrange
-        when(boatAvailabilityRepository.existsByBoatIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
-                1L, endDate, startDate)).thenReturn(true);
+        when(boatScheduleIndex.schedule(1L)).thenReturn(BoatScheduleIndex.Schedule.of(
+                List.of(interval(testAvailability)), List.of()));
 
         // Act
         boolean isAvailable = boatAvailabilityService.isBoatAvailable(1L, startDate, endDate);
 
         // Assert
         assertFalse(isAvailable);
-        verify(boatAvailabilityRepository, times(1))
-                .existsByBoatIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(1L, endDate, startDate);
     }
 
     /**
@@ -375,6 +461,9 @@ class BoatAvailabilityServiceTest {
         BoatAvailabilityRequestDTO updateDTO = new BoatAvailabilityRequestDTO(newStart, newEnd, newPrice);
 
         when(boatAvailabilityRepository.findById(1L)).thenReturn(Optional.of(testAvailability));
+        // The window being updated does not overlap itself
+        when(boatScheduleIndex.schedule(1L)).thenReturn(BoatScheduleIndex.Schedule.of(
+                List.of(interval(testAvailability)), List.of()));
         when(boatAvailabilityRepository.save(any(BoatAvailability.class))).thenAnswer(invocation -> {
             BoatAvailability saved = invocation.getArgument(0);
             saved.setStartDate(newStart);
@@ -402,22 +491,24 @@ class BoatAvailabilityServiceTest {
      *
      * <p>Verifies that:
      * <ul>
-     *   <li>Repository deleteById method is called exactly once with correct ID</li>
-     *   <li>Method executes without throwing exceptions for valid deletion</li>
+     *   <li>The slot is loaded and deleted exactly once</li>
+     *   <li>The content version of its boat is bumped</li>
+     *   <li>The slot is removed from the schedule index</li>
      * </ul>
      */
     @Test
     @DisplayName("DELETE - deleteAvailability should delete by id")
     void deleteAvailability_ShouldCallDeleteById() {
         // Arrange
-        when(boatAvailabilityRepository.existsById(1L)).thenReturn(true);
+        when(boatAvailabilityRepository.findById(1L)).thenReturn(Optional.of(testAvailability));
 
         // Act
         boatAvailabilityService.deleteAvailability(1L);
 
         // Assert
-        verify(boatAvailabilityRepository, times(1)).existsById(1L);
-        verify(boatAvailabilityRepository, times(1)).deleteById(1L);
+        verify(boatAvailabilityRepository, times(1)).delete(testAvailability);
+        verify(boatRepository).bumpContentVersion(eq(1L), any(LocalDateTime.class));
+        verify(boatScheduleIndex).removeWindow(1L, 1L);
     }
 
     /**
@@ -425,23 +516,23 @@ class BoatAvailabilityServiceTest {
      *
      * <p>Verifies that:
      * <ul>
-     *   <li>All availability slots for the boat are first retrieved to determine what to delete</li>
-     *   <li>Repository deleteAll method is called with the complete list of slots to delete</li>
+     *   <li>The slots are removed with one bulk delete, without being loaded first</li>
+     *   <li>The boat's schedule is evicted from the index</li>
      * </ul>
      */
     @Test
     @DisplayName("DELETE - deleteByBoatId should delete all availabilities for boat")
     void deleteByBoatId_ShouldDeleteAllForBoat() {
         // Arrange
-        List<BoatAvailability> availabilities = Arrays.asList(testAvailability, testAvailability2);
-        when(boatAvailabilityRepository.findByBoatId(1L)).thenReturn(availabilities);
+        when(boatAvailabilityRepository.deleteAllByBoatId(1L)).thenReturn(2);
 
         // Act
         boatAvailabilityService.deleteByBoatId(1L);
 
         // Assert
-        verify(boatAvailabilityRepository, times(1)).findByBoatId(1L);
-        verify(boatAvailabilityRepository, times(1)).deleteAll(availabilities);
+        verify(boatAvailabilityRepository, times(1)).deleteAllByBoatId(1L);
+        verify(boatAvailabilityRepository, never()).findByBoatId(any());
+        verify(boatScheduleIndex).evict(1L);
     }
 
     /**
@@ -475,14 +566,14 @@ class BoatAvailabilityServiceTest {
      * <p>Verifies that:
      * <ul>
      *   <li>Service throws RuntimeException with descriptive error message when ID not found</li>
-     *   <li>Repository deleteById method is never called when entity doesn't exist</li>
+     *   <li>Nothing is deleted when the entity doesn't exist</li>
      * </ul>
      */
     @Test
     @DisplayName("Edge Case - deleteAvailability should throw exception when not found")
     void deleteAvailability_WhenNotFound_ShouldThrowException() {
         // Arrange
-        when(boatAvailabilityRepository.existsById(999L)).thenReturn(false);
+        when(boatAvailabilityRepository.findById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -490,8 +581,8 @@ class BoatAvailabilityServiceTest {
         });
 
         assertEquals("Availability not found with id: 999", exception.getMessage());
-        verify(boatAvailabilityRepository, times(1)).existsById(999L);
-        verify(boatAvailabilityRepository, never()).deleteById(anyLong());
+        verify(boatAvailabilityRepository, never()).delete(any(BoatAvailability.class));
+        verify(boatRepository, never()).bumpContentVersion(anyLong(), any());
     }
 
     /**
@@ -546,4 +637,9 @@ class BoatAvailabilityServiceTest {
         assertTrue(result.isEmpty());
         verify(boatAvailabilityRepository, times(1)).findByBoatId(1L);
     }
-}
\ No newline at end of file
+
+    private static ScheduleInterval interval(BoatAvailability availability) {
+        return new ScheduleInterval(availability.getId(), availability.getStartDate(),
+                availability.getEndDate(), availability.getPricePerHour());
+    }
+}
@@ -0,0 +1,174 @@
+package com.jompastech.backend.unit.service;
+
+import com.jompastech.backend.model.entity.Address;
+import com.jompastech.backend.model.entity.Boat;
+import com.jompastech.backend.model.entity.BoatCard;
+import com.jompastech.backend.model.entity.BoatPhoto;
+import com.jompastech.backend.model.entity.ImageVariant;
+import com.jompastech.backend.model.entity.User;
+import com.jompastech.backend.repository.BoatAvailabilityRepository;
+import com.jompastech.backend.repository.BoatCardRepository;
+import com.jompastech.backend.repository.BoatPhotoRepository;
+import com.jompastech.backend.repository.BoatRepository;
+import com.jompastech.backend.repository.ReviewRepository;
+import com.jompastech.backend.service.BoatCardProjector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link BoatCardProjector}.
+ *
+ * <p>Verifies that:
+ * <ul>
+ *   <li>A card is computed from the boat, its cover photo, reviews and availability windows</li>
+ *   <li>The card of a deleted boat is removed</li>
+ *   <li>Inside a transaction, stale boats are refreshed once, before commit</li>
+ * </ul>
+ */
+@ExtendWith(MockitoExtension.class)
+class BoatCardProjectorTest {
+
+    @Mock
+    private BoatRepository boatRepository;
+
+    @Mock
+    private BoatCardRepository boatCardRepository;
+
+    @Mock
+    private BoatPhotoRepository boatPhotoRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private BoatAvailabilityRepository boatAvailabilityRepository;
+
+    @InjectMocks
+    private BoatCardProjector projector;
+
+    private Boat boat;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setId(7L);
+        owner.setName("Owner");
+
+        Address address = new Address();
+        address.setCity("Santos");
+        address.setState("SP");
+        address.setMarina("Marina Test");
+
+        boat = new Boat();
+        boat.setId(1L);
+        boat.setName("Sea Breeze");
+        boat.setType("LANCHA");
+        boat.setCapacity(8);
+        boat.setPricePerHour(new BigDecimal("300.00"));
+        boat.setOwner(owner);
+        boat.setAddress(address);
+        boat.setAmenities(List.of("GPS", "Cooler"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(projector);
+    }
+
+    @Test
+    void refresh_ShouldWriteFlatCardFromBoatAndChildren() {
+        // Arrange
+        ReviewRepository.ReviewAggregation reviews = mock(ReviewRepository.ReviewAggregation.class);
+        when(reviews.getAverageRating()).thenReturn(4.5);
+        when(reviews.getReviewCount()).thenReturn(2L);
+        when(boatRepository.findById(1L)).thenReturn(Optional.of(boat));
+        when(boatCardRepository.findById(1L)).thenReturn(Optional.empty());
+        when(boatPhotoRepository.findFirstByBoatIdOrderByOrdemAscIdAsc(1L))
+                .thenReturn(Optional.of(new BoatPhoto("cover-url", 0, "pid", "a.jpg", boat)));
+        when(reviewRepository.getReviewAggregation(1L)).thenReturn(reviews);
+        when(boatAvailabilityRepository.findMinPricePerHourByBoatId(1L)).thenReturn(new BigDecimal("250.00"));
+
+        // Act
+        projector.refresh(1L);
+
+        // Assert
+        ArgumentCaptor<BoatCard> saved = ArgumentCaptor.forClass(BoatCard.class);
+        verify(boatCardRepository).save(saved.capture());
+        BoatCard card = saved.getValue();
+        assertThat(card.getId()).isEqualTo(1L);
+        assertThat(card.getCity()).isEqualTo("Santos");
+        assertThat(card.getOwnerId()).isEqualTo(7L);
+        assertThat(card.getOwnerName()).isEqualTo("Owner");
+        assertThat(card.getCoverPhotoUrl()).isEqualTo("cover-url");
+        assertThat(card.getAmenities()).containsExactly("GPS", "Cooler");
+        assertThat(card.getAverageRating()).isEqualTo(4.5);
+        assertThat(card.getReviewCount()).isEqualTo(2L);
+        assertThat(card.getMinWindowPrice()).isEqualByComparingTo("250.00");
+        assertThat(card.getRefreshedAt()).isNotNull();
+    }
+
+    @Test
+    void refresh_ShouldPreferCardRenditionForCover() {
+        BoatPhoto cover = new BoatPhoto("original-url", 0, "pid", "a.jpg", boat);
+        cover.setCard(new ImageVariant("card-url", 640, 480));
+        when(boatRepository.findById(1L)).thenReturn(Optional.of(boat));
+        when(boatCardRepository.findById(1L)).thenReturn(Optional.empty());
+        when(boatPhotoRepository.findFirstByBoatIdOrderByOrdemAscIdAsc(1L)).thenReturn(Optional.of(cover));
+
+        projector.refresh(1L);
+
+        ArgumentCaptor<BoatCard> saved = ArgumentCaptor.forClass(BoatCard.class);
+        verify(boatCardRepository).save(saved.capture());
+        assertThat(saved.getValue().getCoverPhotoUrl()).isEqualTo("card-url");
+    }
+
+    @Test
+    void refresh_WhenBoatIsGone_ShouldDeleteCard() {
+        when(boatRepository.findById(1L)).thenReturn(Optional.empty());
+
+        projector.refresh(1L);
+
+        verify(boatCardRepository).deleteById(1L);
+        verify(boatCardRepository, never()).save(any());
+    }
+
+    @Test
+    void markStale_InsideTransaction_ShouldRefreshOnceBeforeCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        when(boatRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // Act
+        projector.markStale(1L);
+        projector.markStale(1L);
+
+        // Assert: nothing happens until the transaction commits
+        verifyNoInteractions(boatRepository);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+
+        synchronizations.get(0).beforeCommit(false);
+
+        verify(boatRepository, times(1)).findById(1L);
+        verify(boatCardRepository, times(1)).deleteById(1L);
+    }
+}
@@ -0,0 +1,90 @@
+package com.jompastech.backend.unit.service;
+
+import com.jompastech.backend.model.dto.geo.BoatLocation;
+import com.jompastech.backend.repository.BoatRepository;
+import com.jompastech.backend.service.BoatGeoIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link BoatGeoIndex}.
+ *
+ * <p>Verifies that:
+ * <ul>
+ *   <li>The index is built from the repository at startup</li>
+ *   <li>Radius and bounding-box queries return exact matches ordered by distance</li>
+ *   <li>Moved and removed boats leave their previous cells</li>
+ * </ul>
+ */
+@ExtendWith(MockitoExtension.class)
+class BoatGeoIndexTest {
+
+    // Santos and Guarujá are a few kilometers apart, Rio is ~360 km away
+    private static final BoatLocation SANTOS = new BoatLocation(1L, -23.9608, -46.3336);
+    private static final BoatLocation GUARUJA = new BoatLocation(2L, -23.9930, -46.2564);
+    private static final BoatLocation RIO = new BoatLocation(3L, -22.9068, -43.1729);
+
+    @Mock
+    private BoatRepository boatRepository;
+
+    private BoatGeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(boatRepository.findAllLocations()).thenReturn(List.of(SANTOS, GUARUJA, RIO));
+        index = new BoatGeoIndex(boatRepository);
+        index.load();
+    }
+
+    @Test
+    void findWithinRadius_ShouldReturnBoatsInsideRadiusClosestFirst() {
+        // Act
+        List<BoatGeoIndex.Hit> hits = index.findWithinRadius(-23.99, -46.26, 15, 10);
+
+        // Assert
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(hits).extracting(hit -> hit.location().boatId()).containsExactly(2L, 1L);
+        assertThat(hits.get(1).distanceKm()).isBetween(7.0, 10.0);
+    }
+
+    @Test
+    void findWithinRadius_ShouldApplyLimit() {
+        List<BoatGeoIndex.Hit> hits = index.findWithinRadius(-23.99, -46.26, 500, 2);
+
+        assertThat(hits).extracting(hit -> hit.location().boatId()).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void findInBox_ShouldReturnOnlyBoatsInsideBox() {
+        List<BoatGeoIndex.Hit> hits = index.findInBox(-23.5, -44, -22, -43, 10);
+
+        assertThat(hits).extracting(hit -> hit.location().boatId()).containsExactly(3L);
+    }
+
+    @Test
+    void put_ShouldMoveBoatToNewCell() {
+        // Act: move the Santos boat to Rio
+        index.put(1L, -22.91, -43.17);
+
+        // Assert
+        assertThat(index.findWithinRadius(-23.96, -46.33, 5, 10)).isEmpty();
+        assertThat(index.findWithinRadius(-22.91, -43.17, 5, 10))
+                .extracting(hit -> hit.location().boatId()).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void put_WithoutCoordinates_ShouldRemoveBoat() {
+        index.put(2L, null, null);
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.findWithinRadius(-23.99, -46.26, 2, 10)).isEmpty();
+    }
+}
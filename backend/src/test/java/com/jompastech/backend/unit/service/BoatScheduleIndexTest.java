@@ -0,0 +1,252 @@
+package com.jompastech.backend.unit.service;
+
+import com.jompastech.backend.model.dto.schedule.RecurrenceRule;
+import com.jompastech.backend.model.dto.schedule.ScheduleInterval;
+import com.jompastech.backend.model.entity.AvailabilityRule;
+import com.jompastech.backend.model.entity.AvailabilityRuleException;
+import com.jompastech.backend.model.entity.Boat;
+import com.jompastech.backend.model.entity.BoatAvailability;
+import com.jompastech.backend.model.entity.Booking;
+import com.jompastech.backend.model.entity.User;
+import com.jompastech.backend.repository.AvailabilityRuleRepository;
+import com.jompastech.backend.repository.BoatAvailabilityRepository;
+import com.jompastech.backend.repository.BookingRepository;
+import com.jompastech.backend.service.BoatScheduleIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link BoatScheduleIndex}.
+ *
+ * <p>Verifies that:
+ * <ul>
+ *   <li>A boat's schedule is loaded once, then served from memory until its TTL ends</li>
+ *   <li>Coverage and overlap checks hold with nested and overlapping windows</li>
+ *   <li>Windows are half-open: touching windows do not overlap</li>
+ *   <li>Bookings touching a period at its ends do not conflict</li>
+ *   <li>Writes update the loaded schedule; cancelled bookings stop blocking</li>
+ *   <li>Recurring rules cover and overlap periods through their occurrences, with
+ *       cancelled and repriced occurrences taken into account</li>
+ * </ul>
+ */
+@ExtendWith(MockitoExtension.class)
+class BoatScheduleIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 10, 0, 0);
+
+    @Mock
+    private BoatAvailabilityRepository boatAvailabilityRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private AvailabilityRuleRepository availabilityRuleRepository;
+
+    private BoatScheduleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BoatScheduleIndex(boatAvailabilityRepository, bookingRepository, availabilityRuleRepository,
+                Duration.ofMinutes(1));
+    }
+
+    @Test
+    void schedule_WhenTtlEnded_ShouldLoadAgain() {
+        BoatScheduleIndex expiring = new BoatScheduleIndex(boatAvailabilityRepository, bookingRepository,
+                availabilityRuleRepository, Duration.ZERO);
+        when(boatAvailabilityRepository.findIntervalsByBoatId(1L)).thenReturn(List.of(window(1L, 8, 18)));
+        when(bookingRepository.findActiveIntervalsByBoatId(1L))
+                .thenReturn(List.of(), List.of(new ScheduleInterval(9L, DAY.withHour(10), DAY.withHour(14))));
+
+        expiring.schedule(1L);
+        BoatScheduleIndex.Schedule reloaded = expiring.schedule(1L);
+
+        assertThat(reloaded.findConflictingBooking(DAY.withHour(12), DAY.withHour(16))).isNotNull();
+        verify(bookingRepository, times(2)).findActiveIntervalsByBoatId(1L);
+    }
+
+    @Test
+    void schedule_ShouldLoadOnceThenServeFromMemory() {
+        when(boatAvailabilityRepository.findIntervalsByBoatId(1L)).thenReturn(List.of(window(1L, 8, 18)));
+        when(bookingRepository.findActiveIntervalsByBoatId(1L)).thenReturn(List.of());
+
+        index.schedule(1L);
+        BoatScheduleIndex.Schedule schedule = index.schedule(1L);
+
+        assertThat(schedule.windows().size()).isEqualTo(1);
+        verify(boatAvailabilityRepository, times(1)).findIntervalsByBoatId(1L);
+        verify(bookingRepository, times(1)).findActiveIntervalsByBoatId(1L);
+    }
+
+    @Test
+    void hasWindowCovering_ShouldFindLongWindowBehindShorterOnes() {
+        // The long window starts first; later, shorter windows must not hide it
+        BoatScheduleIndex.Schedule schedule = BoatScheduleIndex.Schedule.of(List.of(
+                window(1L, 0, 23), window(2L, 6, 8), window(3L, 9, 10)), List.of());
+
+        assertThat(schedule.hasWindowCovering(at(12), at(20))).isTrue();
+        assertThat(schedule.hasWindowCovering(at(0), at(23))).isTrue();
+        assertThat(schedule.hasWindowCovering(at(12), DAY.plusDays(1))).isFalse();
+        assertThat(schedule.hasWindowOverlapping(at(22), at(23).plusHours(4))).isTrue();
+        assertThat(schedule.hasWindowOverlapping(at(23), at(23).plusHours(4))).isFalse();
+        assertThat(schedule.hasWindowOverlapping(DAY.minusHours(5), DAY.minusHours(1))).isFalse();
+    }
+
+    @Test
+    void findOverlappingWindow_ShouldLeaveOutIgnoredWindow() {
+        BoatScheduleIndex.Schedule schedule = BoatScheduleIndex.Schedule.of(List.of(
+                window(1L, 8, 12), window(2L, 12, 18)), List.of());
+
+        assertThat(schedule.findOverlappingWindow(at(10), at(14), null).id()).isEqualTo(2L);
+        assertThat(schedule.findOverlappingWindow(at(12), at(14), 2L)).isNull();
+        assertThat(schedule.findOverlappingWindow(at(18), at(20), null)).isNull();
+    }
+
+    @Test
+    void findConflictingBooking_ShouldIgnoreBookingsTouchingThePeriod() {
+        BoatScheduleIndex.Schedule schedule = BoatScheduleIndex.Schedule.of(List.of(), List.of(
+                new ScheduleInterval(1L, at(8), at(12)), new ScheduleInterval(2L, at(16), at(20))));
+
+        assertThat(schedule.findConflictingBooking(at(12), at(16))).isNull();
+        assertThat(schedule.findConflictingBooking(at(11), at(13)).id()).isEqualTo(1L);
+        assertThat(schedule.findConflictingBooking(at(6), at(22))).isNotNull();
+        assertThat(schedule.findConflictingBooking(at(19), at(23)).id()).isEqualTo(2L);
+    }
+
+    @Test
+    void putWindowAndBooking_ShouldUpdateLoadedSchedule() {
+        when(boatAvailabilityRepository.findIntervalsByBoatId(1L)).thenReturn(List.of());
+        when(bookingRepository.findActiveIntervalsByBoatId(1L)).thenReturn(List.of());
+        index.schedule(1L);
+
+        Boat boat = new Boat();
+        boat.setId(1L);
+        BoatAvailability window = new BoatAvailability(boat, at(8), at(18), new BigDecimal("100.00"));
+        window.setId(5L);
+        Booking booking = new Booking(new User(), boat, at(10), at(14), new BigDecimal("400.00"));
+        ReflectionTestUtils.setField(booking, "id", 7L);
+
+        index.putWindow(window);
+        index.putBooking(booking);
+
+        BoatScheduleIndex.Schedule schedule = index.schedule(1L);
+        assertThat(schedule.hasWindowCovering(at(10), at(14))).isTrue();
+        assertThat(schedule.findConflictingBooking(at(12), at(16)).id()).isEqualTo(7L);
+
+        booking.cancel();
+        index.putBooking(booking);
+        index.removeWindow(1L, 5L);
+
+        schedule = index.schedule(1L);
+        assertThat(schedule.findConflictingBooking(at(12), at(16))).isNull();
+        assertThat(schedule.hasWindowOverlapping(at(10), at(14))).isFalse();
+        verify(boatAvailabilityRepository, times(1)).findIntervalsByBoatId(1L);
+    }
+
+    @Test
+    void evict_ShouldReloadOnNextUse() {
+        when(boatAvailabilityRepository.findIntervalsByBoatId(1L)).thenReturn(List.of());
+        when(bookingRepository.findActiveIntervalsByBoatId(1L)).thenReturn(List.of());
+        index.schedule(1L);
+
+        index.evict(1L);
+        index.schedule(1L);
+
+        verify(boatAvailabilityRepository, times(2)).findIntervalsByBoatId(1L);
+    }
+
+    @Test
+    void hasWindowCovering_ShouldExpandRulesForThePeriod() {
+        // DAY is a Thursday; the rule runs on Thursdays, and the next one is cancelled
+        AvailabilityRule rule = daytimeRule(Set.of(DayOfWeek.THURSDAY));
+        rule.getExceptions().add(new AvailabilityRuleException(DAY.toLocalDate().plusWeeks(1), null));
+        rule.getExceptions().add(new AvailabilityRuleException(DAY.toLocalDate().plusWeeks(2), new BigDecimal("90.00")));
+        BoatScheduleIndex.Schedule schedule = BoatScheduleIndex.Schedule.of(
+                List.of(), List.of(), List.of(RecurrenceRule.from(rule)));
+
+        assertThat(schedule.hasWindowCovering(at(9), at(13))).isTrue();
+        assertThat(schedule.hasWindowCovering(at(9), at(19))).isFalse();
+        assertThat(schedule.hasWindowCovering(at(9).plusDays(1), at(13).plusDays(1))).isFalse();
+        assertThat(schedule.hasWindowCovering(at(9).plusWeeks(1), at(13).plusWeeks(1))).isFalse();
+        assertThat(schedule.findCoveringOccurrence(at(9).plusWeeks(2), at(13).plusWeeks(2)).pricePerHour())
+                .isEqualByComparingTo("90.00");
+        assertThat(schedule.findCoveringOccurrence(at(9).plusWeeks(3), at(13).plusWeeks(3)).pricePerHour())
+                .isEqualByComparingTo("120.00");
+        assertThat(schedule.hasWindowOverlapping(at(17), at(20))).isTrue();
+        assertThat(schedule.hasWindowOverlapping(at(18), at(32))).isFalse();
+        assertThat(schedule.hasWindowOverlapping(at(18), at(18).plusYears(1))).isTrue();
+    }
+
+    @Test
+    void findOverlappingRule_ShouldCompareWeekdaysValidityAndTimes() {
+        RecurrenceRule weekend = RecurrenceRule.from(daytimeRule(Set.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY)));
+        BoatScheduleIndex.Schedule schedule = BoatScheduleIndex.Schedule.of(List.of(), List.of(), List.of(weekend));
+
+        RecurrenceRule sundayEvening = RecurrenceRule.from(new AvailabilityRule(new Boat(), Set.of(DayOfWeek.SUNDAY),
+                LocalTime.of(18, 0), LocalTime.of(22, 0), DAY.toLocalDate(), null, new BigDecimal("50.00")));
+        RecurrenceRule sundayAfternoon = RecurrenceRule.from(new AvailabilityRule(new Boat(), Set.of(DayOfWeek.SUNDAY),
+                LocalTime.of(14, 0), LocalTime.of(20, 0), DAY.toLocalDate(), null, new BigDecimal("50.00")));
+        RecurrenceRule mondays = RecurrenceRule.from(new AvailabilityRule(new Boat(), Set.of(DayOfWeek.MONDAY),
+                LocalTime.of(8, 0), LocalTime.of(18, 0), DAY.toLocalDate(), null, new BigDecimal("50.00")));
+
+        assertThat(schedule.findOverlappingRule(sundayEvening)).isNull();
+        assertThat(schedule.findOverlappingRule(sundayAfternoon)).isEqualTo(weekend);
+        assertThat(schedule.findOverlappingRule(mondays)).isNull();
+    }
+
+    @Test
+    void putAndRemoveRule_ShouldUpdateLoadedSchedule() {
+        when(boatAvailabilityRepository.findIntervalsByBoatId(1L)).thenReturn(List.of());
+        when(bookingRepository.findActiveIntervalsByBoatId(1L)).thenReturn(List.of());
+        when(availabilityRuleRepository.findByBoatIdWithExceptions(1L)).thenReturn(List.of());
+        index.schedule(1L);
+
+        AvailabilityRule rule = daytimeRule(Set.of(DayOfWeek.THURSDAY));
+        index.putRule(rule);
+        assertThat(index.schedule(1L).hasWindowCovering(at(9), at(13))).isTrue();
+
+        rule.getExceptions().add(new AvailabilityRuleException(DAY.toLocalDate(), null));
+        index.putRule(rule);
+        assertThat(index.schedule(1L).rules()).hasSize(1);
+        assertThat(index.schedule(1L).hasWindowCovering(at(9), at(13))).isFalse();
+
+        index.removeRule(1L, rule.getId());
+        assertThat(index.schedule(1L).rules()).isEmpty();
+        verify(availabilityRuleRepository, times(1)).findByBoatIdWithExceptions(1L);
+    }
+
+    private static AvailabilityRule daytimeRule(Set<DayOfWeek> weekdays) {
+        Boat boat = new Boat();
+        boat.setId(1L);
+        AvailabilityRule rule = new AvailabilityRule(boat, weekdays, LocalTime.of(8, 0), LocalTime.of(18, 0),
+                DAY.toLocalDate(), null, new BigDecimal("120.00"));
+        rule.setId(4L);
+        return rule;
+    }
+
+    private static ScheduleInterval window(Long id, int startHour, int endHour) {
+        return new ScheduleInterval(id, at(startHour), at(endHour), new BigDecimal("100.00"));
+    }
+
+    private static LocalDateTime at(int hour) {
+        return DAY.plusHours(hour);
+    }
+}
@@ -1,15 +1,33 @@
 package com.jompastech.backend.unit.service;
 
+import com.jompastech.backend.config.CacheConfig;
 import com.jompastech.backend.mapper.BoatMapper;
 import com.jompastech.backend.model.dto.BoatRequestDTO;
 import com.jompastech.backend.model.dto.BoatResponseDTO;
+import com.jompastech.backend.model.dto.catalog.BoatCardView;
+import com.jompastech.backend.model.dto.catalog.BoatCatalogCursor;
+import com.jompastech.backend.model.dto.catalog.BoatContentVersion;
+import com.jompastech.backend.model.dto.catalog.BoatDetails;
+import com.jompastech.backend.model.dto.catalog.BoatSearchCriteria;
+import com.jompastech.backend.model.dto.catalog.BoatSearchResponseDTO;
+import com.jompastech.backend.model.dto.catalog.FacetCountDTO;
+import com.jompastech.backend.model.dto.geo.BoatLocation;
+import com.jompastech.backend.model.dto.geo.NearbyBoatDTO;
+import com.jompastech.backend.model.dto.catalog.CursorPageResponseDTO;
 import com.jompastech.backend.model.entity.Address;
 import com.jompastech.backend.model.entity.Boat;
 import com.jompastech.backend.model.entity.BoatPhoto;
 import com.jompastech.backend.model.entity.User;
+import com.jompastech.backend.model.enums.CatalogSort;
 import com.jompastech.backend.repository.AddressRepository;
+import com.jompastech.backend.repository.BoatPhotoRepository;
 import com.jompastech.backend.repository.BoatRepository;
 import com.jompastech.backend.repository.UserRepository;
+import com.jompastech.backend.service.BoatCardProjector;
+import com.jompastech.backend.service.BoatGeoIndex;
+import com.jompastech.backend.service.BoatScheduleIndex;
+import com.jompastech.backend.service.PhotoDeletionQueue;
+import com.jompastech.backend.service.PhotoService;
 import com.jompastech.backend.service.BoatService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,12 +36,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -64,6 +90,30 @@ public class BoatServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BoatGeoIndex boatGeoIndex;
+
+    @Mock
+    private BoatScheduleIndex boatScheduleIndex;
+
+    @Mock
+    private BoatCardProjector boatCardProjector;
+
+    @Mock
+    private PhotoDeletionQueue photoDeletionQueue;
+
+    @Mock
+    private BoatPhotoRepository boatPhotoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
     private Boat testBoat;
     private Boat testBoat2;
     private User testBoatOwner;
@@ -114,6 +164,8 @@ public class BoatServiceTest {
                 null,
                 null,
                 null,
+                null,
+                null,
                 null
                 );
 
@@ -134,7 +186,8 @@ public class BoatServiceTest {
                 null,
                 null,
                 testBoat.getOwner().getName(),
-                testBoatOwner.getId()
+                testBoatOwner.getId(),
+                List.of()
         );
 
         // Manual injection of UserRepository on BoatService
@@ -241,6 +294,56 @@ public class BoatServiceTest {
         verify(boatRepository).findById(nonExistingId);
     }
 
+    /**
+     * Tests that boat details carry the content version of the entity they were mapped from.
+     *
+     * <p>Verifies that:
+     * <ul>
+     *   <li>The version and update time are read from the same entity as the details</li>
+     * </ul>
+     */
+    @Test
+    void findDetails_ShouldCarryContentVersionOfTheSameLoad() {
+        // Arrange
+        testBoat.setContentVersion(7);
+        testBoat.setContentUpdatedAt(LocalDateTime.of(2030, 1, 7, 10, 0));
+        when(boatRepository.findById(testBoat.getId())).thenReturn(Optional.of(testBoat));
+        when(boatMapper.toResponseDTO(testBoat)).thenReturn(testResponseDTO);
+
+        // Act
+        BoatDetails details = boatService.findDetails(testBoat.getId());
+
+        // Assert
+        assertThat(details.boat()).isSameAs(testResponseDTO);
+        assertThat(details.version()).isEqualTo(
+                new BoatContentVersion(testBoat.getId(), 7, LocalDateTime.of(2030, 1, 7, 10, 0)));
+    }
+
+    /**
+     * Tests that renaming an owner invalidates everything showing the old name.
+     *
+     * <p>Verifies that:
+     * <ul>
+     *   <li>All boats of the owner are bumped with one update</li>
+     *   <li>Their catalog cards are rewritten and their cached details evicted</li>
+     * </ul>
+     */
+    @Test
+    void ownerRenamed_ShouldBumpBoatsAndEvictTheirDetails() {
+        // Arrange
+        when(boatRepository.findIdsByOwnerId(1L)).thenReturn(List.of(10L, 11L));
+        when(cacheManager.getCache(CacheConfig.BOAT_DETAILS)).thenReturn(cache);
+
+        // Act
+        boatService.ownerRenamed(1L, "New Name");
+
+        // Assert
+        verify(boatRepository).bumpContentVersionByOwnerId(eq(1L), any(LocalDateTime.class));
+        verify(boatCardProjector).ownerRenamed(1L, "New Name");
+        verify(cache).evict(10L);
+        verify(cache).evict(11L);
+    }
+
     /**
      * Tests retrieval of all boats when they exist.
      *
@@ -270,7 +373,7 @@ public class BoatServiceTest {
      *
      * <p>Verifies that:
      * <ul>
-     *   <li>Boat is properly deleted from repository</li>
+     *   <li>Boat is properly deleted from repository, its photo images queued for deletion</li>
      *   <li>Searching for deleted boat throws exception</li>
      *   <li>Repository deleteById method is properly called</li>
      * </ul>
@@ -289,7 +392,10 @@ public class BoatServiceTest {
 
         // Delete the boat
         boatService.deleteById(boatId);
+        verify(photoDeletionQueue).enqueueBoatPhotos(boatId);
         verify(boatRepository).deleteById(boatId);
+        verify(eventPublisher).publishEvent(any(PhotoService.PhotosDeletedEvent.class));
+        verify(boatScheduleIndex).evict(boatId);
 
         // Now mock the repository to return empty for findById
         when(boatRepository.findById(boatId)).thenReturn(Optional.empty());
@@ -387,7 +493,8 @@ public class BoatServiceTest {
                 null,
                 null,
                 testBoatOwner.getName(),
-                testBoatOwner.getId());
+                testBoatOwner.getId(),
+                List.of());
 
         BoatResponseDTO dto2 = new BoatResponseDTO(
                 2L,
@@ -405,7 +512,8 @@ public class BoatServiceTest {
                 null,
                 null,
                 testBoatOwner.getName(),
-                testBoatOwner.getId());
+                testBoatOwner.getId(),
+                List.of());
 
         List<BoatResponseDTO> expectedDTOs = Arrays.asList(dto1, dto2);
 
@@ -547,7 +655,9 @@ public class BoatServiceTest {
                 "Updated Neighborhood",
                 "Updated City",
                 "SP",
-                "Updated Marina"
+                "Updated Marina",
+                -23.96,
+                -46.33
         );
 
         // Configure existent boat with owner
@@ -571,6 +681,8 @@ public class BoatServiceTest {
         verify(boatRepository).findById(boatId);
         verify(boatRepository).save(any(Boat.class));
         verify(boatMapper).toResponseDTO(any(Boat.class));
+        assertThat(existingAddress.getLatitude()).isEqualTo(-23.96);
+        verify(boatGeoIndex).put(testBoat.getId(), -23.96, -46.33);
     }
 
     @Test
@@ -683,4 +795,240 @@ public class BoatServiceTest {
         verify(addressRepository).save(any(Address.class));
         verify(boatRepository).save(any(Boat.class));
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests the first catalog page when more boats exist than the page size.
+     *
+     * <p>Verifies that:
+     * <ul>
+     *   <li>One extra row is requested to detect the next page</li>
+     *   <li>Only the requested number of items is returned</li>
+     *   <li>The next cursor points to the last returned boat</li>
+     * </ul>
+     */
+    @Test
+    void findCatalogPage_WithMoreBoatsThanPageSize_ShouldReturnNextCursor() {
+        // Arrange
+        BoatCardView first = cardOf(testBoat);
+        when(boatRepository.findCatalogPageAfterId(eq(0L), any(Pageable.class)))
+                .thenReturn(new ArrayList<>(List.of(first, cardOf(testBoat2))));
+
+        // Act
+        CursorPageResponseDTO<BoatCardView> result = boatService.findCatalogPage(null, 1, CatalogSort.ID);
+
+        // Assert
+        assertThat(result.getItems()).containsExactly(first);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(BoatCatalogCursor.decode(result.getNextCursor(), CatalogSort.ID).boatId())
+                .isEqualTo(testBoat.getId());
+        verifyNoInteractions(boatMapper);
+        verify(boatRepository).findCatalogPageAfterId(eq(0L), argThat(p -> p.getPageSize() == 2));
+    }
+
+    /**
+     * Tests that a price cursor resumes the catalog after the encoded position
+     * and that the last page carries no cursor.
+     */
+    @Test
+    void findCatalogPage_WithPriceCursor_ShouldSeekAfterCursorPosition() {
+        // Arrange
+        String cursor = new BoatCatalogCursor(CatalogSort.PRICE, new BigDecimal("150.00"), 7L).encode();
+        when(boatRepository.findCatalogPageAfterPrice(eq(new BigDecimal("150.00")), eq(7L), any(Pageable.class)))
+                .thenReturn(List.of(cardOf(testBoat2)));
+
+        // Act
+        CursorPageResponseDTO<BoatCardView> result = boatService.findCatalogPage(cursor, 10, CatalogSort.PRICE);
+
+        // Assert
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+        verify(boatRepository, never()).findCatalogFirstPageByPrice(any());
+    }
+
+    /**
+     * Tests that the page size is clamped to the configured maximum.
+     */
+    @Test
+    void findCatalogPage_WithOversizedPage_ShouldClampPageSize() {
+        // Arrange
+        when(boatRepository.findCatalogPageAfterId(eq(0L), any(Pageable.class))).thenReturn(List.of());
+
+        // Act
+        CursorPageResponseDTO<BoatCardView> result = boatService.findCatalogPage(null, 5000, CatalogSort.ID);
+
+        // Assert
+        assertThat(result.getSize()).isEqualTo(BoatService.MAX_CATALOG_PAGE_SIZE);
+        verify(boatRepository).findCatalogPageAfterId(eq(0L),
+                argThat(p -> p.getPageSize() == BoatService.MAX_CATALOG_PAGE_SIZE + 1));
+    }
+
+    /**
+     * Tests that malformed or mismatched cursors are rejected before querying.
+     */
+    @Test
+    void findCatalogPage_WithInvalidCursor_ShouldThrowIllegalArgumentException() {
+        String idCursor = new BoatCatalogCursor(CatalogSort.ID, null, 3L).encode();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> boatService.findCatalogPage("not-a-cursor", 10, CatalogSort.ID));
+        assertThrows(IllegalArgumentException.class,
+                () -> boatService.findCatalogPage(idCursor, 10, CatalogSort.PRICE));
+        verifyNoInteractions(boatRepository);
+    }
+
+    /**
+     * Tests that search results keep the order of the paged ids and carry the facets.
+     *
+     * <p>Verifies that:
+     * <ul>
+     *   <li>Cards loaded by id are returned in the order chosen by the database</li>
+     *   <li>Totals come from the id page</li>
+     *   <li>Type and city facets are included in the response</li>
+     * </ul>
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchBoats_ShouldReturnCardsInIdOrderWithFacets() {
+        // Arrange
+        BoatSearchCriteria criteria = new BoatSearchCriteria();
+        criteria.setType("LANCHA");
+        List<Long> ids = List.of(testBoat2.getId(), testBoat.getId());
+        List<FacetCountDTO> typeFacets = List.of(new FacetCountDTO("LANCHA", 2));
+        List<FacetCountDTO> cityFacets = List.of(new FacetCountDTO("Santos", 2));
+        when(boatRepository.findIdsBy(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(ids, PageRequest.of(0, 2), 5));
+        when(boatRepository.findCardsByIdIn(ids)).thenReturn(List.of(cardOf(testBoat), cardOf(testBoat2)));
+        when(boatRepository.countByType(any(Specification.class))).thenReturn(typeFacets);
+        when(boatRepository.countByCity(any(Specification.class))).thenReturn(cityFacets);
+
+        // Act
+        BoatSearchResponseDTO result = boatService.searchBoats(criteria, 0, 2, CatalogSort.PRICE);
+
+        // Assert
+        assertThat(result.getItems()).extracting(BoatCardView::id).containsExactlyElementsOf(ids);
+        assertThat(result.getTotalElements()).isEqualTo(5);
+        assertThat(result.getTotalPages()).isEqualTo(3);
+        assertThat(result.getTypeFacets()).isEqualTo(typeFacets);
+        assertThat(result.getCityFacets()).isEqualTo(cityFacets);
+        verify(boatRepository).findIdsBy(any(Specification.class),
+                argThat(p -> p.getSort().equals(Sort.by("pricePerHour", "id"))));
+    }
+
+    /**
+     * Tests that an inverted price range is rejected before querying.
+     */
+    @Test
+    void searchBoats_WithInvertedPriceRange_ShouldThrowIllegalArgumentException() {
+        BoatSearchCriteria criteria = new BoatSearchCriteria();
+        criteria.setMinPrice(new BigDecimal("500"));
+        criteria.setMaxPrice(new BigDecimal("100"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> boatService.searchBoats(criteria, 0, 20, CatalogSort.ID));
+        verifyNoInteractions(boatRepository);
+    }
+
+    /**
+     * Tests that a free-text search without an explicit sort is ranked by relevance.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchBoats_WithTextAndNoSort_ShouldRankByRelevance() {
+        // Arrange
+        BoatSearchCriteria criteria = new BoatSearchCriteria();
+        criteria.setQ("lancha rapida");
+        when(boatRepository.findIdsByRelevance(any(Specification.class), eq("lancha rapida"), any(Pageable.class)))
+                .thenReturn(Page.empty());
+
+        // Act
+        BoatSearchResponseDTO result = boatService.searchBoats(criteria, 0, 20, null);
+
+        // Assert
+        assertThat(result.getItems()).isEmpty();
+        verify(boatRepository, never()).findIdsBy(any(), any());
+        verify(boatRepository, never()).findCardsByIdIn(any());
+    }
+
+    /**
+     * Tests that oversized free text is rejected before querying.
+     */
+    @Test
+    void searchBoats_WithTooLongText_ShouldThrowIllegalArgumentException() {
+        BoatSearchCriteria criteria = new BoatSearchCriteria();
+        criteria.setQ("a".repeat(BoatService.MAX_SEARCH_TEXT_LENGTH + 1));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> boatService.searchBoats(criteria, 0, 20, null));
+        verifyNoInteractions(boatRepository);
+    }
+
+    /**
+     * Tests that nearby hits from the geo index are returned in distance order
+     * with their card data, skipping boats that no longer exist.
+     */
+    @Test
+    void findNearby_ShouldReturnCardsInDistanceOrder() {
+        // Arrange
+        List<BoatGeoIndex.Hit> hits = List.of(
+                new BoatGeoIndex.Hit(new BoatLocation(2L, -23.95, -46.33), 0.4),
+                new BoatGeoIndex.Hit(new BoatLocation(1L, -23.99, -46.30), 4.1),
+                new BoatGeoIndex.Hit(new BoatLocation(9L, -23.90, -46.35), 4.8));
+        when(boatGeoIndex.findWithinRadius(-23.95, -46.33, 5, 20)).thenReturn(hits);
+        when(boatRepository.findCardsByIdIn(List.of(2L, 1L, 9L)))
+                .thenReturn(List.of(cardOf(testBoat), cardOf(testBoat2)));
+
+        // Act
+        List<NearbyBoatDTO> result = boatService.findNearby(-23.95, -46.33, 5, null);
+
+        // Assert
+        assertThat(result).extracting(nearby -> nearby.getBoat().id()).containsExactly(2L, 1L);
+        assertThat(result.get(0).getDistanceKm()).isEqualTo(0.4);
+    }
+
+    /**
+     * Tests that invalid geographic queries and half-filled coordinates are rejected.
+     */
+    @Test
+    void geoSearch_WithInvalidInput_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> boatService.findNearby(-23.95, -46.33, BoatService.MAX_NEARBY_RADIUS_KM + 1, 20));
+        assertThrows(IllegalArgumentException.class,
+                () -> boatService.findNearby(91, 0, 10, 20));
+        assertThrows(IllegalArgumentException.class,
+                () -> boatService.findInBoundingBox(-23, -46, -24, -45, 20));
+        assertThrows(IllegalArgumentException.class,
+                () -> boatService.findInBoundingBox(-40, -60, -20, -40, 20));
+
+        testRequestDTO.setLatitude(-23.95);
+        when(userRepository.findByEmail("teste@teste.com")).thenReturn(Optional.of(testBoatOwner));
+        assertThrows(IllegalArgumentException.class,
+                () -> boatService.saveWithPhotos(testRequestDTO, List.of(), "teste@teste.com"));
+        verifyNoInteractions(boatGeoIndex);
+    }
+
+    /**
+     * Tests that an incomplete or empty availability period is rejected before querying.
+     */
+    @Test
+    void searchBoats_WithInvalidAvailabilityPeriod_ShouldThrowIllegalArgumentException() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BoatSearchCriteria onlyStart = new BoatSearchCriteria();
+        onlyStart.setAvailableFrom(start);
+        BoatSearchCriteria emptyPeriod = new BoatSearchCriteria();
+        emptyPeriod.setAvailableFrom(start);
+        emptyPeriod.setAvailableTo(start);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> boatService.searchBoats(onlyStart, 0, 20, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> boatService.searchBoats(emptyPeriod, 0, 20, null));
+        verifyNoInteractions(boatRepository);
+    }
+
+    private BoatCardView cardOf(Boat boat) {
+        return new BoatCardView(boat.getId(), boat.getName(), boat.getType(), boat.getCapacity(),
+                boat.getPricePerHour(), "Santos", "SP", "Marina Test", "Owner", null,
+                List.of(), null, 0, null);
+    }
+}
@@ -6,6 +6,8 @@ import com.jompastech.backend.model.dto.booking.BookingRequestDTO;
 import com.jompastech.backend.model.dto.payment.MockCardData;
 import com.jompastech.backend.model.dto.payment.PaymentInfo;
 import com.jompastech.backend.model.dto.payment.PaymentResult;
+import com.jompastech.backend.model.entity.AvailabilityRule;
+import com.jompastech.backend.model.entity.AvailabilityRuleException;
 import com.jompastech.backend.model.entity.Boat;
 import com.jompastech.backend.model.entity.BoatAvailability;
 import com.jompastech.backend.model.entity.Booking;
@@ -13,9 +15,11 @@ import com.jompastech.backend.model.entity.User;
 import com.jompastech.backend.model.enums.BookingStatus;
 import com.jompastech.backend.model.enums.PaymentMethod;
 import com.jompastech.backend.model.enums.PaymentStatus;
+import com.jompastech.backend.repository.AvailabilityRuleRepository;
 import com.jompastech.backend.repository.BoatRepository;
 import com.jompastech.backend.repository.BookingRepository;
 import com.jompastech.backend.repository.UserRepository;
+import com.jompastech.backend.service.BoatScheduleIndex;
 import com.jompastech.backend.service.BookingApplicationService;
 import com.jompastech.backend.service.BookingValidationService;
 import com.jompastech.backend.service.NotificationService;
@@ -29,8 +33,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -60,6 +69,9 @@ class BookingApplicationServiceTest {
     @Mock
     private com.jompastech.backend.repository.BoatAvailabilityRepository boatAvailabilityRepository;
 
+    @Mock
+    private AvailabilityRuleRepository availabilityRuleRepository;
+
     @Mock
     private BookingValidationService bookingValidationService;
 
@@ -69,6 +81,9 @@ class BookingApplicationServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private BoatScheduleIndex boatScheduleIndex;
+
     @InjectMocks
     private BookingApplicationService bookingApplicationService;
 
@@ -173,6 +188,65 @@ class BookingApplicationServiceTest {
             assertThat(capturedPaymentInfo.getMockCardData()).isNotNull();
         }
 
+        @Test
+        @DisplayName("Should price booking from a recurring rule when no window covers it")
+        void createBooking_WithRuleOccurrence_ShouldUseOccurrencePrice() {
+            // Arrange
+            LocalDateTime ruleStart = LocalDateTime.of(2030, 1, 12, 10, 0);
+            validRequest.setStartDate(ruleStart);
+            validRequest.setEndDate(ruleStart.plusHours(4));
+
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+            when(boatRepository.findById(1L)).thenReturn(Optional.of(testBoat));
+            when(boatAvailabilityRepository.findCoveringAvailabilityWindow(testBoat, ruleStart, ruleStart.plusHours(4)))
+                    .thenReturn(Collections.emptyList());
+
+            when(availabilityRuleRepository.findByBoatIdValidBetween(1L, ruleStart.toLocalDate(), ruleStart.toLocalDate()))
+                    .thenReturn(List.of(everyDayRule()));
+
+            PaymentResult successfulPayment = PaymentResult.builder()
+                    .success(true)
+                    .transactionId("TXN_RULE")
+                    .status(PaymentStatus.CONFIRMED)
+                    .processedAt(LocalDateTime.now())
+                    .build();
+            when(paymentService.processPayment(any(PaymentInfo.class))).thenReturn(successfulPayment);
+            when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // Act
+            Booking result = bookingApplicationService.createBooking(validRequest);
+
+            // Assert
+            assertThat(result.getTotalPrice()).isEqualByComparingTo(new BigDecimal("300.00"));
+            verify(paymentService).processPayment(paymentInfoCaptor.capture());
+            assertThat(paymentInfoCaptor.getValue().getAmount()).isEqualByComparingTo(new BigDecimal("300.00"));
+        }
+
+        @Test
+        @DisplayName("Should reject booking on a cancelled rule occurrence even if the schedule index still has it")
+        void createBooking_WithCancelledRuleOccurrence_ShouldThrowBookingCreationException() {
+            // Arrange
+            LocalDateTime ruleStart = LocalDateTime.of(2030, 1, 12, 10, 0);
+            validRequest.setStartDate(ruleStart);
+            validRequest.setEndDate(ruleStart.plusHours(4));
+
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+            when(boatRepository.findById(1L)).thenReturn(Optional.of(testBoat));
+            when(boatAvailabilityRepository.findCoveringAvailabilityWindow(testBoat, ruleStart, ruleStart.plusHours(4)))
+                    .thenReturn(Collections.emptyList());
+
+            AvailabilityRule rule = everyDayRule();
+            rule.getExceptions().add(new AvailabilityRuleException(ruleStart.toLocalDate(), null));
+            when(availabilityRuleRepository.findByBoatIdValidBetween(1L, ruleStart.toLocalDate(), ruleStart.toLocalDate()))
+                    .thenReturn(List.of(rule));
+
+            // Act & Assert
+            assertThatThrownBy(() -> bookingApplicationService.createBooking(validRequest))
+                    .isInstanceOf(BookingCreationException.class);
+            verify(boatScheduleIndex, never()).schedule(any());
+            verify(paymentService, never()).processPayment(any());
+        }
+
         @Test
         @DisplayName("Should process PIX payment without card data")
         void createBooking_WithPixPayment_ShouldProcessWithoutCardData() {
@@ -562,4 +636,11 @@ class BookingApplicationServiceTest {
                 invalidDateRequest.getStartDate(), invalidDateRequest.getEndDate());
         verifyNoInteractions(bookingRepository, paymentService, notificationService);
     }
-}
\ No newline at end of file
+
+    private AvailabilityRule everyDayRule() {
+        AvailabilityRule rule = new AvailabilityRule(testBoat, EnumSet.allOf(DayOfWeek.class),
+                LocalTime.of(8, 0), LocalTime.of(18, 0), LocalDate.of(2030, 1, 1), null, new BigDecimal("75.00"));
+        rule.setId(7L);
+        return rule;
+    }
+}
@@ -2,23 +2,26 @@ package com.jompastech.backend.unit.service;
 
 import com.jompastech.backend.exception.BookingConflictException;
 import com.jompastech.backend.exception.BookingValidationException;
+import com.jompastech.backend.model.dto.schedule.ScheduleInterval;
 import com.jompastech.backend.model.entity.Boat;
 import com.jompastech.backend.model.entity.BoatAvailability;
 import com.jompastech.backend.model.entity.Booking;
 import com.jompastech.backend.model.entity.User;
+import com.jompastech.backend.repository.AvailabilityRuleRepository;
 import com.jompastech.backend.repository.BoatAvailabilityRepository;
 import com.jompastech.backend.repository.BookingRepository;
+import com.jompastech.backend.service.BoatScheduleIndex;
 import com.jompastech.backend.service.BookingValidationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
@@ -28,6 +31,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -43,10 +48,12 @@ class BookingValidationServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private AvailabilityRuleRepository availabilityRuleRepository;
+
     @Mock
     private BoatAvailabilityRepository boatAvailabilityRepository;
 
-    @InjectMocks
     private BookingValidationService bookingValidationService;
 
     private User testUser;
@@ -57,6 +64,11 @@ class BookingValidationServiceTest {
 
     @BeforeEach
     void setUp() {
+        bookingValidationService = new BookingValidationService(
+                new BoatScheduleIndex(boatAvailabilityRepository, bookingRepository, availabilityRuleRepository,
+                        Duration.ofMinutes(1)),
+                bookingRepository);
+
         startDate = LocalDateTime.now().plusDays(1);
         endDate = startDate.plusHours(4); // Exactly 4 hours, minimum duration
 
@@ -80,10 +92,10 @@ class BookingValidationServiceTest {
         void validateBookingCreation_WithAllConditionsMet_ShouldPassValidation() {
             // Arrange
             BoatAvailability availability = new BoatAvailability(testBoat, startDate.minusHours(1), endDate.plusHours(1), new BigDecimal("100.00"));
-            when(boatAvailabilityRepository.findByBoatAndDateRange(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.singletonList(availability));
-            when(bookingRepository.findConflictingBookings(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.emptyList());
+            when(boatAvailabilityRepository.findIntervalsByBoatId(1L))
+                    .thenReturn(windows(Collections.singletonList(availability)));
+            when(bookingRepository.findActiveIntervalsByBoatId(1L))
+                    .thenReturn(bookings(Collections.emptyList()));
 
             // Act & Assert - No exception should be thrown
             bookingValidationService.validateBookingCreation(validBooking);
@@ -100,10 +112,10 @@ class BookingValidationServiceTest {
             BoatAvailability availability2 = new BoatAvailability(testBoat, startDate.minusHours(1), endDate.plusHours(2), new BigDecimal("100.00"));
             List<BoatAvailability> availabilities = Arrays.asList(availability1, availability2);
 
-            when(boatAvailabilityRepository.findByBoatAndDateRange(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(availabilities);
-            when(bookingRepository.findConflictingBookings(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.emptyList());
+            when(boatAvailabilityRepository.findIntervalsByBoatId(1L))
+                    .thenReturn(windows(availabilities));
+            when(bookingRepository.findActiveIntervalsByBoatId(1L))
+                    .thenReturn(bookings(Collections.emptyList()));
 
             // Act & Assert - No exception should be thrown
             bookingValidationService.validateBookingCreation(validBooking);
@@ -114,10 +126,10 @@ class BookingValidationServiceTest {
         void validateBookingCreation_WithExactAvailabilityMatch_ShouldPassValidation() {
             // Arrange
             BoatAvailability availability = new BoatAvailability(testBoat, startDate, endDate, new BigDecimal("100.00"));
-            when(boatAvailabilityRepository.findByBoatAndDateRange(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.singletonList(availability));
-            when(bookingRepository.findConflictingBookings(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.emptyList());
+            when(boatAvailabilityRepository.findIntervalsByBoatId(1L))
+                    .thenReturn(windows(Collections.singletonList(availability)));
+            when(bookingRepository.findActiveIntervalsByBoatId(1L))
+                    .thenReturn(bookings(Collections.emptyList()));
 
             // Act & Assert - No exception should be thrown
             bookingValidationService.validateBookingCreation(validBooking);
@@ -128,10 +140,10 @@ class BookingValidationServiceTest {
         void validateBookingCreation_WithNoExistingBookings_ShouldPassValidation() {
             // Arrange
             BoatAvailability availability = new BoatAvailability(testBoat, startDate.minusHours(1), endDate.plusHours(1), new BigDecimal("100.00"));
-            when(boatAvailabilityRepository.findByBoatAndDateRange(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.singletonList(availability));
-            when(bookingRepository.findConflictingBookings(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.emptyList());
+            when(boatAvailabilityRepository.findIntervalsByBoatId(1L))
+                    .thenReturn(windows(Collections.singletonList(availability)));
+            when(bookingRepository.findActiveIntervalsByBoatId(1L))
+                    .thenReturn(bookings(Collections.emptyList()));
 
             // Act & Assert - No exception should be thrown
             bookingValidationService.validateBookingCreation(validBooking);
@@ -165,10 +177,10 @@ class BookingValidationServiceTest {
             Booking exactBooking = new Booking(testUser, testBoat, exactStartDate, exactEndDate, new BigDecimal("400.00"));
 
             BoatAvailability availability = new BoatAvailability(testBoat, exactStartDate.minusHours(1), exactEndDate.plusHours(1), new BigDecimal("100.00"));
-            when(boatAvailabilityRepository.findByBoatAndDateRange(eq(testBoat), eq(exactStartDate), eq(exactEndDate)))
-                    .thenReturn(Collections.singletonList(availability));
-            when(bookingRepository.findConflictingBookings(eq(testBoat), eq(exactStartDate), eq(exactEndDate)))
-                    .thenReturn(Collections.emptyList());
+            when(boatAvailabilityRepository.findIntervalsByBoatId(1L))
+                    .thenReturn(windows(Collections.singletonList(availability)));
+            when(bookingRepository.findActiveIntervalsByBoatId(1L))
+                    .thenReturn(bookings(Collections.emptyList()));
 
             // Act & Assert - No exception should be thrown
             bookingValidationService.validateBookingCreation(exactBooking);
@@ -183,8 +195,8 @@ class BookingValidationServiceTest {
         @DisplayName("Should throw BookingValidationException when no availability periods exist")
         void validateBookingCreation_WithNoAvailabilityPeriods_ShouldThrowBookingValidationException() {
             // Arrange
-            when(boatAvailabilityRepository.findByBoatAndDateRange(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.emptyList());
+            when(boatAvailabilityRepository.findIntervalsByBoatId(1L))
+                    .thenReturn(windows(Collections.emptyList()));
 
             // Act & Assert
             assertThatThrownBy(() -> bookingValidationService.validateBookingCreation(validBooking))
@@ -202,8 +214,8 @@ class BookingValidationServiceTest {
                     endDate.minusHours(1),
                     new BigDecimal("100.00"));   // Availability ends 1 hour before booking
 
-            when(boatAvailabilityRepository.findByBoatAndDateRange(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.singletonList(availability));
+            when(boatAvailabilityRepository.findIntervalsByBoatId(1L))
+                    .thenReturn(windows(Collections.singletonList(availability)));
 
             // Act & Assert
             assertThatThrownBy(() -> bookingValidationService.validateBookingCreation(validBooking))
@@ -220,8 +232,8 @@ class BookingValidationServiceTest {
                     endDate.plusHours(2),
                     new BigDecimal("100.00"));
 
-            when(boatAvailabilityRepository.findByBoatAndDateRange(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.singletonList(availability));
+            when(boatAvailabilityRepository.findIntervalsByBoatId(1L))
+                    .thenReturn(windows(Collections.singletonList(availability)));
 
             // Act & Assert
             assertThatThrownBy(() -> bookingValidationService.validateBookingCreation(validBooking))
@@ -238,8 +250,8 @@ class BookingValidationServiceTest {
                     endDate.minusHours(1),
                     new BigDecimal("100.00"));  // Availability ends 1 hour before booking
 
-            when(boatAvailabilityRepository.findByBoatAndDateRange(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.singletonList(availability));
+            when(boatAvailabilityRepository.findIntervalsByBoatId(1L))
+                    .thenReturn(windows(Collections.singletonList(availability)));
 
             // Act & Assert
             assertThatThrownBy(() -> bookingValidationService.validateBookingCreation(validBooking))
@@ -257,8 +269,8 @@ class BookingValidationServiceTest {
         void validateBookingCreation_WithConflictingBooking_ShouldThrowBookingConflictException() {
             // Arrange
             BoatAvailability availability = new BoatAvailability(testBoat, startDate.minusHours(1), endDate.plusHours(1),new BigDecimal("100.00"));
-            when(boatAvailabilityRepository.findByBoatAndDateRange(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.singletonList(availability));
+            when(boatAvailabilityRepository.findIntervalsByBoatId(1L))
+                    .thenReturn(windows(Collections.singletonList(availability)));
 
             // Create a conflicting booking
             Booking conflictingBooking = new Booking(testUser, testBoat,
@@ -266,8 +278,10 @@ class BookingValidationServiceTest {
                     endDate.plusHours(1),
                     new BigDecimal("500.00"));
 
-            when(bookingRepository.findConflictingBookings(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.singletonList(conflictingBooking));
+            when(bookingRepository.findActiveIntervalsByBoatId(1L))
+                    .thenReturn(bookings(Collections.singletonList(conflictingBooking)));
+            when(bookingRepository.findActiveIntervalsByBoatIdOverlapping(eq(1L), any(), any()))
+                    .thenReturn(bookings(Collections.singletonList(conflictingBooking)));
 
             // Act & Assert
             assertThatThrownBy(() -> bookingValidationService.validateBookingCreation(validBooking))
@@ -280,8 +294,8 @@ class BookingValidationServiceTest {
         void validateBookingCreation_WhenCompletelyOverlapsExistingBooking_ShouldThrowBookingConflictException() {
             // Arrange
             BoatAvailability availability = new BoatAvailability(testBoat, startDate.minusHours(1), endDate.plusHours(1), new BigDecimal("100.00"));
-            when(boatAvailabilityRepository.findByBoatAndDateRange(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.singletonList(availability));
+            when(boatAvailabilityRepository.findIntervalsByBoatId(1L))
+                    .thenReturn(windows(Collections.singletonList(availability)));
 
             // Existing booking that is completely within new booking period
             Booking existingBooking = new Booking(testUser, testBoat,
@@ -289,8 +303,10 @@ class BookingValidationServiceTest {
                     endDate.minusHours(1),
                     new BigDecimal("500.00"));
 
-            when(bookingRepository.findConflictingBookings(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.singletonList(existingBooking));
+            when(bookingRepository.findActiveIntervalsByBoatId(1L))
+                    .thenReturn(bookings(Collections.singletonList(existingBooking)));
+            when(bookingRepository.findActiveIntervalsByBoatIdOverlapping(eq(1L), any(), any()))
+                    .thenReturn(bookings(Collections.singletonList(existingBooking)));
 
             // Act & Assert
             assertThatThrownBy(() -> bookingValidationService.validateBookingCreation(validBooking))
@@ -303,8 +319,8 @@ class BookingValidationServiceTest {
         void validateBookingCreation_WhenStartsDuringExistingBooking_ShouldThrowBookingConflictException() {
             // Arrange
             BoatAvailability availability = new BoatAvailability(testBoat, startDate.minusHours(1), endDate.plusHours(1), new BigDecimal("100.00"));
-            when(boatAvailabilityRepository.findByBoatAndDateRange(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.singletonList(availability));
+            when(boatAvailabilityRepository.findIntervalsByBoatId(1L))
+                    .thenReturn(windows(Collections.singletonList(availability)));
 
             // Existing booking that starts before new booking
             Booking existingBooking = new Booking(testUser, testBoat,
@@ -312,8 +328,10 @@ class BookingValidationServiceTest {
                     startDate.plusHours(2),   // Ends during new booking
                     new BigDecimal("500.00"));
 
-            when(bookingRepository.findConflictingBookings(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.singletonList(existingBooking));
+            when(bookingRepository.findActiveIntervalsByBoatId(1L))
+                    .thenReturn(bookings(Collections.singletonList(existingBooking)));
+            when(bookingRepository.findActiveIntervalsByBoatIdOverlapping(eq(1L), any(), any()))
+                    .thenReturn(bookings(Collections.singletonList(existingBooking)));
 
             // Act & Assert
             assertThatThrownBy(() -> bookingValidationService.validateBookingCreation(validBooking))
@@ -326,8 +344,8 @@ class BookingValidationServiceTest {
         void validateBookingCreation_WhenEndsDuringExistingBooking_ShouldThrowBookingConflictException() {
             // Arrange
             BoatAvailability availability = new BoatAvailability(testBoat, startDate.minusHours(1), endDate.plusHours(1), new BigDecimal("100.00"));
-            when(boatAvailabilityRepository.findByBoatAndDateRange(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.singletonList(availability));
+            when(boatAvailabilityRepository.findIntervalsByBoatId(1L))
+                    .thenReturn(windows(Collections.singletonList(availability)));
 
             // Existing booking that ends after new booking
             Booking existingBooking = new Booking(testUser, testBoat,
@@ -335,8 +353,10 @@ class BookingValidationServiceTest {
                     endDate.plusHours(1),     // Ends after new booking
                     new BigDecimal("500.00"));
 
-            when(bookingRepository.findConflictingBookings(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.singletonList(existingBooking));
+            when(bookingRepository.findActiveIntervalsByBoatId(1L))
+                    .thenReturn(bookings(Collections.singletonList(existingBooking)));
+            when(bookingRepository.findActiveIntervalsByBoatIdOverlapping(eq(1L), any(), any()))
+                    .thenReturn(bookings(Collections.singletonList(existingBooking)));
 
             // Act & Assert
             assertThatThrownBy(() -> bookingValidationService.validateBookingCreation(validBooking))
@@ -349,15 +369,17 @@ class BookingValidationServiceTest {
         void validateBookingCreation_WithMultipleConflictingBookings_ShouldThrowBookingConflictException() {
             // Arrange
             BoatAvailability availability = new BoatAvailability(testBoat, startDate.minusHours(1), endDate.plusHours(1), new BigDecimal("100.00"));
-            when(boatAvailabilityRepository.findByBoatAndDateRange(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.singletonList(availability));
+            when(boatAvailabilityRepository.findIntervalsByBoatId(1L))
+                    .thenReturn(windows(Collections.singletonList(availability)));
 
             // Create multiple conflicting bookings
             Booking conflict1 = new Booking(testUser, testBoat, startDate.minusHours(1), startDate.plusHours(1), new BigDecimal("500.00"));
             Booking conflict2 = new Booking(testUser, testBoat, endDate.minusHours(1), endDate.plusHours(1), new BigDecimal("500.00"));
 
-            when(bookingRepository.findConflictingBookings(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Arrays.asList(conflict1, conflict2));
+            when(bookingRepository.findActiveIntervalsByBoatId(1L))
+                    .thenReturn(bookings(Arrays.asList(conflict1, conflict2)));
+            when(bookingRepository.findActiveIntervalsByBoatIdOverlapping(eq(1L), any(), any()))
+                    .thenReturn(bookings(Arrays.asList(conflict1, conflict2)));
 
             // Act & Assert
             assertThatThrownBy(() -> bookingValidationService.validateBookingCreation(validBooking))
@@ -378,10 +400,10 @@ class BookingValidationServiceTest {
             LocalDateTime availabilityEnd = endDate;
             BoatAvailability availability = new BoatAvailability(testBoat, availabilityStart, availabilityEnd, new BigDecimal("100.00"));
 
-            when(boatAvailabilityRepository.findByBoatAndDateRange(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.singletonList(availability));
-            when(bookingRepository.findConflictingBookings(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.emptyList());
+            when(boatAvailabilityRepository.findIntervalsByBoatId(1L))
+                    .thenReturn(windows(Collections.singletonList(availability)));
+            when(bookingRepository.findActiveIntervalsByBoatId(1L))
+                    .thenReturn(bookings(Collections.emptyList()));
 
             // Act & Assert - No exception should be thrown
             bookingValidationService.validateBookingCreation(validBooking);
@@ -394,12 +416,12 @@ class BookingValidationServiceTest {
             // This test relies on the repository method excluding CANCELLED bookings
             // The repository method uses: "b.status != 'CANCELLED'"
             BoatAvailability availability = new BoatAvailability(testBoat, startDate.minusHours(1), endDate.plusHours(1), new BigDecimal("100.00"));
-            when(boatAvailabilityRepository.findByBoatAndDateRange(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.singletonList(availability));
+            when(boatAvailabilityRepository.findIntervalsByBoatId(1L))
+                    .thenReturn(windows(Collections.singletonList(availability)));
 
             // Repository should return empty list because canceled bookings are excluded
-            when(bookingRepository.findConflictingBookings(eq(testBoat), eq(startDate), eq(endDate)))
-                    .thenReturn(Collections.emptyList());
+            when(bookingRepository.findActiveIntervalsByBoatId(1L))
+                    .thenReturn(bookings(Collections.emptyList()));
 
             // Act & Assert - No exception should be thrown
             bookingValidationService.validateBookingCreation(validBooking);
@@ -414,21 +436,43 @@ class BookingValidationServiceTest {
             Booking longBooking = new Booking(testUser, testBoat, longStartDate, longEndDate, new BigDecimal("5000.00"));
 
             BoatAvailability availability = new BoatAvailability(testBoat, longStartDate.minusHours(1), longEndDate.plusHours(1), new BigDecimal("100.00"));
-            when(boatAvailabilityRepository.findByBoatAndDateRange(eq(testBoat), eq(longStartDate), eq(longEndDate)))
-                    .thenReturn(Collections.singletonList(availability));
-            when(bookingRepository.findConflictingBookings(eq(testBoat), eq(longStartDate), eq(longEndDate)))
-                    .thenReturn(Collections.emptyList());
+            when(boatAvailabilityRepository.findIntervalsByBoatId(1L))
+                    .thenReturn(windows(Collections.singletonList(availability)));
+            when(bookingRepository.findActiveIntervalsByBoatId(1L))
+                    .thenReturn(bookings(Collections.emptyList()));
 
             // Act & Assert - No exception should be thrown
             bookingValidationService.validateBookingCreation(longBooking);
         }
     }
 
+    @Test
+    @DisplayName("Should pass when a conflicting booking of the schedule was cancelled meanwhile")
+    void validateBookingCreation_WhenConflictIsNotInDatabase_ShouldPassAndDropSchedule() {
+        // Arrange - the schedule still holds a booking cancelled on another instance
+        BoatAvailability availability = new BoatAvailability(testBoat, startDate.minusHours(1), endDate.plusHours(1), new BigDecimal("100.00"));
+        when(boatAvailabilityRepository.findIntervalsByBoatId(1L))
+                .thenReturn(windows(Collections.singletonList(availability)));
+        Booking cancelledElsewhere = new Booking(testUser, testBoat, startDate, endDate, new BigDecimal("500.00"));
+        when(bookingRepository.findActiveIntervalsByBoatId(1L))
+                .thenReturn(bookings(Collections.singletonList(cancelledElsewhere)), List.of());
+        when(bookingRepository.findActiveIntervalsByBoatIdOverlapping(eq(1L), any(), any()))
+                .thenReturn(List.of());
+
+        // Act
+        bookingValidationService.validateBookingCreation(validBooking);
+        bookingValidationService.validateBookingCreation(validBooking);
+
+        // Assert - the stale schedule was dropped and loaded again
+        verify(bookingRepository, times(2)).findActiveIntervalsByBoatId(1L);
+        verify(bookingRepository, times(1)).findActiveIntervalsByBoatIdOverlapping(eq(1L), any(), any());
+    }
+
     @Test
     @DisplayName("Should throw exception when availability repository returns null")
     void validateBookingCreation_WhenAvailabilityRepositoryReturnsNull_ShouldThrowException() {
         // Arrange
-        when(boatAvailabilityRepository.findByBoatAndDateRange(eq(testBoat), eq(startDate), eq(endDate)))
+        when(boatAvailabilityRepository.findIntervalsByBoatId(1L))
                 .thenReturn(null);
 
         // Act & Assert
@@ -441,13 +485,26 @@ class BookingValidationServiceTest {
     void validateBookingCreation_WhenBookingRepositoryReturnsNull_ShouldThrowException() {
         // Arrange
         BoatAvailability availability = new BoatAvailability(testBoat, startDate.minusHours(1), endDate.plusHours(1), new BigDecimal("100.00"));
-        when(boatAvailabilityRepository.findByBoatAndDateRange(eq(testBoat), eq(startDate), eq(endDate)))
-                .thenReturn(Collections.singletonList(availability));
-        when(bookingRepository.findConflictingBookings(eq(testBoat), eq(startDate), eq(endDate)))
+        when(boatAvailabilityRepository.findIntervalsByBoatId(1L))
+                .thenReturn(windows(Collections.singletonList(availability)));
+        when(bookingRepository.findActiveIntervalsByBoatId(1L))
                 .thenReturn(null);
 
         // Act & Assert
         assertThatThrownBy(() -> bookingValidationService.validateBookingCreation(validBooking))
                 .isInstanceOf(NullPointerException.class); // Will throw NPE when trying to iterate over null
     }
-}
\ No newline at end of file
+
+    private static List<ScheduleInterval> windows(List<BoatAvailability> availabilities) {
+        return availabilities.stream()
+                .map(window -> new ScheduleInterval(window.getId(), window.getStartDate(),
+                        window.getEndDate(), window.getPricePerHour()))
+                .toList();
+    }
+
+    private static List<ScheduleInterval> bookings(List<Booking> bookings) {
+        return bookings.stream()
+                .map(booking -> new ScheduleInterval(booking.getId(), booking.getStartDate(), booking.getEndDate()))
+                .toList();
+    }
+}
@@ -1,21 +1,40 @@
 package com.jompastech.backend.unit.service;
 
+import com.cloudinary.Api;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.Uploader;
+import com.cloudinary.api.ApiResponse;
 import com.jompastech.backend.config.CloudinaryConfig;
 import com.jompastech.backend.model.dto.cloudinary.CloudinaryUploadResult;
+import com.jompastech.backend.model.dto.cloudinary.PhotoUploadSignatureDTO;
+import com.jompastech.backend.model.dto.cloudinary.RegisterPhotosRequestDTO;
 import com.jompastech.backend.service.CloudinaryService;
+import com.jompastech.backend.service.PhotoStorage;
+import com.jompastech.backend.service.PhotoVariantProcessor;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
 
+import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -26,12 +45,17 @@ class CloudinaryServiceTest {
 
     private CloudinaryService service;
 
+    private ExecutorService uploadExecutor;
+
     @Mock
     private Cloudinary cloudinary;
 
     @Mock
     private Uploader uploader;
 
+    @TempDir
+    Path spoolDirectory;
+
     @BeforeEach
     void setup() throws Exception {
         CloudinaryConfig config = mock(CloudinaryConfig.class);
@@ -40,7 +64,9 @@ class CloudinaryServiceTest {
         when(config.getApiSecret()).thenReturn("secret");
         when(config.isSecure()).thenReturn(true);
 
-        service = new CloudinaryService(config);
+        uploadExecutor = Executors.newFixedThreadPool(4);
+        service = new CloudinaryService(config, uploadExecutor, Duration.ofSeconds(2), spoolDirectory,
+                new PhotoVariantProcessor());
 
         // creates mocks
         Cloudinary cloudinaryMock = mock(Cloudinary.class);
@@ -59,6 +85,11 @@ class CloudinaryServiceTest {
         this.uploader = uploaderMock;
     }
 
+    @AfterEach
+    void tearDown() {
+        uploadExecutor.shutdownNow();
+    }
+
 
     @Test
     void uploadImage_success() throws Exception {
@@ -69,7 +100,7 @@ class CloudinaryServiceTest {
                 "image-content".getBytes()
         );
 
-        when(uploader.upload(any(byte[].class), anyMap()))
+        when(uploader.upload(any(File.class), anyMap()))
                 .thenReturn(Map.of(
                         "secure_url", "https://cloud/image.png",
                         "public_id", "boat_123"
@@ -133,7 +164,7 @@ class CloudinaryServiceTest {
         MockMultipartFile file2 = new MockMultipartFile(
                 "file", "2.png", "image/png", "y".getBytes());
 
-        when(uploader.upload(any(byte[].class), anyMap()))
+        when(uploader.upload(any(File.class), anyMap()))
                 .thenReturn(Map.of(
                         "secure_url", "url",
                         "public_id", "id"
@@ -150,7 +181,7 @@ class CloudinaryServiceTest {
         MockMultipartFile file = new MockMultipartFile(
                 "file", "1.png", "image/png", "x".getBytes());
 
-        when(uploader.upload(any(byte[].class), anyMap()))
+        when(uploader.upload(any(File.class), anyMap()))
                 .thenThrow(new IOException("boom"));
 
         assertThrows(IOException.class,
@@ -169,20 +200,264 @@ class CloudinaryServiceTest {
 
     @Test
     void deleteImages_success() throws Exception {
-        when(uploader.destroy(anyString(), anyMap()))
-                .thenReturn(Map.of("result", "ok"));
+        Api api = adminApi();
+        ApiResponse response = mock(ApiResponse.class);
+        when(response.get("deleted")).thenReturn(Map.of("1", "deleted", "2", "not_found"));
+        when(api.deleteResources(anyIterable(), anyMap())).thenReturn(response);
 
         service.deleteImages(List.of("1", "2"));
 
-        verify(uploader, times(2)).destroy(anyString(), anyMap());
+        verify(api).deleteResources(eq(List.of("1", "2")), anyMap());
+        verify(uploader, never()).destroy(anyString(), anyMap());
+    }
+
+    @Test
+    void deleteImages_shouldSendBatchesOfAtMostOneHundred() throws Exception {
+        Api api = adminApi();
+        List<String> publicIds = IntStream.range(0, 150).mapToObj(String::valueOf).toList();
+        when(api.deleteResources(anyIterable(), anyMap())).thenAnswer(invocation -> {
+            Iterable<String> batch = invocation.getArgument(0);
+            Map<String, String> deleted = new HashMap<>();
+            batch.forEach(publicId -> deleted.put(publicId, "deleted"));
+            ApiResponse response = mock(ApiResponse.class);
+            when(response.get("deleted")).thenReturn(deleted);
+            return response;
+        });
+
+        service.deleteImages(publicIds);
+
+        verify(api).deleteResources(eq(publicIds.subList(0, PhotoStorage.MAX_DELETE_BATCH)), anyMap());
+        verify(api).deleteResources(eq(publicIds.subList(PhotoStorage.MAX_DELETE_BATCH, 150)), anyMap());
     }
 
     @Test
     void deleteImages_error() throws Exception {
-        when(uploader.destroy(eq("1"), anyMap()))
-                .thenThrow(new IOException("fail"));
+        Api api = adminApi();
+        List<String> publicIds = IntStream.range(0, 150).mapToObj(String::valueOf).toList();
+        ApiResponse response = mock(ApiResponse.class);
+        when(response.get("deleted")).thenReturn(Map.of());
+        when(api.deleteResources(anyIterable(), anyMap()))
+                .thenThrow(new Exception("fail"))
+                .thenReturn(response);
+
+        IOException error = assertThrows(IOException.class, () -> service.deleteImages(publicIds));
+
+        // The failed first batch does not stop the second one
+        verify(api, times(2)).deleteResources(anyIterable(), anyMap());
+        assertTrue(error.getMessage().startsWith("Failed to delete 150 images"));
+    }
 
-        assertThrows(IOException.class,
-                () -> service.deleteImages(List.of("1", "2")));
+    @Test
+    void listImages_shouldMapResourcesAndCursor() throws Exception {
+        Api api = adminApi();
+        ApiResponse response = mock(ApiResponse.class);
+        when(response.get("resources")).thenReturn(List.of(
+                Map.of("public_id", "timoneiro/boats/a", "created_at", "2024-05-01T10:00:00Z")));
+        when(response.get("next_cursor")).thenReturn("next");
+        when(api.resources(anyMap())).thenReturn(response);
+
+        PhotoStorage.StoredImagePage page = service.listImages("previous");
+
+        assertEquals(List.of(new PhotoStorage.StoredImage("timoneiro/boats/a", Instant.parse("2024-05-01T10:00:00Z"))),
+                page.images());
+        assertEquals("next", page.nextCursor());
+        verify(api).resources(argThat(options -> "previous".equals(options.get("next_cursor"))));
+    }
+
+    private Api adminApi() {
+        Api api = mock(Api.class);
+        when(cloudinary.api()).thenReturn(api);
+        return api;
+    }
+
+    // Stand-in storage: every upload takes the given latency, files named "fail*" are rejected
+    private void storageWithLatency(long latencyMillis) throws IOException {
+        when(uploader.upload(any(File.class), anyMap())).thenAnswer(invocation -> {
+            Map<?, ?> options = invocation.getArgument(1);
+            String publicId = (String) options.get("public_id");
+            Thread.sleep(publicId.contains("slow") ? latencyMillis * 20 : latencyMillis);
+            if (publicId.contains("fail")) {
+                throw new IOException("storage rejected " + publicId);
+            }
+            return Map.of("secure_url", "https://cloud/" + publicId, "public_id", publicId);
+        });
+        lenient().when(uploader.destroy(anyString(), anyMap())).thenReturn(Map.of("result", "ok"));
+    }
+
+    private MockMultipartFile image(String name) {
+        return new MockMultipartFile("images", name, "image/png", name.getBytes());
+    }
+
+    @Test
+    void uploadImages_parallel_wallClockCloseToSlowestUpload() throws Exception {
+        storageWithLatency(300);
+        List<MockMultipartFile> files = List.of(image("1.png"), image("2.png"), image("3.png"), image("4.png"));
+
+        long start = System.nanoTime();
+        List<CloudinaryUploadResult> results = service.uploadImages(List.copyOf(files));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(4, results.size());
+        assertEquals("1.png", results.get(0).getFileName());
+        assertEquals("4.png", results.get(3).getFileName());
+        // Sequential uploads would take 1200 ms
+        assertTrue(elapsedMillis < 800, "Uploads were not parallel: " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void uploadImages_whenOneFails_shouldDeleteTheOthers() throws Exception {
+        storageWithLatency(100);
+
+        IOException error = assertThrows(IOException.class,
+                () -> service.uploadImages(List.of(image("1.png"), image("fail.png"), image("3.png"))));
+
+        assertTrue(error.getMessage().contains("fail.png"));
+        verify(uploader, timeout(1000).times(2)).destroy(anyString(), anyMap());
+        verify(uploader, never()).destroy(contains("fail"), anyMap());
+    }
+
+    @Test
+    void uploadImages_whenOneTimesOut_shouldFailAndDeleteLateUpload() throws Exception {
+        service = new CloudinaryService(mock(CloudinaryConfig.class), uploadExecutor, Duration.ofMillis(500),
+                spoolDirectory, new PhotoVariantProcessor());
+        Field cloudinaryField = CloudinaryService.class.getDeclaredField("cloudinary");
+        cloudinaryField.setAccessible(true);
+        cloudinaryField.set(service, cloudinary);
+        storageWithLatency(50);
+
+        IOException error = assertThrows(IOException.class,
+                () -> service.uploadImages(List.of(image("1.png"), image("slow.png"))));
+
+        assertTrue(error.getMessage().contains("timed out"));
+        // The fast upload is deleted right away, the slow one once it completes
+        verify(uploader, timeout(2000).times(2)).destroy(anyString(), anyMap());
+    }
+
+    @Test
+    void uploadImages_timeoutExcludesTimeQueuedForAWorker() throws Exception {
+        ExecutorService singleWorker = Executors.newSingleThreadExecutor();
+        try {
+            service = new CloudinaryService(mock(CloudinaryConfig.class), singleWorker, Duration.ofMillis(500),
+                    spoolDirectory, new PhotoVariantProcessor());
+            Field cloudinaryField = CloudinaryService.class.getDeclaredField("cloudinary");
+            cloudinaryField.setAccessible(true);
+            cloudinaryField.set(service, cloudinary);
+            storageWithLatency(300);
+
+            // Run one after the other: the last starts after 600 ms but takes only 300 ms
+            List<CloudinaryUploadResult> results =
+                    service.uploadImages(List.of(image("1.png"), image("2.png"), image("3.png")));
+
+            assertEquals(3, results.size());
+            verify(uploader, never()).destroy(anyString(), anyMap());
+        } finally {
+            singleWorker.shutdownNow();
+        }
+    }
+
+    @Test
+    void uploadImages_withInvalidFile_shouldNotUploadAnything() throws Exception {
+        MockMultipartFile pdf = new MockMultipartFile("images", "doc.pdf", "application/pdf", "x".getBytes());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.uploadImages(List.of(image("1.png"), pdf)));
+
+        verify(uploader, never()).upload(any(), anyMap());
+    }
+
+    @Test
+    void uploadImage_streamsFromSpoolFileAndRemovesIt() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "boat.png", "image/png", "image-content".getBytes());
+
+        when(uploader.upload(any(File.class), anyMap())).thenAnswer(invocation -> {
+            File spooled = invocation.getArgument(0);
+            assertEquals(spoolDirectory, spooled.toPath().getParent());
+            assertEquals("image-content", Files.readString(spooled.toPath()));
+            return Map.of("secure_url", "https://cloud/image.png", "public_id", "boat_123");
+        });
+
+        service.uploadImage(file);
+
+        try (var remaining = Files.list(spoolDirectory)) {
+            assertEquals(0, remaining.count());
+        }
+    }
+
+    @Test
+    void uploadImage_spoolsThroughPartWriteSoDiskPartsAreRenamed() throws Exception {
+        // transferTo(Path) always stream-copies the part; transferTo(File) lets the container rename it
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "boat.png", "image/png", "image-content".getBytes()) {
+            @Override
+            public void transferTo(Path dest) {
+                throw new AssertionError("Spooled with a stream copy");
+            }
+        };
+        when(uploader.upload(any(File.class), anyMap()))
+                .thenReturn(Map.of("secure_url", "https://cloud/image.png", "public_id", "boat_123"));
+
+        assertDoesNotThrow(() -> service.uploadImage(file));
+    }
+
+    @Test
+    void uploadImage_whenUploadFails_shouldRemoveSpoolFile() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "boat.png", "image/png", "image-content".getBytes());
+
+        when(uploader.upload(any(File.class), anyMap())).thenThrow(new IOException("boom"));
+
+        assertThrows(IOException.class, () -> service.uploadImage(file));
+
+        try (var remaining = Files.list(spoolDirectory)) {
+            assertEquals(0, remaining.count());
+        }
+    }
+
+    @Test
+    void signDirectUploads_thenVerify_acceptsCloudinaryResponseSignature() throws Exception {
+        List<PhotoUploadSignatureDTO> signatures = service.signDirectUploads(5L, 2);
+
+        assertEquals(2, signatures.size());
+        assertNotEquals(signatures.get(0).getPublicId(), signatures.get(1).getPublicId());
+        PhotoUploadSignatureDTO signed = signatures.get(0);
+        assertEquals("https://api.cloudinary.com/v1_1/test/image/upload", signed.getUploadUrl());
+        assertEquals("key", signed.getApiKey());
+        assertEquals(sha1("eager=" + signed.getEager() + "&public_id=" + signed.getPublicId()
+                + "&timestamp=" + signed.getTimestamp() + "&transformation=" + signed.getTransformation()
+                + "secret"), signed.getSignature());
+
+        // Cloudinary signs its upload response over public_id and version
+        String responseSignature = sha1("public_id=" + signed.getPublicId() + "&version=1700000000secret");
+        CloudinaryUploadResult result = service.verifyDirectUpload(5L, new RegisterPhotosRequestDTO.UploadedPhoto(
+                signed.getPublicId(), 1700000000L, responseSignature, "jpg", 2000, 1000, "boat.jpg"));
+
+        assertEquals("https://res.cloudinary.com/test/image/upload/v1700000000/" + signed.getPublicId() + ".jpg",
+                result.getUrl());
+        assertEquals(signed.getPublicId(), result.getPublicId());
+        assertEquals(640, result.getCard().getWidth());
+        assertEquals(800, result.getFull().getHeight());
+        assertTrue(result.getCard().getUrl().endsWith("/v1700000000/" + signed.getPublicId() + ".webp"));
+    }
+
+    @Test
+    void verifyDirectUpload_rejectsForgedSignature() {
+        String publicId = service.signDirectUploads(5L, 1).get(0).getPublicId();
+
+        assertThrows(IllegalArgumentException.class, () -> service.verifyDirectUpload(5L,
+                new RegisterPhotosRequestDTO.UploadedPhoto(publicId, 1L, "forged", "jpg", 10, 10, "a.jpg")));
+    }
+
+    @Test
+    void verifyDirectUpload_rejectsPhotoIssuedForAnotherBoat() throws Exception {
+        String publicId = service.signDirectUploads(5L, 1).get(0).getPublicId();
+        String responseSignature = sha1("public_id=" + publicId + "&version=1secret");
+
+        assertThrows(IllegalArgumentException.class, () -> service.verifyDirectUpload(6L,
+                new RegisterPhotosRequestDTO.UploadedPhoto(publicId, 1L, responseSignature, "jpg", 10, 10, "a.jpg")));
+    }
+
+    private static String sha1(String value) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(value.getBytes()));
     }
 }
@@ -0,0 +1,185 @@
+package com.jompastech.backend.unit.service;
+
+import com.jompastech.backend.service.ImageDiskCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link ImageDiskCache}.
+ *
+ * <p>Verifies that:
+ * <ul>
+ *   <li>A missing entry is computed once, then served from disk</li>
+ *   <li>An entry whose file disappeared is computed again and no longer counted</li>
+ *   <li>Concurrent misses of one key share a single computation</li>
+ *   <li>The least recently used entries are evicted above the size cap</li>
+ *   <li>All entries of a key prefix can be removed at once</li>
+ *   <li>Entries survive a restart; leftovers of interrupted writes do not</li>
+ * </ul>
+ */
+class ImageDiskCacheTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void get_ShouldComputeMissingEntryOnce() throws Exception {
+        ImageDiskCache cache = new ImageDiskCache(root, DataSize.ofKilobytes(1));
+        AtomicInteger computations = new AtomicInteger();
+
+        String first = read(cache.get("a.jpeg", target -> write(target, "image", computations)));
+        String second = read(cache.get("a.jpeg", target -> write(target, "other", computations)));
+
+        assertThat(first).isEqualTo("image");
+        assertThat(second).isEqualTo("image");
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    void get_WhenFileRemovedBehindTheCache_ShouldComputeAgain() throws Exception {
+        ImageDiskCache cache = new ImageDiskCache(root, DataSize.ofKilobytes(1));
+        AtomicInteger computations = new AtomicInteger();
+        cache.get("a.jpeg", target -> write(target, "image", computations));
+
+        Files.delete(root.resolve("a.jpeg"));
+        String content = read(cache.get("a.jpeg", target -> write(target, "again", computations)));
+
+        assertThat(content).isEqualTo("again");
+        assertThat(computations).hasValue(2);
+        assertThat(cache.size()).isEqualTo(5);
+    }
+
+    @Test
+    void get_ShouldCoalesceConcurrentMisses() throws Exception {
+        ImageDiskCache cache = new ImageDiskCache(root, DataSize.ofKilobytes(1));
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> read(cache.get("a.jpeg", target -> {
+                    await(release);
+                    write(target, "image", computations);
+                }))));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("image");
+            }
+            assertThat(computations).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_ShouldEvictLeastRecentlyUsedAboveCap() throws Exception {
+        ImageDiskCache cache = new ImageDiskCache(root, DataSize.ofBytes(10));
+        AtomicInteger computations = new AtomicInteger();
+
+        cache.get("a.jpeg", target -> write(target, "aaaa", computations));
+        cache.get("b.jpeg", target -> write(target, "bbbb", computations));
+        cache.get("a.jpeg", target -> write(target, "aaaa", computations)); // a is now the most recent
+        cache.get("c.jpeg", target -> write(target, "cccc", computations));
+
+        assertThat(cache.size()).isEqualTo(8);
+        assertThat(root.resolve("a.jpeg")).exists();
+        assertThat(root.resolve("b.jpeg")).doesNotExist();
+        assertThat(root.resolve("c.jpeg")).exists();
+        assertThat(computations).hasValue(3);
+    }
+
+    @Test
+    void removeAll_ShouldDeleteEntriesWithPrefixOnly() throws Exception {
+        ImageDiskCache cache = new ImageDiskCache(root, DataSize.ofMegabytes(1));
+        AtomicInteger computations = new AtomicInteger();
+        cache.get("7_64x64.jpeg", target -> write(target, "aaaa", computations));
+        cache.get("7_128x128.png", target -> write(target, "bbbb", computations));
+        cache.get("77_64x64.jpeg", target -> write(target, "cccc", computations));
+
+        assertThat(cache.removeAll("7_")).isEqualTo(2);
+
+        assertThat(cache.size()).isEqualTo(4);
+        assertThat(root.resolve("7_64x64.jpeg")).doesNotExist();
+        assertThat(root.resolve("7_128x128.png")).doesNotExist();
+        assertThat(root.resolve("77_64x64.jpeg")).exists();
+        cache.get("7_64x64.jpeg", target -> write(target, "aaaa", computations));
+        assertThat(computations).hasValue(4);
+    }
+
+    @Test
+    void get_WhenComputationFails_ShouldCacheNothing() throws Exception {
+        ImageDiskCache cache = new ImageDiskCache(root, DataSize.ofKilobytes(1));
+
+        assertThatThrownBy(() -> cache.get("a.jpeg", target -> {
+            throw new IOException("storage unavailable");
+        })).isInstanceOf(IOException.class);
+
+        assertThat(cache.size()).isZero();
+        try (var files = Files.list(root)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void get_ShouldRejectKeysThatAreNotPlainNames() throws Exception {
+        ImageDiskCache cache = new ImageDiskCache(root, DataSize.ofKilobytes(1));
+
+        assertThatThrownBy(() -> cache.get("../a.jpeg", target -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void constructor_ShouldReloadEntriesAndDropInterruptedWrites() throws Exception {
+        Files.writeString(root.resolve("a.jpeg"), "image");
+        Files.writeString(root.resolve(".entry-123.tmp"), "partial");
+
+        ImageDiskCache cache = new ImageDiskCache(root, DataSize.ofKilobytes(1));
+        String content = read(cache.get("a.jpeg", target -> {
+            throw new IOException("should be cached");
+        }));
+
+        assertThat(content).isEqualTo("image");
+        assertThat(cache.size()).isEqualTo(5);
+        assertThat(root.resolve(".entry-123.tmp")).doesNotExist();
+    }
+
+    private static void write(Path target, String content, AtomicInteger computations) throws IOException {
+        computations.incrementAndGet();
+        Files.writeString(target, content);
+    }
+
+    private static void await(CountDownLatch latch) throws IOException {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    private static String read(MappedByteBuffer buffer) {
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+}
@@ -0,0 +1,170 @@
+package com.jompastech.backend.unit.service;
+
+import com.jompastech.backend.exception.EntityNotFoundException;
+import com.jompastech.backend.model.entity.BoatPhoto;
+import com.jompastech.backend.repository.BoatPhotoRepository;
+import com.jompastech.backend.service.ImageDiskCache;
+import com.jompastech.backend.service.ImageProxyService;
+import com.jompastech.backend.service.PhotoService;
+import com.jompastech.backend.service.PhotoStorage;
+import com.jompastech.backend.service.PhotoVariantProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ImageProxyService}.
+ *
+ * <p>Verifies that:
+ * <ul>
+ *   <li>Requested sizes are rounded up to the size step and formats normalized</li>
+ *   <li>Invalid sizes and unsupported formats are rejected</li>
+ *   <li>A cached rendition is served without database or storage access</li>
+ *   <li>Missing photos and missing stored images are reported as not found</li>
+ *   <li>An original that cannot be decoded is a server-side failure</li>
+ *   <li>The renditions of a deleted photo are rendered again from the storage</li>
+ * </ul>
+ */
+@ExtendWith(MockitoExtension.class)
+class ImageProxyServiceTest {
+
+    @Mock
+    private BoatPhotoRepository boatPhotoRepository;
+
+    @Mock
+    private PhotoStorage photoStorage;
+
+    @TempDir
+    Path cacheDir;
+
+    private ImageProxyService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        service = new ImageProxyService(boatPhotoRepository, photoStorage, new PhotoVariantProcessor(),
+                new ImageDiskCache(cacheDir, DataSize.ofMegabytes(10)));
+    }
+
+    @Test
+    void rendition_ShouldRoundSizesAndNormalizeFormat() {
+        ImageProxyService.Rendition rendition = service.rendition(7L, 300, 1, "JPG");
+
+        assertThat(rendition.width()).isEqualTo(320);
+        assertThat(rendition.height()).isEqualTo(32);
+        assertThat(rendition.format()).isEqualTo("jpeg");
+        assertThat(rendition.key()).isEqualTo("7_320x32.jpeg");
+        assertThat(rendition.contentType()).isEqualTo("image/jpeg");
+    }
+
+    @Test
+    void rendition_ShouldRejectInvalidSizeAndFormat() {
+        assertThatThrownBy(() -> service.rendition(7L, 0, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.rendition(7L, null, null, "exe"))
+                .isInstanceOf(IllegalArgumentException.class);
+        // ImageIO can write these, but the API only offers JPEG and PNG
+        assertThatThrownBy(() -> service.rendition(7L, null, null, "bmp"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.rendition(7L, null, null, "gif"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void load_ShouldServeCachedRenditionWithoutLookups() throws Exception {
+        when(boatPhotoRepository.findById(7L)).thenReturn(Optional.of(photo("pid")));
+        when(photoStorage.openImage("pid")).thenReturn(new ByteArrayInputStream(png(200, 100)));
+        ImageProxyService.Rendition rendition = service.rendition(7L, 64, 64, "png");
+
+        MappedByteBuffer first = service.load(rendition);
+        MappedByteBuffer second = service.load(rendition);
+
+        BufferedImage image = decode(second);
+        assertThat(image.getWidth()).isEqualTo(64);
+        assertThat(image.getHeight()).isEqualTo(32);
+        assertThat(second).isEqualTo(first);
+        verify(boatPhotoRepository, times(1)).findById(anyLong());
+        verify(photoStorage, times(1)).openImage("pid");
+    }
+
+    @Test
+    void load_WhenPhotoMissing_ShouldThrowNotFound() {
+        when(boatPhotoRepository.findById(7L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.load(service.rendition(7L, 64, 64, null)))
+                .isInstanceOf(EntityNotFoundException.class);
+        verifyNoInteractions(photoStorage);
+    }
+
+    @Test
+    void load_WhenStoredImageMissing_ShouldThrowNotFound() throws Exception {
+        when(boatPhotoRepository.findById(7L)).thenReturn(Optional.of(photo("pid")));
+        when(photoStorage.openImage("pid")).thenThrow(new FileNotFoundException("pid"));
+
+        assertThatThrownBy(() -> service.load(service.rendition(7L, 64, 64, null)))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void load_WhenOriginalCannotBeDecoded_ShouldThrowIOException() throws Exception {
+        when(boatPhotoRepository.findById(7L)).thenReturn(Optional.of(photo("pid")));
+        when(photoStorage.openImage("pid")).thenReturn(new ByteArrayInputStream("RIFF....WEBPVP8 ".getBytes()));
+
+        assertThatThrownBy(() -> service.load(service.rendition(7L, 64, 64, null)))
+                .isInstanceOf(IOException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void onPhotosDeleted_ShouldDropCachedRenditions() throws Exception {
+        when(boatPhotoRepository.findById(7L)).thenReturn(Optional.of(photo("pid")));
+        when(photoStorage.openImage("pid")).thenAnswer(invocation -> new ByteArrayInputStream(png(200, 100)));
+        ImageProxyService.Rendition rendition = service.rendition(7L, 64, 64, "png");
+        service.load(rendition);
+
+        service.onPhotosDeleted(new PhotoService.PhotosDeletedEvent(List.of(7L)));
+        when(boatPhotoRepository.findById(7L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.load(rendition)).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private static BoatPhoto photo(String publicId) {
+        BoatPhoto photo = new BoatPhoto();
+        photo.setPublicId(publicId);
+        return photo;
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    private static BufferedImage decode(MappedByteBuffer buffer) throws IOException {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return ImageIO.read(new ByteArrayInputStream(bytes));
+    }
+}
@@ -0,0 +1,208 @@
+package com.jompastech.backend.unit.service;
+
+import com.jompastech.backend.model.dto.cloudinary.CloudinaryUploadResult;
+import com.jompastech.backend.service.PhotoStorage;
+import com.jompastech.backend.service.PhotoVariantProcessor;
+import com.jompastech.backend.service.impl.LocalPhotoStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link LocalPhotoStorage}.
+ *
+ * <p>Verifies that:
+ * <ul>
+ *   <li>Images are stored under a random name and no temporary file is left behind</li>
+ *   <li>Originals are re-encoded without their metadata, and undecodable ones are rejected</li>
+ *   <li>A failed batch removes the images it already stored</li>
+ *   <li>Only names produced by the storage resolve to files</li>
+ *   <li>Listing returns the stored images only, and deleting skips missing ones</li>
+ * </ul>
+ */
+class LocalPhotoStorageTest {
+
+    @TempDir
+    Path root;
+
+    private LocalPhotoStorage storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storage = new LocalPhotoStorage(root, "https://img.example.com", new PhotoVariantProcessor());
+    }
+
+    @Test
+    void uploadImage_ShouldStoreFileUnderRandomNameAndReturnItsUrl() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("images", "boat.jpg", "image/jpeg", image("jpeg", 40, 30));
+
+        CloudinaryUploadResult result = storage.uploadImage(file);
+
+        assertThat(result.getPublicId()).matches("[0-9a-f]{32}\\.jpg");
+        assertThat(result.getUrl()).isEqualTo("https://img.example.com/api/public/photos/" + result.getPublicId());
+        assertThat(result.getFileName()).isEqualTo("boat.jpg");
+        assertThat(result.getContentType()).isEqualTo("image/jpeg");
+        BufferedImage stored = ImageIO.read(root.resolve(result.getPublicId()).toFile());
+        assertThat(stored.getWidth()).isEqualTo(40);
+        assertThat(stored.getHeight()).isEqualTo(30);
+        try (Stream<Path> files = Files.list(root)) {
+            assertThat(files).hasSize(1);
+        }
+    }
+
+    @Test
+    void uploadImage_ShouldDropMetadataOfTheOriginal() throws Exception {
+        byte[] original = jpegWithComment("GPS 38.7223 -9.1393");
+        assertThat(new String(original, StandardCharsets.ISO_8859_1)).contains("GPS 38.7223");
+
+        CloudinaryUploadResult result = storage.uploadImage(
+                new MockMultipartFile("images", "boat.jpg", "image/jpeg", original));
+
+        byte[] stored = Files.readAllBytes(root.resolve(result.getPublicId()));
+        assertThat(new String(stored, StandardCharsets.ISO_8859_1)).doesNotContain("GPS 38.7223");
+        assertThat(ImageIO.read(root.resolve(result.getPublicId()).toFile())).isNotNull();
+    }
+
+    @Test
+    void uploadImage_WhenImageCannotBeDecoded_ShouldRejectItAndStoreNothing() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("images", "boat.webp", "image/webp", "webp".getBytes());
+
+        assertThatThrownBy(() -> storage.uploadImage(file))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        try (Stream<Path> files = Files.list(root)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void uploadImages_WhenOneFails_ShouldRemoveStoredImages() throws Exception {
+        MockMultipartFile good = new MockMultipartFile("images", "a.png", "image/png", png());
+        MockMultipartFile broken = new MockMultipartFile("images", "b.png", "image/png", png()) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                throw new IOException("disk full");
+            }
+        };
+
+        assertThatThrownBy(() -> storage.uploadImages(List.of(good, broken)))
+                .isInstanceOf(IOException.class);
+
+        try (Stream<Path> files = Files.list(root)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void uploadImages_WithInvalidFile_ShouldStoreNothing() throws Exception {
+        MockMultipartFile good = new MockMultipartFile("images", "a.png", "image/png", png());
+        MockMultipartFile pdf = new MockMultipartFile("images", "doc.pdf", "application/pdf", "x".getBytes());
+
+        assertThatThrownBy(() -> storage.uploadImages(List.of(good, pdf)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        try (Stream<Path> files = Files.list(root)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void resolve_ShouldRejectNamesNotProducedByTheStorage() throws Exception {
+        Files.writeString(root.resolve("notes.txt"), "secret");
+
+        assertThat(storage.resolve("notes.txt")).isEmpty();
+        assertThat(storage.resolve("../etc/passwd")).isEmpty();
+        assertThat(storage.resolve(null)).isEmpty();
+    }
+
+    @Test
+    void deleteImage_ShouldRemoveStoredFile() throws Exception {
+        CloudinaryUploadResult result = storage.uploadImage(
+                new MockMultipartFile("images", "a.png", "image/png", png()));
+
+        storage.deleteImage(result.getPublicId());
+
+        assertThat(storage.resolve(result.getPublicId())).isEmpty();
+    }
+
+    @Test
+    void listImages_ShouldReturnStoredImagesOnly() throws Exception {
+        CloudinaryUploadResult first = storage.uploadImage(
+                new MockMultipartFile("images", "a.png", "image/png", png()));
+        CloudinaryUploadResult second = storage.uploadImage(
+                new MockMultipartFile("images", "b.png", "image/png", png()));
+        Files.writeString(root.resolve("notes.txt"), "not an image");
+
+        PhotoStorage.StoredImagePage page = storage.listImages(null);
+
+        assertThat(page.images())
+                .extracting(PhotoStorage.StoredImage::publicId)
+                .containsExactlyInAnyOrder(first.getPublicId(), second.getPublicId());
+        assertThat(page.images()).allSatisfy(image -> assertThat(image.createdAt()).isNotNull());
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void deleteImages_ShouldIgnoreImagesAlreadyDeleted() throws Exception {
+        CloudinaryUploadResult result = storage.uploadImage(
+                new MockMultipartFile("images", "a.png", "image/png", png()));
+        storage.deleteImage(result.getPublicId());
+
+        storage.deleteImages(List.of(result.getPublicId()));
+
+        assertThat(storage.listImages(null).images()).isEmpty();
+    }
+
+    private static byte[] png() throws IOException {
+        return image("png", 8, 6);
+    }
+
+    private static byte[] image(String format, int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), format, out);
+        return out.toByteArray();
+    }
+
+    // A JPEG carrying a comment segment, standing in for the EXIF block a camera writes
+    private static byte[] jpegWithComment(String comment) throws IOException {
+        BufferedImage image = new BufferedImage(16, 16, BufferedImage.TYPE_INT_RGB);
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        IIOMetadata metadata = writer.getDefaultImageMetadata(
+                new ImageTypeSpecifier(image), writer.getDefaultWriteParam());
+        IIOMetadataNode tree = (IIOMetadataNode) metadata.getAsTree("javax_imageio_jpeg_image_1.0");
+        IIOMetadataNode com = new IIOMetadataNode("com");
+        com.setAttribute("comment", comment);
+        ((IIOMetadataNode) tree.getElementsByTagName("markerSequence").item(0)).appendChild(com);
+        metadata.setFromTree("javax_imageio_jpeg_image_1.0", tree);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            writer.write(new IIOImage(image, null, metadata));
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -1,14 +1,17 @@
 package com.jompastech.backend.unit.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jompastech.backend.exception.PaymentValidationException;
 import com.jompastech.backend.model.dto.payment.*;
 import com.jompastech.backend.model.entity.Booking;
 import com.jompastech.backend.model.entity.Payment;
 import com.jompastech.backend.model.entity.User;
+import com.jompastech.backend.model.enums.BookingStatus;
 import com.jompastech.backend.model.enums.PaymentMethod;
 import com.jompastech.backend.model.enums.PaymentStatus;
 import com.jompastech.backend.repository.BookingRepository;
 import com.jompastech.backend.repository.PaymentRepository;
+import com.jompastech.backend.service.BoatScheduleIndex;
 import com.jompastech.backend.service.PaymentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,6 +23,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -83,6 +87,12 @@ class PaymentServiceUnitTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private BoatScheduleIndex boatScheduleIndex;
+
     @InjectMocks
     private PaymentService paymentService;
 
@@ -1081,4 +1091,38 @@ class PaymentServiceUnitTest {
             }
         }
     }
-}
\ No newline at end of file
+
+    // ========================================================================
+    // NESTED TEST CLASS: WEBHOOK TESTS
+    // ========================================================================
+    @Nested
+    @DisplayName("Webhook Tests")
+    class WebhookTests {
+
+        /**
+         * Tests that a cancelled payment frees the booked period for new bookings.
+         * <p>
+         * Scenario: Gateway reports a confirmed payment as cancelled.
+         * Expected: Booking cancelled and pushed to the schedule index.
+         */
+        @Test
+        @DisplayName("Should cancel booking and update schedule index when payment is cancelled")
+        void processWebhookNotification_shouldCancelBookingAndUpdateIndex_whenPaymentCancelled() {
+            // Arrange
+            Payment payment = new Payment();
+            payment.setStatus(PaymentStatus.CONFIRMED);
+            payment.setBooking(mockBooking);
+            when(paymentRepository.findByTransactionId("TX-1")).thenReturn(Optional.of(payment));
+            when(mockBooking.getStatus()).thenReturn(BookingStatus.CONFIRMED);
+
+            // Act
+            paymentService.processWebhookNotification("""
+                    {"notificationCode": "N-1", "code": "TX-1", "status": 7}
+                    """);
+
+            // Assert
+            verify(mockBooking).cancel();
+            verify(boatScheduleIndex).putBooking(mockBooking);
+        }
+    }
+}
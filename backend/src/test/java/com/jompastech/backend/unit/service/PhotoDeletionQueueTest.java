@@ -0,0 +1,116 @@
+package com.jompastech.backend.unit.service;
+
+import com.jompastech.backend.model.entity.PhotoDeletion;
+import com.jompastech.backend.repository.PhotoDeletionRepository;
+import com.jompastech.backend.service.PhotoDeletionQueue;
+import com.jompastech.backend.service.PhotoStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link PhotoDeletionQueue}.
+ *
+ * <p>Verifies that:
+ * <ul>
+ *   <li>Images already queued are not queued twice, and queuing wakes up the cleaner</li>
+ *   <li>A claimed batch holds at most one storage call and is hidden for the lease</li>
+ *   <li>Retries back off exponentially up to the maximum backoff</li>
+ * </ul>
+ */
+@ExtendWith(MockitoExtension.class)
+class PhotoDeletionQueueTest {
+
+    @Mock
+    private PhotoDeletionRepository photoDeletionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private PhotoDeletionQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new PhotoDeletionQueue(photoDeletionRepository, eventPublisher,
+                Duration.ofMinutes(5), Duration.ofSeconds(30), Duration.ofMinutes(10));
+    }
+
+    @Test
+    void enqueue_ShouldSkipImagesAlreadyQueued() {
+        when(photoDeletionRepository.findQueuedPublicIds(anyCollection())).thenReturn(List.of("a"));
+
+        int queued = queue.enqueue(List.of("a", "b", "b"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PhotoDeletion>> saved = ArgumentCaptor.forClass(List.class);
+        verify(photoDeletionRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(PhotoDeletion::getPublicId).containsExactly("b");
+        assertThat(queued).isEqualTo(1);
+        verify(eventPublisher).publishEvent(new PhotoDeletionQueue.PhotoDeletionsQueuedEvent(1));
+    }
+
+    @Test
+    void enqueueBoatPhotos_WithoutPhotos_ShouldNotWakeCleaner() {
+        when(photoDeletionRepository.enqueueBoatPhotos(eq(1L), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThat(queue.enqueueBoatPhotos(1L)).isZero();
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void claimBatch_ShouldPostponeClaimedDeletionsByTheLease() {
+        PhotoDeletion deletion = deletion(4L, 0);
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        when(photoDeletionRepository.findDue(any(LocalDateTime.class), page.capture())).thenReturn(List.of(deletion));
+
+        assertThat(queue.claimBatch()).containsExactly(deletion);
+
+        assertThat(page.getValue().getPageSize()).isEqualTo(PhotoStorage.MAX_DELETE_BATCH);
+        ArgumentCaptor<LocalDateTime> availableAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(photoDeletionRepository).postpone(eq(List.of(4L)), availableAt.capture());
+        assertThat(availableAt.getValue()).isCloseTo(LocalDateTime.now().plusMinutes(5), within(5, ChronoUnit.SECONDS));
+    }
+
+    @Test
+    void markFailed_ShouldBackOffExponentiallyUpToTheMaximum() {
+        ArgumentCaptor<LocalDateTime> availableAt = ArgumentCaptor.forClass(LocalDateTime.class);
+
+        queue.markFailed(List.of(deletion(1L, 2)), new IOException("storage unavailable"));
+        queue.markFailed(List.of(deletion(2L, 10)), new IOException("storage unavailable"));
+
+        verify(photoDeletionRepository).recordFailure(eq(List.of(1L)), availableAt.capture(), eq("storage unavailable"));
+        verify(photoDeletionRepository).recordFailure(eq(List.of(2L)), availableAt.capture(), eq("storage unavailable"));
+        // 30 s doubled twice, then capped at 10 min
+        assertThat(availableAt.getAllValues().get(0)).isBetween(
+                LocalDateTime.now().plusSeconds(115), LocalDateTime.now().plusSeconds(125));
+        assertThat(availableAt.getAllValues().get(1)).isBetween(
+                LocalDateTime.now().plusMinutes(9), LocalDateTime.now().plusMinutes(11));
+    }
+
+    private static PhotoDeletion deletion(Long id, int attempts) {
+        PhotoDeletion deletion = new PhotoDeletion("pid-" + id, LocalDateTime.now());
+        deletion.setId(id);
+        deletion.setAttempts(attempts);
+        return deletion;
+    }
+}
@@ -0,0 +1,246 @@
+package com.jompastech.backend.unit.service;
+
+import com.jompastech.backend.exception.EntityNotFoundException;
+import com.jompastech.backend.model.dto.cloudinary.BoatPhotoResponseDTO;
+import com.jompastech.backend.model.dto.cloudinary.CloudinaryUploadResult;
+import com.jompastech.backend.model.dto.cloudinary.PhotoJobDTO;
+import com.jompastech.backend.model.entity.PhotoJob;
+import com.jompastech.backend.model.entity.PhotoJobFile;
+import com.jompastech.backend.model.enums.PhotoJobStatus;
+import com.jompastech.backend.repository.BoatRepository;
+import com.jompastech.backend.repository.PhotoJobRepository;
+import com.jompastech.backend.service.PhotoJobService;
+import com.jompastech.backend.service.PhotoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link PhotoJobService}.
+ *
+ * <p>Verifies that:
+ * <ul>
+ *   <li>Queuing stages the files on disk before the job is inserted, and cleans up on failure</li>
+ *   <li>A job already claimed by another worker is skipped</li>
+ *   <li>A file is attached once, and a worker whose job was taken over changes nothing</li>
+ *   <li>Transient failures are retried with backoff, permanent ones fail the job at once</li>
+ * </ul>
+ */
+@ExtendWith(MockitoExtension.class)
+class PhotoJobServiceTest {
+
+    @Mock
+    private PhotoJobRepository photoJobRepository;
+
+    @Mock
+    private BoatRepository boatRepository;
+
+    @Mock
+    private PhotoService photoService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    Path stagingDirectory;
+
+    private PhotoJobService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        service = new PhotoJobService(photoJobRepository, boatRepository, photoService, eventPublisher,
+                stagingDirectory, Duration.ofMinutes(5), Duration.ofSeconds(10), 3);
+    }
+
+    @Test
+    void enqueue_ShouldStageFilesQueueJobAndWakeWorkers() throws Exception {
+        when(boatRepository.existsById(1L)).thenReturn(true);
+        when(photoJobRepository.save(any(PhotoJob.class))).thenAnswer(invocation -> {
+            PhotoJob job = invocation.getArgument(0);
+            job.setId(7L);
+            return job;
+        });
+
+        PhotoJobDTO job = service.enqueue(1L, List.of(
+                new MockMultipartFile("images", "a.jpg", "image/jpeg", "aaa".getBytes()),
+                new MockMultipartFile("images", "b.png", "image/png", "bb".getBytes())));
+
+        assertThat(job.getJobId()).isEqualTo(7L);
+        assertThat(job.getStatus()).isEqualTo(PhotoJobStatus.QUEUED);
+        assertThat(job.getTotalFiles()).isEqualTo(2);
+        assertThat(job.getProcessedFiles()).isZero();
+        try (Stream<Path> staged = Files.list(stagingDirectory)) {
+            assertThat(staged).hasSize(2);
+        }
+        verify(eventPublisher).publishEvent(new PhotoJobService.PhotoJobQueuedEvent(7L));
+    }
+
+    @Test
+    void enqueue_WithInvalidFile_ShouldStageNothing() throws Exception {
+        assertThatThrownBy(() -> service.enqueue(1L, List.of(
+                new MockMultipartFile("images", "a.pdf", "application/pdf", "x".getBytes()))))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        try (Stream<Path> staged = Files.list(stagingDirectory)) {
+            assertThat(staged).isEmpty();
+        }
+        verify(photoJobRepository, never()).save(any());
+    }
+
+    @Test
+    void enqueue_WhenBoatDoesNotExist_ShouldRemoveStagedFiles() throws Exception {
+        when(boatRepository.existsById(1L)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.enqueue(1L, List.of(
+                new MockMultipartFile("images", "a.jpg", "image/jpeg", "aaa".getBytes()))))
+                .isInstanceOf(EntityNotFoundException.class);
+
+        try (Stream<Path> staged = Files.list(stagingDirectory)) {
+            assertThat(staged).isEmpty();
+        }
+        verify(photoJobRepository, never()).save(any());
+    }
+
+    @Test
+    void claimNext_ShouldSkipJobsClaimedByOtherWorkers() {
+        PhotoJob second = job(2L, 1);
+        when(photoJobRepository.findClaimableIds(any(LocalDateTime.class), any())).thenReturn(List.of(1L, 2L));
+        when(photoJobRepository.claim(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(0);
+        when(photoJobRepository.claim(eq(2L), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1);
+        when(photoJobRepository.findById(2L)).thenReturn(Optional.of(second));
+
+        assertThat(service.claimNext()).containsSame(second);
+    }
+
+    @Test
+    void recordProcessed_ShouldAttachPhotoAndAdvanceProgress() {
+        PhotoJob job = job(3L, 2);
+        CloudinaryUploadResult upload = new CloudinaryUploadResult("url", "pid", "a.jpg", 3L, "image/jpeg");
+        when(photoJobRepository.findByIdForUpdate(3L)).thenReturn(Optional.of(job));
+        when(photoService.attachUploadedPhotos(1L, List.of(upload)))
+                .thenReturn(List.of(new BoatPhotoResponseDTO(42L, "url", "pid", "a.jpg", 0, 1L, null)));
+
+        assertThat(service.recordProcessed(3L, 1, 1, upload)).isTrue();
+
+        assertThat(job.getFiles().get(1).getPhotoId()).isEqualTo(42L);
+        assertThat(job.getProcessedFiles()).isEqualTo(1);
+    }
+
+    @Test
+    void recordProcessed_WhenFileAlreadyHasPhoto_ShouldNotAttachAgain() {
+        PhotoJob job = job(3L, 2);
+        job.getFiles().get(1).setPhotoId(41L);
+        job.setProcessedFiles(1);
+        CloudinaryUploadResult upload = new CloudinaryUploadResult("url", "pid", "a.jpg", 3L, "image/jpeg");
+        when(photoJobRepository.findByIdForUpdate(3L)).thenReturn(Optional.of(job));
+
+        assertThat(service.recordProcessed(3L, 1, 1, upload)).isFalse();
+
+        verify(photoService, never()).attachUploadedPhotos(any(), any());
+        assertThat(job.getFiles().get(1).getPhotoId()).isEqualTo(41L);
+        assertThat(job.getProcessedFiles()).isEqualTo(1);
+    }
+
+    @Test
+    void recordProcessed_AfterTakeover_ShouldRefuseStaleAttempt() {
+        PhotoJob job = job(3L, 2);
+        job.setAttempts(2); // claimed again after the lease of attempt 1 expired
+        CloudinaryUploadResult upload = new CloudinaryUploadResult("url", "pid", "a.jpg", 3L, "image/jpeg");
+        when(photoJobRepository.findByIdForUpdate(3L)).thenReturn(Optional.of(job));
+
+        assertThatThrownBy(() -> service.recordProcessed(3L, 1, 0, upload))
+                .isInstanceOf(PhotoJobService.LeaseLostException.class);
+
+        verify(photoService, never()).attachUploadedPhotos(any(), any());
+        assertThat(job.getProcessedFiles()).isZero();
+    }
+
+    @Test
+    void fail_WithTransientError_ShouldRequeueWithBackoff() {
+        PhotoJob job = job(3L, 1);
+        job.setAttempts(2);
+        when(photoJobRepository.findByIdForUpdate(3L)).thenReturn(Optional.of(job));
+
+        service.fail(3L, 2, new IOException("storage timeout"));
+
+        assertThat(job.getStatus()).isEqualTo(PhotoJobStatus.QUEUED);
+        assertThat(job.getLastError()).isEqualTo("storage timeout");
+        assertThat(job.getAvailableAt()).isAfter(LocalDateTime.now().plusSeconds(15));
+    }
+
+    @Test
+    void fail_WhenAttemptsAreExhausted_ShouldFailJobAndRemoveStagedFiles() throws Exception {
+        PhotoJob job = job(3L, 1);
+        job.setAttempts(3);
+        Path staged = Files.writeString(service.stagedPath(job.getFiles().get(0)), "aaa");
+        when(photoJobRepository.findByIdForUpdate(3L)).thenReturn(Optional.of(job));
+
+        service.fail(3L, 3, new IOException("storage timeout"));
+
+        assertThat(job.getStatus()).isEqualTo(PhotoJobStatus.FAILED);
+        assertThat(job.getFinishedAt()).isNotNull();
+        assertThat(staged).doesNotExist();
+    }
+
+    @Test
+    void fail_WithPermanentError_ShouldFailJobAtOnce() {
+        PhotoJob job = job(3L, 1);
+        job.setAttempts(1);
+        when(photoJobRepository.findByIdForUpdate(3L)).thenReturn(Optional.of(job));
+
+        service.fail(3L, 1, new IllegalArgumentException("Maximum 20 photos allowed per boat"));
+
+        assertThat(job.getStatus()).isEqualTo(PhotoJobStatus.FAILED);
+    }
+
+    @Test
+    void fail_AfterTakeover_ShouldLeaveJobToNewWorker() {
+        PhotoJob job = job(3L, 1);
+        job.setAttempts(2);
+        when(photoJobRepository.findByIdForUpdate(3L)).thenReturn(Optional.of(job));
+
+        service.fail(3L, 1, new IOException("storage timeout"));
+
+        assertThat(job.getStatus()).isEqualTo(PhotoJobStatus.PROCESSING);
+        assertThat(job.getLastError()).isNull();
+    }
+
+    private static PhotoJob job(Long id, int files) {
+        PhotoJob job = new PhotoJob();
+        job.setId(id);
+        job.setBoatId(1L);
+        job.setTotalFiles(files);
+        job.setAvailableAt(LocalDateTime.now());
+        job.setStatus(PhotoJobStatus.PROCESSING); // claimed by attempt 1
+        job.setAttempts(1);
+        List<PhotoJobFile> staged = new ArrayList<>();
+        for (int i = 0; i < files; i++) {
+            staged.add(new PhotoJobFile("staged" + id + i, "photo" + i + ".jpg", "image/jpeg", 3L, null));
+        }
+        job.setFiles(staged);
+        return job;
+    }
+}
@@ -0,0 +1,186 @@
+package com.jompastech.backend.unit.service;
+
+import com.jompastech.backend.model.dto.cloudinary.CloudinaryUploadResult;
+import com.jompastech.backend.model.entity.PhotoJob;
+import com.jompastech.backend.model.entity.PhotoJobFile;
+import com.jompastech.backend.service.PhotoJobService;
+import com.jompastech.backend.service.PhotoJobWorker;
+import com.jompastech.backend.service.PhotoStorage;
+import com.jompastech.backend.service.PhotoUploader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link PhotoJobWorker}.
+ *
+ * <p>Verifies that:
+ * <ul>
+ *   <li>Each pending photo is uploaded and recorded, then the job completes</li>
+ *   <li>Photos recorded by an earlier attempt are not uploaded again</li>
+ *   <li>A photo stored but not recorded is deleted from the storage and the job fails,
+ *       unless its image was reused from another photo</li>
+ *   <li>A worker whose job was taken over deletes its image and leaves the job alone</li>
+ * </ul>
+ */
+@ExtendWith(MockitoExtension.class)
+class PhotoJobWorkerTest {
+
+    @Mock
+    private PhotoJobService photoJobService;
+
+    @Mock
+    private PhotoStorage photoStorage;
+
+    @Mock
+    private PhotoUploader photoUploader;
+
+    @Mock
+    private ThreadPoolTaskScheduler scheduler;
+
+    private PhotoJobWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new PhotoJobWorker(photoJobService, photoStorage, photoUploader, scheduler, 1, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void drain_ShouldProcessJobsUntilQueueIsEmpty() throws Exception {
+        PhotoJob job = job(new PhotoJobFile("a", "a.jpg", "image/jpeg", 3L, null),
+                new PhotoJobFile("b", "b.jpg", "image/jpeg", 3L, null));
+        CloudinaryUploadResult stored = new CloudinaryUploadResult("url", "pid", "a.jpg", 3L, "image/jpeg");
+        when(photoJobService.claimNext()).thenReturn(Optional.of(job), Optional.empty());
+        when(photoJobService.stagedPath(any())).thenReturn(Path.of("staged"));
+        when(photoUploader.upload(any(MultipartFile.class))).thenReturn(stored);
+
+        when(photoJobService.recordProcessed(eq(5L), eq(1), anyInt(), eq(stored))).thenReturn(true);
+
+        worker.drain();
+
+        verify(photoJobService).recordProcessed(5L, 1, 0, stored);
+        verify(photoJobService).recordProcessed(5L, 1, 1, stored);
+        verify(photoJobService).complete(5L, 1);
+        verify(photoJobService, never()).fail(any(), anyInt(), any());
+    }
+
+    @Test
+    void process_ShouldSkipPhotosRecordedByEarlierAttempt() throws Exception {
+        PhotoJob job = job(new PhotoJobFile("a", "a.jpg", "image/jpeg", 3L, 41L),
+                new PhotoJobFile("b", "b.jpg", "image/jpeg", 3L, null));
+        CloudinaryUploadResult stored = new CloudinaryUploadResult("url", "pid", "b.jpg", 3L, "image/jpeg");
+        when(photoJobService.stagedPath(any())).thenReturn(Path.of("staged"));
+        when(photoUploader.upload(any(MultipartFile.class))).thenReturn(stored);
+        when(photoJobService.recordProcessed(5L, 1, 1, stored)).thenReturn(true);
+
+        worker.process(job);
+
+        verify(photoUploader, times(1)).upload(any(MultipartFile.class));
+        verify(photoJobService).recordProcessed(5L, 1, 1, stored);
+        verify(photoJobService).complete(5L, 1);
+    }
+
+    @Test
+    void process_WhenRecordingFails_ShouldDeleteStoredImageAndFailJob() throws Exception {
+        PhotoJob job = job(new PhotoJobFile("a", "a.jpg", "image/jpeg", 3L, null));
+        CloudinaryUploadResult stored = new CloudinaryUploadResult("url", "pid", "a.jpg", 3L, "image/jpeg");
+        IllegalArgumentException limit = new IllegalArgumentException("Maximum 20 photos allowed per boat");
+        when(photoJobService.stagedPath(any())).thenReturn(Path.of("staged"));
+        when(photoUploader.upload(any(MultipartFile.class))).thenReturn(stored);
+        doThrow(limit).when(photoJobService).recordProcessed(eq(5L), eq(1), anyInt(), any());
+
+        worker.process(job);
+
+        verify(photoStorage).deleteImage("pid");
+        verify(photoJobService).fail(5L, 1, limit);
+        verify(photoJobService, never()).complete(any(), anyInt());
+    }
+
+    @Test
+    void process_WhenRecordingFails_ShouldKeepReusedImage() throws Exception {
+        PhotoJob job = job(new PhotoJobFile("a", "a.jpg", "image/jpeg", 3L, null));
+        CloudinaryUploadResult reused = new CloudinaryUploadResult("url", "pid", "a.jpg", 3L, "image/jpeg");
+        reused.setReused(true);
+        IllegalArgumentException limit = new IllegalArgumentException("Maximum 20 photos allowed per boat");
+        when(photoJobService.stagedPath(any())).thenReturn(Path.of("staged"));
+        when(photoUploader.upload(any(MultipartFile.class))).thenReturn(reused);
+        doThrow(limit).when(photoJobService).recordProcessed(eq(5L), eq(1), anyInt(), any());
+
+        worker.process(job);
+
+        verify(photoStorage, never()).deleteImage(any());
+        verify(photoJobService).fail(5L, 1, limit);
+    }
+
+    @Test
+    void process_WhenJobWasTakenOver_ShouldDeleteStoredImageAndLeaveJob() throws Exception {
+        PhotoJob job = job(new PhotoJobFile("a", "a.jpg", "image/jpeg", 3L, null));
+        CloudinaryUploadResult stored = new CloudinaryUploadResult("url", "pid", "a.jpg", 3L, "image/jpeg");
+        when(photoJobService.stagedPath(any())).thenReturn(Path.of("staged"));
+        when(photoUploader.upload(any(MultipartFile.class))).thenReturn(stored);
+        doThrow(new PhotoJobService.LeaseLostException(5L, 1))
+                .when(photoJobService).recordProcessed(eq(5L), eq(1), anyInt(), any());
+
+        worker.process(job);
+
+        verify(photoStorage).deleteImage("pid");
+        verify(photoJobService, never()).complete(any(), anyInt());
+        verify(photoJobService, never()).fail(any(), anyInt(), any());
+    }
+
+    @Test
+    void process_WhenFileWasRecordedMeanwhile_ShouldDeleteDuplicateImage() throws Exception {
+        PhotoJob job = job(new PhotoJobFile("a", "a.jpg", "image/jpeg", 3L, null));
+        CloudinaryUploadResult stored = new CloudinaryUploadResult("url", "pid", "a.jpg", 3L, "image/jpeg");
+        when(photoJobService.stagedPath(any())).thenReturn(Path.of("staged"));
+        when(photoUploader.upload(any(MultipartFile.class))).thenReturn(stored);
+        when(photoJobService.recordProcessed(5L, 1, 0, stored)).thenReturn(false);
+
+        worker.process(job);
+
+        verify(photoStorage).deleteImage("pid");
+        verify(photoJobService).complete(5L, 1);
+    }
+
+    @Test
+    void process_WhenUploadFails_ShouldFailJob() throws Exception {
+        PhotoJob job = job(new PhotoJobFile("a", "a.jpg", "image/jpeg", 3L, null));
+        IOException timeout = new IOException("storage timeout");
+        when(photoJobService.stagedPath(any())).thenReturn(Path.of("staged"));
+        when(photoUploader.upload(any(MultipartFile.class))).thenThrow(timeout);
+
+        worker.process(job);
+
+        verify(photoJobService).fail(5L, 1, timeout);
+        verify(photoJobService, never()).recordProcessed(any(), anyInt(), anyInt(), any());
+    }
+
+    private static PhotoJob job(PhotoJobFile... files) {
+        PhotoJob job = new PhotoJob();
+        job.setId(5L);
+        job.setBoatId(1L);
+        job.setAttempts(1);
+        job.setTotalFiles(files.length);
+        job.setFiles(List.of(files));
+        return job;
+    }
+}
@@ -3,12 +3,16 @@ package com.jompastech.backend.unit.service;
 import com.jompastech.backend.model.dto.cloudinary.BoatPhotoResponseDTO;
 import com.jompastech.backend.model.dto.cloudinary.CloudinaryUploadResult;
 import com.jompastech.backend.model.dto.cloudinary.PhotoOrderUpdateDTO;
+import com.jompastech.backend.model.dto.cloudinary.RegisterPhotosRequestDTO;
 import com.jompastech.backend.model.entity.Boat;
 import com.jompastech.backend.model.entity.BoatPhoto;
 import com.jompastech.backend.repository.BoatPhotoRepository;
 import com.jompastech.backend.repository.BoatRepository;
-import com.jompastech.backend.service.CloudinaryService;
+import com.jompastech.backend.service.BoatCardProjector;
+import com.jompastech.backend.service.PhotoDeletionQueue;
 import com.jompastech.backend.service.PhotoService;
+import com.jompastech.backend.service.PhotoStorage;
+import com.jompastech.backend.service.PhotoUploader;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,9 +20,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,7 +41,19 @@ class PhotoServiceTest {
     BoatPhotoRepository boatPhotoRepository;
 
     @Mock
-    CloudinaryService cloudinaryService;
+    PhotoStorage photoStorage;
+
+    @Mock
+    PhotoUploader photoUploader;
+
+    @Mock
+    PhotoDeletionQueue photoDeletionQueue;
+
+    @Mock
+    BoatCardProjector boatCardProjector;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     PhotoService photoService;
@@ -63,7 +81,7 @@ class PhotoServiceTest {
         when(uploadResult.getPublicId()).thenReturn("pid");
         when(uploadResult.getFileName()).thenReturn("photo.png");
 
-        when(cloudinaryService.uploadImages(any()))
+        when(photoUploader.uploadAll(any()))
                 .thenReturn(List.of(uploadResult));
 
         List<BoatPhotoResponseDTO> result =
@@ -71,6 +89,8 @@ class PhotoServiceTest {
 
         assertEquals(1, result.size());
         verify(boatPhotoRepository).saveAll(any());
+        verify(boatRepository).bumpContentVersion(eq(1L), any(LocalDateTime.class));
+        verify(boatCardProjector).markStale(1L);
     }
 
     @Test
@@ -106,7 +126,7 @@ class PhotoServiceTest {
         CloudinaryUploadResult uploadResult = mock(CloudinaryUploadResult.class);
         when(uploadResult.getPublicId()).thenReturn("pid");
 
-        when(cloudinaryService.uploadImages(any()))
+        when(photoUploader.uploadAll(any()))
                 .thenReturn(List.of(uploadResult));
 
         doThrow(new RuntimeException("DB fail"))
@@ -115,7 +135,109 @@ class PhotoServiceTest {
         assertThrows(RuntimeException.class,
                 () -> photoService.addPhotosToBoat(1L, List.of(file)));
 
-        verify(cloudinaryService).deleteImages(List.of("pid"));
+        verify(photoStorage).deleteImages(List.of("pid"));
+    }
+
+    @Test
+    void addPhotosToBoat_rollbackOnFailure_keepsReusedImages() throws IOException {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "photo.png", "image/png", "x".getBytes());
+
+        when(boatRepository.findById(1L))
+                .thenReturn(Optional.of(boat));
+        when(boatPhotoRepository.countByBoatId(1L))
+                .thenReturn(0L);
+
+        CloudinaryUploadResult reused = new CloudinaryUploadResult("url", "pid", "photo.png", 1L, "image/png");
+        reused.setReused(true);
+        when(photoUploader.uploadAll(any()))
+                .thenReturn(List.of(reused));
+
+        doThrow(new RuntimeException("DB fail"))
+                .when(boatPhotoRepository).saveAll(any());
+
+        assertThrows(RuntimeException.class,
+                () -> photoService.addPhotosToBoat(1L, List.of(file)));
+
+        verify(photoStorage, never()).deleteImages(any());
+    }
+
+    @Test
+    void registerUploadedPhotos_verifiesEverySignatureAndSavesInOneBatch() {
+        RegisterPhotosRequestDTO.UploadedPhoto first =
+                new RegisterPhotosRequestDTO.UploadedPhoto("pid-1", 1L, "sig-1", "jpg", 800, 600, "a.jpg");
+        RegisterPhotosRequestDTO.UploadedPhoto second =
+                new RegisterPhotosRequestDTO.UploadedPhoto("pid-2", 1L, "sig-2", "jpg", 800, 600, "b.jpg");
+
+        when(boatRepository.findById(1L)).thenReturn(Optional.of(boat));
+        when(boatPhotoRepository.countByBoatId(1L)).thenReturn(3L);
+        when(photoStorage.verifyDirectUpload(1L, first))
+                .thenReturn(new CloudinaryUploadResult("url-1", "pid-1", "a.jpg", null, "image/jpg"));
+        when(photoStorage.verifyDirectUpload(1L, second))
+                .thenReturn(new CloudinaryUploadResult("url-2", "pid-2", "b.jpg", null, "image/jpg"));
+
+        List<BoatPhotoResponseDTO> result = photoService.registerUploadedPhotos(1L, List.of(first, second));
+
+        assertEquals(2, result.size());
+        assertEquals(3, result.get(0).getOrdem());
+        assertEquals(4, result.get(1).getOrdem());
+        verify(boatPhotoRepository, times(1)).saveAll(anyList());
+        verify(boatCardProjector).markStale(1L);
+    }
+
+    @Test
+    void registerUploadedPhotos_invalidSignature_savesNothing() {
+        RegisterPhotosRequestDTO.UploadedPhoto forged =
+                new RegisterPhotosRequestDTO.UploadedPhoto("pid-1", 1L, "forged", "jpg", 800, 600, "a.jpg");
+
+        when(boatRepository.findById(1L)).thenReturn(Optional.of(boat));
+        when(photoStorage.verifyDirectUpload(1L, forged))
+                .thenThrow(new IllegalArgumentException("Invalid upload signature"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> photoService.registerUploadedPhotos(1L, List.of(forged)));
+
+        verify(boatPhotoRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void registerUploadedPhotos_alreadyRegistered_throws() {
+        RegisterPhotosRequestDTO.UploadedPhoto photo =
+                new RegisterPhotosRequestDTO.UploadedPhoto("pid-1", 1L, "sig", "jpg", 800, 600, "a.jpg");
+
+        when(boatRepository.findById(1L)).thenReturn(Optional.of(boat));
+        when(boatPhotoRepository.existsByPublicIdIn(List.of("pid-1"))).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> photoService.registerUploadedPhotos(1L, List.of(photo)));
+
+        verify(photoStorage, never()).verifyDirectUpload(anyLong(), any());
+    }
+
+    @Test
+    void attachUploadedPhotos_savesAfterExistingPhotosWithoutTouchingStorage() {
+        when(boatRepository.findById(1L)).thenReturn(Optional.of(boat));
+        when(boatPhotoRepository.countByBoatId(1L)).thenReturn(2L);
+
+        List<BoatPhotoResponseDTO> result = photoService.attachUploadedPhotos(1L,
+                List.of(new CloudinaryUploadResult("url-1", "pid-1", "a.jpg", 10L, "image/jpeg")));
+
+        assertEquals(1, result.size());
+        assertEquals(2, result.get(0).getOrdem());
+        verify(boatPhotoRepository).saveAll(anyList());
+        verify(boatCardProjector).markStale(1L);
+        verifyNoInteractions(photoStorage);
+    }
+
+    @Test
+    void attachUploadedPhotos_photoLimitExceeded() {
+        when(boatRepository.findById(1L)).thenReturn(Optional.of(boat));
+        when(boatPhotoRepository.countByBoatId(1L)).thenReturn(20L);
+
+        assertThrows(IllegalArgumentException.class, () -> photoService.attachUploadedPhotos(1L,
+                List.of(new CloudinaryUploadResult("url-1", "pid-1", "a.jpg", 10L, "image/jpeg"))));
+
+        verify(boatPhotoRepository, never()).saveAll(anyList());
     }
 
     @Test
@@ -133,7 +255,28 @@ class PhotoServiceTest {
 
         photoService.deletePhoto(1L, 10L);
 
-        verify(cloudinaryService).deleteImage("pid");
+        verify(photoDeletionQueue).enqueue(List.of("pid"));
+        verify(photoStorage, never()).deleteImage(any());
+        verify(boatPhotoRepository).delete(photo);
+        verify(eventPublisher).publishEvent(new PhotoService.PhotosDeletedEvent(List.of(10L)));
+    }
+
+    @Test
+    void deletePhoto_sharedImage_notQueued() {
+        BoatPhoto photo = new BoatPhoto();
+        photo.setId(10L);
+        photo.setBoat(boat);
+        photo.setPublicId("pid");
+        photo.setOrdem(0);
+
+        when(boatPhotoRepository.findById(10L))
+                .thenReturn(Optional.of(photo));
+        when(boatPhotoRepository.existsByPublicIdAndIdNot("pid", 10L))
+                .thenReturn(true);
+
+        photoService.deletePhoto(1L, 10L);
+
+        verifyNoInteractions(photoDeletionQueue);
         verify(boatPhotoRepository).delete(photo);
     }
 
@@ -205,16 +348,17 @@ class PhotoServiceTest {
 
     @Test
     void deleteAllBoatPhotos_success() throws IOException {
-        BoatPhoto photo = new BoatPhoto();
-        photo.setPublicId("pid");
-
-        when(boatPhotoRepository.findByBoatIdOrderByOrdemAsc(1L))
-                .thenReturn(List.of(photo));
+        when(photoDeletionQueue.enqueueBoatPhotos(1L))
+                .thenReturn(1);
+        when(boatPhotoRepository.findIdsByBoatId(1L))
+                .thenReturn(List.of(10L));
 
         photoService.deleteAllBoatPhotos(1L);
 
-        verify(cloudinaryService).deleteImages(List.of("pid"));
+        verify(photoDeletionQueue).enqueueBoatPhotos(1L);
+        verify(photoStorage, never()).deleteImages(any());
         verify(boatPhotoRepository).deleteByBoatId(1L);
+        verify(eventPublisher).publishEvent(new PhotoService.PhotosDeletedEvent(List.of(10L)));
     }
 }
 
@@ -0,0 +1,136 @@
+package com.jompastech.backend.unit.service;
+
+import com.jompastech.backend.model.entity.PhotoDeletion;
+import com.jompastech.backend.repository.BoatPhotoRepository;
+import com.jompastech.backend.service.PhotoDeletionQueue;
+import com.jompastech.backend.service.PhotoStorage;
+import com.jompastech.backend.service.PhotoStorageCleaner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link PhotoStorageCleaner}.
+ *
+ * <p>Verifies that:
+ * <ul>
+ *   <li>Queued deletions are sent to the storage batch by batch, and confirmed ones removed</li>
+ *   <li>Queued images a photo references again are dropped without being deleted</li>
+ *   <li>A failed batch is rescheduled and stops the drain</li>
+ *   <li>Reconciliation queues old unreferenced images only, across pages</li>
+ * </ul>
+ */
+@ExtendWith(MockitoExtension.class)
+class PhotoStorageCleanerTest {
+
+    @Mock
+    private PhotoDeletionQueue photoDeletionQueue;
+
+    @Mock
+    private PhotoStorage photoStorage;
+
+    @Mock
+    private BoatPhotoRepository boatPhotoRepository;
+
+    @Mock
+    private ThreadPoolTaskScheduler scheduler;
+
+    private PhotoStorageCleaner cleaner;
+
+    @BeforeEach
+    void setUp() {
+        cleaner = new PhotoStorageCleaner(photoDeletionQueue, photoStorage, boatPhotoRepository, scheduler,
+                Duration.ofSeconds(30), Duration.ofHours(24), Duration.ofHours(24));
+    }
+
+    @Test
+    void drainDeletions_ShouldDeleteBatchesUntilQueueIsEmpty() throws Exception {
+        List<PhotoDeletion> first = List.of(deletion(1L, "a"), deletion(2L, "b"));
+        List<PhotoDeletion> second = List.of(deletion(3L, "c"));
+        when(photoDeletionQueue.claimBatch()).thenReturn(first, second, List.of());
+
+        int deleted = cleaner.drainDeletions();
+
+        assertThat(deleted).isEqualTo(3);
+        verify(photoStorage).deleteImages(List.of("a", "b"));
+        verify(photoStorage).deleteImages(List.of("c"));
+        verify(photoDeletionQueue).markDeleted(first);
+        verify(photoDeletionQueue).markDeleted(second);
+    }
+
+    @Test
+    void drainDeletions_ShouldKeepImagesReferencedAgain() throws Exception {
+        List<PhotoDeletion> batch = List.of(deletion(1L, "a"), deletion(2L, "reused"));
+        when(photoDeletionQueue.claimBatch()).thenReturn(batch, List.of());
+        when(boatPhotoRepository.findExistingPublicIds(Set.of("a", "reused"))).thenReturn(List.of("reused"));
+
+        int deleted = cleaner.drainDeletions();
+
+        assertThat(deleted).isEqualTo(1);
+        verify(photoStorage).deleteImages(List.of("a"));
+        verify(photoDeletionQueue).markDeleted(batch);
+    }
+
+    @Test
+    void drainDeletions_WhenStorageFails_ShouldRescheduleBatchAndStop() throws Exception {
+        List<PhotoDeletion> batch = List.of(deletion(1L, "a"));
+        IOException outage = new IOException("storage unavailable");
+        when(photoDeletionQueue.claimBatch()).thenReturn(batch);
+        doThrow(outage).when(photoStorage).deleteImages(anyList());
+
+        int deleted = cleaner.drainDeletions();
+
+        assertThat(deleted).isZero();
+        verify(photoDeletionQueue).markFailed(batch, outage);
+        verify(photoDeletionQueue, never()).markDeleted(any());
+        verify(photoDeletionQueue, times(1)).claimBatch();
+    }
+
+    @Test
+    void reconcile_ShouldQueueOldUnreferencedImagesOnly() throws Exception {
+        Instant old = Instant.now().minus(Duration.ofDays(3));
+        when(photoStorage.listImages(null)).thenReturn(new PhotoStorage.StoredImagePage(List.of(
+                new PhotoStorage.StoredImage("referenced", old),
+                new PhotoStorage.StoredImage("orphan-1", old),
+                new PhotoStorage.StoredImage("just-uploaded", Instant.now())), "page-2"));
+        when(photoStorage.listImages("page-2")).thenReturn(new PhotoStorage.StoredImagePage(List.of(
+                new PhotoStorage.StoredImage("orphan-2", old)), null));
+        when(boatPhotoRepository.findExistingPublicIds(Set.of("referenced", "orphan-1")))
+                .thenReturn(List.of("referenced"));
+        when(boatPhotoRepository.findExistingPublicIds(Set.of("orphan-2")))
+                .thenReturn(List.of());
+        when(photoDeletionQueue.enqueue(Set.of("orphan-1"))).thenReturn(1);
+        when(photoDeletionQueue.enqueue(Set.of("orphan-2"))).thenReturn(1);
+
+        int orphans = cleaner.reconcile();
+
+        assertThat(orphans).isEqualTo(2);
+        verify(photoDeletionQueue).enqueue(Set.of("orphan-1"));
+        verify(photoDeletionQueue).enqueue(Set.of("orphan-2"));
+    }
+
+    private static PhotoDeletion deletion(Long id, String publicId) {
+        PhotoDeletion deletion = new PhotoDeletion(publicId, LocalDateTime.now());
+        deletion.setId(id);
+        return deletion;
+    }
+}
@@ -0,0 +1,136 @@
+package com.jompastech.backend.unit.service;
+
+import com.jompastech.backend.model.dto.cloudinary.CloudinaryUploadResult;
+import com.jompastech.backend.model.entity.BoatPhoto;
+import com.jompastech.backend.model.entity.ImageVariant;
+import com.jompastech.backend.repository.BoatPhotoRepository;
+import com.jompastech.backend.service.PhotoStorage;
+import com.jompastech.backend.service.PhotoUploader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link PhotoUploader}.
+ *
+ * <p>Verifies that:
+ * <ul>
+ *   <li>New contents are uploaded and carry their SHA-256 content hash</li>
+ *   <li>A content already stored reuses the image without any storage call</li>
+ *   <li>Identical files of one request are uploaded once</li>
+ *   <li>Rollbacks only delete images that were actually uploaded</li>
+ * </ul>
+ */
+@ExtendWith(MockitoExtension.class)
+class PhotoUploaderTest {
+
+    // SHA-256 of "abc"
+    private static final String ABC_HASH = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    @Mock
+    private PhotoStorage photoStorage;
+
+    @Mock
+    private BoatPhotoRepository boatPhotoRepository;
+
+    private PhotoUploader uploader;
+
+    @BeforeEach
+    void setUp() {
+        uploader = new PhotoUploader(photoStorage, boatPhotoRepository);
+    }
+
+    @Test
+    void uploadAll_ShouldUploadNewContentWithItsHash() throws Exception {
+        MockMultipartFile file = image("a.jpg", "abc");
+        CloudinaryUploadResult stored = new CloudinaryUploadResult("url", "pid", "a.jpg", 3L, "image/jpeg");
+        when(boatPhotoRepository.findReusableByContentHashIn(List.of(ABC_HASH))).thenReturn(List.of());
+        when(photoStorage.uploadImages(List.of(file))).thenReturn(List.of(stored));
+
+        List<CloudinaryUploadResult> results = uploader.uploadAll(List.of(file));
+
+        assertThat(results).containsExactly(stored);
+        assertThat(stored.getContentHash()).isEqualTo(ABC_HASH);
+        assertThat(stored.isReused()).isFalse();
+    }
+
+    @Test
+    void uploadAll_ShouldReuseStoredImageWithoutStorageCalls() throws Exception {
+        BoatPhoto existing = new BoatPhoto();
+        existing.setPhotoUrl("url");
+        existing.setPublicId("pid");
+        existing.setContentHash(ABC_HASH);
+        existing.setWidth(800);
+        existing.setHeight(600);
+        existing.setCard(new ImageVariant("card-url", 480, 360));
+        when(boatPhotoRepository.findReusableByContentHashIn(anyCollection())).thenReturn(List.of(existing));
+
+        List<CloudinaryUploadResult> results = uploader.uploadAll(List.of(image("copy.jpg", "abc")));
+
+        assertThat(results).hasSize(1);
+        CloudinaryUploadResult reused = results.get(0);
+        assertThat(reused.isReused()).isTrue();
+        assertThat(reused.getPublicId()).isEqualTo("pid");
+        assertThat(reused.getFileName()).isEqualTo("copy.jpg");
+        assertThat(reused.getCard()).isEqualTo(existing.getCard()).isNotSameAs(existing.getCard());
+        verifyNoInteractions(photoStorage);
+    }
+
+    @Test
+    void uploadAll_ShouldUploadIdenticalFilesOfOneRequestOnce() throws Exception {
+        MockMultipartFile first = image("a.jpg", "abc");
+        MockMultipartFile second = image("b.jpg", "abc");
+        CloudinaryUploadResult stored = new CloudinaryUploadResult("url", "pid", "a.jpg", 3L, "image/jpeg");
+        when(boatPhotoRepository.findReusableByContentHashIn(anyCollection())).thenReturn(List.of());
+        when(photoStorage.uploadImages(List.of(first))).thenReturn(List.of(stored));
+
+        List<CloudinaryUploadResult> results = uploader.uploadAll(List.of(first, second));
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0)).isSameAs(stored);
+        assertThat(results.get(1).getPublicId()).isEqualTo("pid");
+        assertThat(results.get(1).isReused()).isTrue();
+        assertThat(PhotoUploader.uploadedPublicIds(results)).containsExactly("pid");
+    }
+
+    @Test
+    void uploadAll_WhenFileIsInvalid_ShouldStoreNothing() {
+        MockMultipartFile text = new MockMultipartFile("images", "a.txt", "text/plain", "abc".getBytes());
+
+        assertThatThrownBy(() -> uploader.uploadAll(List.of(text)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(photoStorage, boatPhotoRepository);
+    }
+
+    @Test
+    void upload_ShouldReturnSingleResult() throws Exception {
+        CloudinaryUploadResult stored = new CloudinaryUploadResult("url", "pid", "a.jpg", 3L, "image/jpeg");
+        when(boatPhotoRepository.findReusableByContentHashIn(anyCollection())).thenReturn(List.of());
+        when(photoStorage.uploadImages(anyList())).thenReturn(List.of(stored));
+
+        CloudinaryUploadResult result = uploader.upload(image("a.jpg", "abc"));
+
+        assertThat(result).isSameAs(stored);
+        verify(photoStorage).uploadImages(any());
+    }
+
+    private static MockMultipartFile image(String name, String content) {
+        return new MockMultipartFile("images", name, "image/jpeg", content.getBytes());
+    }
+}
@@ -0,0 +1,150 @@
+package com.jompastech.backend.unit.service;
+
+import com.jompastech.backend.model.dto.cloudinary.CloudinaryUploadResult;
+import com.jompastech.backend.model.entity.ImageVariant;
+import com.jompastech.backend.model.enums.PhotoVariant;
+import com.jompastech.backend.service.PhotoVariantProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link PhotoVariantProcessor}.
+ *
+ * <p>Verifies that:
+ * <ul>
+ *   <li>Every upload requests one eager rendition per variant and caps the original</li>
+ *   <li>Variant URLs and dimensions are read back from the upload response</li>
+ *   <li>The placeholder is a tiny JPEG data URI, or null for undecodable files</li>
+ *   <li>Renditions fit their box and are never scaled up</li>
+ * </ul>
+ */
+class PhotoVariantProcessorTest {
+
+    private final PhotoVariantProcessor processor = new PhotoVariantProcessor();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void uploadOptions_ShouldRequestOneEagerRenditionPerVariant() {
+        Map<String, Object> options = processor.uploadOptions();
+
+        assertThat(options).containsEntry("resource_type", "image");
+        assertThat(options.get("transformation")).isNotNull();
+        assertThat((List<?>) options.get("eager")).hasSize(3);
+    }
+
+    @Test
+    void applyVariants_ShouldCopyUrlsAndDimensionsInVariantOrder() {
+        CloudinaryUploadResult result = new CloudinaryUploadResult("url", "pid", "a.jpg", 10L, "image/jpeg");
+        Map<String, Object> response = Map.of(
+                "width", 2560,
+                "height", 1920,
+                "eager", List.of(
+                        Map.of("secure_url", "thumb.webp", "width", 320, "height", 240),
+                        Map.of("secure_url", "card.webp", "width", 640, "height", 480),
+                        Map.of("secure_url", "full.webp", "width", 1600, "height", 1200)));
+
+        processor.applyVariants(result, response);
+
+        assertThat(result.getWidth()).isEqualTo(2560);
+        assertThat(result.getHeight()).isEqualTo(1920);
+        assertThat(result.getThumbnail().getUrl()).isEqualTo("thumb.webp");
+        assertThat(result.getCard().getUrl()).isEqualTo("card.webp");
+        assertThat(result.getCard().getWidth()).isEqualTo(640);
+        assertThat(result.getFull().getHeight()).isEqualTo(1200);
+    }
+
+    @Test
+    void applyVariants_WithoutEagerResults_ShouldLeaveVariantsEmpty() {
+        CloudinaryUploadResult result = new CloudinaryUploadResult("url", "pid", "a.jpg", 10L, "image/jpeg");
+
+        processor.applyVariants(result, Map.of("width", 800, "height", 600));
+
+        assertThat(result.getWidth()).isEqualTo(800);
+        assertThat(result.getCard()).isNull();
+    }
+
+    @Test
+    void placeholder_ShouldBeTinyJpegDataUri() throws Exception {
+        Path image = tempDir.resolve("boat.png");
+        ImageIO.write(new BufferedImage(1200, 800, BufferedImage.TYPE_INT_ARGB), "png", image.toFile());
+
+        String placeholder = processor.placeholder(image);
+
+        assertThat(placeholder).startsWith("data:image/jpeg;base64,");
+        byte[] jpeg = Base64.getDecoder().decode(placeholder.substring(placeholder.indexOf(',') + 1));
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(jpeg));
+        assertThat(decoded.getWidth()).isEqualTo(24);
+        assertThat(decoded.getHeight()).isEqualTo(16);
+        assertThat(jpeg.length).isLessThan(1024);
+    }
+
+    @Test
+    void placeholder_WhenFormatIsUnknown_ShouldReturnNull() throws Exception {
+        Path image = Files.writeString(tempDir.resolve("boat.heic"), "not an image");
+
+        assertThat(processor.placeholder(image)).isNull();
+    }
+
+    @Test
+    void eagerParameter_ShouldListEveryVariantAsWebp() {
+        String[] renditions = processor.eagerParameter().split("\\|");
+
+        assertThat(renditions).hasSize(3);
+        assertThat(renditions).allMatch(rendition -> rendition.endsWith("/webp"));
+        assertThat(renditions[1]).contains("w_640").contains("h_480").contains("c_fill");
+    }
+
+    @Test
+    void derivedVariant_ShouldFillBoxOrScaleDownWithinIt() {
+        assertThat(processor.derivedVariant(PhotoVariant.CARD, "card", 300, 200))
+                .isEqualTo(new ImageVariant("card", 640, 480));
+        assertThat(processor.derivedVariant(PhotoVariant.FULL, "full", 3200, 1600))
+                .isEqualTo(new ImageVariant("full", 1600, 800));
+        assertThat(processor.derivedVariant(PhotoVariant.FULL, "full", 800, 600))
+                .isEqualTo(new ImageVariant("full", 800, 600));
+    }
+
+    @Test
+    void render_ShouldScaleDownToFitBoxWithoutScalingUp() throws Exception {
+        Path original = tempDir.resolve("boat.png");
+        ImageIO.write(new BufferedImage(1200, 800, BufferedImage.TYPE_INT_ARGB), "png", original.toFile());
+        Path card = tempDir.resolve("card.jpeg");
+        Path large = tempDir.resolve("large.png");
+
+        try (InputStream in = Files.newInputStream(original)) {
+            processor.render(in, 320, 320, "jpeg", card);
+        }
+        try (InputStream in = Files.newInputStream(original)) {
+            processor.render(in, 2560, 2560, "png", large);
+        }
+
+        BufferedImage scaled = ImageIO.read(card.toFile());
+        assertThat(scaled.getWidth()).isEqualTo(320);
+        assertThat(scaled.getHeight()).isEqualTo(213);
+        BufferedImage kept = ImageIO.read(large.toFile());
+        assertThat(kept.getWidth()).isEqualTo(1200);
+        assertThat(kept.getHeight()).isEqualTo(800);
+    }
+
+    @Test
+    void render_WhenFormatIsUnknown_ShouldRejectImage() {
+        assertThatThrownBy(() -> processor.render(new ByteArrayInputStream("not an image".getBytes()),
+                320, 320, "jpeg", tempDir.resolve("card.jpeg")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,267 @@
+package com.jompastech.backend.unit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jompastech.backend.exception.EntityNotFoundException;
+import com.jompastech.backend.model.dto.cloudinary.ResumableUploadDTO;
+import com.jompastech.backend.model.dto.cloudinary.ResumableUploadRequestDTO;
+import com.jompastech.backend.repository.BoatRepository;
+import com.jompastech.backend.service.PhotoService;
+import com.jompastech.backend.service.ResumableUploadService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ResumableUploadService}.
+ *
+ * <p>Verifies that:
+ * <ul>
+ *   <li>Chunks are appended at the current offset and the assembled photo reaches {@link PhotoService}</li>
+ *   <li>Chunks at a stale offset or failing their checksum change nothing</li>
+ *   <li>A dropped chunk keeps the bytes received so the client can resume</li>
+ *   <li>Uploads are bound to their boat and removed once completed</li>
+ * </ul>
+ */
+@ExtendWith(MockitoExtension.class)
+class ResumableUploadServiceTest {
+
+    private static final Long BOAT_ID = 1L;
+    private static final byte[] PHOTO = "0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII);
+
+    @Mock
+    private BoatRepository boatRepository;
+
+    @Mock
+    private PhotoService photoService;
+
+    @TempDir
+    Path directory;
+
+    private ResumableUploadService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        service = new ResumableUploadService(directory, Duration.ofHours(24), boatRepository, photoService,
+                new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void create_ShouldStartAtOffsetZero() throws Exception {
+        ResumableUploadDTO upload = createUpload(null);
+
+        assertThat(upload.getUploadId()).matches("[0-9a-f]{32}");
+        assertThat(upload.getOffset()).isZero();
+        assertThat(upload.getLength()).isEqualTo(PHOTO.length);
+        assertThat(service.status(BOAT_ID, upload.getUploadId()).getOffset()).isZero();
+    }
+
+    @Test
+    void create_WhenPhotoIsTooLarge_ShouldThrowIllegalArgumentException() {
+        when(boatRepository.existsById(BOAT_ID)).thenReturn(true);
+        ResumableUploadRequestDTO request = new ResumableUploadRequestDTO("boat.jpg", "image/jpeg", 11L * 1024 * 1024, null);
+
+        assertThatThrownBy(() -> service.create(BOAT_ID, request))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void create_WhenBoatDoesNotExist_ShouldThrowEntityNotFoundException() {
+        when(boatRepository.existsById(BOAT_ID)).thenReturn(false);
+        ResumableUploadRequestDTO request = new ResumableUploadRequestDTO("boat.jpg", "image/jpeg", 20L, null);
+
+        assertThatThrownBy(() -> service.create(BOAT_ID, request))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void complete_ShouldHandAssembledPhotoToPhotoServiceAndRemoveUpload() throws Exception {
+        String uploadId = createUpload(null).getUploadId();
+        assertThat(service.appendChunk(BOAT_ID, uploadId, 0, null, chunk(0, 8))).isEqualTo(8);
+        assertThat(service.appendChunk(BOAT_ID, uploadId, 8, checksumOf(8, 20), chunk(8, 20))).isEqualTo(20);
+
+        Path received = directory.resolve("received.jpg");
+        when(photoService.addPhotosToBoat(eq(BOAT_ID), any())).thenAnswer(invocation -> {
+            List<MultipartFile> files = invocation.getArgument(1);
+            files.get(0).transferTo(received);
+            return List.of();
+        });
+
+        service.complete(BOAT_ID, uploadId);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MultipartFile>> files = ArgumentCaptor.forClass(List.class);
+        verify(photoService).addPhotosToBoat(eq(BOAT_ID), files.capture());
+        MultipartFile file = files.getValue().get(0);
+        assertThat(file.getOriginalFilename()).isEqualTo("boat.jpg");
+        assertThat(file.getContentType()).isEqualTo("image/jpeg");
+        assertThat(file.getSize()).isEqualTo(PHOTO.length);
+        assertThat(Files.readAllBytes(received)).isEqualTo(PHOTO);
+
+        assertThatThrownBy(() -> service.status(BOAT_ID, uploadId))
+                .isInstanceOf(EntityNotFoundException.class);
+        try (Stream<Path> left = Files.list(directory)) {
+            assertThat(left).containsExactly(received);
+        }
+    }
+
+    @Test
+    void appendChunk_AtStaleOffset_ShouldThrowConflictAndKeepOffset() throws Exception {
+        String uploadId = createUpload(null).getUploadId();
+        service.appendChunk(BOAT_ID, uploadId, 0, null, chunk(0, 8));
+
+        assertThatThrownBy(() -> service.appendChunk(BOAT_ID, uploadId, 0, null, chunk(0, 8)))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.CONFLICT);
+        assertThat(service.status(BOAT_ID, uploadId).getOffset()).isEqualTo(8);
+    }
+
+    @Test
+    void appendChunk_WithWrongChecksum_ShouldDiscardChunk() throws Exception {
+        String uploadId = createUpload(null).getUploadId();
+
+        assertThatThrownBy(() -> service.appendChunk(BOAT_ID, uploadId, 0, checksumOf(8, 16), chunk(0, 8)))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(ResumableUploadService.CHECKSUM_MISMATCH);
+        assertThat(service.status(BOAT_ID, uploadId).getOffset()).isZero();
+    }
+
+    @Test
+    void appendChunk_WhenConnectionDrops_ShouldKeepReceivedBytes() throws Exception {
+        String uploadId = createUpload(null).getUploadId();
+        InputStream dropping = new InputStream() {
+            private int position;
+
+            @Override
+            public int read() throws IOException {
+                if (position == 5) {
+                    throw new IOException("connection reset");
+                }
+                return PHOTO[position++];
+            }
+        };
+
+        assertThatThrownBy(() -> service.appendChunk(BOAT_ID, uploadId, 0, null, dropping))
+                .isInstanceOf(IOException.class);
+
+        assertThat(service.status(BOAT_ID, uploadId).getOffset()).isEqualTo(5);
+        assertThat(service.appendChunk(BOAT_ID, uploadId, 5, null, chunk(5, 20))).isEqualTo(20);
+    }
+
+    @Test
+    void appendChunk_PastUploadLength_ShouldThrowIllegalArgumentException() throws Exception {
+        String uploadId = createUpload(null).getUploadId();
+        InputStream tooLong = new ByteArrayInputStream(new byte[PHOTO.length + 1]);
+
+        assertThatThrownBy(() -> service.appendChunk(BOAT_ID, uploadId, 0, null, tooLong))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.status(BOAT_ID, uploadId).getOffset()).isZero();
+    }
+
+    @Test
+    void complete_WhenBytesAreMissing_ShouldThrowConflict() throws Exception {
+        String uploadId = createUpload(null).getUploadId();
+        service.appendChunk(BOAT_ID, uploadId, 0, null, chunk(0, 8));
+
+        assertThatThrownBy(() -> service.complete(BOAT_ID, uploadId))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.CONFLICT);
+        verify(photoService, never()).addPhotosToBoat(anyLong(), any());
+    }
+
+    @Test
+    void complete_WhenPhotoDoesNotMatchChecksum_ShouldDiscardUpload() throws Exception {
+        String uploadId = createUpload("0".repeat(64)).getUploadId();
+        service.appendChunk(BOAT_ID, uploadId, 0, null, chunk(0, 20));
+
+        assertThatThrownBy(() -> service.complete(BOAT_ID, uploadId))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(ResumableUploadService.CHECKSUM_MISMATCH);
+        verify(photoService, never()).addPhotosToBoat(anyLong(), any());
+        assertThatThrownBy(() -> service.status(BOAT_ID, uploadId))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void complete_WithMatchingChecksum_ShouldAddPhoto() throws Exception {
+        String checksum = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(PHOTO));
+        String uploadId = createUpload(checksum).getUploadId();
+        service.appendChunk(BOAT_ID, uploadId, 0, null, chunk(0, 20));
+        when(photoService.addPhotosToBoat(eq(BOAT_ID), any())).thenReturn(List.of());
+
+        service.complete(BOAT_ID, uploadId);
+
+        verify(photoService).addPhotosToBoat(eq(BOAT_ID), any());
+    }
+
+    @Test
+    void status_ForAnotherBoat_ShouldThrowEntityNotFoundException() throws Exception {
+        String uploadId = createUpload(null).getUploadId();
+
+        assertThatThrownBy(() -> service.status(2L, uploadId))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> service.status(BOAT_ID, "../" + uploadId))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void purgeExpired_ShouldRemoveUploadsOlderThanTtl() throws Exception {
+        service = new ResumableUploadService(directory, Duration.ZERO, boatRepository, photoService,
+                new ObjectMapper().findAndRegisterModules());
+        createUpload(null);
+        Thread.sleep(10);
+
+        assertThat(service.purgeExpired()).isEqualTo(1);
+        try (Stream<Path> left = Files.list(directory)) {
+            assertThat(left).isEmpty();
+        }
+    }
+
+    private ResumableUploadDTO createUpload(String checksum) throws IOException {
+        when(boatRepository.existsById(BOAT_ID)).thenReturn(true);
+        return service.create(BOAT_ID,
+                new ResumableUploadRequestDTO("boat.jpg", "image/jpeg", (long) PHOTO.length, checksum));
+    }
+
+    private static InputStream chunk(int from, int to) {
+        return new ByteArrayInputStream(PHOTO, from, to - from);
+    }
+
+    private static String checksumOf(int from, int to) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(PHOTO, from, to - from);
+        return "sha256 " + Base64.getEncoder().encodeToString(digest.digest());
+    }
+}
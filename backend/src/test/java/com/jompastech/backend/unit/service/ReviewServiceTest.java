@@ -149,6 +149,7 @@ class ReviewServiceTest {
         verify(bookingQueryService, times(1)).hasUserRentedBoat(1L, 1L);
         verify(reviewRepository, times(1)).existsByUserIdAndBoatId(1L, 1L);
         verify(reviewRepository, times(1)).save(any(Review.class));
+        verify(boatService, times(1)).markContentChanged(1L);
     }
 
     /**
@@ -11,6 +11,7 @@ import com.jompastech.backend.model.entity.User;
 import com.jompastech.backend.repository.UserRepository;
 import com.jompastech.backend.security.dto.AuthResponseDTO;
 import com.jompastech.backend.security.util.JwtUtil;
+import com.jompastech.backend.service.BoatService;
 import com.jompastech.backend.service.UserService;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
@@ -65,6 +66,7 @@ public class UserServiceTest {
     @Mock private AuthenticationManager authenticationManager;
     @Mock private SecurityContext securityContext;
     @Mock private Authentication authentication;
+    @Mock private BoatService boatService;
     @InjectMocks private UserService userService;
 
     private UserRequestDTO validUserRequest;